@@ -0,0 +1,39 @@
+package org.ldbcouncil.snb.driver;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import static java.lang.String.format;
+
+/**
+ * Non-blocking variant of OperationHandler, for connectors built on asynchronous clients.
+ * <p/>
+ * executeOperationAsync must not block: it issues the request and returns a stage that completes once the result has
+ * been passed to resultReporter. Latency, completion time and metrics are recorded by the driver when the returned
+ * stage completes, on the thread that completes it.
+ * <p/>
+ * Executors that do not support asynchronous execution call executeOperation, which waits for the returned stage.
+ */
+public interface AsyncOperationHandler<OPERATION_TYPE extends Operation, DB_CONNECTION_STATE_TYPE extends DbConnectionState>
+        extends OperationHandler<OPERATION_TYPE,DB_CONNECTION_STATE_TYPE>
+{
+    CompletionStage<?> executeOperationAsync( OPERATION_TYPE operation,
+            DB_CONNECTION_STATE_TYPE dbConnectionState,
+            ResultReporter resultReporter ) throws DbException;
+
+    @Override
+    default void executeOperation( OPERATION_TYPE operation,
+            DB_CONNECTION_STATE_TYPE dbConnectionState,
+            ResultReporter resultReporter ) throws DbException
+    {
+        try
+        {
+            executeOperationAsync( operation, dbConnectionState, resultReporter ).toCompletableFuture().join();
+        }
+        catch ( CompletionException e )
+        {
+            throw new DbException( format( "Error executing operation asynchronously\nOperation: %s", operation ),
+                    e.getCause() );
+        }
+    }
+}
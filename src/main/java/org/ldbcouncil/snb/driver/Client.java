@@ -15,6 +15,7 @@ package org.ldbcouncil.snb.driver;
 
 import org.ldbcouncil.snb.driver.client.CalculateWorkloadStatisticsMode;
 import org.ldbcouncil.snb.driver.client.ClientMode;
+import org.ldbcouncil.snb.driver.client.CompileScheduleMode;
 import org.ldbcouncil.snb.driver.client.CreateValidationParamsMode;
 import org.ldbcouncil.snb.driver.client.ExecuteWorkloadMode;
 import org.ldbcouncil.snb.driver.client.PrintHelpMode;
@@ -111,6 +112,8 @@ public class Client
                 return new CreateValidationParamsMode( controlService, RANDOM_SEED );
             case create_statistics:
                 return new CalculateWorkloadStatisticsMode( controlService, RANDOM_SEED );
+            case compile_schedule:
+                return new CompileScheduleMode( controlService, RANDOM_SEED );
             case validate_database:
                 return new ValidateDatabaseMode( controlService );
             case execute_benchmark:
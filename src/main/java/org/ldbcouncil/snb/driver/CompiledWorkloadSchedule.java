@@ -0,0 +1,259 @@
+package org.ldbcouncil.snb.driver;
+
+import org.ldbcouncil.snb.driver.WorkloadStreams.WorkloadStreamDefinition;
+import org.ldbcouncil.snb.driver.control.ConsoleAndFileDriverConfiguration;
+import org.ldbcouncil.snb.driver.control.DriverConfiguration;
+import org.ldbcouncil.snb.driver.generator.GeneratorFactory;
+import org.ldbcouncil.snb.driver.generator.OperationScheduleReader;
+import org.ldbcouncil.snb.driver.generator.OperationScheduleWriter;
+import org.ldbcouncil.snb.driver.util.MapUtils;
+import org.ldbcouncil.snb.driver.util.Tuple;
+import org.ldbcouncil.snb.driver.util.Tuple3;
+import org.ldbcouncil.snb.driver.workloads.WorkloadFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static java.lang.String.format;
+
+/**
+ * A workload schedule, i.e., the offset and limited workload streams of one run phase, materialized to disk by
+ * {@link #write}, so later runs can replay it with {@link #load} instead of generating it from the workload input.
+ * <p/>
+ * Operations are stored as generated, before time offset and compression, which still happen at replay because
+ * they depend on the start time of each run.
+ * Child operations (e.g., short reads) depend on results, they are still generated at runtime by the workload.
+ * Replay requires the workload parameters the schedule was compiled with. The schedule does not track changes to the
+ * workload input, it must be compiled again when the input changes.
+ */
+public class CompiledWorkloadSchedule
+{
+    public static final String WARMUP_DIRECTORY = "warmup";
+    public static final String MEASUREMENT_DIRECTORY = "measurement";
+    private static final String MANIFEST_FILENAME = "schedule.properties";
+    private static final String STREAM_FILENAME_PREFIX = "stream-";
+    private static final String STREAM_FILENAME_SUFFIX = ".schedule";
+    private static final String WORKLOAD_CLASS = "workload_class";
+    private static final String OFFSET = "offset";
+    private static final String LIMIT = "limit";
+    private static final String WORKLOAD_PARAMETER_PREFIX = "workload_parameter.";
+    private static final String STREAM_COUNT = "stream_count";
+    private static final String STREAM_OPERATION_COUNT_PREFIX = "stream_operation_count.";
+    private static final String MINIMUM_TIMESTAMP = "minimum_timestamp";
+
+    public static File phaseDirectory( File scheduleDir, boolean warmup )
+    {
+        return new File( scheduleDir, (warmup) ? WARMUP_DIRECTORY : MEASUREMENT_DIRECTORY );
+    }
+
+    public static boolean exists( File phaseDir )
+    {
+        return new File( phaseDir, MANIFEST_FILENAME ).exists();
+    }
+
+    /**
+     * Consumes all streams of workloadStreams, stream order is the same as in
+     * {@link WorkloadStreams#fromAmongAllRetrieveTopCountFromOffset}.
+     * The manifest is written last, a schedule without manifest is incomplete.
+     */
+    public static void write(
+            WorkloadStreams workloadStreams,
+            DriverConfiguration configuration,
+            long offset,
+            long limit,
+            long minimumTimeStamp,
+            File phaseDir ) throws WorkloadException
+    {
+        List<Iterator<Operation>> streams = new ArrayList<>();
+        streams.add( workloadStreams.asynchronousStream().dependencyOperations() );
+        streams.add( workloadStreams.asynchronousStream().nonDependencyOperations() );
+        for ( WorkloadStreamDefinition stream : workloadStreams.blockingStreamDefinitions() )
+        {
+            streams.add( stream.dependencyOperations() );
+            streams.add( stream.nonDependencyOperations() );
+        }
+
+        Properties manifest = new Properties();
+        manifest.setProperty( WORKLOAD_CLASS, configuration.workloadClassName() );
+        manifest.setProperty( OFFSET, Long.toString( offset ) );
+        manifest.setProperty( LIMIT, Long.toString( limit ) );
+        for ( Map.Entry<String,String> workloadParameter : workloadParameters( configuration ).entrySet() )
+        {
+            manifest.setProperty(
+                    WORKLOAD_PARAMETER_PREFIX + workloadParameter.getKey(),
+                    workloadParameter.getValue() );
+        }
+        manifest.setProperty( STREAM_COUNT, Integer.toString( streams.size() ) );
+        manifest.setProperty( MINIMUM_TIMESTAMP, Long.toString( minimumTimeStamp ) );
+        try
+        {
+            Files.createDirectories( phaseDir.toPath() );
+            Files.deleteIfExists( new File( phaseDir, MANIFEST_FILENAME ).toPath() );
+            for ( int i = 0; i < streams.size(); i++ )
+            {
+                try ( OperationScheduleWriter writer = new OperationScheduleWriter( streamFile( phaseDir, i ) ) )
+                {
+                    Iterator<Operation> stream = streams.get( i );
+                    while ( stream.hasNext() )
+                    {
+                        writer.write( stream.next() );
+                    }
+                    manifest.setProperty(
+                            STREAM_OPERATION_COUNT_PREFIX + i,
+                            Long.toString( writer.operationCount() ) );
+                }
+            }
+            try ( OutputStream outputStream = new FileOutputStream( new File( phaseDir, MANIFEST_FILENAME ) ) )
+            {
+                manifest.store( outputStream, "compiled workload schedule" );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new WorkloadException(
+                    format( "Error writing compiled schedule to: %s", phaseDir.getAbsolutePath() ), e );
+        }
+    }
+
+    /**
+     * Same contract as {@link WorkloadStreams#createNewWorkloadWithOffsetAndLimitedWorkloadStreams}, but operations
+     * are replayed from phaseDir. The workload is still initialized, for the operation types and child operation
+     * generators of its {@link Workload#streamDefinitions}, which do not read workload input.
+     *
+     * @return (workload_streams, workload, minimum_timestamp)
+     */
+    public static Tuple3<WorkloadStreams,Workload,Long> load(
+            WorkloadFactory workloadFactory,
+            DriverConfiguration configuration,
+            GeneratorFactory gf,
+            boolean returnStreamsWithDbConnector,
+            long offset,
+            long limit,
+            File phaseDir ) throws WorkloadException, IOException
+    {
+        File manifestFile = new File( phaseDir, MANIFEST_FILENAME );
+        Properties manifest = new Properties();
+        try ( InputStream inputStream = new FileInputStream( manifestFile ) )
+        {
+            manifest.load( inputStream );
+        }
+        catch ( IOException e )
+        {
+            throw new WorkloadException(
+                    format( "Error reading compiled schedule manifest: %s", manifestFile.getAbsolutePath() ), e );
+        }
+        assertManifestValue( manifest, WORKLOAD_CLASS, configuration.workloadClassName() );
+        assertManifestValue( manifest, OFFSET, Long.toString( offset ) );
+        assertManifestValue( manifest, LIMIT, Long.toString( limit ) );
+        Map<String,String> workloadParameters = workloadParameters( configuration );
+        for ( Map.Entry<String,String> workloadParameter : workloadParameters.entrySet() )
+        {
+            assertManifestValue( manifest, WORKLOAD_PARAMETER_PREFIX + workloadParameter.getKey(),
+                    workloadParameter.getValue() );
+        }
+        for ( String key : manifest.stringPropertyNames() )
+        {
+            if ( key.startsWith( WORKLOAD_PARAMETER_PREFIX ) &&
+                 !workloadParameters.containsKey( key.substring( WORKLOAD_PARAMETER_PREFIX.length() ) ) )
+            {
+                throw new WorkloadException(
+                        format( "Compiled schedule was compiled with %s=%s, but configuration does not set it",
+                                key, manifest.getProperty( key ) ) );
+            }
+        }
+        int streamCount = Integer.parseInt( manifest.getProperty( STREAM_COUNT ) );
+        long minimumTimeStamp = Long.parseLong( manifest.getProperty( MINIMUM_TIMESTAMP ) );
+
+        Workload workload = workloadFactory.createWorkload();
+        workload.init( configuration );
+        WorkloadStreams streamDefinitions = workload.streamDefinitions( gf, returnStreamsWithDbConnector );
+        List<WorkloadStreamDefinition> blockingStreamDefinitions = streamDefinitions.blockingStreamDefinitions();
+        if ( streamCount != 2 + blockingStreamDefinitions.size() * 2 )
+        {
+            workload.close();
+            throw new WorkloadException( format( "Compiled schedule has %s streams, workload has %s",
+                    streamCount, 2 + blockingStreamDefinitions.size() * 2 ) );
+        }
+
+        Map<Integer,Class<? extends Operation>> operationTypeToClassMapping = workload.operationTypeToClassMapping();
+        WorkloadStreams workloadStreams = new WorkloadStreams();
+        try
+        {
+            workloadStreams.setAsynchronousStream(
+                    streamDefinitions.asynchronousStream().dependentOperationTypes(),
+                    streamDefinitions.asynchronousStream().dependencyOperationTypes(),
+                    new OperationScheduleReader( streamFile( phaseDir, 0 ), operationTypeToClassMapping ),
+                    new OperationScheduleReader( streamFile( phaseDir, 1 ), operationTypeToClassMapping ),
+                    streamDefinitions.asynchronousStream().childOperationGenerator()
+            );
+            for ( int i = 0; i < blockingStreamDefinitions.size(); i++ )
+            {
+                workloadStreams.addBlockingStream(
+                        blockingStreamDefinitions.get( i ).dependentOperationTypes(),
+                        blockingStreamDefinitions.get( i ).dependencyOperationTypes(),
+                        new OperationScheduleReader( streamFile( phaseDir, i * 2 + 2 ), operationTypeToClassMapping ),
+                        new OperationScheduleReader( streamFile( phaseDir, i * 2 + 3 ), operationTypeToClassMapping ),
+                        blockingStreamDefinitions.get( i ).childOperationGenerator(),
+                        blockingStreamDefinitions.get( i ).entityDependencies()
+                );
+            }
+        }
+        catch ( IOException e )
+        {
+            workload.close();
+            throw new WorkloadException(
+                    format( "Error opening compiled schedule: %s", phaseDir.getAbsolutePath() ), e );
+        }
+
+        return Tuple.tuple3(
+                workloadStreams,
+                workload,
+                minimumTimeStamp
+        );
+    }
+
+    private static void assertManifestValue( Properties manifest, String key, String expectedValue )
+            throws WorkloadException
+    {
+        String value = manifest.getProperty( key );
+        if ( !expectedValue.equals( value ) )
+        {
+            throw new WorkloadException(
+                    format( "Compiled schedule was compiled with %s=%s, but configuration requires %s",
+                            key, value, expectedValue ) );
+        }
+    }
+
+    // parameters that are not driver parameters belong to the workload, they decide which operations it generates
+    private static Map<String,String> workloadParameters( DriverConfiguration configuration )
+    {
+        Map<String,String> workloadParameters = new TreeMap<>();
+        Map<String,String> parameters = MapUtils.copyExcludingKeys(
+                configuration.asMap(),
+                ConsoleAndFileDriverConfiguration.coreConfigurationParameterKeys() );
+        for ( Map.Entry<String,String> parameter : parameters.entrySet() )
+        {
+            if ( null != parameter.getValue() )
+            {
+                workloadParameters.put( parameter.getKey(), parameter.getValue() );
+            }
+        }
+        return workloadParameters;
+    }
+
+    private static File streamFile( File phaseDir, int streamIndex )
+    {
+        return new File( phaseDir, STREAM_FILENAME_PREFIX + streamIndex + STREAM_FILENAME_SUFFIX );
+    }
+}
@@ -14,9 +14,16 @@ import static java.lang.String.format;
 
 public abstract class Db implements Closeable
 {
+    /**
+     * Number of connection states threads are bound to, for Db implementations of DbConnectionStateFactory.
+     * When not set, or 0, every thread is bound to a connection state of its own.
+     */
+    public static final String CONNECTION_STATE_COUNT = "ldbc.snb.driver.db.connection_state_count";
+
     private boolean isInitialized = false;
     private AtomicBoolean isShutdown = new AtomicBoolean( false );
     private DbConnectionState dbConnectionState = null;
+    private ThreadBoundDbConnectionStates threadBoundDbConnectionStates = null;
     private Map<Class<? extends Operation>,OperationHandler> operationHandlers = new HashMap<>();
     private OperationHandler[] operationHandlersArray = null;
     private OperationHandlerRunnerFactory operationHandlerRunnableContextFactory = null;
@@ -33,7 +40,14 @@ public abstract class Db implements Closeable
         }
         onInit( params, loggingService );
         dbConnectionState = getConnectionState();
-        operationHandlerRunnableContextFactory = new PoolingOperationHandlerRunnerFactory(
+        if ( this instanceof DbConnectionStateFactory )
+        {
+            threadBoundDbConnectionStates = new ThreadBoundDbConnectionStates(
+                    (DbConnectionStateFactory) this,
+                    connectionStateCount( params )
+            );
+        }
+        operationHandlerRunnableContextFactory = new RecyclingOperationHandlerRunnerFactory(
                 new InstantiatingOperationHandlerRunnerFactory()
         );
         operationHandlersArray = toOperationHandlerArray( operationTypeToClassMapping, operationHandlers );
@@ -41,6 +55,24 @@ public abstract class Db implements Closeable
         isInitialized = true;
     }
 
+    private static int connectionStateCount( Map<String,String> params ) throws DbException
+    {
+        String connectionStateCountString = params.get( CONNECTION_STATE_COUNT );
+        if ( null == connectionStateCountString )
+        {
+            return 0;
+        }
+        try
+        {
+            return Integer.parseInt( connectionStateCountString.trim() );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new DbException(
+                    format( "Invalid value for %s: %s", CONNECTION_STATE_COUNT, connectionStateCountString ), e );
+        }
+    }
+
     /**
      * Called once to initialize state for DB client
      */
@@ -54,6 +86,10 @@ public abstract class Db implements Closeable
             throw new IOException( "DB may be cleaned up only once" );
         }
         isShutdown.set( true );
+        if ( null != threadBoundDbConnectionStates )
+        {
+            threadBoundDbConnectionStates.close();
+        }
         onClose();
         try
         {
@@ -77,7 +113,7 @@ public abstract class Db implements Closeable
         {
             throw new DbException( "Error shutting down operation handler runnable factory", e );
         }
-        operationHandlerRunnableContextFactory = new PoolingOperationHandlerRunnerFactory(
+        operationHandlerRunnableContextFactory = new RecyclingOperationHandlerRunnerFactory(
                 new InstantiatingOperationHandlerRunnerFactory()
         );
     }
@@ -124,6 +160,7 @@ public abstract class Db implements Closeable
                     operationHandlerRunnableContextFactory.newOperationHandlerRunner();
             operationHandlerRunnableContext.setOperationHandler( operationHandler );
             operationHandlerRunnableContext.setDbConnectionState( dbConnectionState );
+            operationHandlerRunnableContext.setThreadBoundDbConnectionStates( threadBoundDbConnectionStates );
             return operationHandlerRunnableContext;
         }
         catch ( Exception e )
@@ -0,0 +1,19 @@
+package org.ldbcouncil.snb.driver;
+
+/**
+ * Optional extension of Db, for connectors that want a connection state per executor thread rather than one shared
+ * state, e.g., to keep a connection and its prepared statements bound to a thread instead of checking them out of a
+ * pool for every operation.
+ * <p/>
+ * When a Db implements this interface, each thread that executes operation handlers is bound to its own connection
+ * state, created by newConnectionState() when the thread executes its first handler. If Db.CONNECTION_STATE_COUNT is
+ * set, that many connection states are created up front instead, and threads are bound to them round robin, i.e.,
+ * threads share connection states when there are more threads than states. Threads stay bound to the same
+ * connection state for their lifetime, and all connection states are closed when the Db is closed.
+ * <p/>
+ * The state returned by getConnectionState() is not passed to handlers in this case.
+ */
+public interface DbConnectionStateFactory
+{
+    DbConnectionState newConnectionState() throws DbException;
+}
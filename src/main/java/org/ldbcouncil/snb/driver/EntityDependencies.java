@@ -0,0 +1,29 @@
+package org.ldbcouncil.snb.driver;
+
+/**
+ * Dependencies between the operations of a blocking stream, expressed as the entities each operation creates and the
+ * entities it refers to. A stream that has them may execute its operations concurrently, every operation starting
+ * once the earlier operations of the stream that created the entities it refers to have completed. Dependencies on
+ * operations of other streams are still covered by completion time.
+ * <p/>
+ * Entities are compared with equals(), so implementations must make sure entities of different kinds never compare
+ * as equal.
+ */
+public interface EntityDependencies
+{
+    /**
+     * @return maximum number of operations of the stream that may be in flight at once, 1 executes them one after the
+     * other
+     */
+    int maxConcurrentOperations();
+
+    /**
+     * @return entities the operation creates, later operations of the stream that refer to them wait for it
+     */
+    Object[] createdEntities( Operation operation );
+
+    /**
+     * @return entities the operation refers to, which earlier operations of the stream may have created
+     */
+    Object[] referencedEntities( Operation operation );
+}
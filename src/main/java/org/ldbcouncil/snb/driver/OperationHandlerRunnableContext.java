@@ -10,6 +10,10 @@ import org.ldbcouncil.snb.driver.temporal.TimeSource;
 import stormpot.Poolable;
 import stormpot.Slot;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+
 import static java.lang.String.format;
 
 public class OperationHandlerRunnableContext implements Runnable, Poolable
@@ -19,6 +23,7 @@ public class OperationHandlerRunnableContext implements Runnable, Poolable
 
     // set by Db
     private DbConnectionState dbConnectionState = null;
+    private ThreadBoundDbConnectionStates threadBoundDbConnectionStates = null;
     private OperationHandler operationHandler = null;
 
     // set by DependencyAndNonDependencyHandlersRetriever
@@ -86,6 +91,11 @@ public class OperationHandlerRunnableContext implements Runnable, Poolable
         this.dbConnectionState = dbConnectionState;
     }
 
+    final void setThreadBoundDbConnectionStates( ThreadBoundDbConnectionStates threadBoundDbConnectionStates )
+    {
+        this.threadBoundDbConnectionStates = threadBoundDbConnectionStates;
+    }
+
     public final void setBeforeExecuteCheck( SpinnerCheck check )
     {
         beforeExecuteCheck = check;
@@ -101,9 +111,14 @@ public class OperationHandlerRunnableContext implements Runnable, Poolable
         return operationHandler;
     }
 
-    public final DbConnectionState dbConnectionState()
+    /**
+     * @return connection state for handlers executed by the calling thread
+     */
+    public final DbConnectionState dbConnectionState() throws DbException
     {
-        return dbConnectionState;
+        return (null == threadBoundDbConnectionStates)
+               ? dbConnectionState
+               : threadBoundDbConnectionStates.current();
     }
 
     public final ResultReporter resultReporter()
@@ -139,33 +154,115 @@ public class OperationHandlerRunnableContext implements Runnable, Poolable
             }
             resultReporter.setActualStartTimeAsMilli( timeSource.nowAsMilli() );
             long startOfLatencyMeasurementAsNano = timeSource.nanoSnapshot();
-            operationHandler.executeOperation( operation, dbConnectionState, resultReporter );
-            long endOfLatencyMeasurementAsNano = timeSource.nanoSnapshot();
-            resultReporter.setRunDurationAsNano( endOfLatencyMeasurementAsNano - startOfLatencyMeasurementAsNano );
-            if ( null == resultReporter().result() )
-            {
-                errorReporter.reportError( this, format( "Operation result is null\nOperation: %s", operation ) );
-            }
-            else
+            operationHandler.executeOperation( operation, dbConnectionState(), resultReporter );
+            onExecuted( startOfLatencyMeasurementAsNano );
+        }
+        catch ( Throwable e )
+        {
+            reportExecutionError( e );
+        }
+    }
+
+    /**
+     * @return true if the handler supports non-blocking execution, via runAsync()
+     */
+    public final boolean isAsync()
+    {
+        return operationHandler instanceof AsyncOperationHandler;
+    }
+
+    /**
+     * Non-blocking equivalent of run(), for handlers that implement AsyncOperationHandler.
+     * Waits for the scheduled start time on the calling thread, issues the operation, and returns immediately.
+     * Latency, completion time, and metrics are recorded on the thread that completes the handler's stage.
+     * Errors are written to ConcurrentErrorReporter, the returned stage always completes normally.
+     *
+     * @return stage that completes after results of the operation have been recorded
+     */
+    public CompletionStage<Void> runAsync()
+    {
+        final CompletableFuture<Void> completed = new CompletableFuture<>();
+        if ( !initialized )
+        {
+            errorReporter.reportError( this, "Handler was executed before being initialized" );
+            completed.complete( null );
+            return completed;
+        }
+        try
+        {
+            if ( !spinner.waitForScheduledStartTime( operation, beforeExecuteCheck ) )
             {
-                completionTimeWriter.submitCompletedTime( operation.timeStamp() );
-                metricsServiceWriter.submitOperationResult(
-                        operation.type(),
-                        operation.scheduledStartTimeAsMilli(),
-                        resultReporter.actualStartTimeAsMilli(),
-                        resultReporter.runDurationAsNano(),
-                        resultReporter.resultCode(),
-                        operation.timeStamp()
-                );
+                // Spinner result indicates operation should not be processed
+                completed.complete( null );
+                return completed;
             }
+            resultReporter.setActualStartTimeAsMilli( timeSource.nowAsMilli() );
+            final long startOfLatencyMeasurementAsNano = timeSource.nanoSnapshot();
+            ((AsyncOperationHandler) operationHandler)
+                    .executeOperationAsync( operation, dbConnectionState(), resultReporter )
+                    .whenComplete( new BiConsumer<Object,Throwable>()
+                    {
+                        @Override
+                        public void accept( Object ignore, Throwable throwable )
+                        {
+                            try
+                            {
+                                if ( null == throwable )
+                                {
+                                    onExecuted( startOfLatencyMeasurementAsNano );
+                                }
+                                else
+                                {
+                                    reportExecutionError( throwable );
+                                }
+                            }
+                            catch ( Throwable e )
+                            {
+                                reportExecutionError( e );
+                            }
+                            finally
+                            {
+                                completed.complete( null );
+                            }
+                        }
+                    } );
         }
         catch ( Throwable e )
         {
-            String errMsg = format( "Error encountered\n%s\n%s",
-                    operation,
-                    ConcurrentErrorReporter.stackTraceToString( e ) );
-            errorReporter.reportError( this, errMsg );
+            reportExecutionError( e );
+            completed.complete( null );
         }
+        return completed;
+    }
+
+    private void onExecuted( long startOfLatencyMeasurementAsNano ) throws Exception
+    {
+        long endOfLatencyMeasurementAsNano = timeSource.nanoSnapshot();
+        resultReporter.setRunDurationAsNano( endOfLatencyMeasurementAsNano - startOfLatencyMeasurementAsNano );
+        if ( null == resultReporter().result() )
+        {
+            errorReporter.reportError( this, format( "Operation result is null\nOperation: %s", operation ) );
+        }
+        else
+        {
+            completionTimeWriter.submitCompletedTime( operation.timeStamp() );
+            metricsServiceWriter.submitOperationResult(
+                    operation.type(),
+                    operation.scheduledStartTimeAsMilli(),
+                    resultReporter.actualStartTimeAsMilli(),
+                    resultReporter.runDurationAsNano(),
+                    resultReporter.resultCode(),
+                    operation.timeStamp()
+            );
+        }
+    }
+
+    private void reportExecutionError( Throwable e )
+    {
+        String errMsg = format( "Error encountered\n%s\n%s",
+                operation,
+                ConcurrentErrorReporter.stackTraceToString( e ) );
+        errorReporter.reportError( this, errMsg );
     }
 
 
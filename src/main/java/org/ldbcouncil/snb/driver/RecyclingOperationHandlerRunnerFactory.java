@@ -0,0 +1,188 @@
+package org.ldbcouncil.snb.driver;
+
+import stormpot.Poolable;
+import stormpot.Slot;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Recycles operation handler runners through free lists, instead of claiming them from a pool.
+ * <p/>
+ * Every thread that asks for runners has a free list of its own, a plain array stack, and runners always go back to
+ * the free list of the thread that created them. When the runner is released on the thread that owns it, it is pushed
+ * onto the stack directly. When it is released on another thread, which is the usual case as runners are created by
+ * the dispatching thread and cleaned up by executor threads, it is pushed onto a lock-free return list of the owning
+ * thread, linked through the runner's slot, so returning allocates nothing. The owning thread takes the whole return
+ * list once its stack runs empty.
+ * <p/>
+ * Runners are never waited for: when no free runner is available a new one is created, and runners that do not fit
+ * on a full free list are left to the garbage collector.
+ */
+public class RecyclingOperationHandlerRunnerFactory implements OperationHandlerRunnerFactory
+{
+    static final int DEFAULT_MAX_FREE_PER_THREAD = (int) Math.round( Math.pow( 2, 15 ) ); // ~32,000
+    private final OperationHandlerRunnerFactory innerOperationHandlerRunnerFactory;
+    private final int maxFreePerThread;
+    private final AtomicLong createdCount = new AtomicLong( 0 );
+    private final ThreadLocal<FreeList> threadFreeList = new ThreadLocal<FreeList>()
+    {
+        @Override
+        protected FreeList initialValue()
+        {
+            return new FreeList( Thread.currentThread(), maxFreePerThread );
+        }
+    };
+
+    public RecyclingOperationHandlerRunnerFactory( OperationHandlerRunnerFactory operationHandlerRunnerFactory )
+    {
+        this( operationHandlerRunnerFactory, DEFAULT_MAX_FREE_PER_THREAD );
+    }
+
+    public RecyclingOperationHandlerRunnerFactory( OperationHandlerRunnerFactory operationHandlerRunnerFactory,
+            int maxFreePerThread )
+    {
+        this.innerOperationHandlerRunnerFactory = operationHandlerRunnerFactory;
+        this.maxFreePerThread = maxFreePerThread;
+    }
+
+    @Override
+    public OperationHandlerRunnableContext newOperationHandlerRunner() throws OperationException
+    {
+        FreeList freeList = threadFreeList.get();
+        RecyclingSlot slot = freeList.pop();
+        if ( null == slot )
+        {
+            OperationHandlerRunnableContext operationHandlerRunner =
+                    innerOperationHandlerRunnerFactory.newOperationHandlerRunner();
+            slot = new RecyclingSlot( freeList, operationHandlerRunner );
+            operationHandlerRunner.setSlot( slot );
+            createdCount.incrementAndGet();
+        }
+        slot.free = false;
+        return slot.operationHandlerRunner;
+    }
+
+    /**
+     * @return number of runners created so far, i.e., runners that could not be recycled
+     */
+    public long createdCount()
+    {
+        return createdCount.get();
+    }
+
+    @Override
+    public void shutdown() throws OperationException
+    {
+        innerOperationHandlerRunnerFactory.shutdown();
+    }
+
+    @Override
+    public String toString()
+    {
+        return RecyclingOperationHandlerRunnerFactory.class.getSimpleName() + "{" +
+               innerOperationHandlerRunnerFactory.toString() + "}";
+    }
+
+    private static class FreeList
+    {
+        private final Thread owner;
+        private final RecyclingSlot[] stack;
+        private int size = 0;
+        // runners released on other threads, linked through RecyclingSlot.next
+        private final AtomicReference<RecyclingSlot> returned = new AtomicReference<>( null );
+
+        private FreeList( Thread owner, int capacity )
+        {
+            this.owner = owner;
+            this.stack = new RecyclingSlot[capacity];
+        }
+
+        // only called by owner
+        private RecyclingSlot pop()
+        {
+            if ( 0 == size && !takeReturned() )
+            {
+                return null;
+            }
+            size--;
+            RecyclingSlot slot = stack[size];
+            stack[size] = null;
+            return slot;
+        }
+
+        // only called by owner
+        private boolean takeReturned()
+        {
+            RecyclingSlot slot = returned.getAndSet( null );
+            while ( null != slot )
+            {
+                RecyclingSlot next = slot.next;
+                slot.next = null;
+                push( slot );
+                slot = next;
+            }
+            return size > 0;
+        }
+
+        // only called by owner
+        private void push( RecyclingSlot slot )
+        {
+            if ( size < stack.length )
+            {
+                stack[size] = slot;
+                size++;
+            }
+        }
+
+        private void release( RecyclingSlot slot )
+        {
+            if ( Thread.currentThread() == owner )
+            {
+                push( slot );
+            }
+            else
+            {
+                RecyclingSlot head;
+                do
+                {
+                    head = returned.get();
+                    slot.next = head;
+                }
+                while ( !returned.compareAndSet( head, slot ) );
+            }
+        }
+    }
+
+    private static class RecyclingSlot implements Slot
+    {
+        private final FreeList freeList;
+        private final OperationHandlerRunnableContext operationHandlerRunner;
+        private RecyclingSlot next = null;
+        // set on release, so a runner that is released twice in a row is not handed out twice
+        private volatile boolean free = false;
+
+        private RecyclingSlot( FreeList freeList, OperationHandlerRunnableContext operationHandlerRunner )
+        {
+            this.freeList = freeList;
+            this.operationHandlerRunner = operationHandlerRunner;
+        }
+
+        @Override
+        public void release( Poolable obj )
+        {
+            if ( free )
+            {
+                return;
+            }
+            free = true;
+            freeList.release( this );
+        }
+
+        @Override
+        public void expire( Poolable obj )
+        {
+            // runners never expire
+        }
+    }
+}
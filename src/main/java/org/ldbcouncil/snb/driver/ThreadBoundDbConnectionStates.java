@@ -0,0 +1,108 @@
+package org.ldbcouncil.snb.driver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+/**
+ * Binds every thread to a connection state, see DbConnectionStateFactory
+ */
+class ThreadBoundDbConnectionStates implements Closeable
+{
+    private final DbConnectionStateFactory connectionStateFactory;
+    // empty when every thread has a connection state of its own
+    private final DbConnectionState[] slots;
+    private final AtomicInteger nextSlot = new AtomicInteger( 0 );
+    private final List<DbConnectionState> connectionStates = new ArrayList<>();
+    private final ThreadLocal<DbConnectionState> threadConnectionState = new ThreadLocal<>();
+    private boolean closed = false;
+
+    ThreadBoundDbConnectionStates( DbConnectionStateFactory connectionStateFactory, int slotCount )
+            throws DbException
+    {
+        if ( slotCount < 0 )
+        {
+            throw new DbException( format( "Connection state count must not be negative: %s", slotCount ) );
+        }
+        this.connectionStateFactory = connectionStateFactory;
+        this.slots = new DbConnectionState[slotCount];
+        for ( int i = 0; i < slotCount; i++ )
+        {
+            slots[i] = newConnectionState();
+        }
+    }
+
+    /**
+     * @return connection state bound to the calling thread, binding one first if there is none yet
+     */
+    DbConnectionState current() throws DbException
+    {
+        DbConnectionState connectionState = threadConnectionState.get();
+        if ( null == connectionState )
+        {
+            connectionState = (0 == slots.length)
+                              ? newConnectionState()
+                              : slots[(nextSlot.getAndIncrement() & Integer.MAX_VALUE) % slots.length];
+            threadConnectionState.set( connectionState );
+        }
+        return connectionState;
+    }
+
+    private DbConnectionState newConnectionState() throws DbException
+    {
+        DbConnectionState connectionState = connectionStateFactory.newConnectionState();
+        synchronized ( connectionStates )
+        {
+            if ( closed )
+            {
+                throw new DbException( "Connection states have already been closed" );
+            }
+            connectionStates.add( connectionState );
+        }
+        return connectionState;
+    }
+
+    int connectionStateCount()
+    {
+        synchronized ( connectionStates )
+        {
+            return connectionStates.size();
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        IOException closeException = null;
+        synchronized ( connectionStates )
+        {
+            closed = true;
+            for ( DbConnectionState connectionState : connectionStates )
+            {
+                try
+                {
+                    if ( null != connectionState )
+                    {
+                        connectionState.close();
+                    }
+                }
+                catch ( IOException e )
+                {
+                    if ( null == closeException )
+                    {
+                        closeException = e;
+                    }
+                }
+            }
+            connectionStates.clear();
+        }
+        if ( null != closeException )
+        {
+            throw new IOException( "Error closing connection state", closeException );
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.ldbcouncil.snb.driver;
 
 import org.ldbcouncil.snb.driver.control.DriverConfiguration;
+import org.ldbcouncil.snb.driver.control.LoggingService;
 import org.ldbcouncil.snb.driver.generator.GeneratorFactory;
 import org.ldbcouncil.snb.driver.validation.ResultsLogValidationTolerances;
 
@@ -70,6 +71,14 @@ public abstract class Workload implements Closeable
 
     protected abstract void onClose() throws IOException;
 
+    /**
+     * Called once the workload has been executed, before it is closed, to report statistics about how its streams
+     * were generated
+     */
+    public void logStatistics( LoggingService loggingService )
+    {
+    }
+
     public final WorkloadStreams streams( GeneratorFactory gf, boolean hasDbConnected ) throws WorkloadException
     {
         if ( false == isInitialized )
@@ -80,6 +89,28 @@ public abstract class Workload implements Closeable
     protected abstract WorkloadStreams getStreams( GeneratorFactory generators, boolean hasDbConnected )
             throws WorkloadException;
 
+    /**
+     * Streams as returned by streams(), i.e., with the same operation types, child operation generators and entity
+     * dependencies, but without operations. Used when operations come from elsewhere, e.g., a compiled schedule.
+     */
+    public final WorkloadStreams streamDefinitions( GeneratorFactory gf, boolean hasDbConnected )
+            throws WorkloadException
+    {
+        if ( false == isInitialized )
+        { throw new WorkloadException( "Workload has not been initialized" ); }
+        return getStreamDefinitions( gf, hasDbConnected );
+    }
+
+    /**
+     * By default streams are generated and their operations are never consumed, workloads that open their input
+     * to generate streams should override this
+     */
+    protected WorkloadStreams getStreamDefinitions( GeneratorFactory generators, boolean hasDbConnected )
+            throws WorkloadException
+    {
+        return getStreams( generators, hasDbConnected );
+    }
+
     public DbValidationParametersFilter dbValidationParametersFilter( final Integer requiredValidationParameterCount )
     {
         return new DbValidationParametersFilter()
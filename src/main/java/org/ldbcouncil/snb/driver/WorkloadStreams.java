@@ -11,6 +11,7 @@ import org.ldbcouncil.snb.driver.util.Tuple3;
 import org.ldbcouncil.snb.driver.workloads.ClassNameWorkloadFactory;
 import org.ldbcouncil.snb.driver.workloads.WorkloadFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
@@ -209,7 +210,8 @@ public class WorkloadStreams
                             peekingBlockingNonDependencyOperationStreamsAheadOfMinByMillis.get( i ),
                             compressionRatio
                     ),
-                    blockingStreams.get( i ).childOperationGenerator()
+                    blockingStreams.get( i ).childOperationGenerator(),
+                    blockingStreams.get( i ).entityDependencies()
             );
         }
 
@@ -251,59 +253,59 @@ public class WorkloadStreams
         // ====== Calculate Limits ========
         // ================================
 
-        // get workload
-        Workload workload = workloadFactory.createWorkload();
-        workload.init( configuration );
-        // retrieve unbounded streams
-        boolean hasDbConnected = false;
-        WorkloadStreams unlimitedWorkloadStreams = workload.streams( gf, hasDbConnected );
-        List<Iterator<Operation>> streams = new ArrayList<>();
-        List<ChildOperationGenerator> childOperationGenerators = new ArrayList<>();
-
-        streams.add( unlimitedWorkloadStreams.asynchronousStream().dependencyOperations() );
-        childOperationGenerators.add( unlimitedWorkloadStreams.asynchronousStream().childOperationGenerator() );
-
-        streams.add( unlimitedWorkloadStreams.asynchronousStream().nonDependencyOperations() );
-        childOperationGenerators.add( unlimitedWorkloadStreams.asynchronousStream().childOperationGenerator() );
-
-        for ( WorkloadStreamDefinition stream : unlimitedWorkloadStreams.blockingStreamDefinitions() )
+        LoggingService loggingService =
+                loggingServiceFactory.loggingServiceFor( WorkloadStreams.class.getSimpleName() );
+        WorkloadStreamsLimitsCache limitsCache = null;
+        String limitsCacheKey = null;
+        Tuple3<long[],long[],Long> limitsAndMinimumsForStream = null;
+        if ( null != configuration.streamLimitsCacheDirPath() )
         {
-            streams.add( stream.dependencyOperations() );
-            childOperationGenerators.add( stream.childOperationGenerator() );
-
-            streams.add( stream.nonDependencyOperations() );
-            childOperationGenerators.add( stream.childOperationGenerator() );
+            limitsCache = new WorkloadStreamsLimitsCache( new File( configuration.streamLimitsCacheDirPath() ) );
+            limitsCacheKey = limitsCache.keyFor( configuration, offset, limit );
+            limitsAndMinimumsForStream = limitsCache.get( limitsCacheKey );
+            if ( null != limitsAndMinimumsForStream )
+            {
+                loggingService.info( format( "Using cached stream limits: %s", limitsCacheKey ) );
+            }
+        }
+        if ( null == limitsAndMinimumsForStream )
+        {
+            limitsAndMinimumsForStream = calculateLimits(
+                    workloadFactory,
+                    configuration,
+                    gf,
+                    offset,
+                    limit,
+                    loggingServiceFactory
+            );
+            if ( null != limitsCache )
+            {
+                limitsCache.put( limitsCacheKey, limitsAndMinimumsForStream );
+            }
         }
-
-        // stream through streams once, to calculate how many operations are needed from each,
-        // to get operation_count in total
-        Tuple3<long[],long[],Long> limitsAndMinimumsForStream =
-                WorkloadStreams.fromAmongAllRetrieveTopCountFromOffset(
-                        streams,
-                        offset,
-                        limit,
-                        childOperationGenerators,
-                        loggingServiceFactory
-                );
         long[] startForStream = limitsAndMinimumsForStream._1();
         long[] limitForStream = limitsAndMinimumsForStream._2();
         long minimumTimeStamp = limitsAndMinimumsForStream._3();
 
-        workload.close();
-
         // ================================
         // ====== Create Limited Streams ==
         // ================================
 
         WorkloadStreams workloadStreams = new WorkloadStreams();
 
-        // reinitialize workload, so it can be streamed through from the beginning
-        workload = workloadFactory.createWorkload();
+        // initialize workload, so it can be streamed through from the beginning
+        Workload workload = workloadFactory.createWorkload();
         workload.init( configuration );
 
         // retrieve unbounded streams
-        unlimitedWorkloadStreams = workload.streams( gf, returnStreamsWithDbConnector );
+        WorkloadStreams unlimitedWorkloadStreams = workload.streams( gf, returnStreamsWithDbConnector );
         List<WorkloadStreamDefinition> unlimitedBlockingStreams = unlimitedWorkloadStreams.blockingStreamDefinitions();
+        if ( startForStream.length != 2 + unlimitedBlockingStreams.size() * 2 )
+        {
+            workload.close();
+            throw new WorkloadException( format( "Expected limits for %s streams, found %s",
+                    2 + unlimitedBlockingStreams.size() * 2, startForStream.length ) );
+        }
 
         // advance to offsets
         gf.consume( unlimitedWorkloadStreams.asynchronousStream().dependencyOperations(), startForStream[0] );
@@ -329,7 +331,8 @@ public class WorkloadStreams
                     unlimitedBlockingStreams.get( i ).dependencyOperationTypes(),
                     gf.limit( unlimitedBlockingStreams.get( i ).dependencyOperations(), limitForStream[i * 2 + 2] ),
                     gf.limit( unlimitedBlockingStreams.get( i ).nonDependencyOperations(), limitForStream[i * 2 + 3] ),
-                    unlimitedBlockingStreams.get( i ).childOperationGenerator()
+                    unlimitedBlockingStreams.get( i ).childOperationGenerator(),
+                    unlimitedBlockingStreams.get( i ).entityDependencies()
             );
         }
 
@@ -340,6 +343,55 @@ public class WorkloadStreams
         );
     }
 
+    // returns (start_per_stream, end_per_stream, minimum_timestamp)
+    private static Tuple3<long[],long[],Long> calculateLimits(
+            WorkloadFactory workloadFactory,
+            DriverConfiguration configuration,
+            GeneratorFactory gf,
+            long offset,
+            long limit,
+            LoggingServiceFactory loggingServiceFactory ) throws WorkloadException, IOException
+    {
+        // get workload
+        Workload workload = workloadFactory.createWorkload();
+        workload.init( configuration );
+        // retrieve unbounded streams
+        boolean hasDbConnected = false;
+        WorkloadStreams unlimitedWorkloadStreams = workload.streams( gf, hasDbConnected );
+        List<Iterator<Operation>> streams = new ArrayList<>();
+        List<ChildOperationGenerator> childOperationGenerators = new ArrayList<>();
+
+        streams.add( unlimitedWorkloadStreams.asynchronousStream().dependencyOperations() );
+        childOperationGenerators.add( unlimitedWorkloadStreams.asynchronousStream().childOperationGenerator() );
+
+        streams.add( unlimitedWorkloadStreams.asynchronousStream().nonDependencyOperations() );
+        childOperationGenerators.add( unlimitedWorkloadStreams.asynchronousStream().childOperationGenerator() );
+
+        for ( WorkloadStreamDefinition stream : unlimitedWorkloadStreams.blockingStreamDefinitions() )
+        {
+            streams.add( stream.dependencyOperations() );
+            childOperationGenerators.add( stream.childOperationGenerator() );
+
+            streams.add( stream.nonDependencyOperations() );
+            childOperationGenerators.add( stream.childOperationGenerator() );
+        }
+
+        // stream through streams once, to calculate how many operations are needed from each,
+        // to get operation_count in total
+        Tuple3<long[],long[],Long> limitsAndMinimumsForStream =
+                WorkloadStreams.fromAmongAllRetrieveTopCountFromOffset(
+                        streams,
+                        offset,
+                        limit,
+                        childOperationGenerators,
+                        loggingServiceFactory
+                );
+
+        workload.close();
+
+        return limitsAndMinimumsForStream;
+    }
+
     // returns (start_per_stream, end_per_stream, minimum_timestamp)
     public static Tuple3<long[],long[],Long> fromAmongAllRetrieveTopCountFromOffset(
             List<Iterator<Operation>> streams,
@@ -595,13 +647,36 @@ public class WorkloadStreams
             Iterator<Operation> dependencyOperations,
             Iterator<Operation> nonDependencyOperations,
             ChildOperationGenerator childOperationGenerator )
+    {
+        addBlockingStream(
+                dependentOperationTypes,
+                dependencyOperationTypes,
+                dependencyOperations,
+                nonDependencyOperations,
+                childOperationGenerator,
+                null
+        );
+    }
+
+    /**
+     * @param entityDependencies null to execute the operations of the stream one after the other, otherwise they may
+     * execute concurrently, as far as the entities they create and refer to allow
+     */
+    public void addBlockingStream(
+            Set<Class<? extends Operation>> dependentOperationTypes,
+            Set<Class<? extends Operation>> dependencyOperationTypes,
+            Iterator<Operation> dependencyOperations,
+            Iterator<Operation> nonDependencyOperations,
+            ChildOperationGenerator childOperationGenerator,
+            EntityDependencies entityDependencies )
     {
         WorkloadStreamDefinition blockingStream = new WorkloadStreamDefinition(
                 dependentOperationTypes,
                 dependencyOperationTypes,
                 dependencyOperations,
                 nonDependencyOperations,
-                childOperationGenerator
+                childOperationGenerator,
+                entityDependencies
         );
         this.blockingStreams.add( blockingStream );
     }
@@ -628,6 +703,7 @@ public class WorkloadStreams
         private final Iterator<Operation> dependencyOperations;
         private final Iterator<Operation> nonDependencyOperations;
         private final ChildOperationGenerator childOperationGenerator;
+        private final EntityDependencies entityDependencies;
 
         public WorkloadStreamDefinition( Set<Class<? extends Operation>> dependentOperationTypes,
                 Set<Class<? extends Operation>> dependencyOperationTypes,
@@ -635,6 +711,24 @@ public class WorkloadStreams
                 Iterator<Operation> nonDependencyOperations,
                 ChildOperationGenerator childOperationGenerator )
         {
+            this(
+                    dependentOperationTypes,
+                    dependencyOperationTypes,
+                    dependencyOperations,
+                    nonDependencyOperations,
+                    childOperationGenerator,
+                    null
+            );
+        }
+
+        public WorkloadStreamDefinition( Set<Class<? extends Operation>> dependentOperationTypes,
+                Set<Class<? extends Operation>> dependencyOperationTypes,
+                Iterator<Operation> dependencyOperations,
+                Iterator<Operation> nonDependencyOperations,
+                ChildOperationGenerator childOperationGenerator,
+                EntityDependencies entityDependencies )
+        {
+            this.entityDependencies = entityDependencies;
             this.dependentOperationTypes = dependentOperationTypes;
             this.dependencyOperationTypes = dependencyOperationTypes;
             this.dependencyOperations = dependencyOperations;
@@ -668,5 +762,13 @@ public class WorkloadStreams
         {
             return childOperationGenerator;
         }
+
+        /**
+         * @return null if operations of the stream must execute one after the other
+         */
+        public EntityDependencies entityDependencies()
+        {
+            return entityDependencies;
+        }
     }
 }
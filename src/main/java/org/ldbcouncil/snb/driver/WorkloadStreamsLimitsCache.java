@@ -0,0 +1,191 @@
+package org.ldbcouncil.snb.driver;
+
+import org.ldbcouncil.snb.driver.control.ConsoleAndFileDriverConfiguration;
+import org.ldbcouncil.snb.driver.control.DriverConfiguration;
+import org.ldbcouncil.snb.driver.util.MapUtils;
+import org.ldbcouncil.snb.driver.util.Tuple;
+import org.ldbcouncil.snb.driver.util.Tuple3;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+
+import static java.lang.String.format;
+
+/**
+ * Persists the per-stream start/limit computed by
+ * {@link WorkloadStreams#fromAmongAllRetrieveTopCountFromOffset}, so later runs can skip that pass over all streams.
+ * <p/>
+ * Manifests are keyed by the workload class, the workload parameters, offset, limit, and a fingerprint (path,
+ * length, last modified time) of every file or directory referenced by a workload parameter.
+ */
+public class WorkloadStreamsLimitsCache
+{
+    private static final String MANIFEST_FILENAME_PREFIX = "stream-limits-";
+    private static final String MANIFEST_FILENAME_SUFFIX = ".properties";
+    private static final String KEY = "key";
+    private static final String STREAM_COUNT = "stream_count";
+    private static final String STREAM_START_PREFIX = "stream_start.";
+    private static final String STREAM_LIMIT_PREFIX = "stream_limit.";
+    private static final String MINIMUM_TIMESTAMP = "minimum_timestamp";
+
+    private final File cacheDir;
+
+    public WorkloadStreamsLimitsCache( File cacheDir )
+    {
+        this.cacheDir = cacheDir;
+    }
+
+    public String keyFor( DriverConfiguration configuration, long offset, long limit ) throws WorkloadException
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance( "SHA-256" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new WorkloadException( "Error creating digest for stream limits cache key", e );
+        }
+        update( digest, configuration.workloadClassName() );
+        update( digest, Long.toString( offset ) );
+        update( digest, Long.toString( limit ) );
+        Map<String,String> workloadParameters = MapUtils.copyExcludingKeys(
+                configuration.asMap(),
+                ConsoleAndFileDriverConfiguration.coreConfigurationParameterKeys() );
+        for ( Map.Entry<String,String> workloadParameter : MapUtils.sortedEntrySet( workloadParameters ) )
+        {
+            update( digest, workloadParameter.getKey() );
+            update( digest, workloadParameter.getValue() );
+            if ( null != workloadParameter.getValue() )
+            {
+                File file = new File( workloadParameter.getValue() );
+                if ( file.exists() )
+                {
+                    fingerprint( digest, file );
+                }
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for ( byte b : digest.digest() )
+        {
+            sb.append( format( "%02x", b ) );
+        }
+        return sb.toString();
+    }
+
+    // contents are not hashed, that would cost as much as the pass over the streams this cache avoids
+    private void fingerprint( MessageDigest digest, File file )
+    {
+        update( digest, file.getAbsolutePath() );
+        update( digest, Long.toString( file.lastModified() ) );
+        if ( file.isDirectory() )
+        {
+            File[] children = file.listFiles();
+            if ( null != children )
+            {
+                Arrays.sort( children );
+                for ( File child : children )
+                {
+                    fingerprint( digest, child );
+                }
+            }
+        }
+        else
+        {
+            update( digest, Long.toString( file.length() ) );
+        }
+    }
+
+    private static void update( MessageDigest digest, String value )
+    {
+        digest.update( String.valueOf( value ).getBytes( StandardCharsets.UTF_8 ) );
+        digest.update( (byte) 0 );
+    }
+
+    /**
+     * @return (start_per_stream, end_per_stream, minimum_timestamp), or null if nothing is cached for key
+     */
+    public Tuple3<long[],long[],Long> get( String key ) throws WorkloadException
+    {
+        File manifest = manifestFile( key );
+        if ( !manifest.exists() )
+        {
+            return null;
+        }
+        Properties properties = new Properties();
+        try ( InputStream inputStream = new FileInputStream( manifest ) )
+        {
+            properties.load( inputStream );
+            if ( !key.equals( properties.getProperty( KEY ) ) )
+            {
+                return null;
+            }
+            int streamCount = Integer.parseInt( properties.getProperty( STREAM_COUNT ) );
+            long[] startForStream = new long[streamCount];
+            long[] limitForStream = new long[streamCount];
+            for ( int i = 0; i < streamCount; i++ )
+            {
+                startForStream[i] = Long.parseLong( properties.getProperty( STREAM_START_PREFIX + i ) );
+                limitForStream[i] = Long.parseLong( properties.getProperty( STREAM_LIMIT_PREFIX + i ) );
+            }
+            long minimumTimeStamp = Long.parseLong( properties.getProperty( MINIMUM_TIMESTAMP ) );
+            return Tuple.tuple3( startForStream, limitForStream, minimumTimeStamp );
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            throw new WorkloadException( format( "Error reading stream limits manifest: %s",
+                    manifest.getAbsolutePath() ), e );
+        }
+    }
+
+    public void put( String key, Tuple3<long[],long[],Long> limitsAndMinimumsForStream ) throws WorkloadException
+    {
+        long[] startForStream = limitsAndMinimumsForStream._1();
+        long[] limitForStream = limitsAndMinimumsForStream._2();
+        Properties properties = new Properties();
+        properties.setProperty( KEY, key );
+        properties.setProperty( STREAM_COUNT, Integer.toString( startForStream.length ) );
+        for ( int i = 0; i < startForStream.length; i++ )
+        {
+            properties.setProperty( STREAM_START_PREFIX + i, Long.toString( startForStream[i] ) );
+            properties.setProperty( STREAM_LIMIT_PREFIX + i, Long.toString( limitForStream[i] ) );
+        }
+        properties.setProperty( MINIMUM_TIMESTAMP, Long.toString( limitsAndMinimumsForStream._3() ) );
+
+        File manifest = manifestFile( key );
+        try
+        {
+            Files.createDirectories( cacheDir.toPath() );
+            // write then rename, so concurrent or interrupted runs never see a partial manifest
+            File tempManifest = File.createTempFile( MANIFEST_FILENAME_PREFIX, ".tmp", cacheDir );
+            try ( OutputStream outputStream = new FileOutputStream( tempManifest ) )
+            {
+                properties.store( outputStream, "per-stream offsets and limits, safe to delete" );
+            }
+            Files.move( tempManifest.toPath(), manifest.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE );
+        }
+        catch ( IOException e )
+        {
+            throw new WorkloadException( format( "Error writing stream limits manifest: %s",
+                    manifest.getAbsolutePath() ), e );
+        }
+    }
+
+    private File manifestFile( String key )
+    {
+        return new File( cacheDir, MANIFEST_FILENAME_PREFIX + key + MANIFEST_FILENAME_SUFFIX );
+    }
+}
@@ -0,0 +1,105 @@
+package org.ldbcouncil.snb.driver.client;
+
+import org.ldbcouncil.snb.driver.ClientException;
+import org.ldbcouncil.snb.driver.CompiledWorkloadSchedule;
+import org.ldbcouncil.snb.driver.Workload;
+import org.ldbcouncil.snb.driver.WorkloadStreams;
+import org.ldbcouncil.snb.driver.control.ControlService;
+import org.ldbcouncil.snb.driver.control.LoggingService;
+import org.ldbcouncil.snb.driver.generator.GeneratorFactory;
+import org.ldbcouncil.snb.driver.generator.RandomDataGeneratorFactory;
+import org.ldbcouncil.snb.driver.util.Tuple3;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+
+import static java.lang.String.format;
+
+/**
+ * Writes the schedule of each run phase to the schedule directory, see {@link CompiledWorkloadSchedule}.
+ * Mode execute_benchmark replays it when run with the same schedule directory, workload, warmup, skip and operation
+ * count.
+ */
+public class CompileScheduleMode implements ClientMode<Object>
+{
+    private final ControlService controlService;
+    private final LoggingService loggingService;
+    private final long randomSeed;
+
+    public CompileScheduleMode( ControlService controlService, long randomSeed ) throws ClientException
+    {
+        this.controlService = controlService;
+        this.loggingService = controlService.loggingServiceFactory().loggingServiceFor( getClass().getSimpleName() );
+        this.randomSeed = randomSeed;
+    }
+
+    @Override
+    public void init() throws ClientException
+    {
+        loggingService.info( "Driver Configuration" );
+        loggingService.info( controlService.toString() );
+    }
+
+    @Override
+    public Object startExecutionAndAwaitCompletion() throws ClientException
+    {
+        if ( controlService.configuration().warmupCount() > 0 )
+        {
+            compile( true );
+        }
+        compile( false );
+        loggingService.info( format( "Schedule compiled to: %s",
+                new File( controlService.configuration().scheduleDirPath() ).getAbsolutePath() ) );
+        return null;
+    }
+
+    private void compile( boolean warmup ) throws ClientException
+    {
+        // same offsets and limits as ExecuteWorkloadMode
+        long offset = (warmup)
+                      ? controlService.configuration().skipCount()
+                      : controlService.configuration().skipCount() + controlService.configuration().warmupCount();
+        long limit = (warmup)
+                     ? controlService.configuration().warmupCount()
+                     : controlService.configuration().operationCount();
+        File phaseDir = CompiledWorkloadSchedule.phaseDirectory(
+                new File( controlService.configuration().scheduleDirPath() ), warmup );
+
+        loggingService.info( format( "Compiling %s schedule to: %s",
+                (warmup) ? "warmup" : "measurement", phaseDir.getAbsolutePath() ) );
+        Instant compileStart = Instant.now();
+        // new generator factory per phase, so each phase is generated exactly as in ExecuteWorkloadMode
+        GeneratorFactory gf = new GeneratorFactory( new RandomDataGeneratorFactory( randomSeed ) );
+        try
+        {
+            boolean returnStreamsWithDbConnector = false;
+            Tuple3<WorkloadStreams,Workload,Long> streamsAndWorkloadAndMinimumTimeStamp =
+                    WorkloadStreams.createNewWorkloadWithOffsetAndLimitedWorkloadStreams(
+                            controlService.configuration(),
+                            gf,
+                            returnStreamsWithDbConnector,
+                            offset,
+                            limit,
+                            controlService.loggingServiceFactory()
+                    );
+            try ( Workload workload = streamsAndWorkloadAndMinimumTimeStamp._2() )
+            {
+                CompiledWorkloadSchedule.write(
+                        streamsAndWorkloadAndMinimumTimeStamp._1(),
+                        controlService.configuration(),
+                        offset,
+                        limit,
+                        streamsAndWorkloadAndMinimumTimeStamp._3(),
+                        phaseDir
+                );
+            }
+        }
+        catch ( Exception e )
+        {
+            throw new ClientException( format( "Error compiling schedule of workload: %s",
+                    controlService.configuration().workloadClassName() ), e );
+        }
+        loggingService.info( format( "Compiled in: %s", Duration.between( compileStart, Instant.now() ) ) );
+    }
+}
@@ -2,11 +2,14 @@ package org.ldbcouncil.snb.driver.client;
 
 import com.google.common.base.Charsets;
 import org.ldbcouncil.snb.driver.ClientException;
+import org.ldbcouncil.snb.driver.CompiledWorkloadSchedule;
 import org.ldbcouncil.snb.driver.Db;
 import org.ldbcouncil.snb.driver.DbException;
+import org.ldbcouncil.snb.driver.Operation;
 import org.ldbcouncil.snb.driver.Workload;
 import org.ldbcouncil.snb.driver.WorkloadException;
 import org.ldbcouncil.snb.driver.WorkloadStreams;
+import org.ldbcouncil.snb.driver.control.ConsoleAndFileDriverConfiguration;
 import org.ldbcouncil.snb.driver.control.ControlService;
 import org.ldbcouncil.snb.driver.control.LoggingService;
 import org.ldbcouncil.snb.driver.generator.GeneratorFactory;
@@ -17,6 +20,7 @@ import org.ldbcouncil.snb.driver.runtime.WorkloadRunner;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeException;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeService;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeServiceAssistant;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeStateManager;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeWriter;
 import org.ldbcouncil.snb.driver.runtime.metrics.DisruptorSbeMetricsService;
 import org.ldbcouncil.snb.driver.runtime.metrics.JsonWorkloadMetricsFormatter;
@@ -24,8 +28,9 @@ import org.ldbcouncil.snb.driver.runtime.metrics.MetricsCollectionException;
 import org.ldbcouncil.snb.driver.runtime.metrics.MetricsManager;
 import org.ldbcouncil.snb.driver.runtime.metrics.MetricsService;
 import org.ldbcouncil.snb.driver.runtime.metrics.NullResultsLogWriter;
+import org.ldbcouncil.snb.driver.runtime.metrics.ResultsLogFormat;
 import org.ldbcouncil.snb.driver.runtime.metrics.ResultsLogWriter;
-import org.ldbcouncil.snb.driver.runtime.metrics.SimpleResultsLogWriter;
+import org.ldbcouncil.snb.driver.runtime.metrics.ThreadLocalMetricsService;
 import org.ldbcouncil.snb.driver.runtime.metrics.WorkloadResultsSnapshot;
 import org.ldbcouncil.snb.driver.runtime.metrics.WorkloadStatusSnapshot;
 import org.ldbcouncil.snb.driver.temporal.TemporalUtil;
@@ -36,6 +41,7 @@ import org.ldbcouncil.snb.driver.validation.ResultsLogValidationResult;
 import org.ldbcouncil.snb.driver.validation.ResultsLogValidationSummary;
 import org.ldbcouncil.snb.driver.validation.ResultsLogValidationTolerances;
 import org.ldbcouncil.snb.driver.validation.ResultsLogValidator;
+import org.ldbcouncil.snb.driver.workloads.ClassNameWorkloadFactory;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -44,6 +50,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
@@ -153,14 +161,14 @@ public class ExecuteWorkloadMode implements ClientMode<Object>
         GeneratorFactory gf = new GeneratorFactory( new RandomDataGeneratorFactory( randomSeed ) );
 
         //  ================================
-        //  ===  Results Log CSV Writer  ===
+        //  ===  Results Log Writer  ===
         //  ================================
         File resultsLog = resultsDirectory.getOrCreateResultsLogFile( warmup );
         try
         {
             resultsLogWriter = (null == resultsLog)
                                ? new NullResultsLogWriter()
-                               : new SimpleResultsLogWriter(
+                               : ResultsLogFormat.valueOf( controlService.configuration().resultsLogFormat() ).newWriter(
                                     resultsLog,
                                     controlService.configuration().timeUnit(),
                                     controlService.configuration().flushLog() );
@@ -174,8 +182,6 @@ public class ExecuteWorkloadMode implements ClientMode<Object>
         //  ==================
         //  ===  Workload  ===
         //  ==================
-        loggingService.info( "Scanning workload streams to calculate their limits..." );
-
         long offset = (warmup)
                       ? controlService.configuration().skipCount()
                       : controlService.configuration().skipCount() + controlService.configuration().warmupCount();
@@ -188,15 +194,35 @@ public class ExecuteWorkloadMode implements ClientMode<Object>
         try
         {
             boolean returnStreamsWithDbConnector = true;
-            Tuple3<WorkloadStreams,Workload,Long> streamsAndWorkloadAndMinimumTimeStamp =
-                    WorkloadStreams.createNewWorkloadWithOffsetAndLimitedWorkloadStreams(
-                            controlService.configuration(),
-                            gf,
-                            returnStreamsWithDbConnector,
-                            offset,
-                            limit,
-                            controlService.loggingServiceFactory()
-                    );
+            Tuple3<WorkloadStreams,Workload,Long> streamsAndWorkloadAndMinimumTimeStamp;
+            if ( null == controlService.configuration().scheduleDirPath() )
+            {
+                loggingService.info( "Scanning workload streams to calculate their limits..." );
+                streamsAndWorkloadAndMinimumTimeStamp =
+                        WorkloadStreams.createNewWorkloadWithOffsetAndLimitedWorkloadStreams(
+                                controlService.configuration(),
+                                gf,
+                                returnStreamsWithDbConnector,
+                                offset,
+                                limit,
+                                controlService.loggingServiceFactory()
+                        );
+            }
+            else
+            {
+                File phaseDir = CompiledWorkloadSchedule.phaseDirectory(
+                        new File( controlService.configuration().scheduleDirPath() ), warmup );
+                loggingService.info( format( "Replaying compiled schedule: %s", phaseDir.getAbsolutePath() ) );
+                streamsAndWorkloadAndMinimumTimeStamp = CompiledWorkloadSchedule.load(
+                        new ClassNameWorkloadFactory( controlService.configuration().workloadClassName() ),
+                        controlService.configuration(),
+                        gf,
+                        returnStreamsWithDbConnector,
+                        offset,
+                        limit,
+                        phaseDir
+                );
+            }
             workloadStreams = streamsAndWorkloadAndMinimumTimeStamp._1();
             workload = streamsAndWorkloadAndMinimumTimeStamp._2();
             minimumTimeStamp = streamsAndWorkloadAndMinimumTimeStamp._3();
@@ -253,15 +279,34 @@ public class ExecuteWorkloadMode implements ClientMode<Object>
         try
         {
             // TODO create metrics service factory so different ones can be easily created
-            metricsService = new DisruptorSbeMetricsService(
-                    timeSource,
-                    errorReporter,
-                    controlService.configuration().timeUnit(),
-                    DisruptorSbeMetricsService.DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO,
-                    resultsLogWriter,
-                    workload.operationTypeToClassMapping(),
-                    controlService.loggingServiceFactory()
-            );
+            if ( controlService.configuration().threadLocalMetrics() )
+            {
+                metricsService = new ThreadLocalMetricsService(
+                        timeSource,
+                        errorReporter,
+                        controlService.configuration().timeUnit(),
+                        ThreadLocalMetricsService.DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO,
+                        resultsLogWriter,
+                        workload.operationTypeToClassMapping(),
+                        controlService.loggingServiceFactory()
+                );
+            }
+            else
+            {
+                metricsService = new DisruptorSbeMetricsService(
+                        timeSource,
+                        errorReporter,
+                        controlService.configuration().timeUnit(),
+                        DisruptorSbeMetricsService.DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO,
+                        resultsLogWriter,
+                        workload.operationTypeToClassMapping(),
+                        controlService.loggingServiceFactory(),
+                        controlService.configuration().metricsRingSize(),
+                        DisruptorSbeMetricsService.WaitStrategyType.valueOf(
+                                controlService.configuration().metricsWaitStrategy() ),
+                        controlService.configuration().metricsShards()
+                );
+            }
         }
         catch ( MetricsCollectionException e )
         {
@@ -277,7 +322,9 @@ public class ExecuteWorkloadMode implements ClientMode<Object>
             completionTimeService =
                     completionTimeServiceAssistant.newThreadedQueuedCompletionTimeService(
                             timeSource,
-                            errorReporter
+                            errorReporter,
+                            CompletionTimeStateManager.TimeTrackerType.valueOf(
+                                    controlService.configuration().timeTracker() )
                     );
         }
         catch ( CompletionTimeException e )
@@ -304,7 +351,13 @@ public class ExecuteWorkloadMode implements ClientMode<Object>
                     controlService.configuration().statusDisplayIntervalAsSeconds(),
                     controlService.configuration().spinnerSleepDurationAsMilli(),
                     controlService.configuration().ignoreScheduledStartTimes(),
-                    operationHandlerExecutorsBoundedQueueSize );
+                    operationHandlerExecutorsBoundedQueueSize,
+                    controlService.configuration().asyncExecutor(),
+                    controlService.configuration().maxInFlight(),
+                    controlService.configuration().preciseSpinner(),
+                    controlService.configuration().jitDispatch(),
+                    edfDeadlineOffsetsAsMilli(),
+                    controlService.configuration().writeThreadCount() );
         }
         catch ( Exception e )
         {
@@ -370,11 +423,45 @@ public class ExecuteWorkloadMode implements ClientMode<Object>
         }
     }
 
+    // null unless operations are queued earliest deadline first, otherwise deadline offsets indexed by operation type
+    private long[] edfDeadlineOffsetsAsMilli() throws ClientException
+    {
+        if ( !controlService.configuration().edfQueue() )
+        {
+            return null;
+        }
+        Map<Integer,Class<? extends Operation>> operationTypeToClassMapping = workload.operationTypeToClassMapping();
+        int maxOperationType =
+                (operationTypeToClassMapping.isEmpty()) ? -1 : Collections.max( operationTypeToClassMapping.keySet() );
+        long[] deadlineOffsetsAsMilli = new long[maxOperationType + 1];
+        Map<String,String> paramsMap = controlService.configuration().asMap();
+        for ( Map.Entry<Integer,Class<? extends Operation>> entry : operationTypeToClassMapping.entrySet() )
+        {
+            String paramKey = ConsoleAndFileDriverConfiguration.EDF_DEADLINE_OFFSET_PREFIX +
+                              entry.getValue().getSimpleName();
+            String deadlineOffsetString = paramsMap.get( paramKey );
+            if ( null == deadlineOffsetString )
+            {
+                continue;
+            }
+            try
+            {
+                deadlineOffsetsAsMilli[entry.getKey()] = Long.parseLong( deadlineOffsetString.trim() );
+            }
+            catch ( NumberFormatException e )
+            {
+                throw new ClientException( format( "Invalid value for %s: %s", paramKey, deadlineOffsetString ), e );
+            }
+        }
+        return deadlineOffsetsAsMilli;
+    }
+
     private void doExecute( boolean warmup ) throws ClientException
     {
         try
         {
             ConcurrentErrorReporter errorReporter = workloadRunner.getFuture().get();
+            workload.logStatistics( loggingService );
             loggingService.info( "Shutting down workload..." );
             workload.close();
             if ( errorReporter.errorEncountered() )
@@ -7,12 +7,14 @@ import org.ldbcouncil.snb.driver.control.ConsoleAndFileDriverConfiguration;
 import org.ldbcouncil.snb.driver.control.DriverConfiguration;
 import org.ldbcouncil.snb.driver.control.DriverConfigurationException;
 import org.ldbcouncil.snb.driver.csv.simple.SimpleCsvFileReader;
+import org.ldbcouncil.snb.driver.runtime.metrics.BinaryResultsLogReader;
+import org.ldbcouncil.snb.driver.runtime.metrics.ResultsLogFormat;
+import org.ldbcouncil.snb.driver.runtime.metrics.ResultsLogReader;
 import org.ldbcouncil.snb.driver.util.FileUtils;
 import org.ldbcouncil.snb.driver.util.MapUtils;
 
 import java.io.File;
 import java.io.FileFilter;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
@@ -42,7 +44,6 @@ public class ResultsDirectory
 
     private static final String WARMUP_IDENTIFIER = "-WARMUP-";
 
-    private static final String RESULTS_LOG_FILENAME_SUFFIX = "-results_log.csv";
     private static final String RESULTS_METRICS_FILENAME_SUFFIX = "-results.json";
     private static final String RESULTS_CONFIGURATION_FILENAME_SUFFIX = "-configuration.properties";
 
@@ -118,18 +119,39 @@ public class ResultsDirectory
         return getResultsLogFile( resultsDir, configuration, warmup );
     }
 
+    /**
+     * @return number of operation results in results log, plus one for the header
+     */
     public long getResultsLogFileLength( boolean warmup ) throws ClientException
     {
-        try ( SimpleCsvFileReader csvResultsLogReader = new SimpleCsvFileReader(
-                getResultsLogFile( resultsDir, configuration, warmup ),
-                SimpleCsvFileReader.DEFAULT_COLUMN_SEPARATOR_REGEX_STRING ) )
+        File resultsLog = getResultsLogFile( resultsDir, configuration, warmup );
+        try
         {
-            return Iterators.size( csvResultsLogReader );
+            if ( BinaryResultsLogReader.isBinaryResultsLog( resultsLog ) )
+            {
+                long length = 1;
+                try ( ResultsLogReader resultsLogReader = new BinaryResultsLogReader( resultsLog ) )
+                {
+                    while ( resultsLogReader.next() )
+                    {
+                        length++;
+                    }
+                }
+                return length;
+            }
+            else
+            {
+                try ( SimpleCsvFileReader csvResultsLogReader = new SimpleCsvFileReader(
+                        resultsLog,
+                        SimpleCsvFileReader.DEFAULT_COLUMN_SEPARATOR_REGEX_STRING ) )
+                {
+                    return Iterators.size( csvResultsLogReader );
+                }
+            }
         }
-        catch ( FileNotFoundException e )
+        catch ( Exception e )
         {
-            throw new ClientException(
-                    "Error calculating length of " + getResultsLogFile( warmup ).getAbsolutePath(), e );
+            throw new ClientException( "Error calculating length of " + resultsLog.getAbsolutePath(), e );
         }
     }
 
@@ -324,7 +346,8 @@ public class ResultsDirectory
     {
         FileFilter resultsLogFileFilter = file ->
                 file.getName().contains( WARMUP_IDENTIFIER ) == warmup &&
-                file.getName().endsWith( RESULTS_LOG_FILENAME_SUFFIX );
+                Arrays.stream( ResultsLogFormat.values() )
+                        .anyMatch( format -> file.getName().endsWith( format.filenameSuffix() ) );
         File[] resultFiles = resultsDir.listFiles( resultsLogFileFilter );
         if ( null == resultFiles || resultFiles.length == 0 )
         {
@@ -362,8 +385,9 @@ public class ResultsDirectory
 
     private static String resultsLogFilename( DriverConfiguration configuration, boolean warmup )
     {
-        return (warmup) ? configuration.name() + WARMUP_IDENTIFIER + RESULTS_LOG_FILENAME_SUFFIX
-                        : configuration.name() + RESULTS_LOG_FILENAME_SUFFIX;
+        String resultsLogFilenameSuffix = ResultsLogFormat.valueOf( configuration.resultsLogFormat() ).filenameSuffix();
+        return (warmup) ? configuration.name() + WARMUP_IDENTIFIER + resultsLogFilenameSuffix
+                        : configuration.name() + resultsLogFilenameSuffix;
     }
 
     private static String resultsSummaryFilename( DriverConfiguration configuration, boolean warmup )
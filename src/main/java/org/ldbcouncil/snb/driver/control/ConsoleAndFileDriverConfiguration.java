@@ -3,6 +3,10 @@ package org.ldbcouncil.snb.driver.control;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.ldbcouncil.snb.driver.Client;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeStateManager;
+import org.ldbcouncil.snb.driver.runtime.metrics.DisruptorSbeMetricsService;
+import org.ldbcouncil.snb.driver.runtime.metrics.ResultsLogConverter;
+import org.ldbcouncil.snb.driver.runtime.metrics.ResultsLogFormat;
 import org.ldbcouncil.snb.driver.temporal.TemporalUtil;
 import org.ldbcouncil.snb.driver.util.MapUtils;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcSnbInteractiveWorkload;
@@ -48,7 +52,8 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
     public static final String MODE_DEFAULT_STRING = MODE_DEFAULT;
     private static final String MODE_ARG_LONG = "mode";
     private static final String MODE_DESCRIPTION = 
-        "mode the driver should execute (e.g. create_validation, validate_database, create_statistics, execute_benchmark)";
+        "mode the driver should execute (e.g. create_validation, validate_database, create_statistics, " +
+        "compile_schedule, execute_benchmark)";
 
     // --- REQUIRED ---
     public static final String OPERATION_COUNT_ARG = "oc";
@@ -95,6 +100,112 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
     public static final String FLUSH_LOG_DEFAULT_STRING = Boolean.toString(FLUSH_LOG_DEFAULT);
     private static final String FLUSH_LOG_DESCRIPTION = "flush log to disk after each operation";
 
+    public static final String ASYNC_EXECUTOR_ARG = "async_executor";
+    public static final boolean ASYNC_EXECUTOR_DEFAULT = false;
+    public static final String ASYNC_EXECUTOR_DEFAULT_STRING = Boolean.toString( ASYNC_EXECUTOR_DEFAULT );
+    private static final String ASYNC_EXECUTOR_DESCRIPTION =
+            "execute asynchronous stream with timer-scheduled dispatch, bounded by in-flight operations rather than " +
+            "by threads blocked waiting for start times";
+
+    public static final String MAX_IN_FLIGHT_ARG = "max_in_flight";
+    public static final int MAX_IN_FLIGHT_DEFAULT = 10000;
+    public static final String MAX_IN_FLIGHT_DEFAULT_STRING = Integer.toString( MAX_IN_FLIGHT_DEFAULT );
+    private static final String MAX_IN_FLIGHT_DESCRIPTION =
+            format( "maximum number of outstanding operations when using %s (default: %s)",
+                    ASYNC_EXECUTOR_ARG, MAX_IN_FLIGHT_DEFAULT_STRING );
+
+    public static final String PRECISE_SPINNER_ARG = "precise_spinner";
+    public static final boolean PRECISE_SPINNER_DEFAULT = false;
+    public static final String PRECISE_SPINNER_DEFAULT_STRING = Boolean.toString( PRECISE_SPINNER_DEFAULT );
+    private static final String PRECISE_SPINNER_DESCRIPTION =
+            "park until shortly before scheduled start time then spin, for sub-millisecond start time accuracy " +
+            "without busy waiting (spinner wait duration then only applies to dependency checks)";
+
+    public static final String JIT_DISPATCH_ARG = "jit_dispatch";
+    public static final boolean JIT_DISPATCH_DEFAULT = false;
+    public static final String JIT_DISPATCH_DEFAULT_STRING = Boolean.toString( JIT_DISPATCH_DEFAULT );
+    private static final String JIT_DISPATCH_DESCRIPTION =
+            "hold operations in a timer wheel until their scheduled start time and only then hand them to worker " +
+            "threads, so worker threads do not wait for scheduled start times (thread pool executor only)";
+
+    public static final String EDF_QUEUE_ARG = "edf_queue";
+    public static final boolean EDF_QUEUE_DEFAULT = false;
+    public static final String EDF_QUEUE_DEFAULT_STRING = Boolean.toString( EDF_QUEUE_DEFAULT );
+    // deadline offset of an operation type, e.g., ldbc.snb.driver.deadline_offset.LdbcShortQuery1PersonProfile=100
+    public static final String EDF_DEADLINE_OFFSET_PREFIX = "ldbc.snb.driver.deadline_offset.";
+    private static final String EDF_QUEUE_DESCRIPTION =
+            format( "queue operations earliest deadline first rather than first-in-first-out, where the deadline is " +
+                    "the scheduled start time plus a per operation type offset in milliseconds, set with " +
+                    "%s<operation class name> (default offset: 0) (thread pool executor only)",
+                    EDF_DEADLINE_OFFSET_PREFIX );
+
+    public static final String WRITE_THREADS_ARG = "write_thread_count";
+    public static final int WRITE_THREADS_DEFAULT = 0;
+    public static final String WRITE_THREADS_DEFAULT_STRING = Integer.toString( WRITE_THREADS_DEFAULT );
+    private static final String WRITE_THREADS_DESCRIPTION =
+            format( "number of threads that execute blocking (e.g., update) streams, independent of the worker " +
+                    "thread count, each thread executing several streams in order of scheduled start time, 0 for " +
+                    "one thread per stream (default: %s)", WRITE_THREADS_DEFAULT_STRING );
+
+    public static final String TIME_TRACKER_ARG = "time_tracker";
+    public static final String TIME_TRACKER_DEFAULT = CompletionTimeStateManager.TimeTrackerType.TREE_MULTISET.name();
+    public static final String TIME_TRACKER_DEFAULT_STRING = TIME_TRACKER_DEFAULT;
+    private static final String TIME_TRACKER_DESCRIPTION = format(
+            "data structures the completion time service tracks initiated and completed times in. default:%s, " +
+            "valid:%s", TIME_TRACKER_DEFAULT_STRING,
+            Arrays.toString( CompletionTimeStateManager.TimeTrackerType.values() ) );
+
+    public static final String METRICS_RING_SIZE_ARG = "metrics_ring_size";
+    public static final int METRICS_RING_SIZE_DEFAULT = DisruptorSbeMetricsService.DEFAULT_RING_BUFFER_SIZE;
+    public static final String METRICS_RING_SIZE_DEFAULT_STRING = Integer.toString( METRICS_RING_SIZE_DEFAULT );
+    private static final String METRICS_RING_SIZE_DESCRIPTION =
+            format( "size of metrics service ring buffer, must be a power of 2 (default: %s)",
+                    METRICS_RING_SIZE_DEFAULT_STRING );
+
+    public static final String METRICS_WAIT_STRATEGY_ARG = "metrics_wait_strategy";
+    public static final String METRICS_WAIT_STRATEGY_DEFAULT =
+            DisruptorSbeMetricsService.DEFAULT_WAIT_STRATEGY.name();
+    public static final String METRICS_WAIT_STRATEGY_DEFAULT_STRING = METRICS_WAIT_STRATEGY_DEFAULT;
+    private static final String METRICS_WAIT_STRATEGY_DESCRIPTION = format(
+            "wait strategy of metrics service consumers. default:%s, valid:%s", METRICS_WAIT_STRATEGY_DEFAULT_STRING,
+            Arrays.toString( DisruptorSbeMetricsService.WaitStrategyType.values() ) );
+
+    public static final String METRICS_SHARDS_ARG = "metrics_shards";
+    public static final int METRICS_SHARDS_DEFAULT = DisruptorSbeMetricsService.DEFAULT_HISTOGRAM_SHARD_COUNT;
+    public static final String METRICS_SHARDS_DEFAULT_STRING = Integer.toString( METRICS_SHARDS_DEFAULT );
+    private static final String METRICS_SHARDS_DESCRIPTION =
+            format( "number of parallel metrics service consumers aggregating histograms, operation types are " +
+                    "partitioned among them (default: %s)", METRICS_SHARDS_DEFAULT_STRING );
+
+    public static final String THREAD_LOCAL_METRICS_ARG = "thread_local_metrics";
+    public static final boolean THREAD_LOCAL_METRICS_DEFAULT = false;
+    public static final String THREAD_LOCAL_METRICS_DEFAULT_STRING = Boolean.toString( THREAD_LOCAL_METRICS_DEFAULT );
+    private static final String THREAD_LOCAL_METRICS_DESCRIPTION =
+            "record metrics into per-thread buffers that are periodically merged, instead of publishing every " +
+            "result to the metrics ring buffer";
+
+    public static final String RESULTS_LOG_FORMAT_ARG = "results_log_format";
+    public static final String RESULTS_LOG_FORMAT_DEFAULT = ResultsLogFormat.CSV.name();
+    public static final String RESULTS_LOG_FORMAT_DEFAULT_STRING = RESULTS_LOG_FORMAT_DEFAULT;
+    private static final String RESULTS_LOG_FORMAT_DESCRIPTION =
+            format( "format of results log, binary formats can be converted to CSV with %s. default:%s, valid:%s",
+                    ResultsLogConverter.class.getSimpleName(), RESULTS_LOG_FORMAT_DEFAULT_STRING,
+                    Arrays.toString( ResultsLogFormat.values() ) );
+
+    public static final String STREAM_LIMITS_CACHE_DIR_ARG = "stream_limits_cache_dir";
+    public static final String STREAM_LIMITS_CACHE_DIR_DEFAULT = null;
+    public static final String STREAM_LIMITS_CACHE_DIR_DEFAULT_STRING = STREAM_LIMITS_CACHE_DIR_DEFAULT;
+    private static final String STREAM_LIMITS_CACHE_DIR_DESCRIPTION =
+            "directory where per-stream offsets and limits are cached, so later runs with the same workload input, " +
+            "parameters, offset and operation count skip the counting pass over all streams. default: no caching";
+
+    public static final String SCHEDULE_DIR_ARG = "schedule_dir";
+    public static final String SCHEDULE_DIR_DEFAULT = null;
+    public static final String SCHEDULE_DIR_DEFAULT_STRING = SCHEDULE_DIR_DEFAULT;
+    private static final String SCHEDULE_DIR_DESCRIPTION =
+            "directory of a compiled operation schedule. written by mode 'compile_schedule', replayed by mode " +
+            "'execute_benchmark' instead of generating the schedule from the workload input. default: none";
+
     public static final String NAME_ARG = "nm";
     private static final String NAME_ARG_LONG = "name";
     public static final String NAME_DEFAULT = "LDBC";
@@ -205,6 +316,18 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
         defaultParamsMap.put( IGNORE_SCHEDULED_START_TIMES_ARG, IGNORE_SCHEDULED_START_TIMES_DEFAULT_STRING );
         defaultParamsMap.put( HELP_ARG, HELP_DEFAULT_STRING );
         defaultParamsMap.put( FLUSH_LOG_ARG, FLUSH_LOG_DEFAULT_STRING );
+        defaultParamsMap.put( ASYNC_EXECUTOR_ARG, ASYNC_EXECUTOR_DEFAULT_STRING );
+        defaultParamsMap.put( MAX_IN_FLIGHT_ARG, MAX_IN_FLIGHT_DEFAULT_STRING );
+        defaultParamsMap.put( PRECISE_SPINNER_ARG, PRECISE_SPINNER_DEFAULT_STRING );
+        defaultParamsMap.put( JIT_DISPATCH_ARG, JIT_DISPATCH_DEFAULT_STRING );
+        defaultParamsMap.put( EDF_QUEUE_ARG, EDF_QUEUE_DEFAULT_STRING );
+        defaultParamsMap.put( WRITE_THREADS_ARG, WRITE_THREADS_DEFAULT_STRING );
+        defaultParamsMap.put( TIME_TRACKER_ARG, TIME_TRACKER_DEFAULT_STRING );
+        defaultParamsMap.put( METRICS_RING_SIZE_ARG, METRICS_RING_SIZE_DEFAULT_STRING );
+        defaultParamsMap.put( METRICS_WAIT_STRATEGY_ARG, METRICS_WAIT_STRATEGY_DEFAULT_STRING );
+        defaultParamsMap.put( METRICS_SHARDS_ARG, METRICS_SHARDS_DEFAULT_STRING );
+        defaultParamsMap.put( THREAD_LOCAL_METRICS_ARG, THREAD_LOCAL_METRICS_DEFAULT_STRING );
+        defaultParamsMap.put( RESULTS_LOG_FORMAT_ARG, RESULTS_LOG_FORMAT_DEFAULT_STRING );
         defaultParamsMap.put( OPERATION_COUNT_ARG, OPERATION_COUNT_DEFAULT_STRING );
         defaultParamsMap.put( WORKLOAD_ARG, WORKLOAD_DEFAULT_STRING );
         defaultParamsMap.put( NAME_ARG, NAME_DEFAULT_STRING );
@@ -255,6 +378,16 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
                     missingParams.add( ConsoleAndFileDriverConfiguration.OPERATION_COUNT_ARG );
                 }
                 break;
+            case compile_schedule:
+                if ( 0 == configuration.operationCount() )
+                {
+                    missingParams.add( ConsoleAndFileDriverConfiguration.OPERATION_COUNT_ARG );
+                }
+                if ( null == configuration.scheduleDirPath() )
+                {
+                    missingParams.add( ConsoleAndFileDriverConfiguration.SCHEDULE_DIR_ARG );
+                }
+                break;
             case validate_database:
                 if ( null == configuration.dbClassName() )
                 {
@@ -308,6 +441,26 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
             {
                 assertValidTimeUnit( paramsMap.get( TIME_UNIT_ARG ) );
             }
+            if ( paramsMap.containsKey( METRICS_RING_SIZE_ARG ) )
+            {
+                assertValidMetricsRingSize( paramsMap.get( METRICS_RING_SIZE_ARG ) );
+            }
+            if ( paramsMap.containsKey( METRICS_WAIT_STRATEGY_ARG ) )
+            {
+                assertValidMetricsWaitStrategy( paramsMap.get( METRICS_WAIT_STRATEGY_ARG ) );
+            }
+            if ( paramsMap.containsKey( METRICS_SHARDS_ARG ) )
+            {
+                assertValidMetricsShards( paramsMap.get( METRICS_SHARDS_ARG ) );
+            }
+            if ( paramsMap.containsKey( TIME_TRACKER_ARG ) )
+            {
+                assertValidTimeTracker( paramsMap.get( TIME_TRACKER_ARG ) );
+            }
+            if ( paramsMap.containsKey( RESULTS_LOG_FORMAT_ARG ) )
+            {
+                assertValidResultsLogFormat( paramsMap.get( RESULTS_LOG_FORMAT_ARG ) );
+            }
 
             paramsMap = MapUtils.mergeMaps( paramsMap, defaultsAsMap(), false );
             String mode = paramsMap.get ( MODE_ARG );
@@ -332,6 +485,20 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
             boolean ignoreScheduledStartTimes =
                     Boolean.parseBoolean( paramsMap.get( IGNORE_SCHEDULED_START_TIMES_ARG ) );
             boolean flushLog = Boolean.parseBoolean( paramsMap.get( FLUSH_LOG_ARG ) );
+            boolean asyncExecutor = Boolean.parseBoolean( paramsMap.get( ASYNC_EXECUTOR_ARG ) );
+            int maxInFlight = Integer.parseInt( paramsMap.get( MAX_IN_FLIGHT_ARG ) );
+            boolean preciseSpinner = Boolean.parseBoolean( paramsMap.get( PRECISE_SPINNER_ARG ) );
+            boolean jitDispatch = Boolean.parseBoolean( paramsMap.get( JIT_DISPATCH_ARG ) );
+            boolean edfQueue = Boolean.parseBoolean( paramsMap.get( EDF_QUEUE_ARG ) );
+            int writeThreadCount = Integer.parseInt( paramsMap.get( WRITE_THREADS_ARG ) );
+            String timeTracker = paramsMap.get( TIME_TRACKER_ARG );
+            int metricsRingSize = Integer.parseInt( paramsMap.get( METRICS_RING_SIZE_ARG ) );
+            String metricsWaitStrategy = paramsMap.get( METRICS_WAIT_STRATEGY_ARG );
+            int metricsShards = Integer.parseInt( paramsMap.get( METRICS_SHARDS_ARG ) );
+            boolean threadLocalMetrics = Boolean.parseBoolean( paramsMap.get( THREAD_LOCAL_METRICS_ARG ) );
+            String resultsLogFormat = paramsMap.get( RESULTS_LOG_FORMAT_ARG );
+            String streamLimitsCacheDirPath = paramsMap.get( STREAM_LIMITS_CACHE_DIR_ARG );
+            String scheduleDirPath = paramsMap.get( SCHEDULE_DIR_ARG );
             return new ConsoleAndFileDriverConfiguration(
                     paramsMap,
                     mode,
@@ -353,7 +520,21 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
                     ignoreScheduledStartTimes,
                     warmupCount,
                     skipCount,
-                    flushLog
+                    flushLog,
+                    asyncExecutor,
+                    maxInFlight,
+                    preciseSpinner,
+                    jitDispatch,
+                    edfQueue,
+                    writeThreadCount,
+                    timeTracker,
+                    metricsRingSize,
+                    metricsWaitStrategy,
+                    metricsShards,
+                    threadLocalMetrics,
+                    resultsLogFormat,
+                    streamLimitsCacheDirPath,
+                    scheduleDirPath
             );
         }
         catch ( DriverConfigurationException e )
@@ -381,6 +562,91 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
         }
     }
 
+    private static void assertValidMetricsRingSize( String metricsRingSizeString ) throws DriverConfigurationException
+    {
+        int metricsRingSize;
+        try
+        {
+            metricsRingSize = Integer.parseInt( metricsRingSizeString );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new DriverConfigurationException(
+                    format( "Unsupported metrics ring size value: %s", metricsRingSizeString ) );
+        }
+        if ( metricsRingSize < 1 || Integer.bitCount( metricsRingSize ) != 1 )
+        {
+            throw new DriverConfigurationException(
+                    format( "Metrics ring size must be a power of 2: %s", metricsRingSizeString ) );
+        }
+    }
+
+    private static void assertValidMetricsWaitStrategy( String metricsWaitStrategyString )
+            throws DriverConfigurationException
+    {
+        try
+        {
+            DisruptorSbeMetricsService.WaitStrategyType.valueOf( metricsWaitStrategyString );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new DriverConfigurationException(
+                    format( "Unsupported metrics wait strategy value: %s, valid: %s",
+                            metricsWaitStrategyString,
+                            Arrays.toString( DisruptorSbeMetricsService.WaitStrategyType.values() ) ) );
+        }
+    }
+
+    private static void assertValidTimeTracker( String timeTrackerString ) throws DriverConfigurationException
+    {
+        try
+        {
+            CompletionTimeStateManager.TimeTrackerType.valueOf( timeTrackerString );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new DriverConfigurationException(
+                    format( "Unsupported time tracker value: %s, valid: %s",
+                            timeTrackerString,
+                            Arrays.toString( CompletionTimeStateManager.TimeTrackerType.values() ) ) );
+        }
+    }
+
+    private static void assertValidMetricsShards( String metricsShardsString ) throws DriverConfigurationException
+    {
+        int metricsShards;
+        try
+        {
+            metricsShards = Integer.parseInt( metricsShardsString );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new DriverConfigurationException(
+                    format( "Unsupported metrics shards value: %s", metricsShardsString ) );
+        }
+        if ( metricsShards < 1 )
+        {
+            throw new DriverConfigurationException(
+                    format( "Metrics shards must be at least 1: %s", metricsShardsString ) );
+        }
+    }
+
+    private static void assertValidResultsLogFormat( String resultsLogFormatString )
+            throws DriverConfigurationException
+    {
+        try
+        {
+            ResultsLogFormat.valueOf( resultsLogFormatString );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new DriverConfigurationException(
+                    format( "Unsupported results log format value: %s, valid: %s",
+                            resultsLogFormatString,
+                            Arrays.toString( ResultsLogFormat.values() ) ) );
+        }
+    }
+
     private static Map<String,String> parseArgs( String[] args, Options options )
             throws ParseException, DriverConfigurationException
     {
@@ -478,6 +744,76 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
             cmdParams.put( IGNORE_SCHEDULED_START_TIMES_ARG, Boolean.toString( true ) );
         }
 
+        if ( cmd.hasOption( ASYNC_EXECUTOR_ARG ) )
+        {
+            cmdParams.put( ASYNC_EXECUTOR_ARG, Boolean.toString( true ) );
+        }
+
+        if ( cmd.hasOption( MAX_IN_FLIGHT_ARG ) )
+        {
+            cmdParams.put( MAX_IN_FLIGHT_ARG, cmd.getOptionValue( MAX_IN_FLIGHT_ARG ) );
+        }
+
+        if ( cmd.hasOption( PRECISE_SPINNER_ARG ) )
+        {
+            cmdParams.put( PRECISE_SPINNER_ARG, Boolean.toString( true ) );
+        }
+
+        if ( cmd.hasOption( JIT_DISPATCH_ARG ) )
+        {
+            cmdParams.put( JIT_DISPATCH_ARG, Boolean.toString( true ) );
+        }
+
+        if ( cmd.hasOption( EDF_QUEUE_ARG ) )
+        {
+            cmdParams.put( EDF_QUEUE_ARG, Boolean.toString( true ) );
+        }
+
+        if ( cmd.hasOption( WRITE_THREADS_ARG ) )
+        {
+            cmdParams.put( WRITE_THREADS_ARG, cmd.getOptionValue( WRITE_THREADS_ARG ) );
+        }
+
+        if ( cmd.hasOption( TIME_TRACKER_ARG ) )
+        {
+            cmdParams.put( TIME_TRACKER_ARG, cmd.getOptionValue( TIME_TRACKER_ARG ) );
+        }
+
+        if ( cmd.hasOption( METRICS_RING_SIZE_ARG ) )
+        {
+            cmdParams.put( METRICS_RING_SIZE_ARG, cmd.getOptionValue( METRICS_RING_SIZE_ARG ) );
+        }
+
+        if ( cmd.hasOption( METRICS_WAIT_STRATEGY_ARG ) )
+        {
+            cmdParams.put( METRICS_WAIT_STRATEGY_ARG, cmd.getOptionValue( METRICS_WAIT_STRATEGY_ARG ) );
+        }
+
+        if ( cmd.hasOption( METRICS_SHARDS_ARG ) )
+        {
+            cmdParams.put( METRICS_SHARDS_ARG, cmd.getOptionValue( METRICS_SHARDS_ARG ) );
+        }
+
+        if ( cmd.hasOption( THREAD_LOCAL_METRICS_ARG ) )
+        {
+            cmdParams.put( THREAD_LOCAL_METRICS_ARG, Boolean.toString( true ) );
+        }
+
+        if ( cmd.hasOption( RESULTS_LOG_FORMAT_ARG ) )
+        {
+            cmdParams.put( RESULTS_LOG_FORMAT_ARG, cmd.getOptionValue( RESULTS_LOG_FORMAT_ARG ) );
+        }
+
+        if ( cmd.hasOption( STREAM_LIMITS_CACHE_DIR_ARG ) )
+        {
+            cmdParams.put( STREAM_LIMITS_CACHE_DIR_ARG, cmd.getOptionValue( STREAM_LIMITS_CACHE_DIR_ARG ) );
+        }
+
+        if ( cmd.hasOption( SCHEDULE_DIR_ARG ) )
+        {
+            cmdParams.put( SCHEDULE_DIR_ARG, cmd.getOptionValue( SCHEDULE_DIR_ARG ) );
+        }
+
         if ( cmd.hasOption( WARMUP_COUNT_ARG ) )
         {
             cmdParams.put( WARMUP_COUNT_ARG, cmd.getOptionValue( WARMUP_COUNT_ARG ) );
@@ -670,6 +1006,62 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
                         .create( IGNORE_SCHEDULED_START_TIMES_ARG );
         options.addOption( ignoreScheduledStartTimesOption );
 
+        Option asyncExecutorOption =
+                OptionBuilder.withDescription( ASYNC_EXECUTOR_DESCRIPTION ).create( ASYNC_EXECUTOR_ARG );
+        options.addOption( asyncExecutorOption );
+
+        Option maxInFlightOption = OptionBuilder.hasArgs( 1 ).withArgName( "count" )
+                .withDescription( MAX_IN_FLIGHT_DESCRIPTION ).create( MAX_IN_FLIGHT_ARG );
+        options.addOption( maxInFlightOption );
+
+        Option preciseSpinnerOption =
+                OptionBuilder.withDescription( PRECISE_SPINNER_DESCRIPTION ).create( PRECISE_SPINNER_ARG );
+        options.addOption( preciseSpinnerOption );
+
+        Option jitDispatchOption =
+                OptionBuilder.withDescription( JIT_DISPATCH_DESCRIPTION ).create( JIT_DISPATCH_ARG );
+        options.addOption( jitDispatchOption );
+
+        Option edfQueueOption =
+                OptionBuilder.withDescription( EDF_QUEUE_DESCRIPTION ).create( EDF_QUEUE_ARG );
+        options.addOption( edfQueueOption );
+
+        Option writeThreadCountOption = OptionBuilder.hasArgs( 1 ).withArgName( "count" )
+                .withDescription( WRITE_THREADS_DESCRIPTION ).create( WRITE_THREADS_ARG );
+        options.addOption( writeThreadCountOption );
+
+        Option timeTrackerOption = OptionBuilder.hasArgs( 1 ).withArgName( "type" )
+                .withDescription( TIME_TRACKER_DESCRIPTION ).create( TIME_TRACKER_ARG );
+        options.addOption( timeTrackerOption );
+
+        Option metricsRingSizeOption = OptionBuilder.hasArgs( 1 ).withArgName( "size" )
+                .withDescription( METRICS_RING_SIZE_DESCRIPTION ).create( METRICS_RING_SIZE_ARG );
+        options.addOption( metricsRingSizeOption );
+
+        Option metricsWaitStrategyOption = OptionBuilder.hasArgs( 1 ).withArgName( "strategy" )
+                .withDescription( METRICS_WAIT_STRATEGY_DESCRIPTION ).create( METRICS_WAIT_STRATEGY_ARG );
+        options.addOption( metricsWaitStrategyOption );
+
+        Option metricsShardsOption = OptionBuilder.hasArgs( 1 ).withArgName( "count" )
+                .withDescription( METRICS_SHARDS_DESCRIPTION ).create( METRICS_SHARDS_ARG );
+        options.addOption( metricsShardsOption );
+
+        Option threadLocalMetricsOption =
+                OptionBuilder.withDescription( THREAD_LOCAL_METRICS_DESCRIPTION ).create( THREAD_LOCAL_METRICS_ARG );
+        options.addOption( threadLocalMetricsOption );
+
+        Option resultsLogFormatOption = OptionBuilder.hasArgs( 1 ).withArgName( "format" )
+                .withDescription( RESULTS_LOG_FORMAT_DESCRIPTION ).create( RESULTS_LOG_FORMAT_ARG );
+        options.addOption( resultsLogFormatOption );
+
+        Option streamLimitsCacheDirPathOption = OptionBuilder.hasArgs( 1 ).withArgName( "path" )
+                .withDescription( STREAM_LIMITS_CACHE_DIR_DESCRIPTION ).create( STREAM_LIMITS_CACHE_DIR_ARG );
+        options.addOption( streamLimitsCacheDirPathOption );
+
+        Option scheduleDirPathOption = OptionBuilder.hasArgs( 1 ).withArgName( "path" )
+                .withDescription( SCHEDULE_DIR_DESCRIPTION ).create( SCHEDULE_DIR_ARG );
+        options.addOption( scheduleDirPathOption );
+
         Option propertyFileOption = OptionBuilder.hasArgs().withValueSeparator( COMMANDLINE_SEPARATOR_CHAR )
                 .withArgName( "file1" + COMMANDLINE_SEPARATOR_CHAR + "file2" ).withDescription(
                         PROPERTY_FILE_DESCRIPTION ).create( PROPERTY_FILE_ARG );
@@ -687,7 +1079,7 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
      * Returns a HashSet of Strings
      * @return
      */
-    private static Set<String> coreConfigurationParameterKeys()
+    public static Set<String> coreConfigurationParameterKeys()
     {
         return Sets.newHashSet(
                 MODE_ARG,
@@ -706,6 +1098,20 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
                 SPINNER_SLEEP_DURATION_ARG,
                 HELP_ARG,
                 IGNORE_SCHEDULED_START_TIMES_ARG,
+                ASYNC_EXECUTOR_ARG,
+                MAX_IN_FLIGHT_ARG,
+                PRECISE_SPINNER_ARG,
+                JIT_DISPATCH_ARG,
+                EDF_QUEUE_ARG,
+                WRITE_THREADS_ARG,
+                TIME_TRACKER_ARG,
+                METRICS_RING_SIZE_ARG,
+                METRICS_WAIT_STRATEGY_ARG,
+                METRICS_SHARDS_ARG,
+                THREAD_LOCAL_METRICS_ARG,
+                RESULTS_LOG_FORMAT_ARG,
+                STREAM_LIMITS_CACHE_DIR_ARG,
+                SCHEDULE_DIR_ARG,
                 WARMUP_COUNT_ARG,
                 SKIP_COUNT_ARG
         );
@@ -756,6 +1162,20 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
     private final long warmupCount;
     private final long skipCount;
     private final boolean flushLog;
+    private final boolean asyncExecutor;
+    private final int maxInFlight;
+    private final boolean preciseSpinner;
+    private final boolean jitDispatch;
+    private final boolean edfQueue;
+    private final int writeThreadCount;
+    private final String timeTracker;
+    private final int metricsRingSize;
+    private final String metricsWaitStrategy;
+    private final int metricsShards;
+    private final boolean threadLocalMetrics;
+    private final String resultsLogFormat;
+    private final String streamLimitsCacheDirPath;
+    private final String scheduleDirPath;
 
     public ConsoleAndFileDriverConfiguration( Map<String,String> paramsMap,
             String mode,
@@ -777,7 +1197,21 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
             boolean ignoreScheduledStartTimes,
             long warmupCount,
             long skipCount,
-            boolean flushLog )
+            boolean flushLog,
+            boolean asyncExecutor,
+            int maxInFlight,
+            boolean preciseSpinner,
+            boolean jitDispatch,
+            boolean edfQueue,
+            int writeThreadCount,
+            String timeTracker,
+            int metricsRingSize,
+            String metricsWaitStrategy,
+            int metricsShards,
+            boolean threadLocalMetrics,
+            String resultsLogFormat,
+            String streamLimitsCacheDirPath,
+            String scheduleDirPath )
     {
         if ( null == paramsMap )
         {
@@ -804,6 +1238,20 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
         this.warmupCount = warmupCount;
         this.skipCount = skipCount;
         this.flushLog = flushLog;
+        this.asyncExecutor = asyncExecutor;
+        this.maxInFlight = maxInFlight;
+        this.preciseSpinner = preciseSpinner;
+        this.jitDispatch = jitDispatch;
+        this.edfQueue = edfQueue;
+        this.writeThreadCount = writeThreadCount;
+        this.timeTracker = timeTracker;
+        this.metricsRingSize = metricsRingSize;
+        this.metricsWaitStrategy = metricsWaitStrategy;
+        this.metricsShards = metricsShards;
+        this.threadLocalMetrics = threadLocalMetrics;
+        this.resultsLogFormat = resultsLogFormat;
+        this.streamLimitsCacheDirPath = streamLimitsCacheDirPath;
+        this.scheduleDirPath = scheduleDirPath;
 
         if ( null != mode )
         {
@@ -839,6 +1287,26 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
         paramsMap.put( WARMUP_COUNT_ARG, Long.toString( warmupCount ) );
         paramsMap.put( SKIP_COUNT_ARG, Long.toString( skipCount ) );
         paramsMap.put( FLUSH_LOG_ARG, Boolean.toString( flushLog ) );
+        paramsMap.put( ASYNC_EXECUTOR_ARG, Boolean.toString( asyncExecutor ) );
+        paramsMap.put( MAX_IN_FLIGHT_ARG, Integer.toString( maxInFlight ) );
+        paramsMap.put( PRECISE_SPINNER_ARG, Boolean.toString( preciseSpinner ) );
+        paramsMap.put( JIT_DISPATCH_ARG, Boolean.toString( jitDispatch ) );
+        paramsMap.put( EDF_QUEUE_ARG, Boolean.toString( edfQueue ) );
+        paramsMap.put( WRITE_THREADS_ARG, Integer.toString( writeThreadCount ) );
+        paramsMap.put( TIME_TRACKER_ARG, timeTracker );
+        paramsMap.put( METRICS_RING_SIZE_ARG, Integer.toString( metricsRingSize ) );
+        paramsMap.put( METRICS_WAIT_STRATEGY_ARG, metricsWaitStrategy );
+        paramsMap.put( METRICS_SHARDS_ARG, Integer.toString( metricsShards ) );
+        paramsMap.put( THREAD_LOCAL_METRICS_ARG, Boolean.toString( threadLocalMetrics ) );
+        paramsMap.put( RESULTS_LOG_FORMAT_ARG, resultsLogFormat );
+        if ( null != streamLimitsCacheDirPath )
+        {
+            paramsMap.put( STREAM_LIMITS_CACHE_DIR_ARG, streamLimitsCacheDirPath );
+        }
+        if ( null != scheduleDirPath )
+        {
+            paramsMap.put( SCHEDULE_DIR_ARG, scheduleDirPath );
+        }
         // Validation specific
         if ( null != databaseValidationFilePath )
         {
@@ -978,6 +1446,90 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
     @Override
     public boolean flushLog() { return flushLog; }
 
+    @Override
+    public boolean asyncExecutor()
+    {
+        return asyncExecutor;
+    }
+
+    @Override
+    public int maxInFlight()
+    {
+        return maxInFlight;
+    }
+
+    @Override
+    public boolean preciseSpinner()
+    {
+        return preciseSpinner;
+    }
+
+    @Override
+    public boolean jitDispatch()
+    {
+        return jitDispatch;
+    }
+
+    @Override
+    public boolean edfQueue()
+    {
+        return edfQueue;
+    }
+
+    @Override
+    public int writeThreadCount()
+    {
+        return writeThreadCount;
+    }
+
+    @Override
+    public String timeTracker()
+    {
+        return timeTracker;
+    }
+
+    @Override
+    public int metricsRingSize()
+    {
+        return metricsRingSize;
+    }
+
+    @Override
+    public String metricsWaitStrategy()
+    {
+        return metricsWaitStrategy;
+    }
+
+    @Override
+    public int metricsShards()
+    {
+        return metricsShards;
+    }
+
+    @Override
+    public boolean threadLocalMetrics()
+    {
+        return threadLocalMetrics;
+    }
+
+    @Override
+    public String resultsLogFormat()
+    {
+        return resultsLogFormat;
+    }
+
+    @Override
+    public String streamLimitsCacheDirPath()
+    {
+        return streamLimitsCacheDirPath;
+    }
+
+    @Override
+    public String scheduleDirPath()
+    {
+        return scheduleDirPath;
+    }
+
     @Override
     public Map<String,String> asMap()
     {
@@ -1104,6 +1656,48 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
         boolean newFlushLog = (newParamsMapWithShortKeys.containsKey( FLUSH_LOG_ARG )) ?
                         Boolean.parseBoolean( newParamsMapWithShortKeys.get( FLUSH_LOG_ARG ) ) :
                         flushLog;
+        boolean newAsyncExecutor = (newParamsMapWithShortKeys.containsKey( ASYNC_EXECUTOR_ARG )) ?
+                                   Boolean.parseBoolean( newParamsMapWithShortKeys.get( ASYNC_EXECUTOR_ARG ) ) :
+                                   asyncExecutor;
+        int newMaxInFlight = (newParamsMapWithShortKeys.containsKey( MAX_IN_FLIGHT_ARG )) ?
+                             Integer.parseInt( newParamsMapWithShortKeys.get( MAX_IN_FLIGHT_ARG ) ) :
+                             maxInFlight;
+        boolean newPreciseSpinner = (newParamsMapWithShortKeys.containsKey( PRECISE_SPINNER_ARG )) ?
+                                    Boolean.parseBoolean( newParamsMapWithShortKeys.get( PRECISE_SPINNER_ARG ) ) :
+                                    preciseSpinner;
+        boolean newJitDispatch = (newParamsMapWithShortKeys.containsKey( JIT_DISPATCH_ARG )) ?
+                                 Boolean.parseBoolean( newParamsMapWithShortKeys.get( JIT_DISPATCH_ARG ) ) :
+                                 jitDispatch;
+        boolean newEdfQueue = (newParamsMapWithShortKeys.containsKey( EDF_QUEUE_ARG )) ?
+                              Boolean.parseBoolean( newParamsMapWithShortKeys.get( EDF_QUEUE_ARG ) ) :
+                              edfQueue;
+        int newWriteThreadCount = (newParamsMapWithShortKeys.containsKey( WRITE_THREADS_ARG )) ?
+                                  Integer.parseInt( newParamsMapWithShortKeys.get( WRITE_THREADS_ARG ) ) :
+                                  writeThreadCount;
+        String newTimeTracker = (newParamsMapWithShortKeys.containsKey( TIME_TRACKER_ARG )) ?
+                                newParamsMapWithShortKeys.get( TIME_TRACKER_ARG ) :
+                                timeTracker;
+        int newMetricsRingSize = (newParamsMapWithShortKeys.containsKey( METRICS_RING_SIZE_ARG )) ?
+                                 Integer.parseInt( newParamsMapWithShortKeys.get( METRICS_RING_SIZE_ARG ) ) :
+                                 metricsRingSize;
+        String newMetricsWaitStrategy = (newParamsMapWithShortKeys.containsKey( METRICS_WAIT_STRATEGY_ARG )) ?
+                                        newParamsMapWithShortKeys.get( METRICS_WAIT_STRATEGY_ARG ) :
+                                        metricsWaitStrategy;
+        int newMetricsShards = (newParamsMapWithShortKeys.containsKey( METRICS_SHARDS_ARG )) ?
+                               Integer.parseInt( newParamsMapWithShortKeys.get( METRICS_SHARDS_ARG ) ) :
+                               metricsShards;
+        boolean newThreadLocalMetrics = (newParamsMapWithShortKeys.containsKey( THREAD_LOCAL_METRICS_ARG )) ?
+                                        Boolean.parseBoolean( newParamsMapWithShortKeys.get( THREAD_LOCAL_METRICS_ARG ) ) :
+                                        threadLocalMetrics;
+        String newResultsLogFormat = (newParamsMapWithShortKeys.containsKey( RESULTS_LOG_FORMAT_ARG )) ?
+                                     newParamsMapWithShortKeys.get( RESULTS_LOG_FORMAT_ARG ) :
+                                     resultsLogFormat;
+        String newStreamLimitsCacheDirPath = (newParamsMapWithShortKeys.containsKey( STREAM_LIMITS_CACHE_DIR_ARG )) ?
+                                             newParamsMapWithShortKeys.get( STREAM_LIMITS_CACHE_DIR_ARG ) :
+                                             streamLimitsCacheDirPath;
+        String newScheduleDirPath = (newParamsMapWithShortKeys.containsKey( SCHEDULE_DIR_ARG )) ?
+                                    newParamsMapWithShortKeys.get( SCHEDULE_DIR_ARG ) :
+                                    scheduleDirPath;
 
         return new ConsoleAndFileDriverConfiguration(
                 newOtherParams,
@@ -1126,7 +1720,21 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
                 newIgnoreScheduledStartTimes,
                 newWarmupCount,
                 newSkipCount,
-                newFlushLog
+                newFlushLog,
+                newAsyncExecutor,
+                newMaxInFlight,
+                newPreciseSpinner,
+                newJitDispatch,
+                newEdfQueue,
+                newWriteThreadCount,
+                newTimeTracker,
+                newMetricsRingSize,
+                newMetricsWaitStrategy,
+                newMetricsShards,
+                newThreadLocalMetrics,
+                newResultsLogFormat,
+                newStreamLimitsCacheDirPath,
+                newScheduleDirPath
         );
     }
 
@@ -1182,6 +1790,41 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
         {
             argsList.add( "-" + IGNORE_SCHEDULED_START_TIMES_ARG );
         }
+        if ( asyncExecutor )
+        {
+            argsList.add( "-" + ASYNC_EXECUTOR_ARG );
+        }
+        argsList.addAll( Lists.newArrayList( "-" + MAX_IN_FLIGHT_ARG, Integer.toString( maxInFlight ) ) );
+        if ( preciseSpinner )
+        {
+            argsList.add( "-" + PRECISE_SPINNER_ARG );
+        }
+        if ( jitDispatch )
+        {
+            argsList.add( "-" + JIT_DISPATCH_ARG );
+        }
+        if ( edfQueue )
+        {
+            argsList.add( "-" + EDF_QUEUE_ARG );
+        }
+        argsList.addAll( Lists.newArrayList( "-" + WRITE_THREADS_ARG, Integer.toString( writeThreadCount ) ) );
+        argsList.addAll( Lists.newArrayList( "-" + TIME_TRACKER_ARG, timeTracker ) );
+        argsList.addAll( Lists.newArrayList( "-" + METRICS_RING_SIZE_ARG, Integer.toString( metricsRingSize ) ) );
+        argsList.addAll( Lists.newArrayList( "-" + METRICS_WAIT_STRATEGY_ARG, metricsWaitStrategy ) );
+        argsList.addAll( Lists.newArrayList( "-" + METRICS_SHARDS_ARG, Integer.toString( metricsShards ) ) );
+        if ( threadLocalMetrics )
+        {
+            argsList.add( "-" + THREAD_LOCAL_METRICS_ARG );
+        }
+        argsList.addAll( Lists.newArrayList( "-" + RESULTS_LOG_FORMAT_ARG, resultsLogFormat ) );
+        if ( null != streamLimitsCacheDirPath )
+        {
+            argsList.addAll( Lists.newArrayList( "-" + STREAM_LIMITS_CACHE_DIR_ARG, streamLimitsCacheDirPath ) );
+        }
+        if ( null != scheduleDirPath )
+        {
+            argsList.addAll( Lists.newArrayList( "-" + SCHEDULE_DIR_ARG, scheduleDirPath ) );
+        }
         // additional, workload/database-related params
         Map<String,String> additionalParameters =
                 MapUtils.copyExcludingKeys( paramsMap, coreConfigurationParameterKeys() );
@@ -1316,6 +1959,99 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
         sb.append( "# COMMAND: " ).append( "-" ).append( IGNORE_SCHEDULED_START_TIMES_ARG ).append( "\n" );
         sb.append( IGNORE_SCHEDULED_START_TIMES_ARG ).append( "=" ).append( ignoreScheduledStartTimes ).append( "\n" );
         sb.append( "\n" );
+        sb.append( "# executes asynchronous stream with timer-scheduled dispatch, instead of one blocked thread per " +
+                   "waiting operation\n" );
+        sb.append( "# BOOLEAN\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( ASYNC_EXECUTOR_ARG ).append( "\n" );
+        sb.append( ASYNC_EXECUTOR_ARG ).append( "=" ).append( asyncExecutor ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# maximum number of outstanding operations of asynchronous executor\n" );
+        sb.append( "# INT-32\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( MAX_IN_FLIGHT_ARG ).append( "\n" );
+        sb.append( MAX_IN_FLIGHT_ARG ).append( "=" ).append( maxInFlight ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# parks until shortly before scheduled start time then spins, for sub-millisecond start time " +
+                   "accuracy without busy waiting\n" );
+        sb.append( "# BOOLEAN\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( PRECISE_SPINNER_ARG ).append( "\n" );
+        sb.append( PRECISE_SPINNER_ARG ).append( "=" ).append( preciseSpinner ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# holds operations in a timer wheel until their scheduled start time, then hands them to worker " +
+                   "threads\n" );
+        sb.append( "# BOOLEAN\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( JIT_DISPATCH_ARG ).append( "\n" );
+        sb.append( JIT_DISPATCH_ARG ).append( "=" ).append( jitDispatch ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# queues operations earliest deadline first, deadline offsets per operation type are set with " )
+                .append( EDF_DEADLINE_OFFSET_PREFIX ).append( "<operation class name>\n" );
+        sb.append( "# BOOLEAN\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( EDF_QUEUE_ARG ).append( "\n" );
+        sb.append( EDF_QUEUE_ARG ).append( "=" ).append( edfQueue ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# number of threads that execute blocking streams, 0 for one thread per stream\n" );
+        sb.append( "# INT-32\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( WRITE_THREADS_ARG ).append( "\n" );
+        sb.append( WRITE_THREADS_ARG ).append( "=" ).append( writeThreadCount ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# data structures the completion time service tracks initiated and completed times in\n" );
+        sb.append( "# " ).append( Arrays.toString( CompletionTimeStateManager.TimeTrackerType.values() ) )
+                .append( "\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( TIME_TRACKER_ARG ).append( "\n" );
+        sb.append( TIME_TRACKER_ARG ).append( "=" ).append( timeTracker ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# size of metrics service ring buffer, must be a power of 2\n" );
+        sb.append( "# INT-32\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( METRICS_RING_SIZE_ARG ).append( "\n" );
+        sb.append( METRICS_RING_SIZE_ARG ).append( "=" ).append( metricsRingSize ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# wait strategy of metrics service consumers\n" );
+        sb.append( "# " ).append( Arrays.toString( DisruptorSbeMetricsService.WaitStrategyType.values() ) )
+                .append( "\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( METRICS_WAIT_STRATEGY_ARG ).append( "\n" );
+        sb.append( METRICS_WAIT_STRATEGY_ARG ).append( "=" ).append( metricsWaitStrategy ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# number of parallel metrics service consumers aggregating histograms\n" );
+        sb.append( "# INT-32\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( METRICS_SHARDS_ARG ).append( "\n" );
+        sb.append( METRICS_SHARDS_ARG ).append( "=" ).append( metricsShards ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# records metrics into per-thread buffers that are periodically merged, instead of publishing every result to the metrics ring buffer\n" );
+        sb.append( "# BOOLEAN\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( THREAD_LOCAL_METRICS_ARG ).append( "\n" );
+        sb.append( THREAD_LOCAL_METRICS_ARG ).append( "=" ).append( threadLocalMetrics ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# format of results log, binary formats can be converted to CSV with ResultsLogConverter\n" );
+        sb.append( "# " ).append( Arrays.toString( ResultsLogFormat.values() ) ).append( "\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( RESULTS_LOG_FORMAT_ARG ).append( "\n" );
+        sb.append( RESULTS_LOG_FORMAT_ARG ).append( "=" ).append( resultsLogFormat ).append( "\n" );
+        sb.append( "\n" );
+        sb.append( "# directory where per-stream offsets and limits are cached, so later runs of the same workload skip\n" );
+        sb.append( "# the counting pass over all streams, if not provided nothing is cached\n" );
+        sb.append( "# STRING\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( STREAM_LIMITS_CACHE_DIR_ARG ).append( "\n" );
+        if ( null == streamLimitsCacheDirPath )
+        {
+            sb.append( "# " ).append( STREAM_LIMITS_CACHE_DIR_ARG ).append( "=" ).append( "\n" );
+        }
+        else
+        {
+            sb.append( STREAM_LIMITS_CACHE_DIR_ARG ).append( "=" ).append( streamLimitsCacheDirPath ).append( "\n" );
+        }
+        sb.append( "\n" );
+        sb.append( "# directory of a compiled operation schedule, written by mode compile_schedule and replayed by\n" );
+        sb.append( "# mode execute_benchmark instead of generating operations from the workload input, if not provided\n" );
+        sb.append( "# execute_benchmark generates operations from the workload input\n" );
+        sb.append( "# STRING\n" );
+        sb.append( "# COMMAND: " ).append( "-" ).append( SCHEDULE_DIR_ARG ).append( "\n" );
+        if ( null == scheduleDirPath )
+        {
+            sb.append( "# " ).append( SCHEDULE_DIR_ARG ).append( "=" ).append( "\n" );
+        }
+        else
+        {
+            sb.append( SCHEDULE_DIR_ARG ).append( "=" ).append( scheduleDirPath ).append( "\n" );
+        }
+        sb.append( "\n" );
         sb.append( "# ***************************************************************\n" );
         sb.append( "# *** the following should be set by workload implementations ***\n" );
         sb.append( "# ***************************************************************\n" );
@@ -1425,6 +2161,34 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
                 .append( "\n" );
         sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Ignore Scheduled Start Times:" ) )
                 .append( ignoreScheduledStartTimes ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Async Executor:" ) )
+                .append( asyncExecutor ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Max In-Flight Operations:" ) )
+                .append( maxInFlight ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Precise Spinner:" ) )
+                .append( preciseSpinner ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "JIT Dispatch:" ) )
+                .append( jitDispatch ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "EDF Queue:" ) )
+                .append( edfQueue ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Write Thread Count:" ) )
+                .append( writeThreadCount ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Time Tracker:" ) )
+                .append( timeTracker ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Metrics Ring Size:" ) )
+                .append( metricsRingSize ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Metrics Wait Strategy:" ) )
+                .append( metricsWaitStrategy ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Metrics Shards:" ) )
+                .append( metricsShards ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Thread-Local Metrics:" ) )
+                .append( threadLocalMetrics ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Results Log Format:" ) )
+                .append( resultsLogFormat ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Stream Limits Cache Directory:" ) )
+                .append( streamLimitsCacheDirPath ).append( "\n" );
+        sb.append( "\t" ).append( format( "%1$-" + padRightDistance + "s", "Compiled Schedule Directory:" ) )
+                .append( scheduleDirPath ).append( "\n" );
 
         Set<String> excludedKeys = coreConfigurationParameterKeys();
 
@@ -1481,6 +2245,66 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
         {
             return false;
         }
+        if ( asyncExecutor != that.asyncExecutor )
+        {
+            return false;
+        }
+        if ( maxInFlight != that.maxInFlight )
+        {
+            return false;
+        }
+        if ( preciseSpinner != that.preciseSpinner )
+        {
+            return false;
+        }
+        if ( jitDispatch != that.jitDispatch )
+        {
+            return false;
+        }
+        if ( edfQueue != that.edfQueue )
+        {
+            return false;
+        }
+        if ( writeThreadCount != that.writeThreadCount )
+        {
+            return false;
+        }
+        if ( timeTracker != null ? !timeTracker.equals( that.timeTracker ) : that.timeTracker != null )
+        {
+            return false;
+        }
+        if ( metricsRingSize != that.metricsRingSize )
+        {
+            return false;
+        }
+        if ( metricsWaitStrategy != null ? !metricsWaitStrategy.equals( that.metricsWaitStrategy ) :
+             that.metricsWaitStrategy != null )
+        {
+            return false;
+        }
+        if ( metricsShards != that.metricsShards )
+        {
+            return false;
+        }
+        if ( threadLocalMetrics != that.threadLocalMetrics )
+        {
+            return false;
+        }
+        if ( resultsLogFormat != null ? !resultsLogFormat.equals( that.resultsLogFormat ) :
+             that.resultsLogFormat != null )
+        {
+            return false;
+        }
+        if ( streamLimitsCacheDirPath != null ? !streamLimitsCacheDirPath.equals( that.streamLimitsCacheDirPath ) :
+             that.streamLimitsCacheDirPath != null )
+        {
+            return false;
+        }
+        if ( scheduleDirPath != null ? !scheduleDirPath.equals( that.scheduleDirPath ) :
+             that.scheduleDirPath != null )
+        {
+            return false;
+        }
         if ( Double.compare( that.timeCompressionRatio, timeCompressionRatio ) != 0 )
         {
             return false;
@@ -1556,6 +2380,20 @@ public class ConsoleAndFileDriverConfiguration implements DriverConfiguration
         result = 31 * result + (int) (spinnerSleepDurationAsMilli ^ (spinnerSleepDurationAsMilli >>> 32));
         result = 31 * result + (printHelp ? 1 : 0);
         result = 31 * result + (ignoreScheduledStartTimes ? 1 : 0);
+        result = 31 * result + (asyncExecutor ? 1 : 0);
+        result = 31 * result + maxInFlight;
+        result = 31 * result + (preciseSpinner ? 1 : 0);
+        result = 31 * result + (jitDispatch ? 1 : 0);
+        result = 31 * result + (edfQueue ? 1 : 0);
+        result = 31 * result + writeThreadCount;
+        result = 31 * result + (timeTracker != null ? timeTracker.hashCode() : 0);
+        result = 31 * result + metricsRingSize;
+        result = 31 * result + (metricsWaitStrategy != null ? metricsWaitStrategy.hashCode() : 0);
+        result = 31 * result + metricsShards;
+        result = 31 * result + (threadLocalMetrics ? 1 : 0);
+        result = 31 * result + (resultsLogFormat != null ? resultsLogFormat.hashCode() : 0);
+        result = 31 * result + (streamLimitsCacheDirPath != null ? streamLimitsCacheDirPath.hashCode() : 0);
+        result = 31 * result + (scheduleDirPath != null ? scheduleDirPath.hashCode() : 0);
         return result;
     }
 }
@@ -51,6 +51,34 @@ public interface DriverConfiguration
 
     boolean flushLog();
 
+    boolean asyncExecutor();
+
+    int maxInFlight();
+
+    boolean preciseSpinner();
+
+    boolean jitDispatch();
+
+    boolean edfQueue();
+
+    int writeThreadCount();
+
+    String timeTracker();
+
+    int metricsRingSize();
+
+    String metricsWaitStrategy();
+
+    int metricsShards();
+
+    boolean threadLocalMetrics();
+
+    String resultsLogFormat();
+
+    String streamLimitsCacheDirPath();
+
+    String scheduleDirPath();
+
     String toPropertiesString() throws DriverConfigurationException;
 
     Map<String,String> asMap();
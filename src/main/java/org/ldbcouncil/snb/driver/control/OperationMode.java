@@ -4,5 +4,6 @@ public enum OperationMode {
     create_validation,
     validate_database,
     create_statistics,
+    compile_schedule,
     execute_benchmark;
 }
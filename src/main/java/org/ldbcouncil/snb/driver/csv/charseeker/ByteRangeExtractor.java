@@ -0,0 +1,17 @@
+package org.ldbcouncil.snb.driver.csv.charseeker;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link Extractor} that can also extract its value directly from UTF-8 bytes, e.g., from a memory-mapped file,
+ * which lets {@link MappedByteBufferCharSeeker} skip decoding the value to chars first.
+ */
+public interface ByteRangeExtractor
+{
+    /**
+     * @param data   bytes to read from, using absolute gets only, position and limit must not be changed
+     * @param offset index of the first byte of the value
+     * @param length number of bytes of the value
+     */
+    void extract( ByteBuffer data, int offset, int length );
+}
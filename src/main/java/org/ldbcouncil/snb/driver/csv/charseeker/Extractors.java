@@ -20,6 +20,8 @@
 package org.ldbcouncil.snb.driver.csv.charseeker;
 
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -219,8 +221,9 @@ public class Extractors {
         }
     }
 
-    private static class StringExtractor extends AbstractExtractor<String> {
+    private static class StringExtractor extends AbstractExtractor<String> implements ByteRangeExtractor {
         private String value;
+        private byte[] bytes = new byte[64];
 
         StringExtractor() {
             super(String.class.getSimpleName());
@@ -231,13 +234,28 @@ public class Extractors {
             value = length > 0 ? new String(data, offset, length) : null;
         }
 
+        @Override
+        public void extract(ByteBuffer data, int offset, int length) {
+            if (length == 0) {
+                value = null;
+                return;
+            }
+            if (bytes.length < length) {
+                bytes = new byte[length];
+            }
+            for (int i = 0; i < length; i++) {
+                bytes[i] = data.get(offset + i);
+            }
+            value = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+
         @Override
         public String value() {
             return value;
         }
     }
 
-    public static class LongExtractor extends AbstractExtractor<Long> {
+    public static class LongExtractor extends AbstractExtractor<Long> implements ByteRangeExtractor {
         private long value;
 
         LongExtractor() {
@@ -249,6 +267,11 @@ public class Extractors {
             value = extractLong(data, offset, length);
         }
 
+        @Override
+        public void extract(ByteBuffer data, int offset, int length) {
+            value = extractLong(data, offset, length);
+        }
+
         @Override
         public Long value() {
             return Long.valueOf(value);
@@ -264,7 +287,7 @@ public class Extractors {
         }
     }
 
-    public static class IntExtractor extends AbstractExtractor<Integer> {
+    public static class IntExtractor extends AbstractExtractor<Integer> implements ByteRangeExtractor {
         private int value;
 
         IntExtractor() {
@@ -276,6 +299,11 @@ public class Extractors {
             value = safeCastLongToInt(extractLong(data, offset, length));
         }
 
+        @Override
+        public void extract(ByteBuffer data, int offset, int length) {
+            value = safeCastLongToInt(extractLong(data, offset, length));
+        }
+
         @Override
         public Integer value() {
             return Integer.valueOf(value);
@@ -478,6 +506,25 @@ public class Extractors {
             return count;
         }
 
+        protected int bytesToNextDelimiter(ByteBuffer data, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                if (data.get(offset + i) == arrayDelimiter) {
+                    return i;
+                }
+            }
+            return length;
+        }
+
+        protected int numberOfValues(ByteBuffer data, int offset, int length) {
+            int count = length > 0 ? 1 : 0;
+            for (int i = 0; i < length; i++) {
+                if (data.get(offset + i) == arrayDelimiter) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
         @Override
         public int hashCode() {
             return getClass().hashCode();
@@ -565,7 +612,7 @@ public class Extractors {
         }
     }
 
-    private static class LongArrayExtractor extends ArrayExtractor<long[]> {
+    private static class LongArrayExtractor extends ArrayExtractor<long[]> implements ByteRangeExtractor {
         private static final long[] EMPTY = new long[0];
 
         LongArrayExtractor(char arrayDelimiter) {
@@ -582,6 +629,17 @@ public class Extractors {
                 charIndex += numberOfChars;
             }
         }
+
+        @Override
+        public void extract(ByteBuffer data, int offset, int length) {
+            int numberOfValues = numberOfValues(data, offset, length);
+            value = numberOfValues > 0 ? new long[numberOfValues] : EMPTY;
+            for (int arrayIndex = 0, byteIndex = 0; arrayIndex < numberOfValues; arrayIndex++, byteIndex++) {
+                int numberOfBytes = bytesToNextDelimiter(data, offset + byteIndex, length - byteIndex);
+                value[arrayIndex] = extractLong(data, offset + byteIndex, numberOfBytes);
+                byteIndex += numberOfBytes;
+            }
+        }
     }
 
     private static class IntTupleArrayExtractor extends AbstractExtractor<int[][]> {
@@ -743,6 +801,24 @@ public class Extractors {
         return negate ? -result : result;
     }
 
+    private static long extractLong(ByteBuffer data, int offset, int length) {
+        if (length == 0) {
+            throw new NumberFormatException("For input string \"\"");
+        }
+
+        long result = 0;
+        int i = 0;
+        boolean negate = false;
+        if (data.get(offset) == '-') {
+            negate = true;
+            i++;
+        }
+        for (; i < length; i++) {
+            result = result * 10 + digit((char) (data.get(offset + i) & 0xFF));
+        }
+        return negate ? -result : result;
+    }
+
     private static int digit(char ch) {
         int digit = ch - '0';
         if ((digit < 0) || (digit > 9)) {
@@ -0,0 +1,309 @@
+package org.ldbcouncil.snb.driver.csv.charseeker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link CharSeeker} over a memory-mapped UTF-8 file, which scans for delimiters directly in the mapped bytes.
+ * <p/>
+ * Unlike {@link BufferedCharSeeker} nothing is decoded while seeking. {@link ByteRangeExtractor}s, e.g., strings,
+ * numbers and number arrays, extract their values straight from the mapped bytes, other extractors get the value
+ * decoded to chars. Delimiters must be ASCII, so they never match a byte of a multi-byte character.
+ * <p/>
+ * Quoting and line handling follow {@link BufferedCharSeeker}. The file is mapped in windows, so files larger than
+ * 2GB can be read, but a single value must fit in one window.
+ */
+public class MappedByteBufferCharSeeker implements CharSeeker
+{
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+    private static final byte EOL_CHAR = '\n';
+    private static final byte EOL_CHAR_2 = '\r';
+    private static final byte BACK_SLASH = '\\';
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+    private final int quoteChar;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput( CodingErrorAction.REPLACE )
+            .onUnmappableCharacter( CodingErrorAction.REPLACE );
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position = 0;
+    private long lineStartPosition = 0;
+    private int lineNumber = 1;
+
+    // quoted values are copied here with their quotes and escapes removed, other values are read in place
+    private byte[] unquotedValue = new byte[64];
+    private int unquotedValueLength;
+    private long unquotedValueStartPosition = -1;
+
+    private byte[] valueBytes = new byte[64];
+    private char[] valueChars = new char[64];
+
+    public MappedByteBufferCharSeeker( File file ) throws IOException
+    {
+        this( file, DEFAULT_WINDOW_SIZE, BufferedCharSeeker.DEFAULT_QUOTE_CHAR );
+    }
+
+    public MappedByteBufferCharSeeker( File file, int windowSize, char quoteChar ) throws IOException
+    {
+        this.file = new RandomAccessFile( file, "r" );
+        try
+        {
+            this.channel = this.file.getChannel();
+            this.fileSize = channel.size();
+            this.windowSize = windowSize;
+            this.quoteChar = quoteChar;
+            map( 0 );
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            this.file.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean seek( Mark mark, int[] untilOneOfChars ) throws IOException
+    {
+        long seekStartPosition = position;
+        if ( position < fileSize && quoteChar == byteAt( position, seekStartPosition ) )
+        {
+            return seekQuoted( mark, untilOneOfChars, seekStartPosition );
+        }
+
+        int index = (int) (position - windowStart);
+        int limit = window.limit();
+        while ( true )
+        {
+            if ( index >= limit )
+            {
+                position = windowStart + index;
+                if ( position >= fileSize )
+                {
+                    break;
+                }
+                remap( seekStartPosition );
+                index = (int) (position - windowStart);
+                limit = window.limit();
+            }
+            byte ch = window.get( index );
+            if ( ch == EOL_CHAR || ch == EOL_CHAR_2 )
+            {
+                position = windowStart + index;
+                return endOfLine( mark, seekStartPosition, position );
+            }
+            for ( int i = 0; i < untilOneOfChars.length; i++ )
+            {
+                if ( ch == untilOneOfChars[i] )
+                {
+                    position = windowStart + index;
+                    mark.set( lineNumber, seekStartPosition, position, ch );
+                    position++;
+                    return true;
+                }
+            }
+            index++;
+        }
+
+        if ( seekStartPosition == position && seekStartPosition == lineStartPosition )
+        {   // nothing left, not even an empty last value
+            return eof( mark );
+        }
+        return endOfLine( mark, seekStartPosition, position );
+    }
+
+    private boolean seekQuoted( Mark mark, int[] untilOneOfChars, long seekStartPosition ) throws IOException
+    {
+        unquotedValueStartPosition = seekStartPosition;
+        unquotedValueLength = 0;
+        boolean inQuotes = true;
+        // skip opening quote
+        position++;
+        while ( position < fileSize )
+        {
+            int ch = byteAt( position, seekStartPosition );
+            if ( inQuotes )
+            {
+                if ( ch == quoteChar || ch == BACK_SLASH )
+                {
+                    if ( position + 1 < fileSize && quoteChar == byteAt( position + 1, seekStartPosition ) )
+                    {   // escaped quote, either doubled or java style
+                        appendUnquoted( quoteChar );
+                        position += 2;
+                        continue;
+                    }
+                    if ( ch == quoteChar )
+                    {   // closing quote
+                        inQuotes = false;
+                        position++;
+                        continue;
+                    }
+                }
+            }
+            else
+            {
+                if ( ch == EOL_CHAR || ch == EOL_CHAR_2 )
+                {
+                    return endOfLine( mark, seekStartPosition, position );
+                }
+                for ( int i = 0; i < untilOneOfChars.length; i++ )
+                {
+                    if ( ch == untilOneOfChars[i] )
+                    {
+                        mark.set( lineNumber, seekStartPosition, position, ch );
+                        position++;
+                        return true;
+                    }
+                }
+            }
+            appendUnquoted( ch );
+            position++;
+        }
+        return endOfLine( mark, seekStartPosition, position );
+    }
+
+    private void appendUnquoted( int ch )
+    {
+        if ( unquotedValueLength == unquotedValue.length )
+        {
+            byte[] newUnquotedValue = new byte[unquotedValue.length * 2];
+            System.arraycopy( unquotedValue, 0, newUnquotedValue, 0, unquotedValueLength );
+            unquotedValue = newUnquotedValue;
+        }
+        unquotedValue[unquotedValueLength++] = (byte) ch;
+    }
+
+    private boolean endOfLine( Mark mark, long seekStartPosition, long valueEndPosition ) throws IOException
+    {
+        mark.set( lineNumber, seekStartPosition, valueEndPosition, Mark.END_OF_LINE_CHARACTER );
+        // like BufferedCharSeeker, consecutive line breaks are skipped, i.e., empty lines are ignored
+        while ( position < fileSize )
+        {
+            int ch = byteAt( position, seekStartPosition );
+            if ( ch != EOL_CHAR && ch != EOL_CHAR_2 )
+            {
+                break;
+            }
+            position++;
+        }
+        lineNumber++;
+        lineStartPosition = position;
+        return true;
+    }
+
+    private boolean eof( Mark mark )
+    {
+        mark.set( lineNumber, -1, -1, Mark.END_OF_LINE_CHARACTER );
+        return false;
+    }
+
+    private int byteAt( long at, long valueStartPosition ) throws IOException
+    {
+        if ( at - windowStart >= window.limit() )
+        {
+            remap( valueStartPosition );
+        }
+        return window.get( (int) (at - windowStart) );
+    }
+
+    // maps the next window, starting at the value being sought so it can still be extracted afterwards
+    private void remap( long valueStartPosition ) throws IOException
+    {
+        if ( valueStartPosition == windowStart )
+        {
+            throw new IllegalStateException( "Tried to read in a value larger than window size " + windowSize );
+        }
+        map( valueStartPosition );
+    }
+
+    private void map( long start ) throws IOException
+    {
+        windowStart = start;
+        window = channel.map( FileChannel.MapMode.READ_ONLY, start, Math.min( windowSize, fileSize - start ) );
+    }
+
+    @Override
+    public <EXTRACTOR extends Extractor<?>> EXTRACTOR extract( Mark mark, EXTRACTOR extractor )
+    {
+        long from = mark.startPosition();
+        ByteBuffer data;
+        int offset;
+        int length;
+        if ( from == unquotedValueStartPosition )
+        {
+            data = ByteBuffer.wrap( unquotedValue );
+            offset = 0;
+            length = unquotedValueLength;
+        }
+        else
+        {
+            data = window;
+            offset = (int) (from - windowStart);
+            length = (int) (mark.position() - from);
+        }
+
+        if ( extractor instanceof ByteRangeExtractor )
+        {
+            ((ByteRangeExtractor) extractor).extract( data, offset, length );
+        }
+        else
+        {
+            int charsLength = decode( data, offset, length );
+            extractor.extract( valueChars, 0, charsLength );
+        }
+        return extractor;
+    }
+
+    // UTF-8 never has more chars than bytes, ASCII is widened without going through the decoder
+    private int decode( ByteBuffer data, int offset, int length )
+    {
+        if ( valueChars.length < length )
+        {
+            valueChars = new char[length];
+            valueBytes = new byte[length];
+        }
+        boolean ascii = true;
+        for ( int i = 0; i < length; i++ )
+        {
+            byte b = data.get( offset + i );
+            valueBytes[i] = b;
+            valueChars[i] = (char) b;
+            ascii &= b >= 0;
+        }
+        if ( ascii )
+        {
+            return length;
+        }
+        CharBuffer chars = CharBuffer.wrap( valueChars );
+        decoder.reset();
+        decoder.decode( ByteBuffer.wrap( valueBytes, 0, length ), chars, true );
+        decoder.flush( chars );
+        return chars.position();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        file.close();
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + "[window:" + windowStart + "+" + window.limit() +
+               ", position:" + position + ", line:" + lineNumber + "]";
+    }
+}
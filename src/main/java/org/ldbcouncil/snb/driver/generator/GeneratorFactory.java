@@ -21,6 +21,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.ToLongFunction;
 
 import static java.lang.String.format;
 
@@ -518,20 +519,16 @@ public class GeneratorFactory
      * @param generators
      * @return
      */
-    public Iterator<Operation> mergeSortOperationsByScheduledStartTime( Iterator<Operation>... generators )
+    @SafeVarargs
+    public final Iterator<Operation> mergeSortOperationsByScheduledStartTime( Iterator<Operation>... generators )
     {
         return mergeSort(
-                new Comparator<Operation>()
+                new ToLongFunction<Operation>()
                 {
                     @Override
-                    public int compare( Operation o1, Operation o2 )
+                    public long applyAsLong( Operation operation )
                     {
-                        if ( o1.scheduledStartTimeAsMilli() > o2.scheduledStartTimeAsMilli() )
-                        { return 1; }
-                        else if ( o1.scheduledStartTimeAsMilli() < o2.scheduledStartTimeAsMilli() )
-                        { return -1; }
-                        else
-                        { return 0; }
+                        return operation.scheduledStartTimeAsMilli();
                     }
                 },
                 generators
@@ -544,20 +541,16 @@ public class GeneratorFactory
      * @param generators
      * @return
      */
-    public Iterator<Operation> mergeSortOperationsByTimeStamp( Iterator<Operation>... generators )
+    @SafeVarargs
+    public final Iterator<Operation> mergeSortOperationsByTimeStamp( Iterator<Operation>... generators )
     {
         return mergeSort(
-                new Comparator<Operation>()
+                new ToLongFunction<Operation>()
                 {
                     @Override
-                    public int compare( Operation o1, Operation o2 )
+                    public long applyAsLong( Operation operation )
                     {
-                        if ( o1.timeStamp() > o2.timeStamp() )
-                        { return 1; }
-                        else if ( o1.timeStamp() < o2.timeStamp() )
-                        { return -1; }
-                        else
-                        { return 0; }
+                        return operation.timeStamp();
                     }
                 },
                 generators
@@ -570,7 +563,8 @@ public class GeneratorFactory
      * @param generators
      * @return
      */
-    public <T extends Number> Iterator<T> mergeSortNumbers( Iterator<T>... generators )
+    @SafeVarargs
+    public final <T extends Number> Iterator<T> mergeSortNumbers( Iterator<T>... generators )
     {
         return mergeSort(
                 new Comparator<T>()
@@ -598,11 +592,27 @@ public class GeneratorFactory
      * @param <T>
      * @return
      */
-    public <T> Iterator<T> mergeSort( Comparator<T> comparator, Iterator<T>... generators )
+    @SafeVarargs
+    public final <T> Iterator<T> mergeSort( Comparator<T> comparator, Iterator<T>... generators )
     {
         return Iterators.mergeSorted( Lists.newArrayList( generators ), comparator );
     }
 
+    /**
+     * Returned generator will merge all input generators into one, sorting on the long key of elements, ascending.
+     * Elements with equal keys are returned in the order of the input generators.
+     *
+     * @param keyFunction
+     * @param generators
+     * @param <T>
+     * @return
+     */
+    @SafeVarargs
+    public final <T> Iterator<T> mergeSort( ToLongFunction<T> keyFunction, Iterator<T>... generators )
+    {
+        return new OrderedMultiGenerator<>( keyFunction, 1, generators );
+    }
+
     /**
      * Returned generator will merge all input generators into one, using provided comparator for sorting,
      * and looking ahead a bounded distance in case nearby elements of any one input generator are out of order
@@ -613,7 +623,8 @@ public class GeneratorFactory
      * @param <T>
      * @return
      */
-    public <T> Iterator<T> mergeSort( Comparator<T> comparator, int lookAheadDistance, Iterator<T>... generators )
+    @SafeVarargs
+    public final <T> Iterator<T> mergeSort( Comparator<T> comparator, int lookAheadDistance, Iterator<T>... generators )
     {
         return new OrderedMultiGenerator<>( comparator, lookAheadDistance, generators );
     }
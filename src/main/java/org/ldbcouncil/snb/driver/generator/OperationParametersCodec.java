@@ -0,0 +1,463 @@
+package org.ldbcouncil.snb.driver.generator;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import org.ldbcouncil.snb.driver.Operation;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Compact binary encoding of the parameters of an operation, used by compiled schedules.
+ * <p/>
+ * Parameters are those of the constructor Jackson creates the operation with, i.e., the constructor whose parameters
+ * all have @JsonProperty. They are written in constructor order, without names: primitives as they are, strings as
+ * UTF-8, dates as milliseconds, lists element by element, and other values (e.g., the organizations of
+ * LdbcUpdate1AddPerson) the same way as operations. Replay then reads a few values and calls the constructor, rather
+ * than parsing JSON. Operation classes without such a constructor fall back to their Jackson JSON serialization.
+ */
+abstract class OperationParametersCodec
+{
+    abstract void write( Operation operation, DataOutputStream outputStream ) throws IOException;
+
+    /**
+     * @param parameters exactly the encoded parameters of one operation
+     */
+    abstract Operation read( ByteBuffer parameters ) throws IOException;
+
+    static OperationParametersCodec forOperationClass( Class<? extends Operation> operationClass,
+            ObjectMapper objectMapper )
+    {
+        final ValueCodec creatorCodec = CreatorCodec.create( operationClass, objectMapper );
+        if ( null != creatorCodec )
+        {
+            return new OperationParametersCodec()
+            {
+                @Override
+                void write( Operation operation, DataOutputStream outputStream ) throws IOException
+                {
+                    creatorCodec.write( operation, outputStream );
+                }
+
+                @Override
+                Operation read( ByteBuffer parameters ) throws IOException
+                {
+                    return (Operation) creatorCodec.read( parameters );
+                }
+            };
+        }
+        final ObjectWriter objectWriter = objectMapper.writer();
+        final ObjectReader objectReader = objectMapper.readerFor( operationClass );
+        return new OperationParametersCodec()
+        {
+            @Override
+            void write( Operation operation, DataOutputStream outputStream ) throws IOException
+            {
+                outputStream.write( objectWriter.writeValueAsBytes( operation ) );
+            }
+
+            @Override
+            Operation read( ByteBuffer parameters ) throws IOException
+            {
+                byte[] bytes = new byte[parameters.remaining()];
+                parameters.get( bytes );
+                return objectReader.readValue( bytes );
+            }
+        };
+    }
+
+    private abstract static class ValueCodec
+    {
+        abstract void write( Object value, DataOutputStream outputStream ) throws IOException;
+
+        abstract Object read( ByteBuffer buffer ) throws IOException;
+    }
+
+    private static final ValueCodec LONG = new ValueCodec()
+    {
+        @Override
+        void write( Object value, DataOutputStream outputStream ) throws IOException
+        {
+            outputStream.writeLong( (Long) value );
+        }
+
+        @Override
+        Object read( ByteBuffer buffer )
+        {
+            return buffer.getLong();
+        }
+    };
+
+    private static final ValueCodec INT = new ValueCodec()
+    {
+        @Override
+        void write( Object value, DataOutputStream outputStream ) throws IOException
+        {
+            outputStream.writeInt( (Integer) value );
+        }
+
+        @Override
+        Object read( ByteBuffer buffer )
+        {
+            return buffer.getInt();
+        }
+    };
+
+    private static final ValueCodec DOUBLE = new ValueCodec()
+    {
+        @Override
+        void write( Object value, DataOutputStream outputStream ) throws IOException
+        {
+            outputStream.writeDouble( (Double) value );
+        }
+
+        @Override
+        Object read( ByteBuffer buffer )
+        {
+            return buffer.getDouble();
+        }
+    };
+
+    private static final ValueCodec BOOLEAN = new ValueCodec()
+    {
+        @Override
+        void write( Object value, DataOutputStream outputStream ) throws IOException
+        {
+            outputStream.writeBoolean( (Boolean) value );
+        }
+
+        @Override
+        Object read( ByteBuffer buffer )
+        {
+            return 0 != buffer.get();
+        }
+    };
+
+    private static final ValueCodec STRING = new ValueCodec()
+    {
+        @Override
+        void write( Object value, DataOutputStream outputStream ) throws IOException
+        {
+            byte[] bytes = ((String) value).getBytes( StandardCharsets.UTF_8 );
+            outputStream.writeInt( bytes.length );
+            outputStream.write( bytes );
+        }
+
+        @Override
+        Object read( ByteBuffer buffer )
+        {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get( bytes );
+            return new String( bytes, StandardCharsets.UTF_8 );
+        }
+    };
+
+    private static final ValueCodec DATE = new ValueCodec()
+    {
+        @Override
+        void write( Object value, DataOutputStream outputStream ) throws IOException
+        {
+            outputStream.writeLong( ((Date) value).getTime() );
+        }
+
+        @Override
+        Object read( ByteBuffer buffer )
+        {
+            return new Date( buffer.getLong() );
+        }
+    };
+
+    private static ValueCodec forType( Type type, ObjectMapper objectMapper )
+    {
+        if ( long.class == type )
+        {
+            return LONG;
+        }
+        else if ( int.class == type )
+        {
+            return INT;
+        }
+        else if ( double.class == type )
+        {
+            return DOUBLE;
+        }
+        else if ( boolean.class == type )
+        {
+            return BOOLEAN;
+        }
+        return new NullableCodec( forReferenceType( type, objectMapper ) );
+    }
+
+    private static ValueCodec forReferenceType( Type type, ObjectMapper objectMapper )
+    {
+        if ( Long.class == type )
+        {
+            return LONG;
+        }
+        else if ( Integer.class == type )
+        {
+            return INT;
+        }
+        else if ( Double.class == type )
+        {
+            return DOUBLE;
+        }
+        else if ( Boolean.class == type )
+        {
+            return BOOLEAN;
+        }
+        else if ( String.class == type )
+        {
+            return STRING;
+        }
+        else if ( Date.class == type )
+        {
+            return DATE;
+        }
+        else if ( type instanceof ParameterizedType )
+        {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type rawType = parameterizedType.getRawType();
+            if ( List.class == rawType || Collection.class == rawType || Iterable.class == rawType )
+            {
+                return new ListCodec( forType( parameterizedType.getActualTypeArguments()[0], objectMapper ) );
+            }
+        }
+        else if ( type instanceof Class )
+        {
+            ValueCodec creatorCodec = CreatorCodec.create( (Class<?>) type, objectMapper );
+            if ( null != creatorCodec )
+            {
+                return creatorCodec;
+            }
+        }
+        return new JsonCodec( objectMapper.constructType( type ), objectMapper );
+    }
+
+    private static class NullableCodec extends ValueCodec
+    {
+        private final ValueCodec valueCodec;
+
+        private NullableCodec( ValueCodec valueCodec )
+        {
+            this.valueCodec = valueCodec;
+        }
+
+        @Override
+        void write( Object value, DataOutputStream outputStream ) throws IOException
+        {
+            outputStream.writeBoolean( null != value );
+            if ( null != value )
+            {
+                valueCodec.write( value, outputStream );
+            }
+        }
+
+        @Override
+        Object read( ByteBuffer buffer ) throws IOException
+        {
+            return (0 == buffer.get()) ? null : valueCodec.read( buffer );
+        }
+    }
+
+    private static class ListCodec extends ValueCodec
+    {
+        private final ValueCodec elementCodec;
+
+        private ListCodec( ValueCodec elementCodec )
+        {
+            this.elementCodec = elementCodec;
+        }
+
+        @Override
+        void write( Object value, DataOutputStream outputStream ) throws IOException
+        {
+            List<Object> elements = new ArrayList<>();
+            Iterator<?> iterator = ((Iterable<?>) value).iterator();
+            while ( iterator.hasNext() )
+            {
+                elements.add( iterator.next() );
+            }
+            outputStream.writeInt( elements.size() );
+            for ( Object element : elements )
+            {
+                elementCodec.write( element, outputStream );
+            }
+        }
+
+        @Override
+        Object read( ByteBuffer buffer ) throws IOException
+        {
+            int size = buffer.getInt();
+            List<Object> elements = new ArrayList<>( size );
+            for ( int i = 0; i < size; i++ )
+            {
+                elements.add( elementCodec.read( buffer ) );
+            }
+            return elements;
+        }
+    }
+
+    private static class JsonCodec extends ValueCodec
+    {
+        private final ObjectWriter objectWriter;
+        private final ObjectReader objectReader;
+
+        private JsonCodec( JavaType javaType, ObjectMapper objectMapper )
+        {
+            this.objectWriter = objectMapper.writerFor( javaType );
+            this.objectReader = objectMapper.readerFor( javaType );
+        }
+
+        @Override
+        void write( Object value, DataOutputStream outputStream ) throws IOException
+        {
+            byte[] bytes = objectWriter.writeValueAsBytes( value );
+            outputStream.writeInt( bytes.length );
+            outputStream.write( bytes );
+        }
+
+        @Override
+        Object read( ByteBuffer buffer ) throws IOException
+        {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get( bytes );
+            return objectReader.readValue( bytes );
+        }
+    }
+
+    /**
+     * Writes the values of the properties a constructor with @JsonProperty parameters takes, reads them back
+     * through that constructor
+     */
+    private static class CreatorCodec extends ValueCodec
+    {
+        private final Constructor<?> creator;
+        private final AnnotatedMember[] accessors;
+        private final ValueCodec[] parameterCodecs;
+
+        private CreatorCodec( Constructor<?> creator, AnnotatedMember[] accessors, ValueCodec[] parameterCodecs )
+        {
+            this.creator = creator;
+            this.accessors = accessors;
+            this.parameterCodecs = parameterCodecs;
+        }
+
+        // returns null if the class has no constructor with @JsonProperty parameters, or a property can not be read
+        private static CreatorCodec create( Class<?> valueClass, ObjectMapper objectMapper )
+        {
+            Constructor<?> creator = null;
+            String[] propertyNames = null;
+            for ( Constructor<?> constructor : valueClass.getConstructors() )
+            {
+                propertyNames = propertyNames( constructor );
+                if ( null != propertyNames )
+                {
+                    creator = constructor;
+                    break;
+                }
+            }
+            if ( null == creator )
+            {
+                return null;
+            }
+            BeanDescription beanDescription =
+                    objectMapper.getSerializationConfig().introspect( objectMapper.constructType( valueClass ) );
+            Map<String,AnnotatedMember> accessorsByName = new HashMap<>();
+            for ( BeanPropertyDefinition property : beanDescription.findProperties() )
+            {
+                if ( null != property.getAccessor() )
+                {
+                    accessorsByName.put( property.getName(), property.getAccessor() );
+                }
+            }
+            Type[] parameterTypes = creator.getGenericParameterTypes();
+            AnnotatedMember[] accessors = new AnnotatedMember[propertyNames.length];
+            ValueCodec[] parameterCodecs = new ValueCodec[propertyNames.length];
+            for ( int i = 0; i < propertyNames.length; i++ )
+            {
+                accessors[i] = accessorsByName.get( propertyNames[i] );
+                if ( null == accessors[i] )
+                {
+                    return null;
+                }
+                parameterCodecs[i] = forType( parameterTypes[i], objectMapper );
+            }
+            return new CreatorCodec( creator, accessors, parameterCodecs );
+        }
+
+        private static String[] propertyNames( Constructor<?> constructor )
+        {
+            Annotation[][] parameterAnnotations = constructor.getParameterAnnotations();
+            if ( 0 == parameterAnnotations.length )
+            {
+                return null;
+            }
+            String[] propertyNames = new String[parameterAnnotations.length];
+            for ( int i = 0; i < parameterAnnotations.length; i++ )
+            {
+                for ( Annotation annotation : parameterAnnotations[i] )
+                {
+                    if ( annotation instanceof JsonProperty )
+                    {
+                        propertyNames[i] = ((JsonProperty) annotation).value();
+                    }
+                }
+                if ( null == propertyNames[i] )
+                {
+                    return null;
+                }
+            }
+            return propertyNames;
+        }
+
+        @Override
+        void write( Object value, DataOutputStream outputStream ) throws IOException
+        {
+            for ( int i = 0; i < accessors.length; i++ )
+            {
+                parameterCodecs[i].write( accessors[i].getValue( value ), outputStream );
+            }
+        }
+
+        @Override
+        Object read( ByteBuffer buffer ) throws IOException
+        {
+            Object[] parameters = new Object[parameterCodecs.length];
+            for ( int i = 0; i < parameterCodecs.length; i++ )
+            {
+                parameters[i] = parameterCodecs[i].read( buffer );
+            }
+            try
+            {
+                return creator.newInstance( parameters );
+            }
+            catch ( InstantiationException | IllegalAccessException | InvocationTargetException e )
+            {
+                throw new IOException( format( "Error creating %s", creator.getDeclaringClass().getName() ), e );
+            }
+        }
+    }
+}
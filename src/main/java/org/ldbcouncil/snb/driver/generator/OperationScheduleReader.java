@@ -0,0 +1,162 @@
+package org.ldbcouncil.snb.driver.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ldbcouncil.snb.driver.Operation;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static java.lang.String.format;
+
+/**
+ * Replays a compiled schedule file written by {@link OperationScheduleWriter}.
+ * <p/>
+ * The file is memory-mapped, in windows so files larger than 2GB can be read, and records are decoded on demand.
+ * The file is closed once the last operation has been read.
+ */
+public class OperationScheduleReader implements Iterator<Operation>, Closeable
+{
+    private static final long DEFAULT_WINDOW_SIZE = 1 << 28;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+    private final Map<Integer,OperationParametersCodec> codecs = new HashMap<>();
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    public OperationScheduleReader(
+            File scheduleFile,
+            Map<Integer,Class<? extends Operation>> operationTypeToClassMapping ) throws IOException
+    {
+        this( scheduleFile, operationTypeToClassMapping, DEFAULT_WINDOW_SIZE );
+    }
+
+    public OperationScheduleReader(
+            File scheduleFile,
+            Map<Integer,Class<? extends Operation>> operationTypeToClassMapping,
+            long windowSize ) throws IOException
+    {
+        ObjectMapper objectMapper = new ObjectMapper();
+        for ( Map.Entry<Integer,Class<? extends Operation>> entry : operationTypeToClassMapping.entrySet() )
+        {
+            codecs.put( entry.getKey(), OperationParametersCodec.forOperationClass( entry.getValue(), objectMapper ) );
+        }
+        this.windowSize = windowSize;
+        this.file = new RandomAccessFile( scheduleFile, "r" );
+        try
+        {
+            this.channel = file.getChannel();
+            this.fileSize = channel.size();
+            map( 0, 8 + 4 );
+            if ( OperationScheduleWriter.MAGIC != window.getLong() )
+            {
+                throw new IOException( format( "Not a compiled schedule: %s", scheduleFile.getAbsolutePath() ) );
+            }
+            int version = window.getInt();
+            if ( OperationScheduleWriter.VERSION != version )
+            {
+                throw new IOException( format( "Unsupported compiled schedule version: %s", version ) );
+            }
+            if ( !hasNext() )
+            {
+                file.close();
+            }
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            file.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return windowStart + window.position() < fileSize;
+    }
+
+    @Override
+    public Operation next()
+    {
+        if ( !hasNext() )
+        {
+            throw new NoSuchElementException( "Compiled schedule has no more operations" );
+        }
+        try
+        {
+            ensureRemaining( OperationScheduleWriter.RECORD_HEADER_SIZE );
+            int parametersLength = window.getInt();
+            int type = window.getInt();
+            long scheduledStartTimeAsMilli = window.getLong();
+            long timeStamp = window.getLong();
+            long dependencyTimeStamp = window.getLong();
+            ensureRemaining( parametersLength );
+            OperationParametersCodec codec = codecs.get( type );
+            if ( null == codec )
+            {
+                throw new GeneratorException( format( "No operation class for type %s", type ) );
+            }
+            // decode straight from the mapped window
+            ByteBuffer parameters = window.slice();
+            parameters.limit( parametersLength );
+            window.position( window.position() + parametersLength );
+            Operation operation = codec.read( parameters );
+            operation.setScheduledStartTimeAsMilli( scheduledStartTimeAsMilli );
+            operation.setTimeStamp( timeStamp );
+            operation.setDependencyTimeStamp( dependencyTimeStamp );
+            // streams are consumed to the end, so release the file as soon as the last operation is read
+            if ( !hasNext() )
+            {
+                close();
+            }
+            return operation;
+        }
+        catch ( IOException e )
+        {
+            throw new GeneratorException( "Error reading compiled schedule", e );
+        }
+    }
+
+    private void ensureRemaining( int length ) throws IOException
+    {
+        if ( window.remaining() < length )
+        {
+            map( windowStart + window.position(), length );
+        }
+    }
+
+    private void map( long position, int minimumLength ) throws IOException
+    {
+        if ( position + minimumLength > fileSize )
+        {
+            throw new IOException( format( "Compiled schedule is truncated at position %s", position ) );
+        }
+        long length = Math.max( minimumLength, Math.min( windowSize, fileSize - position ) );
+        window = channel.map( FileChannel.MapMode.READ_ONLY, position, length );
+        windowStart = position;
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException(
+                format( "%s does not support remove()", getClass().getSimpleName() ) );
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        file.close();
+    }
+}
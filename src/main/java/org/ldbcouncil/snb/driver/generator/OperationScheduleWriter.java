@@ -0,0 +1,75 @@
+package org.ldbcouncil.snb.driver.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ldbcouncil.snb.driver.Operation;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes an operation stream to a compiled schedule file, which {@link OperationScheduleReader} replays.
+ * <p/>
+ * Layout: magic (long), version (int), then one record per operation:
+ * parameters length (int) | type (int) | scheduled start time (long) | time stamp (long) |
+ * dependency time stamp (long) | parameters (as encoded by {@link OperationParametersCodec} for the operation class)
+ */
+public class OperationScheduleWriter implements Closeable
+{
+    static final long MAGIC = 0x4C44424353434844L;
+    static final int VERSION = 2;
+    static final int RECORD_HEADER_SIZE = 4 + 4 + 8 + 8 + 8;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final DataOutputStream outputStream;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Class<? extends Operation>,OperationParametersCodec> codecs = new HashMap<>();
+    private final ByteArrayOutputStream parametersBuffer = new ByteArrayOutputStream();
+    private final DataOutputStream parametersOutputStream = new DataOutputStream( parametersBuffer );
+    private long operationCount = 0;
+
+    public OperationScheduleWriter( File scheduleFile ) throws IOException
+    {
+        this.outputStream = new DataOutputStream(
+                new BufferedOutputStream( new FileOutputStream( scheduleFile ), WRITE_BUFFER_SIZE ) );
+        outputStream.writeLong( MAGIC );
+        outputStream.writeInt( VERSION );
+    }
+
+    public void write( Operation operation ) throws IOException
+    {
+        OperationParametersCodec codec = codecs.get( operation.getClass() );
+        if ( null == codec )
+        {
+            codec = OperationParametersCodec.forOperationClass( operation.getClass(), objectMapper );
+            codecs.put( operation.getClass(), codec );
+        }
+        parametersBuffer.reset();
+        codec.write( operation, parametersOutputStream );
+        parametersOutputStream.flush();
+        outputStream.writeInt( parametersBuffer.size() );
+        outputStream.writeInt( operation.type() );
+        outputStream.writeLong( operation.scheduledStartTimeAsMilli() );
+        outputStream.writeLong( operation.timeStamp() );
+        outputStream.writeLong( operation.dependencyTimeStamp() );
+        parametersBuffer.writeTo( outputStream );
+        operationCount++;
+    }
+
+    public long operationCount()
+    {
+        return operationCount;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        outputStream.close();
+    }
+}
@@ -1,62 +1,156 @@
 package org.ldbcouncil.snb.driver.generator;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.List;
+import java.util.function.ToLongFunction;
 
+/**
+ * Merges ordered generators with a loser (tournament) tree, so each element costs log2(generator count)
+ * comparisons. Ties are broken by generator order, i.e., among equal heads the first generator's head comes first.
+ * <p/>
+ * When ordering by a long key, e.g., operation time stamps, keys are read once per element and compared as
+ * primitives instead of going through a comparator.
+ */
 public class OrderedMultiGenerator<GENERATE_TYPE> extends Generator<GENERATE_TYPE> {
-    private final List<GeneratorHead<GENERATE_TYPE>> generatorHeads;
+    private final GeneratorHead<GENERATE_TYPE>[] generatorHeads;
     private final Comparator<GENERATE_TYPE> comparator;
+    private final ToLongFunction<GENERATE_TYPE> keyFunction;
+    // head key of every generator, only used when ordering by key
+    private final long[] keys;
+    private final boolean[] exhausted;
+    // losers of the matches played at every inner node, node n has children 2n and 2n+1, generator i is leaf n+i
+    private final int[] losers;
+    private final int size;
+    private int winner;
 
     public OrderedMultiGenerator(Comparator<GENERATE_TYPE> comparator, int lookAheadDistance, Iterator<GENERATE_TYPE>... generators) {
+        this(comparator, null, lookAheadDistance, generators);
+    }
+
+    public OrderedMultiGenerator(ToLongFunction<GENERATE_TYPE> keyFunction, int lookAheadDistance, Iterator<GENERATE_TYPE>... generators) {
+        this(new KeyComparator<>(keyFunction), keyFunction, lookAheadDistance, generators);
+    }
+
+    private OrderedMultiGenerator(Comparator<GENERATE_TYPE> comparator, ToLongFunction<GENERATE_TYPE> keyFunction, int lookAheadDistance, Iterator<GENERATE_TYPE>... generators) {
         this.comparator = comparator;
-        if (1 == lookAheadDistance) {
-            this.generatorHeads = buildSimpleGeneratorHeads(generators);
-        } else {
-            this.generatorHeads = buildLookAheadGeneratorHeads(comparator, lookAheadDistance, generators);
+        this.keyFunction = keyFunction;
+        this.size = generators.length;
+        this.generatorHeads = (1 == lookAheadDistance)
+                ? buildSimpleGeneratorHeads(generators)
+                : buildLookAheadGeneratorHeads(comparator, lookAheadDistance, generators);
+        this.keys = new long[size];
+        this.exhausted = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            readHead(i);
         }
+        this.losers = new int[Math.max(size, 1)];
+        this.winner = buildTree();
     }
 
-    private static <T1> List<GeneratorHead<T1>> buildSimpleGeneratorHeads(Iterator<T1>... generators) {
-        List<GeneratorHead<T1>> heads = new ArrayList<>();
-        for (Iterator<T1> generator : generators) {
-            heads.add(new SimpleGeneratorHead<>(generator));
+    @SuppressWarnings("unchecked")
+    private static <T1> GeneratorHead<T1>[] buildSimpleGeneratorHeads(Iterator<T1>... generators) {
+        GeneratorHead<T1>[] heads = new GeneratorHead[generators.length];
+        for (int i = 0; i < generators.length; i++) {
+            heads[i] = new SimpleGeneratorHead<>(generators[i]);
         }
         return heads;
     }
 
-    private static <T1> List<GeneratorHead<T1>> buildLookAheadGeneratorHeads(Comparator<T1> comparator, int distance, Iterator<T1>... generators) {
-        List<GeneratorHead<T1>> heads = new ArrayList<>();
-        for (Iterator<T1> generator : generators) {
-            heads.add(new LookaheadGeneratorHead<>(generator, comparator, distance));
+    @SuppressWarnings("unchecked")
+    private static <T1> GeneratorHead<T1>[] buildLookAheadGeneratorHeads(Comparator<T1> comparator, int distance, Iterator<T1>... generators) {
+        GeneratorHead<T1>[] heads = new GeneratorHead[generators.length];
+        for (int i = 0; i < generators.length; i++) {
+            heads[i] = new LookaheadGeneratorHead<>(generators[i], comparator, distance);
         }
         return heads;
     }
 
+    private int buildTree() {
+        if (0 == size) {
+            return -1;
+        }
+        int[] winners = new int[2 * size];
+        for (int i = 0; i < size; i++) {
+            winners[size + i] = i;
+        }
+        for (int node = size - 1; node >= 1; node--) {
+            int left = winners[2 * node];
+            int right = winners[2 * node + 1];
+            if (beats(left, right)) {
+                winners[node] = left;
+                losers[node] = right;
+            } else {
+                winners[node] = right;
+                losers[node] = left;
+            }
+        }
+        return (1 == size) ? 0 : winners[1];
+    }
+
     @Override
     protected GENERATE_TYPE doNext() throws GeneratorException {
-        GeneratorHead<GENERATE_TYPE> minGeneratorHead = getMinGeneratorHead();
-        return (null == minGeneratorHead) ? null : minGeneratorHead.removeHead();
+        if (-1 == winner || exhausted[winner]) {
+            return null;
+        }
+        GENERATE_TYPE next = generatorHeads[winner].removeHead();
+        readHead(winner);
+        replay(winner);
+        return next;
     }
 
-    private GeneratorHead<GENERATE_TYPE> getMinGeneratorHead() {
-        GeneratorHead<GENERATE_TYPE> minGeneratorHead = null;
-
-        // Get generator head with lowest head element (removing empty ones encountered first)
-        for (int i = 0; i < generatorHeads.size(); i++) {
-            GeneratorHead<GENERATE_TYPE> generatorHead = generatorHeads.get(i);
-            if (null == generatorHead) continue;
-            if (null == generatorHead.inspectHead()) {
-                generatorHeads.set(i, null);
-                continue;
+    // only the matches on the path from the advanced generator to the root can have changed
+    private void replay(int generator) {
+        int currentWinner = generator;
+        for (int node = (generator + size) >> 1; node >= 1; node >>= 1) {
+            int loser = losers[node];
+            if (beats(loser, currentWinner)) {
+                losers[node] = currentWinner;
+                currentWinner = loser;
             }
-            if (null == minGeneratorHead || comparator.compare(generatorHead.inspectHead(), minGeneratorHead.inspectHead()) < 0) {
-                minGeneratorHead = generatorHead;
+        }
+        winner = currentWinner;
+    }
+
+    private void readHead(int generator) {
+        GENERATE_TYPE head = generatorHeads[generator].inspectHead();
+        if (null == head) {
+            exhausted[generator] = true;
+            keys[generator] = Long.MAX_VALUE;
+        } else if (null != keyFunction) {
+            keys[generator] = keyFunction.applyAsLong(head);
+        }
+    }
+
+    private boolean beats(int generator, int otherGenerator) {
+        if (null != keyFunction) {
+            // exhausted generators have the largest key, so they only need checking on ties
+            long key = keys[generator];
+            long otherKey = keys[otherGenerator];
+            if (key != otherKey) {
+                return key < otherKey;
             }
         }
+        if (exhausted[generator] || exhausted[otherGenerator]) {
+            return !exhausted[generator] || (exhausted[otherGenerator] && generator < otherGenerator);
+        }
+        if (null != keyFunction) {
+            return generator < otherGenerator;
+        }
+        int comparison = comparator.compare(generatorHeads[generator].inspectHead(), generatorHeads[otherGenerator].inspectHead());
+        return comparison < 0 || (0 == comparison && generator < otherGenerator);
+    }
+
+    private static class KeyComparator<T1> implements Comparator<T1> {
+        private final ToLongFunction<T1> keyFunction;
+
+        private KeyComparator(ToLongFunction<T1> keyFunction) {
+            this.keyFunction = keyFunction;
+        }
 
-        return minGeneratorHead;
+        @Override
+        public int compare(T1 o1, T1 o2) {
+            return Long.compare(keyFunction.applyAsLong(o1), keyFunction.applyAsLong(o2));
+        }
     }
 
     private static interface GeneratorHead<T1> {
@@ -88,18 +182,24 @@ public class OrderedMultiGenerator<GENERATE_TYPE> extends Generator<GENERATE_TYP
         }
     }
 
+    /**
+     * Keeps the next lookahead distance elements of a generator in a binary min-heap. Equal elements leave the heap
+     * in the order the generator returned them.
+     */
     private static class LookaheadGeneratorHead<T1> implements GeneratorHead<T1> {
         private final Iterator<T1> generator;
         private final Comparator<T1> comparator;
-        private final int lookaheadDistance;
-        private List<T1> lookaheadBuffer;
+        private final Object[] heap;
+        private final long[] heapSequences;
+        private int heapSize = 0;
+        private long sequence = 0;
         private T1 head;
 
         public LookaheadGeneratorHead(Iterator<T1> generator, Comparator<T1> comparator, int lookaheadDistance) {
             this.generator = generator;
             this.comparator = comparator;
-            this.lookaheadDistance = lookaheadDistance;
-            this.lookaheadBuffer = new ArrayList<>();
+            this.heap = new Object[lookaheadDistance];
+            this.heapSequences = new long[lookaheadDistance];
             fillLookaheadBuffer();
             this.head = getMinFromLookaheadBuffer();
         }
@@ -118,31 +218,64 @@ public class OrderedMultiGenerator<GENERATE_TYPE> extends Generator<GENERATE_TYP
             return head;
         }
 
+        @SuppressWarnings("unchecked")
         private T1 getMinFromLookaheadBuffer() {
-            Iterator<T1> lookaheadBufferIterator = lookaheadBuffer.iterator();
-            if (false == lookaheadBufferIterator.hasNext()) {
+            if (0 == heapSize) {
                 return null;
             }
-            int index = 0;
-            int minIndex = index;
-            T1 min = lookaheadBufferIterator.next();
-            while (lookaheadBufferIterator.hasNext()) {
-                index++;
-                T1 next = lookaheadBufferIterator.next();
-                if (comparator.compare(next, min) < 0) {
-                    minIndex = index;
-                    min = next;
-                }
-            }
-            lookaheadBuffer.remove(minIndex);
+            T1 min = (T1) heap[0];
+            heapSize--;
+            heap[0] = heap[heapSize];
+            heapSequences[0] = heapSequences[heapSize];
+            heap[heapSize] = null;
+            siftDown(0);
             return min;
         }
 
         private void fillLookaheadBuffer() {
-            while (generator.hasNext()) {
-                if (lookaheadBuffer.size() >= lookaheadDistance) break;
-                lookaheadBuffer.add(generator.next());
+            while (heapSize < heap.length && generator.hasNext()) {
+                heap[heapSize] = generator.next();
+                heapSequences[heapSize] = sequence++;
+                heapSize++;
+                siftUp(heapSize - 1);
+            }
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >> 1;
+                if (!less(index, parent)) break;
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < heapSize && less(left, smallest)) smallest = left;
+                if (right < heapSize && less(right, smallest)) smallest = right;
+                if (smallest == index) break;
+                swap(index, smallest);
+                index = smallest;
             }
         }
+
+        @SuppressWarnings("unchecked")
+        private boolean less(int i, int j) {
+            int comparison = comparator.compare((T1) heap[i], (T1) heap[j]);
+            return comparison < 0 || (0 == comparison && heapSequences[i] < heapSequences[j]);
+        }
+
+        private void swap(int i, int j) {
+            Object element = heap[i];
+            heap[i] = heap[j];
+            heap[j] = element;
+            long elementSequence = heapSequences[i];
+            heapSequences[i] = heapSequences[j];
+            heapSequences[j] = elementSequence;
+        }
     }
 }
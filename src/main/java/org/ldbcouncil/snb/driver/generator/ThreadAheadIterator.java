@@ -0,0 +1,280 @@
+package org.ldbcouncil.snb.driver.generator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.String.format;
+
+/**
+ * Like {@link org.ldbcouncil.snb.driver.csv.charseeker.ThreadAheadReadable}, but for decoded elements: a background
+ * thread drains the wrapped iterator into a bounded single-producer/single-consumer ring buffer, so the expensive
+ * decoding is already done when the consumer calls {@link #next()}.
+ * <p/>
+ * Only one thread may consume at a time. Elements are read ahead up to the buffer capacity, elements that are never
+ * consumed are discarded on {@link #close()}, which also closes the wrapped reader. The wrapped iterator must not
+ * return null elements.
+ */
+public class ThreadAheadIterator<T> implements Iterator<T>, Closeable
+{
+    private static final long PARK_TIME_AS_NANO = TimeUnit.MILLISECONDS.toNanos( 1 );
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    private final Iterator<T> actual;
+    private final Closeable actualCloseable;
+    private final Object[] buffer;
+    private final int mask;
+    private final Producer producer;
+
+    // index of the next element to take, written by consumer only
+    private final AtomicLong head = new AtomicLong( 0 );
+    // index of the next element to put, written by producer only
+    private final AtomicLong tail = new AtomicLong( 0 );
+
+    private volatile Thread waitingConsumer = null;
+    private volatile boolean producerWaiting = false;
+    private volatile boolean eof = false;
+    private volatile boolean closed = false;
+    private volatile Throwable producerException = null;
+
+    private T next = null;
+    private long consumerWaitCount = 0;
+    private long producerWaitCount = 0;
+    private long occupancySum = 0;
+    private long takeCount = 0;
+
+    public ThreadAheadIterator( Iterator<T> actual, Closeable actualCloseable, int capacity, String name )
+    {
+        if ( capacity < 1 )
+        {
+            throw new GeneratorException( format( "Capacity must be at least 1: %s", capacity ) );
+        }
+        this.actual = actual;
+        this.actualCloseable = actualCloseable;
+        int powerOfTwoCapacity = Integer.highestOneBit( capacity );
+        if ( powerOfTwoCapacity < capacity )
+        {
+            powerOfTwoCapacity = powerOfTwoCapacity << 1;
+        }
+        this.buffer = new Object[powerOfTwoCapacity];
+        this.mask = powerOfTwoCapacity - 1;
+        this.producer = new Producer( name );
+        this.producer.start();
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if ( null == next )
+        {
+            next = take();
+        }
+        return null != next;
+    }
+
+    @Override
+    public T next()
+    {
+        if ( !hasNext() )
+        {
+            throw new NoSuchElementException();
+        }
+        T result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException( "Iterator doesn't support remove()" );
+    }
+
+    // returns null when the wrapped iterator is exhausted
+    private T take()
+    {
+        long currentHead = head.get();
+        int spins = 0;
+        boolean waited = false;
+        while ( currentHead == tail.get() )
+        {
+            if ( eof && currentHead == tail.get() )
+            {
+                assertHealthy();
+                return null;
+            }
+            if ( closed )
+            {
+                throw new GeneratorException( "Iterator was closed" );
+            }
+            if ( !waited )
+            {
+                waited = true;
+                consumerWaitCount++;
+            }
+            if ( spins < SPINS_BEFORE_PARK )
+            {
+                spins++;
+                Thread.yield();
+            }
+            else
+            {
+                // announce before re-checking, so the producer can not publish without seeing it
+                waitingConsumer = Thread.currentThread();
+                if ( currentHead == tail.get() && !eof )
+                {
+                    LockSupport.parkNanos( this, PARK_TIME_AS_NANO );
+                }
+                waitingConsumer = null;
+            }
+        }
+        int index = (int) (currentHead & mask);
+        @SuppressWarnings( "unchecked" )
+        T element = (T) buffer[index];
+        buffer[index] = null;
+        occupancySum += tail.get() - currentHead;
+        takeCount++;
+        head.set( currentHead + 1 );
+        if ( producerWaiting )
+        {
+            LockSupport.unpark( producer );
+        }
+        return element;
+    }
+
+    private void assertHealthy()
+    {
+        if ( null != producerException )
+        {
+            throw new GeneratorException( "Error occurred in decode-ahead thread", producerException );
+        }
+    }
+
+    /**
+     * @return number of decoded elements waiting to be consumed
+     */
+    public int occupancy()
+    {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity()
+    {
+        return buffer.length;
+    }
+
+    /**
+     * @return mean number of decoded elements that were waiting, sampled every time the consumer took one
+     */
+    public double meanOccupancy()
+    {
+        return (0 == takeCount) ? 0 : (double) occupancySum / takeCount;
+    }
+
+    /**
+     * @return number of times the consumer found the buffer empty and had to wait for the decoder
+     */
+    public long consumerWaitCount()
+    {
+        return consumerWaitCount;
+    }
+
+    /**
+     * @return number of times the decoder found the buffer full and had to wait for the consumer
+     */
+    public long producerWaitCount()
+    {
+        return producerWaitCount;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        closed = true;
+        LockSupport.unpark( producer );
+        try
+        {
+            producer.join();
+        }
+        catch ( InterruptedException e )
+        {
+            throw new IOException( e );
+        }
+        finally
+        {
+            actualCloseable.close();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return format( "%s[capacity=%s, occupancy=%s, meanOccupancy=%.2f, consumerWaits=%s, producerWaits=%s]",
+                producer.getName(), capacity(), occupancy(), meanOccupancy(), consumerWaitCount(),
+                producerWaitCount() );
+    }
+
+    private class Producer extends Thread
+    {
+        private Producer( String name )
+        {
+            super( name );
+            setDaemon( true );
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                while ( !closed && actual.hasNext() )
+                {
+                    T element = actual.next();
+                    long currentTail = tail.get();
+                    if ( currentTail - head.get() == buffer.length )
+                    {
+                        producerWaitCount++;
+                    }
+                    while ( currentTail - head.get() == buffer.length )
+                    {
+                        if ( closed )
+                        {
+                            return;
+                        }
+                        // announce before re-checking, so the consumer can not take without seeing it
+                        producerWaiting = true;
+                        if ( currentTail - head.get() == buffer.length )
+                        {
+                            LockSupport.parkNanos( this, PARK_TIME_AS_NANO );
+                        }
+                        producerWaiting = false;
+                    }
+                    buffer[(int) (currentTail & mask)] = element;
+                    tail.set( currentTail + 1 );
+                    Thread consumer = waitingConsumer;
+                    if ( null != consumer )
+                    {
+                        LockSupport.unpark( consumer );
+                    }
+                }
+            }
+            catch ( Throwable e )
+            {
+                producerException = e;
+            }
+            finally
+            {
+                eof = true;
+                Thread consumer = waitingConsumer;
+                if ( null != consumer )
+                {
+                    LockSupport.unpark( consumer );
+                }
+            }
+        }
+    }
+}
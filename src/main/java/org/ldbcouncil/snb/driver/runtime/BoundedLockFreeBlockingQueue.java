@@ -0,0 +1,481 @@
+package org.ldbcouncil.snb.driver.runtime;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, array-backed blocking queue whose offer() and poll() are lock-free.
+ * <p/>
+ * Every slot of the ring has a sequence, which tells producers and consumers whether the slot is free for the
+ * position they claimed or holds the element they are after, so producers only contend on the tail counter and
+ * consumers only on the head counter. The counters are padded, so they do not share a cache line with each other.
+ * With a single consumer the head is moved without compare-and-set, it is then up to the caller to make sure only
+ * one thread ever takes from the queue. Capacity is rounded up to the next power of two, and to at least two.
+ * <p/>
+ * Like {@link BoundedPriorityBlockingQueue}, offer() does not block when the queue is full but returns false. How
+ * put(), take() and their timed variants wait is decided by the {@link WaitStrategy}. Elements can only be removed
+ * from the head of the queue, iterators do not support remove() and neither does remove(Object).
+ */
+public class BoundedLockFreeBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E>
+{
+    public enum WaitStrategy
+    {
+        /**
+         * waiting threads sleep on a lock, which is only touched by the other side when somebody is waiting
+         */
+        BLOCKING,
+        /**
+         * waiting threads park for the shortest possible time between attempts
+         */
+        SLEEPING,
+        /**
+         * waiting threads yield between attempts
+         */
+        YIELDING,
+        /**
+         * waiting threads retry straight away, lowest latency but only when every waiting thread has a core of its own
+         */
+        BUSY_SPIN
+    }
+
+    private static final int YIELDS_BEFORE_BLOCKING = 100;
+
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final int capacity;
+    private final int mask;
+    private final boolean singleConsumer;
+    private final WaitStrategy waitStrategy;
+    private final PaddedAtomicLong head = new PaddedAtomicLong();
+    private final PaddedAtomicLong tail = new PaddedAtomicLong();
+    // only used by BLOCKING wait strategy
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger waitingConsumers = new AtomicInteger( 0 );
+    private final AtomicInteger waitingProducers = new AtomicInteger( 0 );
+
+    public BoundedLockFreeBlockingQueue( int capacity, boolean singleConsumer, WaitStrategy waitStrategy )
+    {
+        if ( capacity < 1 )
+        {
+            throw new IllegalArgumentException( "Capacity must be at least 1: " + capacity );
+        }
+        // with a single slot, a published slot and a free slot of the next lap would have the same sequence
+        int ringSize = Math.max( 2, Integer.highestOneBit( capacity ) );
+        if ( ringSize < capacity )
+        {
+            ringSize = ringSize << 1;
+        }
+        this.capacity = ringSize;
+        this.mask = ringSize - 1;
+        this.elements = new AtomicReferenceArray<>( ringSize );
+        this.sequences = new AtomicLongArray( ringSize );
+        for ( int slot = 0; slot < ringSize; slot++ )
+        {
+            sequences.set( slot, slot );
+        }
+        this.singleConsumer = singleConsumer;
+        this.waitStrategy = waitStrategy;
+    }
+
+    @Override
+    public boolean offer( E e )
+    {
+        checkNotNull( e );
+        long position = tail.get();
+        while ( true )
+        {
+            int slot = (int) (position & mask);
+            long difference = sequences.get( slot ) - position;
+            if ( 0 == difference )
+            {
+                if ( tail.compareAndSet( position, position + 1 ) )
+                {
+                    elements.lazySet( slot, e );
+                    sequences.set( slot, position + 1 );
+                    signal( waitingConsumers, notEmpty );
+                    return true;
+                }
+                position = tail.get();
+            }
+            else if ( difference < 0 )
+            {
+                // slot still holds the element from the previous lap, queue is full
+                return false;
+            }
+            else
+            {
+                // another producer claimed the position first
+                position = tail.get();
+            }
+        }
+    }
+
+    @Override
+    public boolean offer( E e, long timeout, TimeUnit unit ) throws InterruptedException
+    {
+        checkNotNull( e );
+        long deadlineAsNano = System.nanoTime() + unit.toNanos( timeout );
+        if ( WaitStrategy.BLOCKING == waitStrategy )
+        {
+            return null != awaitOnLock( e, waitingProducers, notFull, true, deadlineAsNano );
+        }
+        while ( !offer( e ) )
+        {
+            if ( deadlineAsNano - System.nanoTime() <= 0 )
+            {
+                return false;
+            }
+            idle();
+        }
+        return true;
+    }
+
+    @Override
+    public void put( E e ) throws InterruptedException
+    {
+        checkNotNull( e );
+        if ( WaitStrategy.BLOCKING == waitStrategy )
+        {
+            awaitOnLock( e, waitingProducers, notFull, false, 0 );
+            return;
+        }
+        while ( !offer( e ) )
+        {
+            idle();
+        }
+    }
+
+    @Override
+    public E poll()
+    {
+        long position = head.get();
+        while ( true )
+        {
+            int slot = (int) (position & mask);
+            long difference = sequences.get( slot ) - (position + 1);
+            if ( 0 == difference )
+            {
+                if ( singleConsumer )
+                {
+                    head.lazySet( position + 1 );
+                    return take( slot, position );
+                }
+                if ( head.compareAndSet( position, position + 1 ) )
+                {
+                    return take( slot, position );
+                }
+                position = head.get();
+            }
+            else if ( difference < 0 )
+            {
+                if ( tail.get() == position )
+                {
+                    return null;
+                }
+                // a producer has claimed the head position but not yet published its element, which it is about to
+                // do, reporting the queue as empty would let a later offer overtake it
+                Thread.yield();
+                position = head.get();
+            }
+            else
+            {
+                // another consumer took the position first
+                position = head.get();
+            }
+        }
+    }
+
+    @Override
+    public E poll( long timeout, TimeUnit unit ) throws InterruptedException
+    {
+        long deadlineAsNano = System.nanoTime() + unit.toNanos( timeout );
+        if ( WaitStrategy.BLOCKING == waitStrategy )
+        {
+            return awaitOnLock( null, waitingConsumers, notEmpty, true, deadlineAsNano );
+        }
+        E e;
+        while ( null == (e = poll()) )
+        {
+            if ( deadlineAsNano - System.nanoTime() <= 0 )
+            {
+                return null;
+            }
+            idle();
+        }
+        return e;
+    }
+
+    @Override
+    public E take() throws InterruptedException
+    {
+        if ( WaitStrategy.BLOCKING == waitStrategy )
+        {
+            return awaitOnLock( null, waitingConsumers, notEmpty, false, 0 );
+        }
+        E e;
+        while ( null == (e = poll()) )
+        {
+            idle();
+        }
+        return e;
+    }
+
+    @Override
+    public E peek()
+    {
+        while ( true )
+        {
+            long position = head.get();
+            int slot = (int) (position & mask);
+            long difference = sequences.get( slot ) - (position + 1);
+            if ( 0 == difference )
+            {
+                E e = elements.get( slot );
+                // element may have been taken, and the slot reused, while reading it
+                if ( null != e && head.get() == position )
+                {
+                    return e;
+                }
+            }
+            else if ( difference < 0 && tail.get() == position )
+            {
+                return null;
+            }
+            else
+            {
+                Thread.yield();
+            }
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        while ( true )
+        {
+            long before = head.get();
+            long currentTail = tail.get();
+            long after = head.get();
+            if ( before == after )
+            {
+                return (int) Math.max( 0, Math.min( capacity, currentTail - after ) );
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return head.get() >= tail.get();
+    }
+
+    @Override
+    public int remainingCapacity()
+    {
+        return capacity - size();
+    }
+
+    @Override
+    public int drainTo( Collection<? super E> c )
+    {
+        return drainTo( c, Integer.MAX_VALUE );
+    }
+
+    @Override
+    public int drainTo( Collection<? super E> c, int maxElements )
+    {
+        checkNotNull( c );
+        if ( c == this )
+        {
+            throw new IllegalArgumentException( "Can not drain queue to itself" );
+        }
+        int count = 0;
+        E e;
+        while ( count < maxElements && null != (e = poll()) )
+        {
+            c.add( e );
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Iterates over a weakly consistent snapshot of the queue, in queue order
+     */
+    @Override
+    public Iterator<E> iterator()
+    {
+        List<E> snapshot = new ArrayList<>();
+        long currentTail = tail.get();
+        for ( long position = head.get(); position < currentTail; position++ )
+        {
+            int slot = (int) (position & mask);
+            E e = elements.get( slot );
+            if ( null != e && sequences.get( slot ) == position + 1 )
+            {
+                snapshot.add( e );
+            }
+        }
+        final Iterator<E> snapshotIterator = snapshot.iterator();
+        return new Iterator<E>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return snapshotIterator.hasNext();
+            }
+
+            @Override
+            public E next()
+            {
+                return snapshotIterator.next();
+            }
+
+            @Override
+            public void remove()
+            {
+                throw new UnsupportedOperationException( "Elements can only be removed from the head of the queue" );
+            }
+        };
+    }
+
+    private E take( int slot, long position )
+    {
+        E e = elements.get( slot );
+        elements.lazySet( slot, null );
+        // frees the slot for the producer one lap ahead
+        sequences.set( slot, position + capacity );
+        signal( waitingProducers, notFull );
+        return e;
+    }
+
+    private void idle() throws InterruptedException
+    {
+        if ( Thread.interrupted() )
+        {
+            throw new InterruptedException();
+        }
+        switch ( waitStrategy )
+        {
+        case SLEEPING:
+            LockSupport.parkNanos( 1 );
+            break;
+        case YIELDING:
+            Thread.yield();
+            break;
+        default:
+            break;
+        }
+    }
+
+    // waiters count themselves before re-checking the queue, and the other side publishes before reading the count,
+    // so either the waiter sees the change or it is signalled
+    private void signal( AtomicInteger waiters, Condition condition )
+    {
+        if ( waiters.get() > 0 )
+        {
+            lock.lock();
+            try
+            {
+                // one element or one slot became available, so one waiter is enough
+                condition.signal();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    // offers e if not null, otherwise polls, returns null if timed out
+    private E awaitOnLock( E e, AtomicInteger waiters, Condition condition, boolean timed, long deadlineAsNano )
+            throws InterruptedException
+    {
+        // the other side usually catches up quickly, try for a little while before paying for the lock
+        E result;
+        for ( int i = 0; i < YIELDS_BEFORE_BLOCKING; i++ )
+        {
+            if ( null != (result = attempt( e )) )
+            {
+                return result;
+            }
+            Thread.yield();
+        }
+        waiters.incrementAndGet();
+        try
+        {
+            lock.lockInterruptibly();
+            try
+            {
+                while ( null == (result = attempt( e )) )
+                {
+                    if ( timed )
+                    {
+                        long remainingAsNano = deadlineAsNano - System.nanoTime();
+                        if ( remainingAsNano <= 0 )
+                        {
+                            return null;
+                        }
+                        condition.awaitNanos( remainingAsNano );
+                    }
+                    else
+                    {
+                        condition.await();
+                    }
+                }
+                return result;
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+        finally
+        {
+            waiters.decrementAndGet();
+        }
+    }
+
+    private E attempt( E e )
+    {
+        if ( null == e )
+        {
+            return poll();
+        }
+        return (offer( e )) ? e : null;
+    }
+
+    private static void checkNotNull( Object o )
+    {
+        if ( null == o )
+        {
+            throw new NullPointerException();
+        }
+    }
+
+    // keeps head and tail on cache lines of their own
+    private static class PaddedAtomicLong extends AtomicLong
+    {
+        private long p1, p2, p3, p4, p5, p6, p7;
+
+        // stops the padding from being optimized away
+        long sumPaddingToPreventOptimisation()
+        {
+            return p1 + p2 + p3 + p4 + p5 + p6 + p7;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package org.ldbcouncil.snb.driver.runtime;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded blocking queue that hands out elements in comparator order, rather than in insertion order.
+ * <p/>
+ * Unlike {@link DefaultQueues#newAlwaysBlockingBounded(int)}, offer() does not block when the queue is full but
+ * returns false, so the caller learns about back-pressure and decides how to wait. Elements that compare as equal
+ * are handed out in no particular order, so comparators should break ties themselves.
+ */
+public class BoundedPriorityBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E>
+{
+    private final PriorityQueue<E> queue;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    public BoundedPriorityBlockingQueue( int capacity, Comparator<? super E> comparator )
+    {
+        if ( capacity < 1 )
+        {
+            throw new IllegalArgumentException( "Capacity must be at least 1: " + capacity );
+        }
+        this.queue = new PriorityQueue<>( Math.min( capacity, DefaultQueues.DEFAULT_BOUND_1000 ), comparator );
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean offer( E e )
+    {
+        checkNotNull( e );
+        lock.lock();
+        try
+        {
+            if ( queue.size() >= capacity )
+            {
+                return false;
+            }
+            enqueue( e );
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer( E e, long timeout, TimeUnit unit ) throws InterruptedException
+    {
+        checkNotNull( e );
+        long remainingAsNano = unit.toNanos( timeout );
+        lock.lockInterruptibly();
+        try
+        {
+            while ( queue.size() >= capacity )
+            {
+                if ( remainingAsNano <= 0 )
+                {
+                    return false;
+                }
+                remainingAsNano = notFull.awaitNanos( remainingAsNano );
+            }
+            enqueue( e );
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put( E e ) throws InterruptedException
+    {
+        checkNotNull( e );
+        lock.lockInterruptibly();
+        try
+        {
+            while ( queue.size() >= capacity )
+            {
+                notFull.await();
+            }
+            enqueue( e );
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll()
+    {
+        lock.lock();
+        try
+        {
+            return dequeue();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll( long timeout, TimeUnit unit ) throws InterruptedException
+    {
+        long remainingAsNano = unit.toNanos( timeout );
+        lock.lockInterruptibly();
+        try
+        {
+            while ( queue.isEmpty() )
+            {
+                if ( remainingAsNano <= 0 )
+                {
+                    return null;
+                }
+                remainingAsNano = notEmpty.awaitNanos( remainingAsNano );
+            }
+            return dequeue();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException
+    {
+        lock.lockInterruptibly();
+        try
+        {
+            while ( queue.isEmpty() )
+            {
+                notEmpty.await();
+            }
+            return dequeue();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E peek()
+    {
+        lock.lock();
+        try
+        {
+            return queue.peek();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        lock.lock();
+        try
+        {
+            return queue.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity()
+    {
+        lock.lock();
+        try
+        {
+            return capacity - queue.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove( Object o )
+    {
+        lock.lock();
+        try
+        {
+            boolean removed = queue.remove( o );
+            if ( removed )
+            {
+                notFull.signal();
+            }
+            return removed;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains( Object o )
+    {
+        lock.lock();
+        try
+        {
+            return queue.contains( o );
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        lock.lock();
+        try
+        {
+            queue.clear();
+            notFull.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        lock.lock();
+        try
+        {
+            return queue.toArray();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public <T> T[] toArray( T[] a )
+    {
+        lock.lock();
+        try
+        {
+            return queue.toArray( a );
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo( Collection<? super E> c )
+    {
+        return drainTo( c, Integer.MAX_VALUE );
+    }
+
+    @Override
+    public int drainTo( Collection<? super E> c, int maxElements )
+    {
+        checkNotNull( c );
+        if ( c == this )
+        {
+            throw new IllegalArgumentException( "Can not drain queue to itself" );
+        }
+        lock.lock();
+        try
+        {
+            int count = 0;
+            while ( count < maxElements && !queue.isEmpty() )
+            {
+                c.add( queue.poll() );
+                count++;
+            }
+            if ( count > 0 )
+            {
+                notFull.signalAll();
+            }
+            return count;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Iterates over a snapshot of the queue, in no particular order
+     */
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new SnapshotIterator( toArray() );
+    }
+
+    // only called while holding lock
+    private void enqueue( E e )
+    {
+        queue.offer( e );
+        notEmpty.signal();
+    }
+
+    // only called while holding lock
+    private E dequeue()
+    {
+        E e = queue.poll();
+        if ( null != e )
+        {
+            notFull.signal();
+        }
+        return e;
+    }
+
+    private static void checkNotNull( Object o )
+    {
+        if ( null == o )
+        {
+            throw new NullPointerException();
+        }
+    }
+
+    private void removeIdentical( Object o )
+    {
+        lock.lock();
+        try
+        {
+            Iterator<E> iterator = queue.iterator();
+            while ( iterator.hasNext() )
+            {
+                if ( iterator.next() == o )
+                {
+                    iterator.remove();
+                    notFull.signal();
+                    return;
+                }
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private class SnapshotIterator implements Iterator<E>
+    {
+        private final Object[] elements;
+        private int next = 0;
+        private int last = -1;
+
+        private SnapshotIterator( Object[] elements )
+        {
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next < elements.length;
+        }
+
+        @Override
+        public E next()
+        {
+            if ( next >= elements.length )
+            {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next++;
+            return (E) elements[last];
+        }
+
+        @Override
+        public void remove()
+        {
+            if ( last < 0 )
+            {
+                throw new IllegalStateException();
+            }
+            removeIdentical( elements[last] );
+            last = -1;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package org.ldbcouncil.snb.driver.runtime;
 
+import org.ldbcouncil.snb.driver.runtime.BoundedLockFreeBlockingQueue.WaitStrategy;
+
+import java.util.Comparator;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -30,6 +33,25 @@ public class DefaultQueues
         return new AlwaysBlockingLinkedBlockingQueue<>( capacity );
     }
 
+    public static <T> BoundedPriorityBlockingQueue<T> newBoundedPriority( int capacity,
+            Comparator<? super T> comparator )
+    {
+        return new BoundedPriorityBlockingQueue<>( capacity, comparator );
+    }
+
+    public static <T> BlockingQueue<T> newLockFreeBoundedMpmc( int capacity, WaitStrategy waitStrategy )
+    {
+        return new BoundedLockFreeBlockingQueue<>( capacity, false, waitStrategy );
+    }
+
+    /*
+    only one thread may ever take from the returned queue
+    */
+    public static <T> BlockingQueue<T> newLockFreeBoundedMpsc( int capacity, WaitStrategy waitStrategy )
+    {
+        return new BoundedLockFreeBlockingQueue<>( capacity, true, waitStrategy );
+    }
+
     /*
     turn offer() & add() into blocking calls (unless interrupted)
     */
@@ -8,6 +8,8 @@ import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeException;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeService;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeWriter;
 import org.ldbcouncil.snb.driver.runtime.coordination.DummyCompletionTimeWriter;
+import org.ldbcouncil.snb.driver.runtime.executor.AsyncOperationExecutor;
+import org.ldbcouncil.snb.driver.runtime.executor.EntityDependencyOperationExecutor;
 import org.ldbcouncil.snb.driver.runtime.executor.OperationExecutor;
 import org.ldbcouncil.snb.driver.runtime.executor.OperationExecutorException;
 import org.ldbcouncil.snb.driver.runtime.executor.OperationStreamExecutorService;
@@ -49,7 +51,13 @@ public class WorkloadRunner
             long statusDisplayIntervalAsSeconds,
             long spinnerSleepDurationAsMilli,
             boolean ignoreScheduleStartTimes,
-            int operationHandlerExecutorsBoundedQueueSize ) throws WorkloadException, MetricsCollectionException
+            int operationHandlerExecutorsBoundedQueueSize,
+            boolean asyncExecutor,
+            int maxInFlight,
+            boolean preciseSpinner,
+            boolean jitDispatch,
+            long[] edfDeadlineOffsetsAsMilli,
+            int writeThreadCount ) throws WorkloadException, MetricsCollectionException
     {
         this.workloadRunnerFuture = new WorkloadRunnerFuture(
                 timeSource,
@@ -63,7 +71,13 @@ public class WorkloadRunner
                 statusDisplayIntervalAsSeconds,
                 spinnerSleepDurationAsMilli,
                 ignoreScheduleStartTimes,
-                operationHandlerExecutorsBoundedQueueSize
+                operationHandlerExecutorsBoundedQueueSize,
+                asyncExecutor,
+                maxInFlight,
+                preciseSpinner,
+                jitDispatch,
+                edfDeadlineOffsetsAsMilli,
+                writeThreadCount
         );
     }
 
@@ -93,7 +107,13 @@ public class WorkloadRunner
                 long statusDisplayIntervalAsSeconds,
                 long spinnerSleepDurationAsMilli,
                 boolean ignoreScheduleStartTimes,
-                int operationHandlerExecutorsBoundedQueueSize ) throws MetricsCollectionException, WorkloadException
+                int operationHandlerExecutorsBoundedQueueSize,
+                boolean asyncExecutor,
+                int maxInFlight,
+                boolean preciseSpinner,
+                boolean jitDispatch,
+                long[] edfDeadlineOffsetsAsMilli,
+                int writeThreadCount ) throws MetricsCollectionException, WorkloadException
         {
             this.workloadRunnerThread = new WorkloadRunnerThread(
                     timeSource,
@@ -107,7 +127,13 @@ public class WorkloadRunner
                     statusDisplayIntervalAsSeconds,
                     spinnerSleepDurationAsMilli,
                     ignoreScheduleStartTimes,
-                    operationHandlerExecutorsBoundedQueueSize
+                    operationHandlerExecutorsBoundedQueueSize,
+                    asyncExecutor,
+                    maxInFlight,
+                    preciseSpinner,
+                    jitDispatch,
+                    edfDeadlineOffsetsAsMilli,
+                    writeThreadCount
             );
             this.timeSource = timeSource;
             this.errorReporter = errorReporter;
@@ -296,12 +322,23 @@ public class WorkloadRunner
                 long statusDisplayIntervalAsSeconds,
                 long spinnerSleepDurationAsMilli,
                 boolean ignoreScheduleStartTimes,
-                int operationHandlerExecutorsBoundedQueueSize ) throws WorkloadException, MetricsCollectionException
+                int operationHandlerExecutorsBoundedQueueSize,
+                boolean asyncExecutor,
+                int maxInFlight,
+                boolean preciseSpinner,
+                boolean jitDispatch,
+                long[] edfDeadlineOffsetsAsMilli,
+                int writeThreadCount ) throws WorkloadException, MetricsCollectionException
         {
             this.errorReporter = errorReporter;
             this.statusDisplayIntervalAsMilli = statusDisplayIntervalAsSeconds;
 
-            this.spinner = new Spinner( timeSource, spinnerSleepDurationAsMilli, ignoreScheduleStartTimes );
+            this.spinner = new Spinner(
+                    timeSource,
+                    spinnerSleepDurationAsMilli,
+                    ignoreScheduleStartTimes,
+                    preciseSpinner
+            );
 
             if ( statusDisplayIntervalAsSeconds > 0 )
             {
@@ -327,19 +364,42 @@ public class WorkloadRunner
             {
                 throw new WorkloadException( "Error while attempting to create completion time writer", e );
             }
-            this.executorForAsynchronous = new ThreadPoolOperationExecutor(
-                    threadCount,
-                    operationHandlerExecutorsBoundedQueueSize,
-                    db,
-                    asynchronousStream,
-                    completionTimeWriterForAsynchronous,
-                    completionTimeService,
-                    spinner,
-                    timeSource,
-                    errorReporter,
-                    metricsService,
-                    asynchronousStream.childOperationGenerator()
-            );
+            if ( asyncExecutor )
+            {
+                this.executorForAsynchronous = new AsyncOperationExecutor(
+                        threadCount,
+                        maxInFlight,
+                        db,
+                        asynchronousStream,
+                        completionTimeWriterForAsynchronous,
+                        completionTimeService,
+                        spinner,
+                        timeSource,
+                        errorReporter,
+                        metricsService,
+                        asynchronousStream.childOperationGenerator(),
+                        ignoreScheduleStartTimes
+                );
+            }
+            else
+            {
+                this.executorForAsynchronous = new ThreadPoolOperationExecutor(
+                        threadCount,
+                        operationHandlerExecutorsBoundedQueueSize,
+                        db,
+                        asynchronousStream,
+                        completionTimeWriterForAsynchronous,
+                        completionTimeService,
+                        spinner,
+                        timeSource,
+                        errorReporter,
+                        metricsService,
+                        asynchronousStream.childOperationGenerator(),
+                        // nothing to wait for when scheduled start times are ignored
+                        jitDispatch && !ignoreScheduleStartTimes,
+                        edfDeadlineOffsetsAsMilli
+                );
+            }
             this.asynchronousStreamExecutorService = new OperationStreamExecutorService(
                     errorReporter,
                     asynchronousStream,
@@ -347,6 +407,8 @@ public class WorkloadRunner
                     completionTimeWriterForAsynchronous
             );
 
+            List<WorkloadStreamDefinition> blockingStreams = new ArrayList<>();
+            List<CompletionTimeWriter> completionTimeWritersForBlocking = new ArrayList<>();
             for ( WorkloadStreamDefinition blockingStream : workloadStreams.blockingStreamDefinitions() )
             {
                 // only create a completion time writer for an executor if it contains at least one READ_WRITE operation
@@ -362,24 +424,63 @@ public class WorkloadRunner
                 {
                     throw new WorkloadException( "Error while attempting to create completion time writer", e );
                 }
-                OperationExecutor executorForBlocking = new SameThreadOperationExecutor(
-                        db,
-                        blockingStream,
-                        completionTimeWriterForBlocking,
-                        completionTimeService,
-                        spinner,
-                        timeSource,
-                        errorReporter,
-                        metricsService,
-                        blockingStream.childOperationGenerator()
-                );
+                OperationExecutor executorForBlocking;
+                if ( null != blockingStream.entityDependencies() &&
+                     blockingStream.entityDependencies().maxConcurrentOperations() > 1 )
+                {
+                    executorForBlocking = new EntityDependencyOperationExecutor(
+                            db,
+                            blockingStream,
+                            completionTimeWriterForBlocking,
+                            completionTimeService,
+                            spinner,
+                            timeSource,
+                            errorReporter,
+                            metricsService,
+                            blockingStream.childOperationGenerator()
+                    );
+                }
+                else
+                {
+                    executorForBlocking = new SameThreadOperationExecutor(
+                            db,
+                            blockingStream,
+                            completionTimeWriterForBlocking,
+                            completionTimeService,
+                            spinner,
+                            timeSource,
+                            errorReporter,
+                            metricsService,
+                            blockingStream.childOperationGenerator()
+                    );
+                }
+                blockingStreams.add( blockingStream );
+                completionTimeWritersForBlocking.add( completionTimeWriterForBlocking );
                 this.executorsForBlocking.add( executorForBlocking );
+            }
+            // one thread per blocking stream, unless asked to share fewer threads between them, in which case stream i
+            // goes to thread i modulo thread count, every stream keeping its own executor and completion time writer
+            int blockingStreamThreadCount = (writeThreadCount > 0)
+                                            ? Math.min( writeThreadCount, blockingStreams.size() )
+                                            : blockingStreams.size();
+            for ( int thread = 0; thread < blockingStreamThreadCount; thread++ )
+            {
+                List<WorkloadStreamDefinition> blockingStreamsForThread = new ArrayList<>();
+                List<OperationExecutor> executorsForThread = new ArrayList<>();
+                List<CompletionTimeWriter> completionTimeWritersForThread = new ArrayList<>();
+                for ( int i = thread; i < blockingStreams.size(); i += blockingStreamThreadCount )
+                {
+                    blockingStreamsForThread.add( blockingStreams.get( i ) );
+                    executorsForThread.add( executorsForBlocking.get( i ) );
+                    completionTimeWritersForThread.add( completionTimeWritersForBlocking.get( i ) );
+                }
                 this.blockingStreamExecutorServices.add(
                         new OperationStreamExecutorService(
                                 errorReporter,
-                                blockingStream,
-                                executorForBlocking,
-                                completionTimeWriterForBlocking
+                                blockingStreamsForThread,
+                                executorsForThread,
+                                completionTimeWritersForThread,
+                                completionTimeService
                         )
                 );
             }
@@ -0,0 +1,15 @@
+package org.ldbcouncil.snb.driver.runtime.coordination;
+
+/**
+ * Completion Time reader that can block until Completion Time reaches a given time, rather than being polled.
+ */
+public interface AwaitableCompletionTimeReader extends CompletionTimeReader
+{
+    /**
+     * @param timeAsMilli time that Completion Time must reach
+     * @param timeoutAsMilli maximum duration to wait for
+     * @return true if Completion Time reached timeAsMilli, false if timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitCompletionTimeAsMilli( long timeAsMilli, long timeoutAsMilli ) throws InterruptedException;
+}
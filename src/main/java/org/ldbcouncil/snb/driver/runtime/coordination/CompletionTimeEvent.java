@@ -2,6 +2,7 @@ package org.ldbcouncil.snb.driver.runtime.coordination;
 
 import org.ldbcouncil.snb.driver.runtime.coordination.ThreadedQueuedCompletionTimeService.CompletionTimeFuture;
 import org.ldbcouncil.snb.driver.runtime.coordination.ThreadedQueuedCompletionTimeService.CompletionTimeWriterFuture;
+import org.ldbcouncil.snb.driver.runtime.coordination.ThreadedQueuedCompletionTimeService.ThreadedQueuedCompletionTimeWriter;
 import org.ldbcouncil.snb.driver.temporal.TemporalUtil;
 
 abstract class CompletionTimeEvent
@@ -12,6 +13,8 @@ abstract class CompletionTimeEvent
         WRITE_INITIATED_TIME,
         // Operation completed scheduling
         WRITE_COMPLETED_TIME,
+        // Initiated and completed times buffered by a writer, to be taken from the writer
+        WRITE_TIMES_BATCH,
         // Instruction to terminate when all results have arrived
         TERMINATE_SERVICE,
         // Request for future to CT value (value will only be available once event is processed)
@@ -30,6 +33,11 @@ abstract class CompletionTimeEvent
         return new CompletedTimeEvent( completionTimeWriterId, timeAsMilli );
     }
 
+    static TimesBatchEvent writeTimesBatch( ThreadedQueuedCompletionTimeWriter writer )
+    {
+        return new TimesBatchEvent( writer );
+    }
+
     static TerminationServiceEvent terminateService( long expectedEventCount )
     {
         return new TerminationServiceEvent( expectedEventCount );
@@ -125,6 +133,35 @@ abstract class CompletionTimeEvent
         }
     }
 
+    static class TimesBatchEvent extends CompletionTimeEvent
+    {
+        private final ThreadedQueuedCompletionTimeWriter writer;
+
+        private TimesBatchEvent( ThreadedQueuedCompletionTimeWriter writer )
+        {
+            this.writer = writer;
+        }
+
+        @Override
+        CompletionTimeEventType type()
+        {
+            return CompletionTimeEventType.WRITE_TIMES_BATCH;
+        }
+
+        ThreadedQueuedCompletionTimeWriter writer()
+        {
+            return writer;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "TimesBatchEvent{" +
+                   "writer=" + writer +
+                   '}';
+        }
+    }
+
     static class TerminationServiceEvent extends CompletionTimeEvent
     {
         private final long expectedEventCount;
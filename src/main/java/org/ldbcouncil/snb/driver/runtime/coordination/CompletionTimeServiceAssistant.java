@@ -50,10 +50,23 @@ public class CompletionTimeServiceAssistant
         return new SynchronizedCompletionTimeService();
     }
 
+    public WatermarkCompletionTimeService newWatermarkCompletionTimeService() throws CompletionTimeException
+    {
+        return new WatermarkCompletionTimeService();
+    }
+
     public ThreadedQueuedCompletionTimeService newThreadedQueuedCompletionTimeService(
             TimeSource timeSource,
             ConcurrentErrorReporter errorReporter ) throws CompletionTimeException
     {
         return new ThreadedQueuedCompletionTimeService( timeSource, errorReporter );
     }
+
+    public ThreadedQueuedCompletionTimeService newThreadedQueuedCompletionTimeService(
+            TimeSource timeSource,
+            ConcurrentErrorReporter errorReporter,
+            CompletionTimeStateManager.TimeTrackerType timeTrackerType ) throws CompletionTimeException
+    {
+        return new ThreadedQueuedCompletionTimeService( timeSource, errorReporter, timeTrackerType );
+    }
 }
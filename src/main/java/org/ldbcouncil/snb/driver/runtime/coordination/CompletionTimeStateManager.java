@@ -7,6 +7,7 @@ import org.ldbcouncil.snb.driver.util.Function1;
 import org.ldbcouncil.snb.driver.util.Function2;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -25,13 +26,61 @@ import static java.lang.String.format;
  */
 public class CompletionTimeStateManager implements CompletionTimeReaderWriter
 {
+    /**
+     * Implementations used to track initiated and completed times, selected with the time_tracker driver option.
+     * <p/>
+     * TREE_MULTISET --> sorted Guava multisets of boxed times
+     * <p/>
+     * PRIMITIVE --> long[] ring buffer for initiated times, amortised O(1), and long[] min-heap for completed times,
+     * O(log n), no boxing and no per-time allocation
+     */
+    public enum TimeTrackerType
+    {
+        TREE_MULTISET,
+        PRIMITIVE
+    }
+
     private long completionTimeAsMilli = -1;
-    private final InitiatedTimeTracker initiatedTimeTracker = InitiatedTimeTrackerImpl.createUsingTreeMultiSet();
-    private final CompletedTimeTracker completedTimeTracker = CompletedTimeTrackerImpl.createUsingTreeMultiSet();
+    private final InitiatedTimeTracker initiatedTimeTracker;
+    private final CompletedTimeTracker completedTimeTracker;
     private long lastKnownLowestInitiatedTimeAsMilli = -1;
 
     CompletionTimeStateManager()
     {
+        this( TimeTrackerType.TREE_MULTISET );
+    }
+
+    CompletionTimeStateManager( TimeTrackerType timeTrackerType )
+    {
+        this( newInitiatedTimeTracker( timeTrackerType ), newCompletedTimeTracker( timeTrackerType ) );
+    }
+
+    CompletionTimeStateManager( InitiatedTimeTracker initiatedTimeTracker, CompletedTimeTracker completedTimeTracker )
+    {
+        this.initiatedTimeTracker = initiatedTimeTracker;
+        this.completedTimeTracker = completedTimeTracker;
+    }
+
+    private static InitiatedTimeTracker newInitiatedTimeTracker( TimeTrackerType timeTrackerType )
+    {
+        switch ( timeTrackerType )
+        {
+        case PRIMITIVE:
+            return PrimitiveInitiatedTimeTracker.createUsingRingBuffer();
+        default:
+            return InitiatedTimeTrackerImpl.createUsingTreeMultiSet();
+        }
+    }
+
+    private static CompletedTimeTracker newCompletedTimeTracker( TimeTrackerType timeTrackerType )
+    {
+        switch ( timeTrackerType )
+        {
+        case PRIMITIVE:
+            return PrimitiveCompletedTimeTracker.createUsingMinHeap();
+        default:
+            return CompletedTimeTrackerImpl.createUsingTreeMultiSet();
+        }
     }
 
     @Override
@@ -198,6 +247,170 @@ public class CompletionTimeStateManager implements CompletionTimeReaderWriter
         }
     }
 
+    /**
+     * Completed times are kept in a primitive, growable binary min-heap.
+     * Adding a time and removing the lowest time are O(log n) and produce no garbage.
+     */
+    static class PrimitiveCompletedTimeTracker implements CompletedTimeTracker
+    {
+        private static final int INITIAL_CAPACITY = 1024;
+        private long[] completedTimesAsMilli;
+        private int size = 0;
+
+        static PrimitiveCompletedTimeTracker createUsingMinHeap()
+        {
+            return new PrimitiveCompletedTimeTracker( INITIAL_CAPACITY );
+        }
+
+        private PrimitiveCompletedTimeTracker( int initialCapacity )
+        {
+            this.completedTimesAsMilli = new long[initialCapacity];
+        }
+
+        @Override
+        public void addCompletedTimeAsMilli( long completedTimeAsMilli )
+        {
+            if ( size == completedTimesAsMilli.length )
+            {
+                completedTimesAsMilli = Arrays.copyOf( completedTimesAsMilli, size * 2 );
+            }
+            // sift up
+            int index = size++;
+            while ( index > 0 )
+            {
+                int parent = (index - 1) >>> 1;
+                long parentTimeAsMilli = completedTimesAsMilli[parent];
+                if ( parentTimeAsMilli <= completedTimeAsMilli )
+                {
+                    break;
+                }
+                completedTimesAsMilli[index] = parentTimeAsMilli;
+                index = parent;
+            }
+            completedTimesAsMilli[index] = completedTimeAsMilli;
+        }
+
+        @Override
+        public long removeTimesLowerThanAndReturnHighestRemoved( long timeAsMilli )
+        {
+            long highestRemovedAsMilli = -1;
+            while ( size > 0 && completedTimesAsMilli[0] < timeAsMilli )
+            {
+                // heap is drained in ascending order, last removed time is the highest removed time
+                highestRemovedAsMilli = completedTimesAsMilli[0];
+                removeLowest();
+            }
+            return highestRemovedAsMilli;
+        }
+
+        private void removeLowest()
+        {
+            long lastTimeAsMilli = completedTimesAsMilli[--size];
+            // sift down
+            int index = 0;
+            int half = size >>> 1;
+            while ( index < half )
+            {
+                int child = (index << 1) + 1;
+                int right = child + 1;
+                if ( right < size && completedTimesAsMilli[right] < completedTimesAsMilli[child] )
+                {
+                    child = right;
+                }
+                if ( lastTimeAsMilli <= completedTimesAsMilli[child] )
+                {
+                    break;
+                }
+                completedTimesAsMilli[index] = completedTimesAsMilli[child];
+                index = child;
+            }
+            completedTimesAsMilli[index] = lastTimeAsMilli;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "PrimitiveCompletedTimeTracker{" +
+                   "completedTimesAsMilli=" + Arrays.toString( Arrays.copyOf( completedTimesAsMilli, size ) ) +
+                   '}';
+        }
+    }
+
+    /**
+     * Initiated times are kept in an InitiatedTimeRingBuffer, which removes them once they and all lower times have
+     * completed. Adding a time and reading the lowest time are amortised O(1), removing a time is O(log n), and no
+     * garbage is produced.
+     */
+    static class PrimitiveInitiatedTimeTracker implements InitiatedTimeTracker
+    {
+        private final TemporalUtil temporalUtil = new TemporalUtil();
+        private final InitiatedTimeRingBuffer initiatedTimesAsMilli = new InitiatedTimeRingBuffer();
+        private long lastKnownLowestInitiatedTimeAsMilli = -1;
+        private int uncompletedInitiatedTimes = 0;
+
+        static PrimitiveInitiatedTimeTracker createUsingRingBuffer()
+        {
+            return new PrimitiveInitiatedTimeTracker();
+        }
+
+        private PrimitiveInitiatedTimeTracker()
+        {
+        }
+
+        @Override
+        public long addInitiatedTimeAndReturnLastKnownLowestTimeAsMilli( long initiatedTimeAsMilli )
+                throws CompletionTimeException
+        {
+            initiatedTimesAsMilli.add( initiatedTimeAsMilli );
+            if ( 0 == uncompletedInitiatedTimes )
+            { lastKnownLowestInitiatedTimeAsMilli = initiatedTimeAsMilli; }
+            uncompletedInitiatedTimes++;
+            return lastKnownLowestInitiatedTimeAsMilli;
+        }
+
+        @Override
+        public long removeTimeAndReturnLastKnownLowestTimeAsMilli( long timeAsMilli ) throws CompletionTimeException
+        {
+            initiatedTimesAsMilli.complete( timeAsMilli );
+            uncompletedInitiatedTimes--;
+            while ( initiatedTimesAsMilli.isLowestCompleted() )
+            {
+                initiatedTimesAsMilli.removeLowest();
+            }
+            lastKnownLowestInitiatedTimeAsMilli = (0 == uncompletedInitiatedTimes)
+                                                  ? initiatedTimesAsMilli.highestAsMilli()
+                                                  : initiatedTimesAsMilli.lowestAsMilli();
+            return lastKnownLowestInitiatedTimeAsMilli;
+        }
+
+        @Override
+        public long highestInitiatedTimeAsMilli()
+        {
+            return initiatedTimesAsMilli.highestAsMilli();
+        }
+
+        @Override
+        public int uncompletedInitiatedTimes()
+        {
+            return uncompletedInitiatedTimes;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "PrimitiveInitiatedTimeTracker{" +
+                   "size=" + initiatedTimesAsMilli.size() +
+                   ", lastKnownLowestInitiatedTimeAsMilli=" + lastKnownLowestInitiatedTimeAsMilli +
+                   ", lastKnownLowestInitiatedTimeAsMilli=" +
+                   temporalUtil.milliTimeToDateTimeString( lastKnownLowestInitiatedTimeAsMilli ) +
+                   ", highestInitiatedTimeAsMilli=" + initiatedTimesAsMilli.highestAsMilli() +
+                   ", highestInitiatedTimeAsMilli=" +
+                   temporalUtil.milliTimeToDateTimeString( initiatedTimesAsMilli.highestAsMilli() ) +
+                   ", uncompletedInitiatedTimes=" + uncompletedInitiatedTimes +
+                   '}';
+        }
+    }
+
     static class InitiatedTimeTrackerImpl<INITIATED_TIMES_CONTAINER_TYPE extends Collection<Long>>
             implements InitiatedTimeTracker
     {
@@ -0,0 +1,129 @@
+package org.ldbcouncil.snb.driver.runtime.coordination;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registry of threads waiting for Completion Time (CT) to reach some time, e.g., the dependency time stamp of an
+ * operation.
+ * <p/>
+ * Waiters are parked in a priority queue ordered by the time they wait for. The owner of CT calls
+ * completionTimeAdvanced() every time CT advances, which releases exactly those waiters whose time has been reached.
+ * Waiters therefore neither poll CT nor wake up before they may proceed.
+ * <p/>
+ * Thread-safe, completionTimeAdvanced() may be called concurrently by many threads.
+ */
+public class CompletionTimeWaiters
+{
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+    // highest CT announced so far, only ever increases
+    private volatile long completionTimeAsMilli = -1;
+
+    /**
+     * @param timeAsMilli time that CT must reach
+     * @param timeoutAsMilli maximum duration to wait for
+     * @return true if CT reached timeAsMilli, false if timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean await( long timeAsMilli, long timeoutAsMilli ) throws InterruptedException
+    {
+        if ( completionTimeAsMilli >= timeAsMilli )
+        {
+            return true;
+        }
+        Waiter waiter = new Waiter( timeAsMilli, Thread.currentThread() );
+        synchronized ( this )
+        {
+            // re-check under lock, CT may have advanced since the unguarded read
+            if ( completionTimeAsMilli >= timeAsMilli )
+            {
+                return true;
+            }
+            waiters.add( waiter );
+        }
+        long deadlineAsNano = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( timeoutAsMilli );
+        try
+        {
+            while ( !waiter.released )
+            {
+                long remainingAsNano = deadlineAsNano - System.nanoTime();
+                if ( remainingAsNano <= 0 )
+                {
+                    break;
+                }
+                LockSupport.parkNanos( this, remainingAsNano );
+                if ( Thread.interrupted() )
+                {
+                    throw new InterruptedException( "Interrupted while waiting for CT to reach " + timeAsMilli );
+                }
+            }
+        }
+        finally
+        {
+            if ( !waiter.released )
+            {
+                synchronized ( this )
+                {
+                    waiters.remove( waiter );
+                }
+            }
+        }
+        return waiter.released || completionTimeAsMilli >= timeAsMilli;
+    }
+
+    /**
+     * Announces new CT, and releases all waiters that were waiting for a time lower than or equal to it.
+     * Announcing a CT lower than the highest CT announced so far has no effect.
+     *
+     * @param newCompletionTimeAsMilli new CT
+     */
+    public void completionTimeAdvanced( long newCompletionTimeAsMilli )
+    {
+        if ( newCompletionTimeAsMilli <= completionTimeAsMilli )
+        {
+            return;
+        }
+        synchronized ( this )
+        {
+            if ( newCompletionTimeAsMilli <= completionTimeAsMilli )
+            {
+                return;
+            }
+            completionTimeAsMilli = newCompletionTimeAsMilli;
+            while ( !waiters.isEmpty() && waiters.peek().timeAsMilli <= newCompletionTimeAsMilli )
+            {
+                Waiter waiter = waiters.poll();
+                waiter.released = true;
+                LockSupport.unpark( waiter.thread );
+            }
+        }
+    }
+
+    /**
+     * @return number of threads currently waiting
+     */
+    public synchronized int waiterCount()
+    {
+        return waiters.size();
+    }
+
+    private static class Waiter implements Comparable<Waiter>
+    {
+        private final long timeAsMilli;
+        private final Thread thread;
+        private volatile boolean released = false;
+
+        private Waiter( long timeAsMilli, Thread thread )
+        {
+            this.timeAsMilli = timeAsMilli;
+            this.thread = thread;
+        }
+
+        @Override
+        public int compareTo( Waiter other )
+        {
+            return Long.compare( timeAsMilli, other.timeAsMilli );
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.ldbcouncil.snb.driver.runtime.coordination;
+
+import org.ldbcouncil.snb.driver.temporal.TemporalUtil;
+
+import static java.lang.String.format;
+
+/**
+ * Initiated times arrive in ascending order, they are appended to a primitive, growable ring buffer.
+ * Completions may arrive out of order, they are marked in a bitmap that is parallel to the ring buffer, and completed
+ * times are removed from the head of the ring buffer once every lower time has completed too.
+ * <p/>
+ * Adding a time, reading the lowest time and removing it are amortised O(1), completing a time is O(log n), and no
+ * garbage is produced. It is NOT thread-safe.
+ */
+class InitiatedTimeRingBuffer
+{
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final TemporalUtil TEMPORAL_UTIL = new TemporalUtil();
+
+    // capacity is always a power of two, and at least 64
+    private long[] initiatedTimesAsMilli;
+    private long[] completedBitmap;
+    private int head = 0;
+    private int size = 0;
+    private long highestInitiatedTimeAsMilli = -1;
+
+    InitiatedTimeRingBuffer()
+    {
+        this.initiatedTimesAsMilli = new long[INITIAL_CAPACITY];
+        this.completedBitmap = new long[INITIAL_CAPACITY >>> 6];
+    }
+
+    void add( long initiatedTimeAsMilli ) throws CompletionTimeException
+    {
+        if ( -1 != highestInitiatedTimeAsMilli && initiatedTimeAsMilli < highestInitiatedTimeAsMilli )
+        {
+            String errMsg = format( "Submitted initiated time is lower than previously submitted initiated time\n"
+                                    + "  Submitted: %s (%s ms)\n"
+                                    + "  Previous: %s (%s ms)",
+                    TEMPORAL_UTIL.milliTimeToDateTimeString( initiatedTimeAsMilli ), initiatedTimeAsMilli,
+                    TEMPORAL_UTIL.milliTimeToDateTimeString( highestInitiatedTimeAsMilli ),
+                    highestInitiatedTimeAsMilli
+            );
+            throw new CompletionTimeException( errMsg );
+        }
+        highestInitiatedTimeAsMilli = initiatedTimeAsMilli;
+        if ( size == initiatedTimesAsMilli.length )
+        {
+            grow();
+        }
+        int tail = (head + size) & (initiatedTimesAsMilli.length - 1);
+        initiatedTimesAsMilli[tail] = initiatedTimeAsMilli;
+        clearCompleted( tail );
+        size++;
+    }
+
+    /**
+     * Marks the first uncompleted occurrence of the time as completed, it stays in the ring buffer until it is
+     * removed with removeLowest()
+     */
+    void complete( long timeAsMilli ) throws CompletionTimeException
+    {
+        int index = firstUncompletedIndexOf( timeAsMilli );
+        if ( -1 == index )
+        {
+            throw new CompletionTimeException( format(
+                    "Initiated time [%s] of completed event does not map to any uncompleted operation",
+                    timeAsMilli ) );
+        }
+        setCompleted( index );
+    }
+
+    boolean isEmpty()
+    {
+        return 0 == size;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    boolean isLowestCompleted()
+    {
+        return 0 < size && isCompleted( head );
+    }
+
+    long lowestAsMilli()
+    {
+        return initiatedTimesAsMilli[head];
+    }
+
+    /**
+     * @return the removed time
+     */
+    long removeLowest()
+    {
+        long lowestTimeAsMilli = initiatedTimesAsMilli[head];
+        clearCompleted( head );
+        head = (head + 1) & (initiatedTimesAsMilli.length - 1);
+        size--;
+        return lowestTimeAsMilli;
+    }
+
+    /**
+     * @return highest time ever added, including times that have since been removed, -1 if none has been added
+     */
+    long highestAsMilli()
+    {
+        return highestInitiatedTimeAsMilli;
+    }
+
+    // binary search for leftmost occurrence, then skip over already completed duplicates
+    private int firstUncompletedIndexOf( long timeAsMilli )
+    {
+        int mask = initiatedTimesAsMilli.length - 1;
+        int low = 0;
+        int high = size;
+        while ( low < high )
+        {
+            int mid = (low + high) >>> 1;
+            if ( initiatedTimesAsMilli[(head + mid) & mask] < timeAsMilli )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        for ( int i = low; i < size; i++ )
+        {
+            int index = (head + i) & mask;
+            if ( initiatedTimesAsMilli[index] != timeAsMilli )
+            {
+                return -1;
+            }
+            if ( !isCompleted( index ) )
+            {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isCompleted( int index )
+    {
+        return 0 != (completedBitmap[index >>> 6] & (1L << index));
+    }
+
+    private void setCompleted( int index )
+    {
+        completedBitmap[index >>> 6] |= (1L << index);
+    }
+
+    private void clearCompleted( int index )
+    {
+        completedBitmap[index >>> 6] &= ~(1L << index);
+    }
+
+    private void grow()
+    {
+        int oldCapacity = initiatedTimesAsMilli.length;
+        long[] oldInitiatedTimesAsMilli = initiatedTimesAsMilli;
+        long[] oldCompletedBitmap = completedBitmap;
+        int oldHead = head;
+        initiatedTimesAsMilli = new long[oldCapacity * 2];
+        completedBitmap = new long[(oldCapacity * 2) >>> 6];
+        head = 0;
+        for ( int i = 0; i < size; i++ )
+        {
+            int oldIndex = (oldHead + i) & (oldCapacity - 1);
+            initiatedTimesAsMilli[i] = oldInitiatedTimesAsMilli[oldIndex];
+            if ( 0 != (oldCompletedBitmap[oldIndex >>> 6] & (1L << oldIndex)) )
+            {
+                setCompleted( i );
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.ldbcouncil.snb.driver.runtime.coordination;
 
+import org.ldbcouncil.snb.driver.runtime.coordination.ThreadedQueuedCompletionTimeService.TimesBatch;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,9 +32,16 @@ public class MultiWriterCompletionTimeStateManager implements CompletionTimeRead
     private final List<CompletionTimeReaderWriter> completionTimeReaderWriters = new ArrayList<>();
     private long completionTimeAsMilli = -1;
     private long initiationTimeAsMilli = -1;
+    private final CompletionTimeStateManager.TimeTrackerType timeTrackerType;
 
     MultiWriterCompletionTimeStateManager()
     {
+        this( CompletionTimeStateManager.TimeTrackerType.TREE_MULTISET );
+    }
+
+    MultiWriterCompletionTimeStateManager( CompletionTimeStateManager.TimeTrackerType timeTrackerType )
+    {
+        this.timeTrackerType = timeTrackerType;
     }
 
     @Override
@@ -57,6 +66,33 @@ public class MultiWriterCompletionTimeStateManager implements CompletionTimeRead
         processEvent( Event.WRITE_CT, writerId, scheduledStartTimeAsMilli );
     }
 
+    /**
+     * Applies all Initiated Times (IT) and Completed Times (CT) of a batch, in batch order, then recomputes completion
+     * time once, rather than once per time.
+     *
+     * @param writerId writer that submitted the batch
+     * @param timesBatch times to apply
+     * @throws CompletionTimeException
+     */
+    synchronized void submitTimesBatch( int writerId, TimesBatch timesBatch ) throws CompletionTimeException
+    {
+        CompletionTimeWriter completionTimeWriter = completionTimeReaderWriters.get( writerId );
+        if ( null == completionTimeWriter )
+        { throw new CompletionTimeException( format( "Writer ID %s does not exist", writerId ) ); }
+        for ( int i = 0; i < timesBatch.size(); i++ )
+        {
+            if ( timesBatch.isInitiatedTime( i ) )
+            {
+                completionTimeWriter.submitInitiatedTime( timesBatch.timeAsMilli( i ) );
+            }
+            else
+            {
+                completionTimeWriter.submitCompletedTime( timesBatch.timeAsMilli( i ) );
+            }
+        }
+        updateCompletionTime();
+    }
+
     /**
      * IMPORTANT: not safe to call after IT/CT times have been submitted, as it will likely put CT in invalid state
      *
@@ -102,7 +138,7 @@ public class MultiWriterCompletionTimeStateManager implements CompletionTimeRead
         case ADD_WRITER:
         {
             int nextWriterId = completionTimeReaderWriters.size();
-            CompletionTimeReaderWriter completionTimeReaderWriter = new CompletionTimeStateManager();
+            CompletionTimeReaderWriter completionTimeReaderWriter = new CompletionTimeStateManager( timeTrackerType );
             CompletionTimeWriter completionTimeWriter =
                     new MultiWriterCompletionTimeStateManagerWriter( nextWriterId, this );
             completionTimeReaderWriters.add( completionTimeReaderWriter );
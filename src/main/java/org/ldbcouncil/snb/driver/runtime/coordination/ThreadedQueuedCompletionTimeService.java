@@ -1,5 +1,6 @@
 package org.ldbcouncil.snb.driver.runtime.coordination;
 
+import org.ldbcouncil.snb.driver.runtime.BoundedLockFreeBlockingQueue.WaitStrategy;
 import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
 import org.ldbcouncil.snb.driver.runtime.DefaultQueues;
 import org.ldbcouncil.snb.driver.runtime.QueueEventSubmitter;
@@ -7,6 +8,7 @@ import org.ldbcouncil.snb.driver.runtime.scheduling.Spinner;
 import org.ldbcouncil.snb.driver.temporal.TimeSource;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.Future;
@@ -18,13 +20,14 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.String.format;
 
-public class ThreadedQueuedCompletionTimeService implements CompletionTimeService
+public class ThreadedQueuedCompletionTimeService implements CompletionTimeService, AwaitableCompletionTimeReader
 {
     private static final long SHUTDOWN_WAIT_TIMEOUT_AS_MILLI = TimeUnit.SECONDS.toMillis( 10 );
 
     private final TimeSource timeSource;
     private final QueueEventSubmitter<CompletionTimeEvent> queueEventSubmitter;
     private final AtomicLong sharedCtReference;
+    private final CompletionTimeWaiters completionTimeWaiters = new CompletionTimeWaiters();
     private final AtomicLong sharedWriteEventCountReference;
     private final ThreadedQueuedCompletionTimeServiceThread threadedQueuedCompletionTimeServiceThread;
     private final AtomicBoolean sharedIsShuttingDownReference = new AtomicBoolean( false );
@@ -33,17 +36,28 @@ public class ThreadedQueuedCompletionTimeService implements CompletionTimeServic
 
     ThreadedQueuedCompletionTimeService( TimeSource timeSource,
             ConcurrentErrorReporter errorReporter ) throws CompletionTimeException
+    {
+        this( timeSource, errorReporter, CompletionTimeStateManager.TimeTrackerType.TREE_MULTISET );
+    }
+
+    ThreadedQueuedCompletionTimeService( TimeSource timeSource,
+            ConcurrentErrorReporter errorReporter,
+            CompletionTimeStateManager.TimeTrackerType timeTrackerType ) throws CompletionTimeException
     {
         this.timeSource = timeSource;
         this.errorReporter = errorReporter;
-        Queue<CompletionTimeEvent> completionTimeEventQueue = DefaultQueues.newBlockingBounded( 10000 );
+        // every executor thread submits events, only the completion time service thread takes them
+        Queue<CompletionTimeEvent> completionTimeEventQueue =
+                DefaultQueues.newLockFreeBoundedMpsc( 10000, WaitStrategy.BLOCKING );
         this.queueEventSubmitter = QueueEventSubmitter.queueEventSubmitterFor( completionTimeEventQueue );
         this.sharedCtReference = new AtomicLong( -1 );
         this.sharedWriteEventCountReference = new AtomicLong( 0 );
         threadedQueuedCompletionTimeServiceThread = new ThreadedQueuedCompletionTimeServiceThread(
                 completionTimeEventQueue,
                 errorReporter,
-                sharedCtReference );
+                sharedCtReference,
+                completionTimeWaiters,
+                timeTrackerType );
         threadedQueuedCompletionTimeServiceThread.start();
     }
 
@@ -53,6 +67,12 @@ public class ThreadedQueuedCompletionTimeService implements CompletionTimeServic
         return sharedCtReference.get();
     }
 
+    @Override
+    public boolean awaitCompletionTimeAsMilli( long timeAsMilli, long timeoutAsMilli ) throws InterruptedException
+    {
+        return completionTimeWaiters.await( timeAsMilli, timeoutAsMilli );
+    }
+
     @Override
     public CompletionTimeWriter newCompletionTimeWriter() throws CompletionTimeException
     {
@@ -149,12 +169,27 @@ public class ThreadedQueuedCompletionTimeService implements CompletionTimeServic
         throw new CompletionTimeException( "Service took too long to shutdown" );
     }
 
+    /**
+     * Buffers submitted Initiated Times (IT) and Completed Times (CT), in submission order, instead of queueing one
+     * event per time.
+     * A single WRITE_TIMES_BATCH event is queued per writer at a time: the first submission after the completion time
+     * thread has started draining the buffer queues the next event, later submissions only append to the buffer.
+     * When the completion time thread is idle every time is forwarded immediately, under load the number of queue
+     * handoffs drops to one per batch, and the completion time thread applies each batch in one pass.
+     */
     public static class ThreadedQueuedCompletionTimeWriter implements CompletionTimeWriter
     {
+        private static final int INITIAL_BATCH_CAPACITY = 256;
+
         private final int writerId;
         private final AtomicBoolean sharedIsShuttingDownReference;
         private final AtomicLong sharedWriteEventCountReference;
         private final QueueEventSubmitter<CompletionTimeEvent> queueEventSubmitter;
+        private final AtomicBoolean batchEventPending = new AtomicBoolean( false );
+        // guarded by this, batch being appended to by submitting threads
+        private TimesBatch fillingBatch = new TimesBatch( INITIAL_BATCH_CAPACITY );
+        // only accessed by completion time thread, batch returned by previous call to takeBatch()
+        private TimesBatch drainedBatch = new TimesBatch( INITIAL_BATCH_CAPACITY );
 
         ThreadedQueuedCompletionTimeWriter( int writerId,
                 AtomicBoolean sharedIsShuttingDownReference,
@@ -176,9 +211,7 @@ public class ThreadedQueuedCompletionTimeService implements CompletionTimeServic
             }
             try
             {
-                sharedWriteEventCountReference.incrementAndGet();
-                queueEventSubmitter.submitEventToQueue(
-                        CompletionTimeEvent.writeInitiatedTime( writerId, timeAsMilli ) );
+                submitTime( timeAsMilli, true );
             }
             catch ( Exception e )
             {
@@ -192,9 +225,7 @@ public class ThreadedQueuedCompletionTimeService implements CompletionTimeServic
         {
             try
             {
-                sharedWriteEventCountReference.incrementAndGet();
-                queueEventSubmitter.submitEventToQueue(
-                        CompletionTimeEvent.writeCompletedTime( writerId, timeAsMilli ) );
+                submitTime( timeAsMilli, false );
             }
             catch ( Exception e )
             {
@@ -203,6 +234,43 @@ public class ThreadedQueuedCompletionTimeService implements CompletionTimeServic
             }
         }
 
+        private void submitTime( long timeAsMilli, boolean isInitiatedTime ) throws InterruptedException
+        {
+            synchronized ( this )
+            {
+                fillingBatch.add( timeAsMilli, isInitiatedTime );
+            }
+            if ( batchEventPending.compareAndSet( false, true ) )
+            {
+                sharedWriteEventCountReference.incrementAndGet();
+                queueEventSubmitter.submitEventToQueue( CompletionTimeEvent.writeTimesBatch( this ) );
+            }
+        }
+
+        int writerId()
+        {
+            return writerId;
+        }
+
+        /**
+         * Called by completion time thread only. Returned batch remains valid until the next call.
+         *
+         * @return all times submitted since previous call, in submission order
+         */
+        TimesBatch takeBatch()
+        {
+            // clear flag before taking, so times added after the take are guaranteed to queue a new event
+            batchEventPending.set( false );
+            TimesBatch emptyBatch = drainedBatch;
+            emptyBatch.clear();
+            synchronized ( this )
+            {
+                drainedBatch = fillingBatch;
+                fillingBatch = emptyBatch;
+            }
+            return drainedBatch;
+        }
+
         @Override
         public String toString()
         {
@@ -210,6 +278,51 @@ public class ThreadedQueuedCompletionTimeService implements CompletionTimeServic
         }
     }
 
+    static class TimesBatch
+    {
+        private long[] timesAsMilli;
+        private boolean[] isInitiatedTimes;
+        private int size = 0;
+
+        TimesBatch( int capacity )
+        {
+            this.timesAsMilli = new long[capacity];
+            this.isInitiatedTimes = new boolean[capacity];
+        }
+
+        void add( long timeAsMilli, boolean isInitiatedTime )
+        {
+            if ( size == timesAsMilli.length )
+            {
+                timesAsMilli = Arrays.copyOf( timesAsMilli, size * 2 );
+                isInitiatedTimes = Arrays.copyOf( isInitiatedTimes, size * 2 );
+            }
+            timesAsMilli[size] = timeAsMilli;
+            isInitiatedTimes[size] = isInitiatedTime;
+            size++;
+        }
+
+        private void clear()
+        {
+            size = 0;
+        }
+
+        int size()
+        {
+            return size;
+        }
+
+        long timeAsMilli( int index )
+        {
+            return timesAsMilli[index];
+        }
+
+        boolean isInitiatedTime( int index )
+        {
+            return isInitiatedTimes[index];
+        }
+    }
+
     public static class CompletionTimeFuture implements Future<Long>
     {
         private final TimeSource timeSource;
@@ -6,8 +6,10 @@ import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeEvent.Comple
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeEvent.CompletionTimeFutureEvent;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeEvent.InitiatedTimeEvent;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeEvent.NewCompletionTimeWriterEvent;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeEvent.TimesBatchEvent;
 import org.ldbcouncil.snb.driver.runtime.coordination.ThreadedQueuedCompletionTimeService.CompletionTimeFuture;
 import org.ldbcouncil.snb.driver.runtime.coordination.ThreadedQueuedCompletionTimeService.CompletionTimeWriterFuture;
+import org.ldbcouncil.snb.driver.runtime.coordination.ThreadedQueuedCompletionTimeService.TimesBatch;
 import org.ldbcouncil.snb.driver.temporal.TemporalUtil;
 
 import java.util.HashMap;
@@ -33,6 +35,7 @@ public class ThreadedQueuedCompletionTimeServiceThread extends Thread
     private final TemporalUtil temporalUtil = new TemporalUtil();
     private final MultiWriterCompletionTimeStateManager completionTimeStateManager;
     private final AtomicLong completionTimeSharedReference;
+    private final CompletionTimeWaiters completionTimeWaiters;
     private final QueueEventFetcher<CompletionTimeEvent> completionTimeEventQueueEventFetcher;
     private final ConcurrentErrorReporter errorReporter;
     private Long processedWriteEventCount = 0L;
@@ -43,7 +46,9 @@ public class ThreadedQueuedCompletionTimeServiceThread extends Thread
     ThreadedQueuedCompletionTimeServiceThread(
             Queue<CompletionTimeEvent> completionTimeQueue,
             ConcurrentErrorReporter errorReporter,
-            AtomicLong completionTimeSharedReference ) throws CompletionTimeException
+            AtomicLong completionTimeSharedReference,
+            CompletionTimeWaiters completionTimeWaiters,
+            CompletionTimeStateManager.TimeTrackerType timeTrackerType ) throws CompletionTimeException
     {
         super( ThreadedQueuedCompletionTimeServiceThread.class.getSimpleName() + "-" +
                System.currentTimeMillis() );
@@ -60,11 +65,12 @@ public class ThreadedQueuedCompletionTimeServiceThread extends Thread
         // which will result in an error when the lower Initiated Time is finally submitted.
         // MultiWriterCompletionTimeStateManagerWriter instances, via newCompletionTimeWriter(),
         // will perform the Completion Time writing
-        completionTimeStateManager = new MultiWriterCompletionTimeStateManager();
+        completionTimeStateManager = new MultiWriterCompletionTimeStateManager( timeTrackerType );
         this.completionTimeWriters = new HashMap<>();
         this.completionTimeEventQueueEventFetcher = QueueEventFetcher.queueEventFetcherFor( completionTimeQueue );
         this.errorReporter = errorReporter;
         this.completionTimeSharedReference = completionTimeSharedReference;
+        this.completionTimeWaiters = completionTimeWaiters;
         this.completionTimeSharedReference.set( completionTimeStateManager.completionTimeAsMilli() );
     }
 
@@ -100,6 +106,15 @@ public class ThreadedQueuedCompletionTimeServiceThread extends Thread
                     processedWriteEventCount++;
                     break;
                 }
+                case WRITE_TIMES_BATCH:
+                {
+                    TimesBatchEvent timesBatchEvent = (TimesBatchEvent) event;
+                    TimesBatch timesBatch = timesBatchEvent.writer().takeBatch();
+                    completionTimeStateManager.submitTimesBatch( timesBatchEvent.writer().writerId(), timesBatch );
+                    updateCompletionTime();
+                    processedWriteEventCount++;
+                    break;
+                }
                 case READ_CT_FUTURE:
                 {
                     CompletionTimeFuture future = ((CompletionTimeFutureEvent) event).future();
@@ -190,6 +205,7 @@ public class ThreadedQueuedCompletionTimeServiceThread extends Thread
         else
         {
             completionTimeSharedReference.set( newCompletionTimeAsMilli );
+            completionTimeWaiters.completionTimeAdvanced( newCompletionTimeAsMilli );
         }
     }
 }
@@ -0,0 +1,271 @@
+package org.ldbcouncil.snb.driver.runtime.coordination;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Completion Time service without a global lock.
+ * <p/>
+ * Every writer tracks its own Initiated Times in an InitiatedTimeRingBuffer and publishes two watermarks:
+ * lowest uncompleted Initiated Time (IT) and local Completion Time (CT).
+ * Global CT is computed by the writer that just published, as a lock-free min/max over the watermarks of all writers,
+ * and is advanced with compare-and-set, so readers only ever perform a single volatile read.
+ * <p/>
+ * Semantics are the same as those of MultiWriterCompletionTimeStateManager:
+ * Global IT = min( IT of every writer ), and is undefined while any writer has no IT.
+ * Global CT = max( CT of every writer that is lower than Global IT ), and never decreases.
+ * <p/>
+ * IMPORTANT: initiated times of a writer MUST be submitted in ascending order, by one thread.
+ * Completed times of a writer may be submitted concurrently, by many threads.
+ * <p/>
+ * Only created through CompletionTimeServiceAssistant, the driver itself runs ThreadedQueuedCompletionTimeService,
+ * which completed the parallel test of CompletionTimeServiceAdvancedTest faster at 4 to 32 writer threads.
+ */
+public class WatermarkCompletionTimeService implements CompletionTimeService, AwaitableCompletionTimeReader
+{
+    private final AtomicLong completionTimeAsMilli = new AtomicLong( -1 );
+    private final CompletionTimeWaiters completionTimeWaiters = new CompletionTimeWaiters();
+    private final List<CompletionTimeWriter> completionTimeWriters = new ArrayList<>();
+    private volatile WatermarkCompletionTimeWriter[] writers = new WatermarkCompletionTimeWriter[0];
+
+    WatermarkCompletionTimeService()
+    {
+    }
+
+    @Override
+    // TODO remove from interface
+    public long lastKnownLowestInitiatedTimeAsMilli() throws CompletionTimeException
+    {
+        throw new UnsupportedOperationException( "Method not supported" );
+    }
+
+    @Override
+    public long completionTimeAsMilli()
+    {
+        return completionTimeAsMilli.get();
+    }
+
+    @Override
+    public boolean awaitCompletionTimeAsMilli( long timeAsMilli, long timeoutAsMilli ) throws InterruptedException
+    {
+        return completionTimeWaiters.await( timeAsMilli, timeoutAsMilli );
+    }
+
+    @Override
+    public Future<Long> completionTimeAsMilliFuture() throws CompletionTimeException
+    {
+        return new CompletionTimeAsMilliFuture( completionTimeAsMilli.get() );
+    }
+
+    /**
+     * IMPORTANT: not safe to call after IT/CT times have been submitted, as it will likely put CT in invalid state
+     *
+     * @return new writer
+     */
+    @Override
+    synchronized public CompletionTimeWriter newCompletionTimeWriter() throws CompletionTimeException
+    {
+        WatermarkCompletionTimeWriter writer = new WatermarkCompletionTimeWriter( writers.length, this );
+        WatermarkCompletionTimeWriter[] newWriters = Arrays.copyOf( writers, writers.length + 1 );
+        newWriters[writer.id()] = writer;
+        writers = newWriters;
+        completionTimeWriters.add( writer );
+        return writer;
+    }
+
+    @Override
+    synchronized public List<CompletionTimeWriter> getAllWriters() throws CompletionTimeException
+    {
+        return Collections.unmodifiableList( new ArrayList<>( completionTimeWriters ) );
+    }
+
+    @Override
+    public void shutdown() throws CompletionTimeException
+    {
+    }
+
+    /**
+     * Called by a writer after it has published new watermarks.
+     * Every writer publishes (volatile write) before it scans (volatile reads), so of any two concurrent writers at
+     * least one observes the watermarks of the other, i.e., no advancement of CT can be lost.
+     * Watermarks only ever increase, reading a stale watermark can therefore only produce a lower (safe) CT.
+     */
+    private void updateCompletionTime()
+    {
+        WatermarkCompletionTimeWriter[] currentWriters = writers;
+        long lowestInitiatedTimeAsMilli = -1;
+        for ( int i = 0; i < currentWriters.length; i++ )
+        {
+            long writerInitiatedTimeAsMilli = currentWriters[i].lowestInitiatedTimeAsMilli;
+            if ( -1 == writerInitiatedTimeAsMilli )
+            {
+                // if any initiation times are null, initiation time and completion time are undefined
+                return;
+            }
+            else if ( -1 == lowestInitiatedTimeAsMilli || writerInitiatedTimeAsMilli < lowestInitiatedTimeAsMilli )
+            {
+                lowestInitiatedTimeAsMilli = writerInitiatedTimeAsMilli;
+            }
+        }
+
+        long newCompletionTimeAsMilli = -1;
+        for ( int i = 0; i < currentWriters.length; i++ )
+        {
+            long writerCompletionTimeAsMilli = currentWriters[i].completionTimeAsMilli;
+            // completion time must be lower than initiation time
+            if ( -1 != writerCompletionTimeAsMilli &&
+                 writerCompletionTimeAsMilli < lowestInitiatedTimeAsMilli &&
+                 writerCompletionTimeAsMilli > newCompletionTimeAsMilli )
+            {
+                newCompletionTimeAsMilli = writerCompletionTimeAsMilli;
+            }
+        }
+
+        long prevCompletionTimeAsMilli = completionTimeAsMilli.get();
+        while ( newCompletionTimeAsMilli > prevCompletionTimeAsMilli )
+        {
+            if ( completionTimeAsMilli.compareAndSet( prevCompletionTimeAsMilli, newCompletionTimeAsMilli ) )
+            {
+                completionTimeWaiters.completionTimeAdvanced( newCompletionTimeAsMilli );
+                return;
+            }
+            prevCompletionTimeAsMilli = completionTimeAsMilli.get();
+        }
+    }
+
+    public static class WatermarkCompletionTimeWriter implements CompletionTimeWriter
+    {
+        private final int id;
+        private final WatermarkCompletionTimeService completionTimeService;
+
+        // published watermarks, read by other writers without locking
+        private volatile long lowestInitiatedTimeAsMilli = -1;
+        private volatile long completionTimeAsMilli = -1;
+
+        // guarded by this, initiated times that have not yet been retired, in ascending order
+        private final InitiatedTimeRingBuffer initiatedTimesAsMilli = new InitiatedTimeRingBuffer();
+        // highest retired time, and highest retired time that is strictly lower than it
+        private long highestRetiredTimeAsMilli = -1;
+        private long secondHighestRetiredTimeAsMilli = -1;
+
+        private WatermarkCompletionTimeWriter( int id, WatermarkCompletionTimeService completionTimeService )
+        {
+            this.id = id;
+            this.completionTimeService = completionTimeService;
+        }
+
+        @Override
+        public void submitInitiatedTime( long timeAsMilli ) throws CompletionTimeException
+        {
+            synchronized ( this )
+            {
+                initiatedTimesAsMilli.add( timeAsMilli );
+                publishWatermarks();
+            }
+            completionTimeService.updateCompletionTime();
+        }
+
+        @Override
+        public void submitCompletedTime( long timeAsMilli ) throws CompletionTimeException
+        {
+            synchronized ( this )
+            {
+                initiatedTimesAsMilli.complete( timeAsMilli );
+                retireCompletedHead();
+                publishWatermarks();
+            }
+            completionTimeService.updateCompletionTime();
+        }
+
+        int id()
+        {
+            return id;
+        }
+
+        // guarded by this
+        private void publishWatermarks()
+        {
+            long newLowestInitiatedTimeAsMilli = (initiatedTimesAsMilli.isEmpty())
+                                                 ? initiatedTimesAsMilli.highestAsMilli()
+                                                 : initiatedTimesAsMilli.lowestAsMilli();
+            long newCompletionTimeAsMilli = (highestRetiredTimeAsMilli < newLowestInitiatedTimeAsMilli)
+                                            ? highestRetiredTimeAsMilli
+                                            : secondHighestRetiredTimeAsMilli;
+            // publish completion time first, it is always lower than the initiated time it is published with
+            if ( newCompletionTimeAsMilli > completionTimeAsMilli )
+            {
+                completionTimeAsMilli = newCompletionTimeAsMilli;
+            }
+            lowestInitiatedTimeAsMilli = newLowestInitiatedTimeAsMilli;
+        }
+
+        // guarded by this
+        private void retireCompletedHead()
+        {
+            while ( initiatedTimesAsMilli.isLowestCompleted() )
+            {
+                long retiredTimeAsMilli = initiatedTimesAsMilli.removeLowest();
+                if ( retiredTimeAsMilli > highestRetiredTimeAsMilli )
+                {
+                    secondHighestRetiredTimeAsMilli = highestRetiredTimeAsMilli;
+                    highestRetiredTimeAsMilli = retiredTimeAsMilli;
+                }
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return "WatermarkCompletionTimeWriter{" +
+                   "id=" + id +
+                   ", lowestInitiatedTimeAsMilli=" + lowestInitiatedTimeAsMilli +
+                   ", completionTimeAsMilli=" + completionTimeAsMilli +
+                   '}';
+        }
+    }
+
+    private static class CompletionTimeAsMilliFuture implements Future<Long>
+    {
+        private final long completionTimeValueAsMilli;
+
+        CompletionTimeAsMilliFuture( long completionTimeValueAsMilli )
+        {
+            this.completionTimeValueAsMilli = completionTimeValueAsMilli;
+        }
+
+        @Override
+        public boolean cancel( boolean mayInterruptIfRunning )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isCancelled()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isDone()
+        {
+            return true;
+        }
+
+        @Override
+        public Long get()
+        {
+            return completionTimeValueAsMilli;
+        }
+
+        @Override
+        public Long get( long timeout, TimeUnit unit )
+        {
+            return completionTimeValueAsMilli;
+        }
+    }
+}
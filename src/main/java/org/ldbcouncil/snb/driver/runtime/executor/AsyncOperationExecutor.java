@@ -0,0 +1,427 @@
+package org.ldbcouncil.snb.driver.runtime.executor;
+
+import org.ldbcouncil.snb.driver.ChildOperationGenerator;
+import org.ldbcouncil.snb.driver.Db;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.OperationHandlerRunnableContext;
+import org.ldbcouncil.snb.driver.WorkloadStreams;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeReader;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeWriter;
+import org.ldbcouncil.snb.driver.runtime.metrics.MetricsService;
+import org.ldbcouncil.snb.driver.runtime.scheduling.Spinner;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Alternative to ThreadPoolOperationExecutor for streams with many outstanding operations.
+ * <p/>
+ * Rather than blocking a worker thread in Spinner until the scheduled start time of an operation, operations are
+ * parked on a single timer thread and only handed to the worker pool once they are due. Concurrency is bounded by
+ * the number of in-flight operations (maxInFlight), not by the number of threads, and execute() blocks once that
+ * bound is reached.
+ * <p/>
+ * Handlers still run through OperationHandlerRunnableContext, so metrics and completion time reporting are unchanged.
+ * Handlers that implement AsyncOperationHandler release their worker thread once the operation has been issued, so
+ * threadCount threads can keep up to maxInFlight operations outstanding. Their completion callbacks only hand over
+ * to a worker, child operations are generated from there, one at a time. Child operations that are due run on that
+ * worker, later ones wait on the timer.
+ */
+public class AsyncOperationExecutor implements OperationExecutor
+{
+    private static final long POLL_INTERVAL_WHILE_WAITING_FOR_HANDLERS_TO_COMPLETE_AS_MILLI = 10;
+
+    private final ScheduledThreadPoolExecutor dispatchTimer;
+    private final ExecutorService workerExecutorService;
+    private final Semaphore inFlightPermits;
+    private final int maxInFlight;
+    private final AtomicLong uncompletedHandlers = new AtomicLong( 0 );
+    private final AtomicBoolean shutdown = new AtomicBoolean( false );
+    private final OperationHandlerRunnableContextRetriever operationHandlerRunnableContextRetriever;
+    private final ChildOperationGenerator childOperationGenerator;
+    private final TimeSource timeSource;
+    private final ConcurrentErrorReporter errorReporter;
+    private final boolean ignoreScheduledStartTimes;
+
+    public AsyncOperationExecutor( int threadCount,
+            int maxInFlight,
+            Db db,
+            WorkloadStreams.WorkloadStreamDefinition streamDefinition,
+            CompletionTimeWriter completionTimeWriter,
+            CompletionTimeReader completionTimeReader,
+            Spinner spinner,
+            TimeSource timeSource,
+            ConcurrentErrorReporter errorReporter,
+            MetricsService metricsService,
+            ChildOperationGenerator childOperationGenerator,
+            boolean ignoreScheduledStartTimes )
+    {
+        this.operationHandlerRunnableContextRetriever = new OperationHandlerRunnableContextRetriever(
+                streamDefinition,
+                db,
+                completionTimeWriter,
+                completionTimeReader,
+                spinner,
+                timeSource,
+                errorReporter,
+                metricsService
+        );
+        this.childOperationGenerator = childOperationGenerator;
+        this.timeSource = timeSource;
+        this.errorReporter = errorReporter;
+        this.ignoreScheduledStartTimes = ignoreScheduledStartTimes;
+        this.maxInFlight = maxInFlight;
+        this.inFlightPermits = new Semaphore( maxInFlight );
+        final long factoryTimeStampId = System.currentTimeMillis();
+        this.dispatchTimer = new ScheduledThreadPoolExecutor( 1, new ThreadFactory()
+        {
+            @Override
+            public Thread newThread( Runnable runnable )
+            {
+                Thread thread = new Thread(
+                        runnable,
+                        AsyncOperationExecutor.class.getSimpleName() + "-id(" + factoryTimeStampId + ")" +
+                        "-timer" );
+                thread.setDaemon( true );
+                return thread;
+            }
+        } );
+        this.workerExecutorService = new ThreadPoolExecutor(
+                threadCount,
+                threadCount,
+                0,
+                TimeUnit.MILLISECONDS,
+                // bounded by in-flight permits
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory()
+                {
+                    int count = 0;
+
+                    @Override
+                    public Thread newThread( Runnable runnable )
+                    {
+                        return new Thread(
+                                runnable,
+                                AsyncOperationExecutor.class.getSimpleName() + "-id(" + factoryTimeStampId + ")" +
+                                "-thread(" + count++ + ")" );
+                    }
+                }
+        );
+    }
+
+    @Override
+    public final void execute( Operation operation ) throws OperationExecutorException
+    {
+        try
+        {
+            inFlightPermits.acquire();
+        }
+        catch ( InterruptedException e )
+        {
+            throw new OperationExecutorException(
+                    format( "Interrupted while waiting for in-flight permit\nOperation: %s", operation ), e );
+        }
+        uncompletedHandlers.incrementAndGet();
+        final OperationHandlerRunnableContext operationHandlerRunnableContext;
+        try
+        {
+            operationHandlerRunnableContext =
+                    operationHandlerRunnableContextRetriever.getInitializedHandlerFor( operation );
+        }
+        catch ( Throwable e )
+        {
+            uncompletedHandlers.decrementAndGet();
+            inFlightPermits.release();
+            throw new OperationExecutorException(
+                    format( "Error retrieving handler\nOperation: %s\n%s",
+                            operation,
+                            ConcurrentErrorReporter.stackTraceToString( e ) ),
+                    e );
+        }
+        try
+        {
+            dispatch( operationHandlerRunnableContext, false, 0 );
+        }
+        catch ( Throwable e )
+        {
+            uncompletedHandlers.decrementAndGet();
+            inFlightPermits.release();
+            operationHandlerRunnableContext.cleanup();
+            throw new OperationExecutorException(
+                    format( "Error dispatching handler\nOperation: %s\n%s",
+                            operation,
+                            ConcurrentErrorReporter.stackTraceToString( e ) ),
+                    e );
+        }
+    }
+
+    /**
+     * Hands the handler to a worker once its operation is due, child operations go through here too, so they wait on
+     * the timer rather than on the thread that completed their parent.
+     *
+     * @param childOperation true if the operation was generated by the child operation generator
+     * @param childOperationState generator state the child operation was generated in, ignored for other operations
+     */
+    private void dispatch( final OperationHandlerRunnableContext operationHandlerRunnableContext,
+            final boolean childOperation,
+            final double childOperationState )
+    {
+        Runnable dispatch = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                workerExecutorService.execute( new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        runHandler( operationHandlerRunnableContext, childOperation, childOperationState );
+                    }
+                } );
+            }
+        };
+        long delayAsMilli = delayAsMilli( operationHandlerRunnableContext );
+        if ( delayAsMilli > 0 )
+        {
+            dispatchTimer.schedule( dispatch, delayAsMilli, TimeUnit.MILLISECONDS );
+        }
+        else
+        {
+            dispatch.run();
+        }
+    }
+
+    private long delayAsMilli( OperationHandlerRunnableContext operationHandlerRunnableContext )
+    {
+        return (ignoreScheduledStartTimes)
+               ? 0
+               : operationHandlerRunnableContext.operation().scheduledStartTimeAsMilli() - timeSource.nowAsMilli();
+    }
+
+    // Note, Spinner is still used by the handler, but the scheduled start time has already passed when it is called
+    private void runHandler( final OperationHandlerRunnableContext operationHandlerRunnableContext,
+            final boolean childOperation,
+            final double childOperationState )
+    {
+        if ( operationHandlerRunnableContext.isAsync() )
+        {
+            // worker thread is released as soon as the operation has been issued, completion happens on callback
+            try
+            {
+                operationHandlerRunnableContext.runAsync().thenRun( new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        onAsyncHandlerCompleted( operationHandlerRunnableContext, childOperation,
+                                childOperationState );
+                    }
+                } );
+            }
+            catch ( Throwable e )
+            {
+                errorReporter.reportError( this,
+                        format( "Error executing handler\n%s", ConcurrentErrorReporter.stackTraceToString( e ) ) );
+                onHandlerCompleted( operationHandlerRunnableContext, childOperation, childOperationState );
+            }
+        }
+        else
+        {
+            try
+            {
+                operationHandlerRunnableContext.run();
+            }
+            finally
+            {
+                onHandlerCompleted( operationHandlerRunnableContext, childOperation, childOperationState );
+            }
+        }
+    }
+
+    // runs on the thread that completed the operation (e.g., a connector I/O thread), which must never block
+    private void onAsyncHandlerCompleted( final OperationHandlerRunnableContext operationHandlerRunnableContext,
+            final boolean childOperation,
+            final double childOperationState )
+    {
+        try
+        {
+            workerExecutorService.execute( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    onHandlerCompleted( operationHandlerRunnableContext, childOperation, childOperationState );
+                }
+            } );
+        }
+        catch ( Throwable e )
+        {
+            errorReporter.reportError( this,
+                    format( "Error handing over completed handler\n%s",
+                            ConcurrentErrorReporter.stackTraceToString( e ) ) );
+            operationHandlerRunnableContext.cleanup();
+            uncompletedHandlers.decrementAndGet();
+            inFlightPermits.release();
+        }
+    }
+
+    /**
+     * Generates the next child operation, if any. Child operations that are already due and have a synchronous
+     * handler run right away on this worker, one after the other, as the rest of the chain would. Others are
+     * dispatched like any other operation. The in-flight permit of the parent operation is held until its last child
+     * operation has completed.
+     */
+    private void onHandlerCompleted( OperationHandlerRunnableContext operationHandlerRunnableContext,
+            boolean childOperation,
+            double childOperationState )
+    {
+        OperationHandlerRunnableContext completedHandlerRunnableContext = operationHandlerRunnableContext;
+        boolean completedChildOperation = childOperation;
+        double completedChildOperationState = childOperationState;
+        while ( true )
+        {
+            OperationHandlerRunnableContext childOperationHandlerRunnableContext = null;
+            double state = 0;
+            try
+            {
+                if ( null != childOperationGenerator )
+                {
+                    state = (completedChildOperation)
+                            ? childOperationGenerator.updateState(
+                                    completedChildOperationState,
+                                    completedHandlerRunnableContext.operation().type() )
+                            : childOperationGenerator.initialState();
+                    Operation nextChildOperation = childOperationGenerator.nextOperation(
+                            state,
+                            completedHandlerRunnableContext.operation(),
+                            completedHandlerRunnableContext.resultReporter().result(),
+                            completedHandlerRunnableContext.resultReporter().actualStartTimeAsMilli(),
+                            completedHandlerRunnableContext.resultReporter().runDurationAsNano()
+                    );
+                    if ( null != nextChildOperation )
+                    {
+                        childOperationHandlerRunnableContext =
+                                operationHandlerRunnableContextRetriever.getInitializedHandlerFor( nextChildOperation );
+                    }
+                }
+            }
+            catch ( Throwable e )
+            {
+                errorReporter.reportError( this,
+                        format( "Error retrieving handler\n%s", ConcurrentErrorReporter.stackTraceToString( e ) ) );
+            }
+            finally
+            {
+                completedHandlerRunnableContext.cleanup();
+            }
+            if ( null == childOperationHandlerRunnableContext )
+            {
+                uncompletedHandlers.decrementAndGet();
+                inFlightPermits.release();
+                return;
+            }
+            try
+            {
+                if ( delayAsMilli( childOperationHandlerRunnableContext ) > 0 )
+                {
+                    dispatch( childOperationHandlerRunnableContext, true, state );
+                    return;
+                }
+                if ( childOperationHandlerRunnableContext.isAsync() )
+                {
+                    runHandler( childOperationHandlerRunnableContext, true, state );
+                    return;
+                }
+                childOperationHandlerRunnableContext.run();
+            }
+            catch ( Throwable e )
+            {
+                errorReporter.reportError( this,
+                        format( "Error executing child handler\n%s",
+                                ConcurrentErrorReporter.stackTraceToString( e ) ) );
+                childOperationHandlerRunnableContext.cleanup();
+                uncompletedHandlers.decrementAndGet();
+                inFlightPermits.release();
+                return;
+            }
+            completedHandlerRunnableContext = childOperationHandlerRunnableContext;
+            completedChildOperation = true;
+            completedChildOperationState = state;
+        }
+    }
+
+    @Override
+    synchronized public final void shutdown( long waitAsMilli ) throws OperationExecutorException
+    {
+        if ( shutdown.get() )
+        {
+            throw new OperationExecutorException( "Executor has already been shutdown" );
+        }
+        try
+        {
+            long deadlineAsMilli = System.currentTimeMillis() + waitAsMilli;
+            // an async handler is in neither pool while its result is outstanding, yet it needs a worker to complete
+            // on, and the dispatch timer for its child operations, so both pools stay open until it has completed
+            while ( 0 < uncompletedHandlers.get() && System.currentTimeMillis() < deadlineAsMilli )
+            {
+                Spinner.powerNap( POLL_INTERVAL_WHILE_WAITING_FOR_HANDLERS_TO_COMPLETE_AS_MILLI );
+            }
+            // delayed dispatches that are already scheduled still run after shutdown
+            dispatchTimer.shutdown();
+            boolean allDispatched = dispatchTimer.awaitTermination(
+                    Math.max( 0, deadlineAsMilli - System.currentTimeMillis() ), TimeUnit.MILLISECONDS );
+            workerExecutorService.shutdown();
+            boolean allHandlersCompleted = allDispatched && workerExecutorService.awaitTermination(
+                    Math.max( 0, deadlineAsMilli - System.currentTimeMillis() ), TimeUnit.MILLISECONDS ) &&
+                                           0 == uncompletedHandlers.get();
+            if ( !allHandlersCompleted )
+            {
+                List<Runnable> notDispatched = dispatchTimer.shutdownNow();
+                List<Runnable> notStarted = workerExecutorService.shutdownNow();
+                long uncompletedHandlerCount = uncompletedHandlers.get();
+                String errMsg = format(
+                        "%s shutdown before all handlers could complete\n%s handlers had not completed\n%s " +
+                        "handlers were waiting for their start time\n%s handlers were queued for execution but " +
+                        "not yet started\n%s handlers were mid-execution or waiting for their async result",
+                        getClass().getSimpleName(),
+                        uncompletedHandlerCount,
+                        notDispatched.size(),
+                        notStarted.size(),
+                        uncompletedHandlerCount - notDispatched.size() - notStarted.size() );
+                throw new OperationExecutorException( errMsg );
+            }
+        }
+        catch ( Throwable e )
+        {
+            throw new OperationExecutorException( "Error encountered while trying to shutdown", e );
+        }
+        finally
+        {
+            shutdown.set( true );
+        }
+    }
+
+    @Override
+    public long uncompletedOperationHandlerCount()
+    {
+        return uncompletedHandlers.get();
+    }
+
+    public int inFlightOperationCount()
+    {
+        return maxInFlight - inFlightPermits.availablePermits();
+    }
+}
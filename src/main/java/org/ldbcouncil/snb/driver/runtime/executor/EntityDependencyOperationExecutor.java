@@ -0,0 +1,293 @@
+package org.ldbcouncil.snb.driver.runtime.executor;
+
+import org.ldbcouncil.snb.driver.ChildOperationGenerator;
+import org.ldbcouncil.snb.driver.Db;
+import org.ldbcouncil.snb.driver.EntityDependencies;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.OperationHandlerRunnableContext;
+import org.ldbcouncil.snb.driver.WorkloadStreams;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.runtime.DefaultQueues;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeReader;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeWriter;
+import org.ldbcouncil.snb.driver.runtime.metrics.MetricsService;
+import org.ldbcouncil.snb.driver.runtime.scheduling.Spinner;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Executes the operations of a blocking stream concurrently, as far as their {@link EntityDependencies} allow.
+ * <p/>
+ * Operations are handed over in stream order. An operation that refers to, or creates, an entity created by an
+ * earlier operation that has not completed yet is held back until that operation has completed, together with its
+ * child operations, all other operations are handed to a worker straight away. Workers still wait for scheduled start
+ * time and completion time, as for any other operation.
+ * <p/>
+ * There are as many workers as operations may be in flight, and execute() blocks once that many are, so every
+ * operation that is not held back has a worker of its own and can not be stuck behind operations that wait.
+ */
+public class EntityDependencyOperationExecutor implements OperationExecutor
+{
+    private final ExecutorService threadPoolExecutorService;
+    private final AtomicLong uncompletedHandlers = new AtomicLong( 0 );
+    private final AtomicBoolean shutdown = new AtomicBoolean( false );
+    private final OperationHandlerRunnableContextRetriever operationHandlerRunnableContextRetriever;
+    private final ChildOperationGenerator childOperationGenerator;
+    private final ChildOperationExecutor childOperationExecutor = new ChildOperationExecutor();
+    private final EntityDependencies entityDependencies;
+    private final ConcurrentErrorReporter errorReporter;
+    private final Semaphore inFlightOperationPermits;
+    // entity -> uncompleted operation that created it, guarded by itself
+    private final Map<Object,DependentOperation> uncompletedCreators = new HashMap<>();
+
+    public EntityDependencyOperationExecutor( Db db,
+            WorkloadStreams.WorkloadStreamDefinition streamDefinition,
+            CompletionTimeWriter completionTimeWriter,
+            CompletionTimeReader completionTimeReader,
+            Spinner spinner,
+            TimeSource timeSource,
+            ConcurrentErrorReporter errorReporter,
+            MetricsService metricsService,
+            ChildOperationGenerator childOperationGenerator )
+    {
+        this.entityDependencies = streamDefinition.entityDependencies();
+        this.childOperationGenerator = childOperationGenerator;
+        this.errorReporter = errorReporter;
+        int threadCount = entityDependencies.maxConcurrentOperations();
+        this.inFlightOperationPermits = new Semaphore( threadCount );
+        this.operationHandlerRunnableContextRetriever = new OperationHandlerRunnableContextRetriever(
+                streamDefinition,
+                db,
+                completionTimeWriter,
+                completionTimeReader,
+                spinner,
+                timeSource,
+                errorReporter,
+                metricsService
+        );
+        ThreadFactory threadFactory = new ThreadFactory()
+        {
+            private final long factoryTimeStampId = System.currentTimeMillis();
+            int count = 0;
+
+            @Override
+            public Thread newThread( Runnable runnable )
+            {
+                return new Thread(
+                        runnable,
+                        EntityDependencyOperationExecutor.class.getSimpleName() + "-id(" + factoryTimeStampId + ")" +
+                        "-thread(" + count++ + ")"
+                );
+            }
+        };
+        // in flight permits bound the work queue
+        this.threadPoolExecutorService = new ThreadPoolExecutor(
+                threadCount,
+                threadCount,
+                0,
+                TimeUnit.MILLISECONDS,
+                DefaultQueues.<Runnable>newBlockingUnbounded(),
+                threadFactory
+        );
+    }
+
+    @Override
+    public final void execute( Operation operation ) throws OperationExecutorException
+    {
+        try
+        {
+            // --- BLOCKING CALL (when as many operations as there are workers are in flight) ---
+            inFlightOperationPermits.acquire();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new OperationExecutorException( format( "Interrupted while waiting to execute\nOperation: %s",
+                    operation ), e );
+        }
+        uncompletedHandlers.incrementAndGet();
+        try
+        {
+            DependentOperation dependentOperation = new DependentOperation(
+                    operationHandlerRunnableContextRetriever.getInitializedHandlerFor( operation ),
+                    entityDependencies.createdEntities( operation ) );
+            boolean ready;
+            synchronized ( uncompletedCreators )
+            {
+                for ( Object entity : entityDependencies.referencedEntities( operation ) )
+                {
+                    dependentOperation.waitFor( uncompletedCreators.get( entity ) );
+                }
+                for ( Object entity : dependentOperation.createdEntities )
+                {
+                    // the same entity created twice, the later creation waits for the earlier
+                    dependentOperation.waitFor( uncompletedCreators.put( entity, dependentOperation ) );
+                }
+                ready = 0 == dependentOperation.remainingDependencies;
+            }
+            if ( ready )
+            {
+                threadPoolExecutorService.execute( dependentOperation );
+            }
+        }
+        catch ( Throwable e )
+        {
+            uncompletedHandlers.decrementAndGet();
+            inFlightOperationPermits.release();
+            throw new OperationExecutorException(
+                    format( "Error retrieving handler\nOperation: %s\n%s",
+                            operation,
+                            ConcurrentErrorReporter.stackTraceToString( e ) ),
+                    e );
+        }
+    }
+
+    @Override
+    synchronized public final void shutdown( long waitAsMilli ) throws OperationExecutorException
+    {
+        if ( shutdown.get() )
+        {
+            throw new OperationExecutorException( "Executor has already been shutdown" );
+        }
+        try
+        {
+            threadPoolExecutorService.shutdown();
+            boolean allHandlersCompleted =
+                    threadPoolExecutorService.awaitTermination( waitAsMilli, TimeUnit.MILLISECONDS );
+            if ( !allHandlersCompleted )
+            {
+                List<Runnable> stillRunningThreads = threadPoolExecutorService.shutdownNow();
+                if ( !stillRunningThreads.isEmpty() )
+                {
+                    String errMsg = format(
+                            "%s shutdown before all handlers could complete\n%s handlers were queued for execution " +
+                            "but not yet started\n%s handlers were mid-execution or waiting on dependencies",
+                            getClass().getSimpleName(),
+                            stillRunningThreads.size(),
+                            uncompletedHandlers.get() - stillRunningThreads.size() );
+                    throw new OperationExecutorException( errMsg );
+                }
+            }
+        }
+        catch ( Throwable e )
+        {
+            throw new OperationExecutorException( "Error encountered while trying to shutdown", e );
+        }
+        finally
+        {
+            shutdown.set( true );
+        }
+    }
+
+    @Override
+    public long uncompletedOperationHandlerCount()
+    {
+        return uncompletedHandlers.get();
+    }
+
+    private void onCompleted( DependentOperation completedOperation )
+    {
+        List<DependentOperation> readyOperations = new ArrayList<>();
+        synchronized ( uncompletedCreators )
+        {
+            for ( Object entity : completedOperation.createdEntities )
+            {
+                // a later creation of the same entity may have taken its place already
+                if ( uncompletedCreators.get( entity ) == completedOperation )
+                {
+                    uncompletedCreators.remove( entity );
+                }
+            }
+            for ( DependentOperation dependent : completedOperation.dependents )
+            {
+                dependent.remainingDependencies--;
+                if ( 0 == dependent.remainingDependencies )
+                {
+                    readyOperations.add( dependent );
+                }
+            }
+        }
+        for ( DependentOperation readyOperation : readyOperations )
+        {
+            threadPoolExecutorService.execute( readyOperation );
+        }
+    }
+
+    /**
+     * Operation handler, together with the uncompleted operations it waits for and those that wait for it. Fields
+     * other than the handler are guarded by uncompletedCreators.
+     */
+    private class DependentOperation implements Runnable
+    {
+        private final OperationHandlerRunnableContext operationHandlerRunnableContext;
+        private final Object[] createdEntities;
+        private final List<DependentOperation> dependents = new ArrayList<>();
+        private int remainingDependencies = 0;
+
+        private DependentOperation( OperationHandlerRunnableContext operationHandlerRunnableContext,
+                Object[] createdEntities )
+        {
+            this.operationHandlerRunnableContext = operationHandlerRunnableContext;
+            this.createdEntities = createdEntities;
+        }
+
+        private void waitFor( DependentOperation dependency )
+        {
+            if ( null != dependency && this != dependency )
+            {
+                dependency.dependents.add( this );
+                remainingDependencies++;
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                operationHandlerRunnableContext.run();
+                childOperationExecutor.execute(
+                        childOperationGenerator,
+                        operationHandlerRunnableContext.operation(),
+                        operationHandlerRunnableContext.resultReporter().result(),
+                        operationHandlerRunnableContext.resultReporter().actualStartTimeAsMilli(),
+                        operationHandlerRunnableContext.resultReporter().runDurationAsNano(),
+                        operationHandlerRunnableContextRetriever
+                );
+            }
+            catch ( Throwable e )
+            {
+                errorReporter.reportError( this,
+                        format( "Error executing handler\nHandler Context:%s\n%s",
+                                operationHandlerRunnableContext,
+                                ConcurrentErrorReporter.stackTraceToString( e ) ) );
+            }
+            finally
+            {
+                try
+                {
+                    onCompleted( this );
+                }
+                finally
+                {
+                    operationHandlerRunnableContext.cleanup();
+                    uncompletedHandlers.decrementAndGet();
+                    inFlightOperationPermits.release();
+                }
+            }
+        }
+    }
+}
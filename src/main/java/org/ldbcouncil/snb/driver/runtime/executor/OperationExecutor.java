@@ -9,6 +9,18 @@ public interface OperationExecutor {
      */
     public void execute(Operation operation) throws OperationExecutorException;
 
+    /**
+     * Executes the operation only if that is possible without blocking, e.g., when the executor has capacity left
+     *
+     * @param operation
+     * @return true if the operation was handed over, false if nothing was executed and it should be retried later
+     * @throws OperationExecutorException
+     */
+    public default boolean tryExecute(Operation operation) throws OperationExecutorException {
+        execute(operation);
+        return true;
+    }
+
     /**
      * Returns after executor has completed shutting down
      *
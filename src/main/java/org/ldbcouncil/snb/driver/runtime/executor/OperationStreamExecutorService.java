@@ -2,8 +2,12 @@ package org.ldbcouncil.snb.driver.runtime.executor;
 
 import org.ldbcouncil.snb.driver.WorkloadStreams.WorkloadStreamDefinition;
 import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeReader;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeWriter;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -25,17 +29,53 @@ public class OperationStreamExecutorService
             WorkloadStreamDefinition streamDefinition,
             OperationExecutor operationExecutor,
             CompletionTimeWriter completionTimeWriter )
+    {
+        this(
+                errorReporter,
+                Collections.singletonList( streamDefinition ),
+                Collections.singletonList( operationExecutor ),
+                Collections.singletonList( completionTimeWriter ),
+                null
+        );
+    }
+
+    /**
+     * Executes several streams on one thread, each stream in order, using the executor and completion time writer
+     * at the same position as the stream. Completion time is read to pass over operations whose dependencies are
+     * not yet met, so other streams on the thread can make progress in the meantime
+     */
+    public OperationStreamExecutorService(
+            ConcurrentErrorReporter errorReporter,
+            List<WorkloadStreamDefinition> streamDefinitions,
+            List<OperationExecutor> operationExecutors,
+            List<CompletionTimeWriter> completionTimeWriters,
+            CompletionTimeReader completionTimeReader )
     {
         this.errorReporter = errorReporter;
-        if ( streamDefinition.dependencyOperations().hasNext() || streamDefinition.nonDependencyOperations().hasNext() )
+        List<WorkloadStreamDefinition> nonEmptyStreamDefinitions = new ArrayList<>();
+        List<OperationExecutor> nonEmptyStreamOperationExecutors = new ArrayList<>();
+        List<CompletionTimeWriter> nonEmptyStreamCompletionTimeWriters = new ArrayList<>();
+        for ( int i = 0; i < streamDefinitions.size(); i++ )
+        {
+            WorkloadStreamDefinition streamDefinition = streamDefinitions.get( i );
+            if ( streamDefinition.dependencyOperations().hasNext() ||
+                 streamDefinition.nonDependencyOperations().hasNext() )
+            {
+                nonEmptyStreamDefinitions.add( streamDefinition );
+                nonEmptyStreamOperationExecutors.add( operationExecutors.get( i ) );
+                nonEmptyStreamCompletionTimeWriters.add( completionTimeWriters.get( i ) );
+            }
+        }
+        if ( !nonEmptyStreamDefinitions.isEmpty() )
         {
             this.operationStreamExecutorServiceThread = new OperationStreamExecutorServiceThread(
-                    operationExecutor,
+                    nonEmptyStreamOperationExecutors,
                     errorReporter,
-                    streamDefinition,
+                    nonEmptyStreamDefinitions,
                     hasFinished,
                     forceThreadToTerminate,
-                    completionTimeWriter );
+                    nonEmptyStreamCompletionTimeWriters,
+                    completionTimeReader );
         }
         else
         {
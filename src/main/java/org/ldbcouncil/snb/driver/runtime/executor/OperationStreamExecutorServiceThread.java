@@ -3,20 +3,42 @@ package org.ldbcouncil.snb.driver.runtime.executor;
 import org.ldbcouncil.snb.driver.Operation;
 import org.ldbcouncil.snb.driver.WorkloadStreams.WorkloadStreamDefinition;
 import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeException;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeReader;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeWriter;
 import org.ldbcouncil.snb.driver.runtime.scheduling.Spinner;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Executes one or more streams on a single thread. Streams stay in order, as each executes on this thread alone, and
+ * across streams the operation with the lowest time stamp goes first, like a merge of the streams.
+ * <p/>
+ * With more than one stream, an operation whose completion time dependency is not yet met is passed over in favour of
+ * the next earliest operation of another stream, as the operations that would advance completion time may well be
+ * waiting behind it on this very thread.
+ * <p/>
+ * With more than one stream, operations are handed over with {@link OperationExecutor#tryExecute(Operation)}. An
+ * operation whose executor has no capacity left is passed over in the same way, rather than blocking this thread until
+ * its executor has drained. A lone stream uses {@link OperationExecutor#execute(Operation)}, which wakes up as soon as
+ * capacity is freed instead of polling for it.
+ */
 class OperationStreamExecutorServiceThread extends Thread
 {
     private static final long POLL_INTERVAL_WHILE_WAITING_FOR_LAST_HANDLER_TO_FINISH_AS_MILLI = 100;
+    private static final long POLL_INTERVAL_WHILE_NO_OPERATION_IS_READY_AS_MILLI = 1;
 
-    private final OperationExecutor operationExecutor;
+    private final OperationExecutor[] operationExecutors;
     private final ConcurrentErrorReporter errorReporter;
     private final AtomicBoolean hasFinished;
     private final AtomicBoolean forcedTerminate;
-    private final InitiatedTimeSubmittingOperationRetriever initiatedTimeSubmittingOperationRetriever;
+    private final InitiatedTimeSubmittingOperationRetriever[] initiatedTimeSubmittingOperationRetrievers;
+    private final Set<Class<? extends Operation>>[] dependentOperationTypes;
+    private final CompletionTimeReader completionTimeReader;
 
     public OperationStreamExecutorServiceThread( OperationExecutor operationExecutor,
             ConcurrentErrorReporter errorReporter,
@@ -24,16 +46,44 @@ class OperationStreamExecutorServiceThread extends Thread
             AtomicBoolean hasFinished,
             AtomicBoolean forcedTerminate,
             CompletionTimeWriter completionTimeWriter )
+    {
+        this(
+                Collections.singletonList( operationExecutor ),
+                errorReporter,
+                Collections.singletonList( streamDefinition ),
+                hasFinished,
+                forcedTerminate,
+                Collections.singletonList( completionTimeWriter ),
+                null
+        );
+    }
+
+    public OperationStreamExecutorServiceThread( List<OperationExecutor> operationExecutors,
+            ConcurrentErrorReporter errorReporter,
+            List<WorkloadStreamDefinition> streamDefinitions,
+            AtomicBoolean hasFinished,
+            AtomicBoolean forcedTerminate,
+            List<CompletionTimeWriter> completionTimeWriters,
+            CompletionTimeReader completionTimeReader )
     {
         super( OperationStreamExecutorServiceThread.class.getSimpleName() + "-" + System.currentTimeMillis() );
-        this.operationExecutor = operationExecutor;
+        this.operationExecutors = operationExecutors.toArray( new OperationExecutor[operationExecutors.size()] );
         this.errorReporter = errorReporter;
         this.hasFinished = hasFinished;
         this.forcedTerminate = forcedTerminate;
-        this.initiatedTimeSubmittingOperationRetriever = new InitiatedTimeSubmittingOperationRetriever(
-                streamDefinition,
-                completionTimeWriter
-        );
+        this.initiatedTimeSubmittingOperationRetrievers =
+                new InitiatedTimeSubmittingOperationRetriever[streamDefinitions.size()];
+        this.dependentOperationTypes = new Set[streamDefinitions.size()];
+        // a lone stream has nothing to pass over to, it waits on its dependencies in the operation handler as always
+        this.completionTimeReader = (streamDefinitions.size() > 1) ? completionTimeReader : null;
+        for ( int i = 0; i < streamDefinitions.size(); i++ )
+        {
+            this.dependentOperationTypes[i] = streamDefinitions.get( i ).dependentOperationTypes();
+            this.initiatedTimeSubmittingOperationRetrievers[i] = new InitiatedTimeSubmittingOperationRetriever(
+                    streamDefinitions.get( i ),
+                    completionTimeWriters.get( i )
+            );
+        }
     }
 
     @Override
@@ -41,11 +91,46 @@ class OperationStreamExecutorServiceThread extends Thread
     {
         try
         {
-            while ( initiatedTimeSubmittingOperationRetriever.hasNextOperation() && !forcedTerminate.get() )
+            // next operation of every stream, with its initiated time already submitted, so while the thread waits on
+            // the earliest of them, completion time can still advance up to the initiated times of the others
+            Operation[] nextOperations = new Operation[initiatedTimeSubmittingOperationRetrievers.length];
+            for ( int i = 0; i < nextOperations.length; i++ )
+            {
+                nextOperations[i] = nextOperationOrNull( i );
+            }
+            // streams whose executor refused their next operation since the last operation was handed over
+            boolean[] saturatedStreams = new boolean[nextOperations.length];
+            boolean anySaturatedStream = false;
+            int stream;
+            while ( -1 != (stream = streamWithEarliestReadyOperation( nextOperations, saturatedStreams )) &&
+                    !forcedTerminate.get() )
             {
-                Operation operation = initiatedTimeSubmittingOperationRetriever.nextOperation();
-                // --- BLOCKING CALL (when bounded queue is full) ---
-                operationExecutor.execute( operation );
+                if ( NO_READY_OPERATION == stream )
+                {
+                    // waiting on completion time, or for executors to have capacity again
+                    Spinner.powerNap( POLL_INTERVAL_WHILE_NO_OPERATION_IS_READY_AS_MILLI );
+                }
+                else if ( 1 == nextOperations.length )
+                {
+                    // a lone stream has nothing to pass over to, it waits inside its executor to be handed capacity
+                    operationExecutors[stream].execute( nextOperations[stream] );
+                    nextOperations[stream] = nextOperationOrNull( stream );
+                }
+                else if ( operationExecutors[stream].tryExecute( nextOperations[stream] ) )
+                {
+                    nextOperations[stream] = nextOperationOrNull( stream );
+                }
+                else
+                {
+                    saturatedStreams[stream] = true;
+                    anySaturatedStream = true;
+                    continue;
+                }
+                if ( anySaturatedStream )
+                {
+                    Arrays.fill( saturatedStreams, false );
+                    anySaturatedStream = false;
+                }
             }
         }
         catch ( Throwable e )
@@ -54,11 +139,71 @@ class OperationStreamExecutorServiceThread extends Thread
         }
         finally
         {
-            while ( 0 < operationExecutor.uncompletedOperationHandlerCount() && !forcedTerminate.get() )
+            while ( 0 < uncompletedOperationHandlerCount() && !forcedTerminate.get() )
             {
                 Spinner.powerNap( POLL_INTERVAL_WHILE_WAITING_FOR_LAST_HANDLER_TO_FINISH_AS_MILLI );
             }
             this.hasFinished.set( true );
         }
     }
+
+    private Operation nextOperationOrNull( int stream ) throws OperationExecutorException, CompletionTimeException
+    {
+        InitiatedTimeSubmittingOperationRetriever retriever = initiatedTimeSubmittingOperationRetrievers[stream];
+        return (retriever.hasNextOperation()) ? retriever.nextOperation() : null;
+    }
+
+    private static final int NO_READY_OPERATION = -2;
+
+    // on equal time stamps the stream that comes first wins, returns -1 once all streams are exhausted and
+    // NO_READY_OPERATION while every remaining operation still waits on completion time or on a saturated executor
+    private int streamWithEarliestReadyOperation( Operation[] nextOperations, boolean[] saturatedStreams )
+            throws CompletionTimeException
+    {
+        int earliest = -1;
+        long completionTimeAsMilli = -1;
+        boolean completionTimeRead = false;
+        boolean anyRemaining = false;
+        for ( int i = 0; i < nextOperations.length; i++ )
+        {
+            Operation operation = nextOperations[i];
+            if ( null == operation )
+            {
+                continue;
+            }
+            anyRemaining = true;
+            if ( saturatedStreams[i] )
+            {
+                continue;
+            }
+            if ( -1 != earliest && operation.timeStamp() >= nextOperations[earliest].timeStamp() )
+            {
+                continue;
+            }
+            if ( null != completionTimeReader && dependentOperationTypes[i].contains( operation.getClass() ) )
+            {
+                if ( !completionTimeRead )
+                {
+                    completionTimeAsMilli = completionTimeReader.completionTimeAsMilli();
+                    completionTimeRead = true;
+                }
+                if ( completionTimeAsMilli < operation.dependencyTimeStamp() )
+                {
+                    continue;
+                }
+            }
+            earliest = i;
+        }
+        return (-1 == earliest && anyRemaining) ? NO_READY_OPERATION : earliest;
+    }
+
+    private long uncompletedOperationHandlerCount()
+    {
+        long uncompletedOperationHandlerCount = 0;
+        for ( OperationExecutor operationExecutor : operationExecutors )
+        {
+            uncompletedOperationHandlerCount += operationExecutor.uncompletedOperationHandlerCount();
+        }
+        return uncompletedOperationHandlerCount;
+    }
 }
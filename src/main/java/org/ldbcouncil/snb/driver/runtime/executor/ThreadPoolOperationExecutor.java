@@ -2,20 +2,28 @@ package org.ldbcouncil.snb.driver.runtime.executor;
 
 import org.ldbcouncil.snb.driver.ChildOperationGenerator;
 import org.ldbcouncil.snb.driver.Db;
+import org.ldbcouncil.snb.driver.DbException;
 import org.ldbcouncil.snb.driver.Operation;
 import org.ldbcouncil.snb.driver.OperationHandlerRunnableContext;
+import org.ldbcouncil.snb.driver.WorkloadException;
 import org.ldbcouncil.snb.driver.WorkloadStreams;
 import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
 import org.ldbcouncil.snb.driver.runtime.DefaultQueues;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeException;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeReader;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeWriter;
 import org.ldbcouncil.snb.driver.runtime.metrics.MetricsService;
 import org.ldbcouncil.snb.driver.runtime.scheduling.Spinner;
+import org.ldbcouncil.snb.driver.runtime.scheduling.TimerWheel;
 import org.ldbcouncil.snb.driver.temporal.TimeSource;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -26,10 +34,14 @@ import static java.lang.String.format;
 
 public class ThreadPoolOperationExecutor implements OperationExecutor
 {
-    private final ExecutorService threadPoolExecutorService;
+    private final ThreadPoolExecutorWithAfterExecute threadPoolExecutorService;
     private final AtomicLong uncompletedHandlers = new AtomicLong( 0 );
     private final AtomicBoolean shutdown = new AtomicBoolean( false );
     private final OperationHandlerRunnableContextRetriever operationHandlerRunnableContextRetriever;
+    private final TimeSource timeSource;
+    private final TimerWheel timerWheel;
+    // bounds the number of operations waiting in the timer wheel, like the work queue bounds queued operations
+    private final Semaphore pendingOperationPermits;
 
     public ThreadPoolOperationExecutor( int threadCount,
             int boundedQueueSize,
@@ -43,6 +55,59 @@ public class ThreadPoolOperationExecutor implements OperationExecutor
             MetricsService metricsService,
             ChildOperationGenerator childOperationGenerator )
     {
+        this(
+                threadCount,
+                boundedQueueSize,
+                db,
+                streamDefinition,
+                completionTimeWriter,
+                completionTimeReader,
+                spinner,
+                timeSource,
+                errorReporter,
+                metricsService,
+                childOperationGenerator,
+                false,
+                null
+        );
+    }
+
+    /**
+     * @param justInTimeDispatch hold operations in a timer wheel until their scheduled start time and only then hand
+     * them to worker threads, rather than queueing them straight away and having workers wait for their scheduled
+     * start times. Should not be used when scheduled start times are ignored.
+     * @param deadlineOffsetsAsMilli null to queue operations first-in-first-out, otherwise queue them earliest
+     * deadline first, where the deadline of an operation is its scheduled start time plus the offset of its type,
+     * indexed by operation type (types beyond the end of the array have an offset of 0)
+     */
+    public ThreadPoolOperationExecutor( int threadCount,
+            int boundedQueueSize,
+            Db db,
+            WorkloadStreams.WorkloadStreamDefinition streamDefinition,
+            CompletionTimeWriter completionTimeWriter,
+            CompletionTimeReader completionTimeReader,
+            Spinner spinner,
+            TimeSource timeSource,
+            ConcurrentErrorReporter errorReporter,
+            MetricsService metricsService,
+            ChildOperationGenerator childOperationGenerator,
+            boolean justInTimeDispatch,
+            long[] deadlineOffsetsAsMilli )
+    {
+        this.timeSource = timeSource;
+        if ( justInTimeDispatch )
+        {
+            this.timerWheel = new TimerWheel(
+                    timeSource,
+                    errorReporter,
+                    ThreadPoolOperationExecutor.class.getSimpleName() + "-dispatcher" );
+            this.pendingOperationPermits = new Semaphore( boundedQueueSize );
+        }
+        else
+        {
+            this.timerWheel = null;
+            this.pendingOperationPermits = null;
+        }
         this.operationHandlerRunnableContextRetriever = new OperationHandlerRunnableContextRetriever(
                 streamDefinition,
                 db,
@@ -75,7 +140,10 @@ public class ThreadPoolOperationExecutor implements OperationExecutor
                 boundedQueueSize,
                 childOperationGenerator,
                 operationHandlerRunnableContextRetriever,
-                errorReporter
+                errorReporter,
+                timerWheel,
+                timeSource,
+                (null == deadlineOffsetsAsMilli) ? null : new DeadlineComparator( deadlineOffsetsAsMilli )
         );
     }
 
@@ -87,10 +155,73 @@ public class ThreadPoolOperationExecutor implements OperationExecutor
         {
             OperationHandlerRunnableContext operationHandlerRunnableContext =
                     operationHandlerRunnableContextRetriever.getInitializedHandlerFor( operation );
-            threadPoolExecutorService.execute( operationHandlerRunnableContext );
+            if ( null != timerWheel && operation.scheduledStartTimeAsMilli() > timeSource.nowAsMilli() )
+            {
+                pendingOperationPermits.acquire();
+                timerWheel.schedule(
+                        operation.scheduledStartTimeAsMilli(),
+                        new DispatchTask( threadPoolExecutorService, operationHandlerRunnableContext,
+                                pendingOperationPermits ) );
+            }
+            else
+            {
+                threadPoolExecutorService.execute( operationHandlerRunnableContext );
+            }
+        }
+        catch ( Throwable e )
+        {
+            throw new OperationExecutorException(
+                    format( "Error retrieving handler\nOperation: %s\n%s",
+                            operation,
+                            ConcurrentErrorReporter.stackTraceToString( e ) ),
+                    e );
+        }
+    }
+
+    /**
+     * Returns false, without executing the operation, when the work queue is full, or when the operation is not due
+     * yet and the timer wheel is full
+     */
+    @Override
+    public final boolean tryExecute( Operation operation ) throws OperationExecutorException
+    {
+        boolean notDueYet = null != timerWheel && operation.scheduledStartTimeAsMilli() > timeSource.nowAsMilli();
+        if ( (notDueYet)
+             ? !pendingOperationPermits.tryAcquire()
+             : 0 == threadPoolExecutorService.getQueue().remainingCapacity() )
+        {
+            return false;
+        }
+        uncompletedHandlers.incrementAndGet();
+        try
+        {
+            OperationHandlerRunnableContext operationHandlerRunnableContext =
+                    operationHandlerRunnableContextRetriever.getInitializedHandlerFor( operation );
+            if ( notDueYet )
+            {
+                timerWheel.schedule(
+                        operation.scheduledStartTimeAsMilli(),
+                        new DispatchTask( threadPoolExecutorService, operationHandlerRunnableContext,
+                                pendingOperationPermits ) );
+                return true;
+            }
+            if ( threadPoolExecutorService.tryExecute( operationHandlerRunnableContext ) )
+            {
+                return true;
+            }
+            // a worker submitted a child operation in the meantime and took the remaining capacity
+            operationHandlerRunnableContext.cleanup();
+            uncompletedHandlers.decrementAndGet();
+            return false;
         }
         catch ( Throwable e )
         {
+            // nothing was dispatched, give back the timer wheel capacity and the handler count taken above
+            if ( notDueYet )
+            {
+                pendingOperationPermits.release();
+            }
+            uncompletedHandlers.decrementAndGet();
             throw new OperationExecutorException(
                     format( "Error retrieving handler\nOperation: %s\n%s",
                             operation,
@@ -108,9 +239,21 @@ public class ThreadPoolOperationExecutor implements OperationExecutor
         }
         try
         {
+            long shutdownStartTimeAsMilli = timeSource.nowAsMilli();
+            // operations still in the timer wheel must reach the thread pool before it stops accepting them
+            if ( null != timerWheel && !timerWheel.shutdown( waitAsMilli ) )
+            {
+                threadPoolExecutorService.shutdownNow();
+                throw new OperationExecutorException( format(
+                        "%s shutdown before all handlers could complete\n%s handlers were not yet dispatched",
+                        getClass().getSimpleName(),
+                        timerWheel.pendingCount() ) );
+            }
+            long remainingWaitAsMilli =
+                    Math.max( 0, waitAsMilli - (timeSource.nowAsMilli() - shutdownStartTimeAsMilli) );
             threadPoolExecutorService.shutdown();
             boolean allHandlersCompleted =
-                    threadPoolExecutorService.awaitTermination( waitAsMilli, TimeUnit.MILLISECONDS );
+                    threadPoolExecutorService.awaitTermination( remainingWaitAsMilli, TimeUnit.MILLISECONDS );
             if ( !allHandlersCompleted )
             {
                 List<Runnable> stillRunningThreads = threadPoolExecutorService.shutdownNow();
@@ -145,7 +288,6 @@ public class ThreadPoolOperationExecutor implements OperationExecutor
     private static class ThreadPoolExecutorWithAfterExecute extends ThreadPoolExecutor
     {
         private final ChildOperationGenerator childOperationGenerator;
-        private final ChildOperationExecutor childOperationExecutor;
         private final OperationHandlerRunnableContextRetriever operationHandlerRunnableContextRetriever;
         private final ConcurrentErrorReporter errorReporter;
 
@@ -155,14 +297,38 @@ public class ThreadPoolOperationExecutor implements OperationExecutor
                 int boundedQueueSize,
                 ChildOperationGenerator childOperationGenerator,
                 OperationHandlerRunnableContextRetriever operationHandlerRunnableContextInitializer,
-                ConcurrentErrorReporter errorReporter )
+                ConcurrentErrorReporter errorReporter,
+                TimerWheel timerWheel,
+                TimeSource timeSource,
+                Comparator<Runnable> workQueueComparator )
         {
             int corePoolSize = threadCount;
             int maximumPoolSize = threadCount;
             long keepAliveTime = 0;
             TimeUnit unit = TimeUnit.MILLISECONDS;
+            if ( null != workQueueComparator )
+            {
+                ThreadPoolExecutorWithAfterExecute threadPoolExecutor = new ThreadPoolExecutorWithAfterExecute(
+                        corePoolSize,
+                        maximumPoolSize,
+                        keepAliveTime,
+                        unit,
+                        DefaultQueues.newBoundedPriority( boundedQueueSize, workQueueComparator ),
+                        threadFactory,
+                        uncompletedHandlers,
+                        childOperationGenerator,
+                        operationHandlerRunnableContextInitializer,
+                        errorReporter,
+                        timerWheel,
+                        timeSource
+                );
+                // the priority queue does not block when full, the pool rejects instead and the policy waits
+                threadPoolExecutor.setRejectedExecutionHandler( new WaitForCapacityPolicy() );
+                threadPoolExecutor.prestartAllCoreThreads();
+                return threadPoolExecutor;
+            }
             BlockingQueue<Runnable> workQueue = DefaultQueues.newAlwaysBlockingBounded( boundedQueueSize );
-            return new ThreadPoolExecutorWithAfterExecute(
+            ThreadPoolExecutorWithAfterExecute threadPoolExecutor = new ThreadPoolExecutorWithAfterExecute(
                     corePoolSize,
                     maximumPoolSize,
                     keepAliveTime,
@@ -172,11 +338,17 @@ public class ThreadPoolOperationExecutor implements OperationExecutor
                     uncompletedHandlers,
                     childOperationGenerator,
                     operationHandlerRunnableContextInitializer,
-                    errorReporter
+                    errorReporter,
+                    timerWheel,
+                    timeSource
             );
+            threadPoolExecutor.prestartAllCoreThreads();
+            return threadPoolExecutor;
         }
 
         private final AtomicLong uncompletedHandlers;
+        private final TimerWheel timerWheel;
+        private final TimeSource timeSource;
 
         private ThreadPoolExecutorWithAfterExecute( int corePoolSize,
                 int maximumPoolSize,
@@ -187,33 +359,61 @@ public class ThreadPoolOperationExecutor implements OperationExecutor
                 AtomicLong uncompletedHandlers,
                 ChildOperationGenerator childOperationGenerator,
                 OperationHandlerRunnableContextRetriever operationHandlerRunnableContextRetriever,
-                ConcurrentErrorReporter errorReporter )
+                ConcurrentErrorReporter errorReporter,
+                TimerWheel timerWheel,
+                TimeSource timeSource )
         {
             super( corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory );
-            this.childOperationExecutor = new ChildOperationExecutor();
             this.uncompletedHandlers = uncompletedHandlers;
             this.childOperationGenerator = childOperationGenerator;
             this.operationHandlerRunnableContextRetriever = operationHandlerRunnableContextRetriever;
             this.errorReporter = errorReporter;
+            this.timerWheel = timerWheel;
+            this.timeSource = timeSource;
+        }
+
+        /**
+         * Offers the task to the work queue without waiting for capacity. All workers are started up front, so a
+         * queued task is always picked up.
+         *
+         * @return false if the work queue is full
+         */
+        boolean tryExecute( Runnable task ) throws InterruptedException
+        {
+            if ( isShutdown() )
+            {
+                throw new RejectedExecutionException( "Executor has been shutdown" );
+            }
+            return getQueue().offer( task, 0, TimeUnit.MILLISECONDS );
         }
 
         // Note, this occurs in same worker thread as beforeExecute() and run()
+        // Child operations that are already due run here, one after the other, as a chain must not lose its place to
+        // the operations queued behind it. The first child operation that is not due yet is submitted as a task of
+        // its own, carrying the child operation generator state with it, so the worker is not held while it waits
+        // for the scheduled start time of the child operation.
         @Override
         protected void afterExecute( Runnable runnable, Throwable throwable )
         {
             super.afterExecute( runnable, throwable );
-            OperationHandlerRunnableContext operationHandlerRunnableContext =
-                    (OperationHandlerRunnableContext) runnable;
+            OperationHandlerRunnableContext operationHandlerRunnableContext;
+            double state;
+            if ( runnable instanceof ChildOperationTask )
+            {
+                ChildOperationTask childOperationTask = (ChildOperationTask) runnable;
+                operationHandlerRunnableContext = childOperationTask.operationHandlerRunnableContext();
+                state = childOperationGenerator.updateState(
+                        childOperationTask.state(),
+                        operationHandlerRunnableContext.operation().type() );
+            }
+            else
+            {
+                operationHandlerRunnableContext = (OperationHandlerRunnableContext) runnable;
+                state = (null == childOperationGenerator) ? 0 : childOperationGenerator.initialState();
+            }
             try
             {
-                childOperationExecutor.execute(
-                        childOperationGenerator,
-                        operationHandlerRunnableContext.operation(),
-                        operationHandlerRunnableContext.resultReporter().result(),
-                        operationHandlerRunnableContext.resultReporter().actualStartTimeAsMilli(),
-                        operationHandlerRunnableContext.resultReporter().runDurationAsNano(),
-                        operationHandlerRunnableContextRetriever
-                );
+                submitNextChildOperation( operationHandlerRunnableContext, state );
             }
             catch ( Throwable e )
             {
@@ -226,5 +426,223 @@ public class ThreadPoolOperationExecutor implements OperationExecutor
                 operationHandlerRunnableContext.cleanup();
             }
         }
+
+        private void submitNextChildOperation( OperationHandlerRunnableContext completedHandlerRunnableContext,
+                double state )
+                throws WorkloadException, DbException, OperationExecutorException, CompletionTimeException,
+                InterruptedException
+        {
+            if ( null == childOperationGenerator )
+            {
+                return;
+            }
+            OperationHandlerRunnableContext previousHandlerRunnableContext = completedHandlerRunnableContext;
+            while ( true )
+            {
+                Operation childOperation = childOperationGenerator.nextOperation(
+                        state,
+                        previousHandlerRunnableContext.operation(),
+                        previousHandlerRunnableContext.resultReporter().result(),
+                        previousHandlerRunnableContext.resultReporter().actualStartTimeAsMilli(),
+                        previousHandlerRunnableContext.resultReporter().runDurationAsNano()
+                );
+                if ( previousHandlerRunnableContext != completedHandlerRunnableContext )
+                {
+                    previousHandlerRunnableContext.cleanup();
+                }
+                if ( null == childOperation )
+                {
+                    return;
+                }
+                OperationHandlerRunnableContext childHandlerRunnableContext =
+                        operationHandlerRunnableContextRetriever.getInitializedHandlerFor( childOperation );
+                uncompletedHandlers.incrementAndGet();
+                if ( childOperation.scheduledStartTimeAsMilli() > timeSource.nowAsMilli() )
+                {
+                    ChildOperationTask childOperationTask =
+                            new ChildOperationTask( childHandlerRunnableContext, state );
+                    if ( null != timerWheel &&
+                         scheduleOnTimerWheel( childOperation.scheduledStartTimeAsMilli(), childOperationTask ) )
+                    {
+                        return;
+                    }
+                    // without a timer wheel it waits in the work queue like any other operation, but the work queue
+                    // blocks when full and a worker must never wait on it or all workers could deadlock
+                    if ( !isShutdown() && getQueue().offer( childOperationTask, 0, TimeUnit.MILLISECONDS ) )
+                    {
+                        return;
+                    }
+                }
+                // child operation is due, or can not be deferred, run it on this worker straight away
+                try
+                {
+                    childHandlerRunnableContext.run();
+                }
+                finally
+                {
+                    uncompletedHandlers.decrementAndGet();
+                }
+                state = childOperationGenerator.updateState( state, childOperation.type() );
+                previousHandlerRunnableContext = childHandlerRunnableContext;
+            }
+        }
+
+        // the timer wheel, not the worker, waits when the work queue is full
+        private boolean scheduleOnTimerWheel( long dueTimeAsMilli, ChildOperationTask childOperationTask )
+        {
+            try
+            {
+                timerWheel.schedule( dueTimeAsMilli, new DispatchTask( this, childOperationTask, null ) );
+                return true;
+            }
+            catch ( IllegalStateException e )
+            {
+                // timer wheel has been shutdown
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Waits for the work queue to have capacity, rather than blocking inside it, so the waiting thread notices when
+     * the pool is shut down. Only execute() and the timer wheel wait here, tryExecute() never does.
+     */
+    private static class WaitForCapacityPolicy implements RejectedExecutionHandler
+    {
+        private static final long CAPACITY_CHECK_INTERVAL_AS_MILLI = 10;
+
+        @Override
+        public void rejectedExecution( Runnable runnable, ThreadPoolExecutor executor )
+        {
+            try
+            {
+                do
+                {
+                    // a pool that has been shutdown may have no workers left to take the task
+                    if ( executor.isShutdown() )
+                    {
+                        throw new RejectedExecutionException( "Executor has been shutdown" );
+                    }
+                }
+                while ( !executor.getQueue().offer( runnable, CAPACITY_CHECK_INTERVAL_AS_MILLI,
+                        TimeUnit.MILLISECONDS ) );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException( "Interrupted while waiting for work queue capacity", e );
+            }
+        }
+    }
+
+    /**
+     * Orders queued operations by deadline, i.e., scheduled start time plus the deadline offset of the operation
+     * type, then by scheduled start time and then by time stamp
+     */
+    private static class DeadlineComparator implements Comparator<Runnable>
+    {
+        private final long[] deadlineOffsetsAsMilli;
+
+        private DeadlineComparator( long[] deadlineOffsetsAsMilli )
+        {
+            this.deadlineOffsetsAsMilli = deadlineOffsetsAsMilli;
+        }
+
+        @Override
+        public int compare( Runnable runnable1, Runnable runnable2 )
+        {
+            Operation operation1 = operationOf( runnable1 );
+            Operation operation2 = operationOf( runnable2 );
+            int result = Long.compare( deadlineOf( operation1 ), deadlineOf( operation2 ) );
+            if ( 0 != result )
+            {
+                return result;
+            }
+            result = Long.compare( operation1.scheduledStartTimeAsMilli(), operation2.scheduledStartTimeAsMilli() );
+            if ( 0 != result )
+            {
+                return result;
+            }
+            return Long.compare( operation1.timeStamp(), operation2.timeStamp() );
+        }
+
+        private long deadlineOf( Operation operation )
+        {
+            int type = operation.type();
+            long deadlineOffsetAsMilli =
+                    (type >= 0 && type < deadlineOffsetsAsMilli.length) ? deadlineOffsetsAsMilli[type] : 0;
+            return operation.scheduledStartTimeAsMilli() + deadlineOffsetAsMilli;
+        }
+
+        private static Operation operationOf( Runnable runnable )
+        {
+            return (runnable instanceof ChildOperationTask)
+                   ? ((ChildOperationTask) runnable).operationHandlerRunnableContext().operation()
+                   : ((OperationHandlerRunnableContext) runnable).operation();
+        }
+    }
+
+    /**
+     * Hands a due task over to the thread pool, from the timer wheel thread
+     */
+    private static class DispatchTask implements Runnable
+    {
+        private final ExecutorService threadPoolExecutorService;
+        private final Runnable task;
+        private final Semaphore permits;
+
+        private DispatchTask( ExecutorService threadPoolExecutorService, Runnable task, Semaphore permits )
+        {
+            this.threadPoolExecutorService = threadPoolExecutorService;
+            this.task = task;
+            this.permits = permits;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                threadPoolExecutorService.execute( task );
+            }
+            finally
+            {
+                if ( null != permits )
+                {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Child operation handler, together with the child operation generator state it was generated in
+     */
+    private static class ChildOperationTask implements Runnable
+    {
+        private final OperationHandlerRunnableContext operationHandlerRunnableContext;
+        private final double state;
+
+        private ChildOperationTask( OperationHandlerRunnableContext operationHandlerRunnableContext, double state )
+        {
+            this.operationHandlerRunnableContext = operationHandlerRunnableContext;
+            this.state = state;
+        }
+
+        OperationHandlerRunnableContext operationHandlerRunnableContext()
+        {
+            return operationHandlerRunnableContext;
+        }
+
+        double state()
+        {
+            return state;
+        }
+
+        @Override
+        public void run()
+        {
+            operationHandlerRunnableContext.run();
+        }
     }
 }
@@ -0,0 +1,241 @@
+package org.ldbcouncil.snb.driver.runtime.metrics;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static java.lang.String.format;
+
+/**
+ * Streams records of a results log written by {@link BinaryResultsLogWriter}, one block in memory at a time.
+ * <p/>
+ * A block that was cut short, e.g., because the driver was killed mid-write, ends the stream.
+ */
+public class BinaryResultsLogReader implements ResultsLogReader
+{
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final DataInputStream inputStream;
+    private final TimeUnit unit;
+    private final Inflater inflater;
+    private final List<String> operationNames = new ArrayList<>();
+    private byte[] storedBlock = new byte[0];
+    private byte[] recordsBlock = new byte[0];
+    private ByteBuffer records = ByteBuffer.allocate( 0 );
+    private boolean hasRow = false;
+
+    private String operationName;
+    private long scheduledStartTimeAsMilli;
+    private long actualStartTimeAsMilli;
+    private long runDurationAsNano;
+    private int resultCode;
+    private long originalStartTime;
+
+    public static boolean isBinaryResultsLog( File resultsLog ) throws IOException
+    {
+        if ( resultsLog.length() < 8 )
+        {
+            return false;
+        }
+        try ( DataInputStream inputStream = new DataInputStream( new FileInputStream( resultsLog ) ) )
+        {
+            return BinaryResultsLogWriter.MAGIC == inputStream.readLong();
+        }
+    }
+
+    public BinaryResultsLogReader( File resultsLog ) throws IOException
+    {
+        this.inputStream = new DataInputStream(
+                new BufferedInputStream( new FileInputStream( resultsLog ), READ_BUFFER_SIZE ) );
+        try
+        {
+            if ( BinaryResultsLogWriter.MAGIC != inputStream.readLong() )
+            {
+                throw new IOException( format( "Not a binary results log: %s", resultsLog.getAbsolutePath() ) );
+            }
+            int version = inputStream.readInt();
+            if ( BinaryResultsLogWriter.VERSION != version )
+            {
+                throw new IOException( format( "Unsupported binary results log version: %s", version ) );
+            }
+            byte compression = inputStream.readByte();
+            this.inflater = (BinaryResultsLogWriter.COMPRESSION_DEFLATE == compression) ? new Inflater() : null;
+            byte[] unitName = new byte[inputStream.readShort()];
+            inputStream.readFully( unitName );
+            this.unit = TimeUnit.valueOf( new String( unitName, StandardCharsets.UTF_8 ) );
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            inputStream.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean next()
+    {
+        try
+        {
+            while ( records.remaining() < BinaryResultsLogWriter.RECORD_SIZE )
+            {
+                if ( !readBlock() )
+                {
+                    hasRow = false;
+                    return false;
+                }
+            }
+        }
+        catch ( IOException | DataFormatException e )
+        {
+            throw new RuntimeException( "Error reading binary results log", e );
+        }
+        operationName = operationNames.get( records.getInt() );
+        scheduledStartTimeAsMilli = records.getLong();
+        actualStartTimeAsMilli = records.getLong();
+        runDurationAsNano = records.getLong();
+        resultCode = records.getInt();
+        originalStartTime = records.getLong();
+        hasRow = true;
+        return true;
+    }
+
+    private boolean readBlock() throws IOException, DataFormatException
+    {
+        byte kind;
+        int uncompressedLength;
+        int storedLength;
+        try
+        {
+            kind = inputStream.readByte();
+            uncompressedLength = inputStream.readInt();
+            storedLength = inputStream.readInt();
+            if ( storedBlock.length < storedLength )
+            {
+                storedBlock = new byte[storedLength];
+            }
+            inputStream.readFully( storedBlock, 0, storedLength );
+        }
+        catch ( EOFException e )
+        {
+            return false;
+        }
+
+        if ( BinaryResultsLogWriter.BLOCK_KIND_OPERATION_NAME == kind )
+        {
+            ByteBuffer definition = ByteBuffer.wrap( storedBlock, 0, storedLength );
+            int operationId = definition.getInt();
+            byte[] name = new byte[definition.getShort()];
+            definition.get( name );
+            if ( operationId != operationNames.size() )
+            {
+                throw new IOException( format( "Unexpected operation id %s, expected %s",
+                        operationId, operationNames.size() ) );
+            }
+            operationNames.add( new String( name, StandardCharsets.UTF_8 ) );
+            records = ByteBuffer.allocate( 0 );
+        }
+        else if ( BinaryResultsLogWriter.BLOCK_KIND_RECORDS == kind )
+        {
+            if ( null == inflater )
+            {
+                records = ByteBuffer.wrap( storedBlock, 0, storedLength );
+            }
+            else
+            {
+                if ( recordsBlock.length < uncompressedLength )
+                {
+                    recordsBlock = new byte[uncompressedLength];
+                }
+                inflater.reset();
+                inflater.setInput( storedBlock, 0, storedLength );
+                int inflatedLength = 0;
+                while ( inflatedLength < uncompressedLength && !inflater.finished() )
+                {
+                    inflatedLength += inflater.inflate( recordsBlock, inflatedLength, uncompressedLength - inflatedLength );
+                }
+                records = ByteBuffer.wrap( recordsBlock, 0, inflatedLength );
+            }
+        }
+        else
+        {
+            throw new IOException( format( "Unexpected block kind: %s", kind ) );
+        }
+        return true;
+    }
+
+    @Override
+    public TimeUnit unit()
+    {
+        return unit;
+    }
+
+    @Override
+    public String getOperationName()
+    {
+        assertHasRow();
+        return operationName;
+    }
+
+    @Override
+    public long getScheduledStartTimeAsMilli()
+    {
+        assertHasRow();
+        return scheduledStartTimeAsMilli;
+    }
+
+    @Override
+    public long getActualStartTimeAsMilli()
+    {
+        assertHasRow();
+        return actualStartTimeAsMilli;
+    }
+
+    @Override
+    public long getRunDurationAsNano()
+    {
+        assertHasRow();
+        return runDurationAsNano;
+    }
+
+    @Override
+    public int getResultCode()
+    {
+        assertHasRow();
+        return resultCode;
+    }
+
+    @Override
+    public long getOriginalStartTime()
+    {
+        assertHasRow();
+        return originalStartTime;
+    }
+
+    private void assertHasRow()
+    {
+        if ( !hasRow )
+        {
+            throw new RuntimeException( "Nothing to read. Reader has not been advanced or has reached EOF." );
+        }
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        inputStream.close();
+        if ( null != inflater )
+        {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.ldbcouncil.snb.driver.runtime.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import static java.lang.String.format;
+
+/**
+ * Writes results log as fixed width binary records, optionally deflate compressed, instead of text rows.
+ * <p/>
+ * Layout, all values big endian:
+ * <pre>
+ * header:  long MAGIC | int VERSION | byte compression | short unit name length | unit name (UTF-8)
+ * blocks:  byte kind | int uncompressed length | int stored length | stored bytes
+ * </pre>
+ * Block kinds are operation name definitions (int id | short name length | name (UTF-8)), written the first time a
+ * name is encountered, and batches of records. Records are:
+ * <pre>
+ * int operation id | long scheduled start | long actual start | long duration (ns) | int result code |
+ * long original start
+ * </pre>
+ * Durations are kept in nanoseconds, the unit is only applied when converting to CSV.
+ * <p/>
+ * Not thread-safe, it is written to by a single metrics consumer thread.
+ */
+public class BinaryResultsLogWriter implements ResultsLogWriter
+{
+    static final long MAGIC = 0x4C44424352534C47L;
+    static final int VERSION = 1;
+    static final byte COMPRESSION_NONE = 0;
+    static final byte COMPRESSION_DEFLATE = 1;
+    static final byte BLOCK_KIND_OPERATION_NAME = 1;
+    static final byte BLOCK_KIND_RECORDS = 2;
+    static final int BLOCK_HEADER_SIZE = 1 + 4 + 4;
+    static final int RECORD_SIZE = 4 + 8 + 8 + 8 + 4 + 8;
+    public static final int DEFAULT_RECORDS_PER_BLOCK = 4096;
+
+    private final FileChannel channel;
+    private final boolean compress;
+    private final boolean flushLog;
+    private final Map<String,Integer> operationIds = new HashMap<>();
+    private final ByteBuffer recordsBuffer;
+    private final ByteBuffer blockHeaderBuffer;
+    private final Deflater deflater;
+    private final byte[] deflateBuffer;
+
+    public BinaryResultsLogWriter( File resultsLog, TimeUnit unit, boolean flushLog, boolean compress )
+            throws IOException
+    {
+        this( resultsLog, unit, flushLog, compress, DEFAULT_RECORDS_PER_BLOCK );
+    }
+
+    public BinaryResultsLogWriter( File resultsLog,
+            TimeUnit unit,
+            boolean flushLog,
+            boolean compress,
+            int recordsPerBlock ) throws IOException
+    {
+        resultsLog.createNewFile();
+        this.channel = new FileOutputStream( resultsLog ).getChannel();
+        this.compress = compress;
+        this.flushLog = flushLog;
+        this.blockHeaderBuffer = ByteBuffer.allocateDirect( BLOCK_HEADER_SIZE );
+        if ( compress )
+        {
+            // Deflater only accepts arrays on Java 8, so compressed blocks are staged on heap
+            this.recordsBuffer = ByteBuffer.allocate( recordsPerBlock * RECORD_SIZE );
+            this.deflater = new Deflater( Deflater.BEST_SPEED );
+            this.deflateBuffer = new byte[recordsPerBlock * RECORD_SIZE + 64];
+        }
+        else
+        {
+            this.recordsBuffer = ByteBuffer.allocateDirect( recordsPerBlock * RECORD_SIZE );
+            this.deflater = null;
+            this.deflateBuffer = null;
+        }
+
+        byte[] unitName = unit.name().getBytes( StandardCharsets.UTF_8 );
+        ByteBuffer header = ByteBuffer.allocate( 8 + 4 + 1 + 2 + unitName.length );
+        header.putLong( MAGIC );
+        header.putInt( VERSION );
+        header.put( (compress) ? COMPRESSION_DEFLATE : COMPRESSION_NONE );
+        header.putShort( (short) unitName.length );
+        header.put( unitName );
+        header.flip();
+        writeFully( header );
+    }
+
+    @Override
+    public void write(
+            String operationName,
+            long scheduledStartTimeAsMilli,
+            long actualStartTimeAsMilli,
+            long runDurationAsNano,
+            int resultCode,
+            long originalStartTime ) throws IOException
+    {
+        Integer operationId = operationIds.get( operationName );
+        if ( null == operationId )
+        {
+            operationId = defineOperationName( operationName );
+        }
+        if ( recordsBuffer.remaining() < RECORD_SIZE )
+        {
+            flushRecords();
+        }
+        recordsBuffer.putInt( operationId );
+        recordsBuffer.putLong( scheduledStartTimeAsMilli );
+        recordsBuffer.putLong( actualStartTimeAsMilli );
+        recordsBuffer.putLong( runDurationAsNano );
+        recordsBuffer.putInt( resultCode );
+        recordsBuffer.putLong( originalStartTime );
+        if ( flushLog )
+        {
+            flushRecords();
+        }
+    }
+
+    private int defineOperationName( String operationName ) throws IOException
+    {
+        // records already buffered can not refer to the new name, but keep blocks in submission order anyway
+        flushRecords();
+        int operationId = operationIds.size();
+        byte[] name = operationName.getBytes( StandardCharsets.UTF_8 );
+        if ( name.length > Short.MAX_VALUE )
+        {
+            throw new IOException( format( "Operation name too long: %s", operationName ) );
+        }
+        ByteBuffer definition = ByteBuffer.allocate( 4 + 2 + name.length );
+        definition.putInt( operationId );
+        definition.putShort( (short) name.length );
+        definition.put( name );
+        definition.flip();
+        writeBlock( BLOCK_KIND_OPERATION_NAME, definition.remaining(), definition );
+        operationIds.put( operationName, operationId );
+        return operationId;
+    }
+
+    private void flushRecords() throws IOException
+    {
+        if ( 0 == recordsBuffer.position() )
+        {
+            return;
+        }
+        recordsBuffer.flip();
+        int uncompressedLength = recordsBuffer.remaining();
+        if ( compress )
+        {
+            deflater.reset();
+            deflater.setInput( recordsBuffer.array(), 0, uncompressedLength );
+            deflater.finish();
+            int compressedLength = 0;
+            while ( !deflater.finished() )
+            {
+                compressedLength +=
+                        deflater.deflate( deflateBuffer, compressedLength, deflateBuffer.length - compressedLength );
+            }
+            writeBlock( BLOCK_KIND_RECORDS, uncompressedLength, ByteBuffer.wrap( deflateBuffer, 0, compressedLength ) );
+        }
+        else
+        {
+            writeBlock( BLOCK_KIND_RECORDS, uncompressedLength, recordsBuffer );
+        }
+        recordsBuffer.clear();
+    }
+
+    private void writeBlock( byte kind, int uncompressedLength, ByteBuffer stored ) throws IOException
+    {
+        blockHeaderBuffer.clear();
+        blockHeaderBuffer.put( kind );
+        blockHeaderBuffer.putInt( uncompressedLength );
+        blockHeaderBuffer.putInt( stored.remaining() );
+        blockHeaderBuffer.flip();
+        writeFully( blockHeaderBuffer );
+        writeFully( stored );
+    }
+
+    private void writeFully( ByteBuffer buffer ) throws IOException
+    {
+        while ( buffer.hasRemaining() )
+        {
+            channel.write( buffer );
+        }
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        try
+        {
+            flushRecords();
+        }
+        finally
+        {
+            channel.close();
+            if ( null != deflater )
+            {
+                deflater.end();
+            }
+        }
+    }
+}
@@ -10,58 +10,62 @@ import uk.co.real_logic.sbe.codec.java.DirectBuffer;
 
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicStampedReference;
 
 import static java.lang.String.format;
 
+/**
+ * Aggregates histograms of one shard of operation types, those where operationType % shardCount == shardIndex.
+ * <p/>
+ * On status/results requests it captures a partial snapshot of its shard, which is merged with those of the other
+ * shards by DisruptorSbeMetricsSnapshotEventHandler. As shards own disjoint sets of operation types no histograms
+ * need to be merged, only the per operation type snapshots collected.
+ */
 class DisruptorSbeMetricsEventHandler implements EventHandler<DirectBuffer>
 {
-    private final AtomicStampedReference<WorkloadStatusSnapshot> statusSnapshotReference =
-            new AtomicStampedReference<>( null, 0 );
-    private final AtomicStampedReference<WorkloadResultsSnapshot> resultsSnapshotReference =
-            new AtomicStampedReference<>( null, 0 );
-
     private final MetricsManager metricsManager;
     private final ConcurrentErrorReporter errorReporter;
-    private final ResultsLogWriter resultsLogWriter;
-    private long processedEventCount = 0L;
-    private final String[] operationNames;
+    private final int shardIndex;
+    private final int shardCount;
     private final MetricsEvent metricsEvent;
+    private volatile PartialStatusSnapshot statusSnapshot = null;
+    private volatile WorkloadResultsSnapshot resultsSnapshot = null;
 
     DisruptorSbeMetricsEventHandler(
             ConcurrentErrorReporter errorReporter,
-            ResultsLogWriter resultsLogWriter,
             TimeUnit unit,
             TimeSource timeSource,
             long maxRuntimeDurationAsNano,
             Map<Integer,Class<? extends Operation>> operationTypeToClassMapping,
-            LoggingServiceFactory loggingServiceFactory ) throws MetricsCollectionException
+            LoggingServiceFactory loggingServiceFactory,
+            int shardIndex,
+            int shardCount ) throws MetricsCollectionException
     {
         this.errorReporter = errorReporter;
-        this.resultsLogWriter = resultsLogWriter;
         this.metricsManager = new MetricsManager(
                 timeSource,
                 unit,
                 maxRuntimeDurationAsNano,
                 operationTypeToClassMapping,
                 loggingServiceFactory );
-        operationNames = MetricsManager.toOperationNameArray( operationTypeToClassMapping );
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
         this.metricsEvent = new MetricsEvent();
     }
 
-    AtomicStampedReference<WorkloadStatusSnapshot> statusSnapshot()
-    {
-        return statusSnapshotReference;
-    }
-
-    AtomicStampedReference<WorkloadResultsSnapshot> resultsSnapshot()
+    /**
+     * @return partial status captured at the most recent status request this shard processed
+     */
+    PartialStatusSnapshot statusSnapshot()
     {
-        return resultsSnapshotReference;
+        return statusSnapshot;
     }
 
-    long processedEventCount()
+    /**
+     * @return partial results captured at the most recent results request this shard processed
+     */
+    WorkloadResultsSnapshot resultsSnapshot()
     {
-        return processedEventCount;
+        return resultsSnapshot;
     }
 
     @Override
@@ -79,48 +83,27 @@ class DisruptorSbeMetricsEventHandler implements EventHandler<DirectBuffer>
         case DisruptorSbeMetricsEvent.SUBMIT_OPERATION_RESULT:
         {
             int operationType = metricsEvent.operationType();
-            long scheduledStartTimeAsMilli = metricsEvent.scheduledStartTimeAsMilli();
-            long actualStartTimeAsMilli = metricsEvent.actualStartTimeAsMilli();
-            long runDurationAsNano = metricsEvent.runDurationAsNano();
-            int resultCode = metricsEvent.resultCode();
-            long originalStartTime = metricsEvent.originalStartTime();
-
-            resultsLogWriter.write(
-                    operationNames[operationType],
-                    scheduledStartTimeAsMilli,
-                    actualStartTimeAsMilli,
-                    runDurationAsNano,
-                    resultCode,
-                    originalStartTime );
-
-            metricsManager.measure( actualStartTimeAsMilli, runDurationAsNano, operationType );
-            processedEventCount++;
+            if ( operationType % shardCount == shardIndex )
+            {
+                metricsManager.measure(
+                        metricsEvent.scheduledStartTimeAsMilli(),
+                        metricsEvent.actualStartTimeAsMilli(),
+                        metricsEvent.runDurationAsNano(),
+                        operationType );
+            }
             break;
         }
         case DisruptorSbeMetricsEvent.GET_WORKLOAD_STATUS:
         {
-            WorkloadStatusSnapshot newStatus = metricsManager.status();
-            WorkloadStatusSnapshot oldStatus;
-            int oldStamp;
-            do
-            {
-                oldStatus = statusSnapshotReference.getReference();
-                oldStamp = statusSnapshotReference.getStamp();
-            }
-            while ( !statusSnapshotReference.compareAndSet( oldStatus, newStatus, oldStamp, oldStamp + 1 ) );
+            statusSnapshot = new PartialStatusSnapshot(
+                    metricsManager.startTimeAsMilli(),
+                    metricsManager.latestFinishTimeAsMilli(),
+                    metricsManager.totalOperationCount() );
             break;
         }
         case DisruptorSbeMetricsEvent.GET_WORKLOAD_RESULTS:
         {
-            WorkloadResultsSnapshot newResults = metricsManager.snapshot();
-            WorkloadResultsSnapshot oldResults;
-            int oldStamp;
-            do
-            {
-                oldResults = resultsSnapshotReference.getReference();
-                oldStamp = resultsSnapshotReference.getStamp();
-            }
-            while ( !resultsSnapshotReference.compareAndSet( oldResults, newResults, oldStamp, oldStamp + 1 ) );
+            resultsSnapshot = metricsManager.snapshot();
             break;
         }
         default:
@@ -130,4 +113,33 @@ class DisruptorSbeMetricsEventHandler implements EventHandler<DirectBuffer>
         }
         }
     }
+
+    static class PartialStatusSnapshot
+    {
+        private final long startTimeAsMilli;
+        private final long latestFinishTimeAsMilli;
+        private final long operationCount;
+
+        private PartialStatusSnapshot( long startTimeAsMilli, long latestFinishTimeAsMilli, long operationCount )
+        {
+            this.startTimeAsMilli = startTimeAsMilli;
+            this.latestFinishTimeAsMilli = latestFinishTimeAsMilli;
+            this.operationCount = operationCount;
+        }
+
+        long startTimeAsMilli()
+        {
+            return startTimeAsMilli;
+        }
+
+        long latestFinishTimeAsMilli()
+        {
+            return latestFinishTimeAsMilli;
+        }
+
+        long operationCount()
+        {
+            return operationCount;
+        }
+    }
 }
@@ -6,10 +6,16 @@ import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
 import org.ldbcouncil.snb.driver.runtime.metrics.sbe.MetricsEvent;
 import org.ldbcouncil.snb.driver.temporal.TimeSource;
 import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventTranslator;
 import com.lmax.disruptor.EventTranslatorVararg;
+import com.lmax.disruptor.LiteBlockingWaitStrategy;
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
 import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
 import uk.co.real_logic.sbe.codec.java.DirectBuffer;
@@ -32,19 +38,56 @@ import static org.ldbcouncil.snb.driver.runtime.metrics.DisruptorSbeMetricsEvent
 import static org.ldbcouncil.snb.driver.runtime.metrics.DisruptorSbeMetricsEvent.SUBMIT_OPERATION_RESULT;
 import static java.lang.String.format;
 
+/**
+ * Metrics service backed by a Disruptor ring buffer.
+ * <p/>
+ * Consumers form a two stage pipeline: the results log writer and N histogram shards process every event in
+ * parallel, each shard aggregating only its partition of operation types. A final stage merges the partial shard
+ * snapshots whenever status or results are requested, so no consumer is shared and no histogram is ever touched by
+ * more than one thread.
+ */
 public class DisruptorSbeMetricsService implements MetricsService
 {
     private static final long SHUTDOWN_WAIT_TIMEOUT_AS_MILLI = TimeUnit.SECONDS.toMillis( 5 );
 
     // TODO this could come from config, if we had a max_runtime parameter. for now, it can default to something
     public static final long DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO = TimeUnit.MINUTES.toNanos( 90 );
+    public static final int DEFAULT_RING_BUFFER_SIZE = 16384;
+    public static final WaitStrategyType DEFAULT_WAIT_STRATEGY = WaitStrategyType.BLOCKING;
+    public static final int DEFAULT_HISTOGRAM_SHARD_COUNT = 1;
+
+    public enum WaitStrategyType
+    {
+        BLOCKING,
+        LITE_BLOCKING,
+        SLEEPING,
+        YIELDING,
+        BUSY_SPIN;
+
+        WaitStrategy newWaitStrategy()
+        {
+            switch ( this )
+            {
+            case LITE_BLOCKING:
+                return new LiteBlockingWaitStrategy();
+            case SLEEPING:
+                return new SleepingWaitStrategy();
+            case YIELDING:
+                return new YieldingWaitStrategy();
+            case BUSY_SPIN:
+                return new BusySpinWaitStrategy();
+            default:
+                return new BlockingWaitStrategy();
+            }
+        }
+    }
 
     private final AtomicLong initiatedEvents = new AtomicLong( 0 );
     private final AtomicBoolean shutdown = new AtomicBoolean( false );
     private final TimeSource timeSource;
     private final RingBuffer<DirectBuffer> ringBuffer;
     private final Disruptor<DirectBuffer> disruptor;
-    private final DisruptorSbeMetricsEventHandler eventHandler;
+    private final DisruptorSbeMetricsSnapshotEventHandler eventHandler;
     private final ConcurrentLinkedQueue<DisruptorSbeMetricsServiceWriter> metricsServiceWriters;
     private final ExecutorService executor;
 
@@ -56,40 +99,87 @@ public class DisruptorSbeMetricsService implements MetricsService
             ResultsLogWriter resultsLogWriter,
             Map<Integer,Class<? extends Operation>> operationTypeToClassMapping,
             LoggingServiceFactory loggingServiceFactory ) throws MetricsCollectionException
+    {
+        this(
+                timeSource,
+                errorReporter,
+                timeUnit,
+                maxRuntimeDurationAsNano,
+                resultsLogWriter,
+                operationTypeToClassMapping,
+                loggingServiceFactory,
+                DEFAULT_RING_BUFFER_SIZE,
+                DEFAULT_WAIT_STRATEGY,
+                DEFAULT_HISTOGRAM_SHARD_COUNT
+        );
+    }
+
+    public DisruptorSbeMetricsService(
+            TimeSource timeSource,
+            ConcurrentErrorReporter errorReporter,
+            TimeUnit timeUnit,
+            long maxRuntimeDurationAsNano,
+            ResultsLogWriter resultsLogWriter,
+            Map<Integer,Class<? extends Operation>> operationTypeToClassMapping,
+            LoggingServiceFactory loggingServiceFactory,
+            int ringBufferSize,
+            WaitStrategyType waitStrategyType,
+            int histogramShardCount ) throws MetricsCollectionException
     {
         // Specify the size of the ring buffer, must be power of 2
-        int bufferSize = 1024;
+        if ( ringBufferSize < 1 || Integer.bitCount( ringBufferSize ) != 1 )
+        {
+            throw new MetricsCollectionException(
+                    format( "Ring buffer size must be a power of 2: %s", ringBufferSize ) );
+        }
+        if ( histogramShardCount < 1 )
+        {
+            throw new MetricsCollectionException(
+                    format( "Histogram shard count must be at least 1: %s", histogramShardCount ) );
+        }
 
-        this.executor = Executors.newSingleThreadExecutor();
+        // One thread per consumer: results log, histogram shards, and snapshot merger
+        this.executor = Executors.newFixedThreadPool( histogramShardCount + 2 );
         // Construct the Disruptor
         disruptor = new Disruptor(
                 new MetricsCollectionEventFactory(),
-                bufferSize,
+                ringBufferSize,
                 // Executor that will be used to construct new threads for consumers
                 this.executor,
                 ProducerType.MULTI,
-                new BlockingWaitStrategy()
-//                new LiteBlockingWaitStrategy()
-//                new SleepingWaitStrategy()
-//                new YieldingWaitStrategy()
-//                new BusySpinWaitStrategy()
-//                new TimeoutBlockingWaitStrategy()
-//                new PhasedBackoffWaitStrategy()
+                waitStrategyType.newWaitStrategy()
         );
 
-        // Connect the handler
-        eventHandler = new DisruptorSbeMetricsEventHandler(
+        // Connect the handlers
+        DisruptorSbeMetricsEventHandler[] shards = new DisruptorSbeMetricsEventHandler[histogramShardCount];
+        EventHandler<DirectBuffer>[] firstStageHandlers = new EventHandler[histogramShardCount + 1];
+        firstStageHandlers[0] = new DisruptorSbeResultsLogEventHandler(
                 errorReporter,
                 resultsLogWriter,
-                timeUnit,
-                timeSource,
-                maxRuntimeDurationAsNano,
-                operationTypeToClassMapping,
-                loggingServiceFactory
+                operationTypeToClassMapping
         );
+        for ( int shardIndex = 0; shardIndex < histogramShardCount; shardIndex++ )
+        {
+            shards[shardIndex] = new DisruptorSbeMetricsEventHandler(
+                    errorReporter,
+                    timeUnit,
+                    timeSource,
+                    maxRuntimeDurationAsNano,
+                    operationTypeToClassMapping,
+                    loggingServiceFactory,
+                    shardIndex,
+                    histogramShardCount
+            );
+            firstStageHandlers[shardIndex + 1] = shards[shardIndex];
+        }
+        eventHandler = new DisruptorSbeMetricsSnapshotEventHandler( errorReporter, timeSource, timeUnit, shards );
 
-        disruptor.handleEventsWith( eventHandler );
+        disruptor.handleEventsWith( firstStageHandlers ).then( eventHandler );
         DisruptorExceptionHandler exceptionHandler = new DisruptorExceptionHandler( errorReporter );
+        for ( EventHandler<DirectBuffer> firstStageHandler : firstStageHandlers )
+        {
+            disruptor.handleExceptionsFor( firstStageHandler ).with( exceptionHandler );
+        }
         disruptor.handleExceptionsFor( eventHandler ).with( exceptionHandler );
         disruptor.handleExceptionsWith( exceptionHandler );
 
@@ -130,6 +220,20 @@ public class DisruptorSbeMetricsService implements MetricsService
             throw new MetricsCollectionException( errMsg );
         }
 
+        // halt consumers before shutting down the executor, otherwise they stay blocked on the ring buffer
+        try
+        {
+            disruptor.shutdown( SHUTDOWN_WAIT_TIMEOUT_AS_MILLI, TimeUnit.MILLISECONDS );
+        }
+        catch ( TimeoutException e )
+        {
+            String errMsg = format( "%s timed out waiting for %s to shutdown",
+                    getClass().getSimpleName(),
+                    disruptor.getClass().getSimpleName()
+            );
+            throw new MetricsCollectionException( errMsg, e );
+        }
+
         try
         {
             executor.shutdown();
@@ -154,19 +258,6 @@ public class DisruptorSbeMetricsService implements MetricsService
             throw new MetricsCollectionException(
                     "Error encountered while trying to shutdown metrics service disruptor executor", e );
         }
-
-        try
-        {
-            disruptor.shutdown( SHUTDOWN_WAIT_TIMEOUT_AS_MILLI, TimeUnit.MILLISECONDS );
-        }
-        catch ( TimeoutException e )
-        {
-            String errMsg = format( "%s timed out waiting for %s to shutdown",
-                    getClass().getSimpleName(),
-                    disruptor.getClass().getSimpleName()
-            );
-            throw new MetricsCollectionException( errMsg, e );
-        }
         AlreadyShutdownPolicy alreadyShutdownPolicy = new AlreadyShutdownPolicy();
         for ( DisruptorSbeMetricsServiceWriter metricsServiceWriter : metricsServiceWriters )
         {
@@ -192,7 +283,7 @@ public class DisruptorSbeMetricsService implements MetricsService
     {
         private final AtomicLong initiatedEvents;
         private final RingBuffer<DirectBuffer> ringBuffer;
-        private final DisruptorSbeMetricsEventHandler eventHandler;
+        private final DisruptorSbeMetricsSnapshotEventHandler eventHandler;
         private final SubmitOperationResultTranslator submitOperationResultTranslator;
         private final GetWorkloadStatusTranslator getWorkloadStatusTranslator;
         private final GetWorkloadResultsTranslator getWorkloadResultsTranslator;
@@ -201,7 +292,7 @@ public class DisruptorSbeMetricsService implements MetricsService
 
         public DisruptorSbeMetricsServiceWriter( AtomicLong initiatedEvents,
                 RingBuffer<DirectBuffer> ringBuffer,
-                DisruptorSbeMetricsEventHandler eventHandler )
+                DisruptorSbeMetricsSnapshotEventHandler eventHandler )
         {
             this.initiatedEvents = initiatedEvents;
             this.ringBuffer = ringBuffer;
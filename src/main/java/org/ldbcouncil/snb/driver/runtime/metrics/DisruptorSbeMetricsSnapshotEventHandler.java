@@ -0,0 +1,164 @@
+package org.ldbcouncil.snb.driver.runtime.metrics;
+
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.runtime.metrics.sbe.MetricsEvent;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+import com.lmax.disruptor.EventHandler;
+import uk.co.real_logic.sbe.codec.java.DirectBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicStampedReference;
+
+import static java.lang.String.format;
+
+/**
+ * Last stage of the metrics pipeline, only sees an event after the results log and all histogram shards have
+ * processed it.
+ * <p/>
+ * Merges the partial snapshots of the shards into the workload status/results returned to writers, and counts
+ * operation results that have been completely processed.
+ */
+class DisruptorSbeMetricsSnapshotEventHandler implements EventHandler<DirectBuffer>
+{
+    private final AtomicStampedReference<WorkloadStatusSnapshot> statusSnapshotReference =
+            new AtomicStampedReference<>( null, 0 );
+    private final AtomicStampedReference<WorkloadResultsSnapshot> resultsSnapshotReference =
+            new AtomicStampedReference<>( null, 0 );
+
+    private final ConcurrentErrorReporter errorReporter;
+    private final TimeSource timeSource;
+    private final TimeUnit unit;
+    private final DisruptorSbeMetricsEventHandler[] shards;
+    private final MetricsEvent metricsEvent;
+    private volatile long processedEventCount = 0L;
+
+    DisruptorSbeMetricsSnapshotEventHandler(
+            ConcurrentErrorReporter errorReporter,
+            TimeSource timeSource,
+            TimeUnit unit,
+            DisruptorSbeMetricsEventHandler[] shards )
+    {
+        this.errorReporter = errorReporter;
+        this.timeSource = timeSource;
+        this.unit = unit;
+        this.shards = shards;
+        this.metricsEvent = new MetricsEvent();
+    }
+
+    AtomicStampedReference<WorkloadStatusSnapshot> statusSnapshot()
+    {
+        return statusSnapshotReference;
+    }
+
+    AtomicStampedReference<WorkloadResultsSnapshot> resultsSnapshot()
+    {
+        return resultsSnapshotReference;
+    }
+
+    long processedEventCount()
+    {
+        return processedEventCount;
+    }
+
+    @Override
+    public void onEvent( DirectBuffer event, long l, boolean b ) throws Exception
+    {
+        metricsEvent.wrapForDecode(
+                event,
+                DisruptorSbeMetricsEvent.MESSAGE_HEADER_SIZE,
+                DisruptorSbeMetricsEvent.ACTING_BLOCK_LENGTH,
+                DisruptorSbeMetricsEvent.ACTING_VERSION
+        );
+
+        switch ( metricsEvent.eventType() )
+        {
+        case DisruptorSbeMetricsEvent.SUBMIT_OPERATION_RESULT:
+        {
+            processedEventCount++;
+            break;
+        }
+        case DisruptorSbeMetricsEvent.GET_WORKLOAD_STATUS:
+        {
+            WorkloadStatusSnapshot newStatus = mergeStatus();
+            WorkloadStatusSnapshot oldStatus;
+            int oldStamp;
+            do
+            {
+                oldStatus = statusSnapshotReference.getReference();
+                oldStamp = statusSnapshotReference.getStamp();
+            }
+            while ( !statusSnapshotReference.compareAndSet( oldStatus, newStatus, oldStamp, oldStamp + 1 ) );
+            break;
+        }
+        case DisruptorSbeMetricsEvent.GET_WORKLOAD_RESULTS:
+        {
+            WorkloadResultsSnapshot newResults = mergeResults();
+            WorkloadResultsSnapshot oldResults;
+            int oldStamp;
+            do
+            {
+                oldResults = resultsSnapshotReference.getReference();
+                oldStamp = resultsSnapshotReference.getStamp();
+            }
+            while ( !resultsSnapshotReference.compareAndSet( oldResults, newResults, oldStamp, oldStamp + 1 ) );
+            break;
+        }
+        default:
+        {
+            errorReporter.reportError( this, format( "Encountered unexpected event: %s", event.toString() ) );
+            break;
+        }
+        }
+    }
+
+    // shards have all processed the request by now, though they may have since moved on to later requests, in which
+    // case their partial snapshot is more recent than this request, never older
+    private WorkloadStatusSnapshot mergeStatus()
+    {
+        long startTimeAsMilli = Long.MAX_VALUE;
+        long latestFinishTimeAsMilli = Long.MIN_VALUE;
+        long operationCount = 0;
+        for ( DisruptorSbeMetricsEventHandler shard : shards )
+        {
+            DisruptorSbeMetricsEventHandler.PartialStatusSnapshot partialStatus = shard.statusSnapshot();
+            startTimeAsMilli = Math.min( startTimeAsMilli, partialStatus.startTimeAsMilli() );
+            latestFinishTimeAsMilli = Math.max( latestFinishTimeAsMilli, partialStatus.latestFinishTimeAsMilli() );
+            operationCount += partialStatus.operationCount();
+        }
+        return MetricsManager.status(
+                timeSource.nowAsMilli(),
+                startTimeAsMilli,
+                latestFinishTimeAsMilli,
+                operationCount );
+    }
+
+    private WorkloadResultsSnapshot mergeResults()
+    {
+        List<OperationMetricsSnapshot> operationMetrics = new ArrayList<>();
+        long startTimeAsMilli = Long.MAX_VALUE;
+        long latestFinishTimeAsMilli = Long.MIN_VALUE;
+        long operationCount = 0;
+        for ( DisruptorSbeMetricsEventHandler shard : shards )
+        {
+            WorkloadResultsSnapshot partialResults = shard.resultsSnapshot();
+            operationMetrics.addAll( partialResults.allMetrics() );
+            if ( -1 != partialResults.startTimeAsMilli() )
+            {
+                startTimeAsMilli = Math.min( startTimeAsMilli, partialResults.startTimeAsMilli() );
+            }
+            if ( -1 != partialResults.latestFinishTimeAsMilli() )
+            {
+                latestFinishTimeAsMilli = Math.max( latestFinishTimeAsMilli, partialResults.latestFinishTimeAsMilli() );
+            }
+            operationCount += partialResults.totalOperationCount();
+        }
+        return new WorkloadResultsSnapshot(
+                operationMetrics,
+                (startTimeAsMilli == Long.MAX_VALUE) ? -1 : startTimeAsMilli,
+                (latestFinishTimeAsMilli == Long.MIN_VALUE) ? -1 : latestFinishTimeAsMilli,
+                operationCount,
+                unit );
+    }
+}
@@ -0,0 +1,69 @@
+package org.ldbcouncil.snb.driver.runtime.metrics;
+
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.runtime.metrics.sbe.MetricsEvent;
+import com.lmax.disruptor.EventHandler;
+import uk.co.real_logic.sbe.codec.java.DirectBuffer;
+
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Serializes operation results to the results log, in parallel to histogram aggregation.
+ */
+class DisruptorSbeResultsLogEventHandler implements EventHandler<DirectBuffer>
+{
+    private final ConcurrentErrorReporter errorReporter;
+    private final ResultsLogWriter resultsLogWriter;
+    private final String[] operationNames;
+    private final MetricsEvent metricsEvent;
+
+    DisruptorSbeResultsLogEventHandler(
+            ConcurrentErrorReporter errorReporter,
+            ResultsLogWriter resultsLogWriter,
+            Map<Integer,Class<? extends Operation>> operationTypeToClassMapping ) throws MetricsCollectionException
+    {
+        this.errorReporter = errorReporter;
+        this.resultsLogWriter = resultsLogWriter;
+        this.operationNames = MetricsManager.toOperationNameArray( operationTypeToClassMapping );
+        this.metricsEvent = new MetricsEvent();
+    }
+
+    @Override
+    public void onEvent( DirectBuffer event, long l, boolean b ) throws Exception
+    {
+        metricsEvent.wrapForDecode(
+                event,
+                DisruptorSbeMetricsEvent.MESSAGE_HEADER_SIZE,
+                DisruptorSbeMetricsEvent.ACTING_BLOCK_LENGTH,
+                DisruptorSbeMetricsEvent.ACTING_VERSION
+        );
+
+        switch ( metricsEvent.eventType() )
+        {
+        case DisruptorSbeMetricsEvent.SUBMIT_OPERATION_RESULT:
+        {
+            resultsLogWriter.write(
+                    operationNames[metricsEvent.operationType()],
+                    metricsEvent.scheduledStartTimeAsMilli(),
+                    metricsEvent.actualStartTimeAsMilli(),
+                    metricsEvent.runDurationAsNano(),
+                    metricsEvent.resultCode(),
+                    metricsEvent.originalStartTime() );
+            break;
+        }
+        case DisruptorSbeMetricsEvent.GET_WORKLOAD_STATUS:
+        case DisruptorSbeMetricsEvent.GET_WORKLOAD_RESULTS:
+        {
+            break;
+        }
+        default:
+        {
+            errorReporter.reportError( this, format( "Encountered unexpected event: %s", event.toString() ) );
+            break;
+        }
+        }
+    }
+}
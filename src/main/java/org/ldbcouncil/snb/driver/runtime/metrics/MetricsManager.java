@@ -138,8 +138,10 @@ public class MetricsManager
 
     final static long ONE_MS_AS_NS = TimeUnit.MILLISECONDS.toNanos( 1 );
 
-    public void measure( long actualStartTimeAsMilli, long runDurationAsNano, int operationType )
-            throws MetricsCollectionException
+    public void measure( long scheduledStartTimeAsMilli,
+            long actualStartTimeAsMilli,
+            long runDurationAsNano,
+            int operationType ) throws MetricsCollectionException
     {
         if ( actualStartTimeAsMilli < startTimeAsMilli )
         {
@@ -152,7 +154,10 @@ public class MetricsManager
             latestFinishTimeAsMilli = operationFinishTimeAsMilli;
         }
 
-        operationTypeMetricsManagers[operationType].measure( runDurationAsNano );
+        operationTypeMetricsManagers[operationType].measure(
+                actualStartTimeAsMilli - scheduledStartTimeAsMilli,
+                runDurationAsNano
+        );
     }
 
     public void applyResultsLog( ResultsLogReader reader ) throws MetricsCollectionException
@@ -161,7 +166,12 @@ public class MetricsManager
         while ( reader.next() )
         {
             int operationType = simpleNameToTypeMapping.get( reader.getOperationName() );
-            measure( reader.getActualStartTimeAsMilli(), reader.getRunDurationAsNano(), operationType );
+            measure(
+                    reader.getScheduledStartTimeAsMilli(),
+                    reader.getActualStartTimeAsMilli(),
+                    reader.getRunDurationAsNano(),
+                    operationType
+            );
         }
     }
 
@@ -172,7 +182,7 @@ public class MetricsManager
                 .collect( toMap( entry -> entry.getValue().getSimpleName(), Map.Entry::getKey ) );
     }
 
-    private long totalOperationCount()
+    long totalOperationCount()
     {
         long count = 0;
         for ( OperationTypeMetricsManager operationTypeMetricsManager : operationTypeMetricsManagers )
@@ -204,25 +214,40 @@ public class MetricsManager
                 unit );
     }
 
+    long startTimeAsMilli()
+    {
+        return startTimeAsMilli;
+    }
+
+    long latestFinishTimeAsMilli()
+    {
+        return latestFinishTimeAsMilli;
+    }
+
     WorkloadStatusSnapshot status()
     {
-        long nowAsMilli = timeSource.nowAsMilli();
+        return status( timeSource.nowAsMilli(), startTimeAsMilli, latestFinishTimeAsMilli, totalOperationCount() );
+    }
+
+    static WorkloadStatusSnapshot status( long nowAsMilli,
+            long startTimeAsMilli,
+            long latestFinishTimeAsMilli,
+            long operationCount )
+    {
         if ( nowAsMilli < startTimeAsMilli )
         {
             long runDurationAsMilli = 0;
-            long operationCount = 0;
             long durationSinceLastMeasurementAsMilli = 0;
             double operationsPerSecond = 0;
             return new WorkloadStatusSnapshot(
                     runDurationAsMilli,
-                    operationCount,
+                    0,
                     durationSinceLastMeasurementAsMilli,
                     operationsPerSecond );
         }
         else
         {
             long runDurationAsMilli = nowAsMilli - startTimeAsMilli;
-            long operationCount = totalOperationCount();
             long durationSinceLastMeasurementAsMilli =
                     (-1 == latestFinishTimeAsMilli) ? -1 : nowAsMilli - latestFinishTimeAsMilli;
             double operationsPerSecond =
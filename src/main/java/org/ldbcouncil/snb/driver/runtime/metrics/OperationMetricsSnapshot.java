@@ -13,6 +13,10 @@ public class OperationMetricsSnapshot {
     private long count;
     @JsonProperty("run_time")
     private ContinuousMetricSnapshot rutTimeMetric;
+    @JsonProperty("start_delay")
+    private ContinuousMetricSnapshot startDelayMetric;
+    @JsonProperty("response_time")
+    private ContinuousMetricSnapshot responseTimeMetric;
 
     private OperationMetricsSnapshot() {
     }
@@ -20,11 +24,15 @@ public class OperationMetricsSnapshot {
     public OperationMetricsSnapshot(String name,
                                     TimeUnit durationUnit,
                                     long count,
-                                    ContinuousMetricSnapshot rutTimeMetric) {
+                                    ContinuousMetricSnapshot rutTimeMetric,
+                                    ContinuousMetricSnapshot startDelayMetric,
+                                    ContinuousMetricSnapshot responseTimeMetric) {
         this.name = name;
         this.durationUnit = durationUnit;
         this.count = count;
         this.rutTimeMetric = rutTimeMetric;
+        this.startDelayMetric = startDelayMetric;
+        this.responseTimeMetric = responseTimeMetric;
     }
 
     public String name() {
@@ -43,6 +51,20 @@ public class OperationMetricsSnapshot {
         return rutTimeMetric;
     }
 
+    /**
+     * @return delay between scheduled and actual start times, i.e., schedule lag, in durationUnit
+     */
+    public ContinuousMetricSnapshot startDelayMetric() {
+        return startDelayMetric;
+    }
+
+    /**
+     * @return time from scheduled start to completion, i.e., start delay plus run time, in durationUnit
+     */
+    public ContinuousMetricSnapshot responseTimeMetric() {
+        return responseTimeMetric;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -55,6 +77,12 @@ public class OperationMetricsSnapshot {
         if (name != null ? !name.equals(that.name) : that.name != null) return false;
         if (rutTimeMetric != null ? !rutTimeMetric.equals(that.rutTimeMetric) : that.rutTimeMetric != null)
             return false;
+        if (startDelayMetric != null ? !startDelayMetric.equals(that.startDelayMetric) : that.startDelayMetric != null)
+            return false;
+        if (responseTimeMetric != null
+                ? !responseTimeMetric.equals(that.responseTimeMetric)
+                : that.responseTimeMetric != null)
+            return false;
 
         return true;
     }
@@ -65,6 +93,8 @@ public class OperationMetricsSnapshot {
         result = 31 * result + (durationUnit != null ? durationUnit.hashCode() : 0);
         result = 31 * result + (int) (count ^ (count >>> 32));
         result = 31 * result + (rutTimeMetric != null ? rutTimeMetric.hashCode() : 0);
+        result = 31 * result + (startDelayMetric != null ? startDelayMetric.hashCode() : 0);
+        result = 31 * result + (responseTimeMetric != null ? responseTimeMetric.hashCode() : 0);
         return result;
     }
 
@@ -75,6 +105,8 @@ public class OperationMetricsSnapshot {
                 ", durationUnit=" + durationUnit +
                 ", count=" + count +
                 ", rutTimeMetric=" + rutTimeMetric +
+                ", startDelayMetric=" + startDelayMetric +
+                ", responseTimeMetric=" + responseTimeMetric +
                 '}';
     }
 }
@@ -12,13 +12,22 @@ import static java.lang.String.format;
 public class OperationTypeMetricsManager
 {
     private static final String METRIC_RUNTIME = "Runtime";
+    private static final String METRIC_START_DELAY = "Start Delay";
+    private static final String METRIC_RESPONSE_TIME = "Response Time";
+    // how far behind schedule an operation may start before its start delay is clamped, start delay is bounded by
+    // how long the driver runs for rather than by how long a single operation runs for
+    static final long HIGHEST_EXPECTED_START_DELAY_AS_NANO = TimeUnit.HOURS.toNanos( 24 );
 
     private final TemporalUtil temporalUtil = new TemporalUtil();
     private final ContinuousMetricManager runTimeMetric;
+    private final ContinuousMetricManager startDelayMetric;
+    private final ContinuousMetricManager responseTimeMetric;
     private final String name;
     private final TimeUnit unit;
     private final long highestExpectedRuntimeDurationAsNano;
+    private final long highestExpectedResponseTimeAsNano;
     private final LoggingService loggingService;
+    private boolean startDelayClampLogged = false;
 
     OperationTypeMetricsManager(
             String name,
@@ -29,6 +38,8 @@ public class OperationTypeMetricsManager
         this.name = name;
         this.unit = unit;
         this.highestExpectedRuntimeDurationAsNano = highestExpectedRuntimeDurationAsNano;
+        this.highestExpectedResponseTimeAsNano =
+                highestExpectedRuntimeDurationAsNano + HIGHEST_EXPECTED_START_DELAY_AS_NANO;
         loggingService = loggingServiceFactory.loggingServiceFor( getClass().getSimpleName() );
         this.runTimeMetric = new ContinuousMetricManager(
                 METRIC_RUNTIME,
@@ -36,10 +47,37 @@ public class OperationTypeMetricsManager
                 unit.convert( highestExpectedRuntimeDurationAsNano, TimeUnit.NANOSECONDS ),
                 4
         );
+        this.startDelayMetric = new ContinuousMetricManager(
+                METRIC_START_DELAY,
+                unit,
+                unit.convert( HIGHEST_EXPECTED_START_DELAY_AS_NANO, TimeUnit.NANOSECONDS ),
+                4
+        );
+        this.responseTimeMetric = new ContinuousMetricManager(
+                METRIC_RESPONSE_TIME,
+                unit,
+                unit.convert( highestExpectedResponseTimeAsNano, TimeUnit.NANOSECONDS ),
+                4
+        );
     }
 
-    void measure( long runDurationAsNano ) throws MetricsCollectionException
+    void measure( long startDelayAsMilli, long runDurationAsNano ) throws MetricsCollectionException
     {
+        //
+        // Measure schedule lag, operations that started early (e.g., ignored scheduled start times) have no lag
+        //
+        long startDelayAsNano = TimeUnit.MILLISECONDS.toNanos( Math.max( 0, startDelayAsMilli ) );
+        if ( startDelayAsNano > HIGHEST_EXPECTED_START_DELAY_AS_NANO )
+        {
+            if ( !startDelayClampLogged )
+            {
+                logStartDelayClamped( startDelayAsNano );
+                startDelayClampLogged = true;
+            }
+            startDelayAsNano = HIGHEST_EXPECTED_START_DELAY_AS_NANO;
+        }
+        startDelayMetric.addMeasurement( unit.convert( startDelayAsNano, TimeUnit.NANOSECONDS ) );
+
         //
         // Measure operation runtime
         //
@@ -85,11 +123,43 @@ public class OperationTypeMetricsManager
             );
             throw new MetricsCollectionException( errMsg, e );
         }
+
+        //
+        // Measure response time, from scheduled start to completion, so time spent waiting behind schedule is not
+        // omitted when the driver can not keep up (coordinated omission). The histogram is sized for the highest
+        // start delay plus the highest runtime, both values are within those already, so it never clamps
+        //
+        long responseTimeAsNano = startDelayAsNano + runDurationAsNano;
+        responseTimeMetric.addMeasurement( unit.convert( responseTimeAsNano, TimeUnit.NANOSECONDS ) );
+    }
+
+    // only logged for the first clamped value, once the driver is that far behind schedule most later operations are
+    private void logStartDelayClamped( long startDelayAsNano )
+    {
+        loggingService.info( format(
+                "Error recording start delay - reported value exceeds maximum allowed. Time reported as maximum, as " +
+                "are further values that exceed it.\n"
+                + "Reported: %s %s / %s\n"
+                + "For: %s\n"
+                + "Maximum: %s %s / %s",
+                startDelayAsNano,
+                TimeUnit.NANOSECONDS.name(),
+                temporalUtil.nanoDurationToString( startDelayAsNano ),
+                name,
+                HIGHEST_EXPECTED_START_DELAY_AS_NANO,
+                TimeUnit.NANOSECONDS.name(),
+                temporalUtil.nanoDurationToString( HIGHEST_EXPECTED_START_DELAY_AS_NANO ) ) );
     }
 
     public OperationMetricsSnapshot snapshot()
     {
-        return new OperationMetricsSnapshot( name, unit, count(), runTimeMetric.snapshot() );
+        return new OperationMetricsSnapshot(
+                name,
+                unit,
+                count(),
+                runTimeMetric.snapshot(),
+                startDelayMetric.snapshot(),
+                responseTimeMetric.snapshot() );
     }
 
     public String name()
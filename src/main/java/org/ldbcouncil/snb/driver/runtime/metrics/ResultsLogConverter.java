@@ -0,0 +1,50 @@
+package org.ldbcouncil.snb.driver.runtime.metrics;
+
+import java.io.File;
+
+import static java.lang.String.format;
+
+/**
+ * Converts a results log of any format to the CSV format, e.g., to inspect a binary results log.
+ * <p/>
+ * Usage: ResultsLogConverter input_results_log output_csv
+ */
+public class ResultsLogConverter
+{
+    public static void main( String[] args ) throws Exception
+    {
+        if ( 2 != args.length )
+        {
+            System.out.println( format( "Usage: %s input_results_log output_csv",
+                    ResultsLogConverter.class.getSimpleName() ) );
+            System.exit( 1 );
+        }
+        long count = toCsv( new File( args[0] ), new File( args[1] ) );
+        System.out.println( format( "Converted %s results to %s", count, args[1] ) );
+    }
+
+    /**
+     * @return number of operation results converted
+     */
+    public static long toCsv( File resultsLog, File csvResultsLog ) throws Exception
+    {
+        long count = 0;
+        try ( ResultsLogReader reader = ResultsLogFormat.newReader( resultsLog );
+              ResultsLogWriter writer = new SimpleResultsLogWriter( csvResultsLog, reader.unit(), false ) )
+        {
+            while ( reader.next() )
+            {
+                writer.write(
+                        reader.getOperationName(),
+                        reader.getScheduledStartTimeAsMilli(),
+                        reader.getActualStartTimeAsMilli(),
+                        reader.getRunDurationAsNano(),
+                        reader.getResultCode(),
+                        reader.getOriginalStartTime()
+                );
+                count++;
+            }
+        }
+        return count;
+    }
+}
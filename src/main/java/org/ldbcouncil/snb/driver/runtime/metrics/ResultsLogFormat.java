@@ -0,0 +1,56 @@
+package org.ldbcouncil.snb.driver.runtime.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+public enum ResultsLogFormat
+{
+    /**
+     * Human readable, one row per operation result
+     */
+    CSV( "-results_log.csv" ),
+    /**
+     * Fixed width binary records, see {@link BinaryResultsLogWriter}
+     */
+    BINARY( "-results_log.bin" ),
+    /**
+     * Fixed width binary records in deflate compressed blocks, see {@link BinaryResultsLogWriter}
+     */
+    BINARY_DEFLATE( "-results_log.bin" );
+
+    private final String filenameSuffix;
+
+    ResultsLogFormat( String filenameSuffix )
+    {
+        this.filenameSuffix = filenameSuffix;
+    }
+
+    public String filenameSuffix()
+    {
+        return filenameSuffix;
+    }
+
+    public ResultsLogWriter newWriter( File resultsLog, TimeUnit unit, boolean flushLog ) throws IOException
+    {
+        switch ( this )
+        {
+        case BINARY:
+            return new BinaryResultsLogWriter( resultsLog, unit, flushLog, false );
+        case BINARY_DEFLATE:
+            return new BinaryResultsLogWriter( resultsLog, unit, flushLog, true );
+        default:
+            return new SimpleResultsLogWriter( resultsLog, unit, flushLog );
+        }
+    }
+
+    /**
+     * Opens a reader for a results log of any format, the format is detected from the file contents
+     */
+    public static ResultsLogReader newReader( File resultsLog ) throws IOException
+    {
+        return (BinaryResultsLogReader.isBinaryResultsLog( resultsLog ))
+               ? new BinaryResultsLogReader( resultsLog )
+               : new SimpleResultsLogReader( resultsLog );
+    }
+}
@@ -82,6 +82,33 @@ public class SimpleDetailedWorkloadMetricsFormatter implements WorkloadMetricsFo
         sb.append( offset ).append( offset )
                 .append( String.format( "%1$-" + padRightDistance + "s", "99th Percentile:" ) )
                 .append( INTEGER_FORMATTER.format( metric.runTimeMetric().percentile99() ) ).append( "\n" );
+        if ( null != metric.startDelayMetric() )
+        {
+            sb.append( offset ).append( offset )
+                    .append( String.format( "%1$-" + padRightDistance + "s", "Start Delay Mean:" ) )
+                    .append( FLOAT_FORMATTER.format( metric.startDelayMetric().mean() ) ).append( "\n" );
+            sb.append( offset ).append( offset )
+                    .append( String.format( "%1$-" + padRightDistance + "s", "Start Delay 99th:" ) )
+                    .append( INTEGER_FORMATTER.format( metric.startDelayMetric().percentile99() ) ).append( "\n" );
+            sb.append( offset ).append( offset )
+                    .append( String.format( "%1$-" + padRightDistance + "s", "Start Delay Max:" ) )
+                    .append( INTEGER_FORMATTER.format( metric.startDelayMetric().max() ) ).append( "\n" );
+        }
+        if ( null != metric.responseTimeMetric() )
+        {
+            sb.append( offset ).append( offset )
+                    .append( String.format( "%1$-" + padRightDistance + "s", "Response Time Mean:" ) )
+                    .append( FLOAT_FORMATTER.format( metric.responseTimeMetric().mean() ) ).append( "\n" );
+            sb.append( offset ).append( offset )
+                    .append( String.format( "%1$-" + padRightDistance + "s", "Response Time 50th:" ) )
+                    .append( INTEGER_FORMATTER.format( metric.responseTimeMetric().percentile50() ) ).append( "\n" );
+            sb.append( offset ).append( offset )
+                    .append( String.format( "%1$-" + padRightDistance + "s", "Response Time 99th:" ) )
+                    .append( INTEGER_FORMATTER.format( metric.responseTimeMetric().percentile99() ) ).append( "\n" );
+            sb.append( offset ).append( offset )
+                    .append( String.format( "%1$-" + padRightDistance + "s", "Response Time Max:" ) )
+                    .append( INTEGER_FORMATTER.format( metric.responseTimeMetric().max() ) ).append( "\n" );
+        }
         return sb.toString();
     }
 }
@@ -61,15 +61,20 @@ public class SimpleSummaryWorkloadMetricsFormatter implements WorkloadMetricsFor
         String name = (null == metric.name()) ? DEFAULT_NAME : metric.name();
         String unit = (null == metric.durationUnit()) ? DEFAULT_UNIT
                                                       : TEMPORAL_UTIL.abbreviatedTimeUnit( metric.durationUnit() );
-        return new StringBuilder()
+        StringBuilder sb = new StringBuilder()
                 .append( offset )
                 .append( String.format( "%1$-" + namePadRightDistance + "s", name ) )
                 .append( "Count: " )
                 .append( String.format( "%1$-" + countPadRightDistance + "s",
                         INTEGER_FORMATTER.format( metric.runTimeMetric().count() ) ) ).append( " " )
                 .append( "Mean: " )
-                .append( FLOAT_FORMATTER.format( metric.runTimeMetric().mean() ) ).append( " " ).append( unit )
-                .append( "\n" )
-                .toString();
+                .append( FLOAT_FORMATTER.format( metric.runTimeMetric().mean() ) ).append( " " ).append( unit );
+        if ( null != metric.responseTimeMetric() )
+        {
+            sb
+                    .append( "  Mean Response Time: " )
+                    .append( FLOAT_FORMATTER.format( metric.responseTimeMetric().mean() ) ).append( " " ).append( unit );
+        }
+        return sb.append( "\n" ).toString();
     }
 }
@@ -0,0 +1,424 @@
+package org.ldbcouncil.snb.driver.runtime.metrics;
+
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.control.LoggingServiceFactory;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.String.format;
+
+/**
+ * Metrics service without a shared queue or ring buffer on the submission path.
+ * <p/>
+ * Every thread that submits operation results records them into its own single-producer buffer of primitive
+ * measurements. A merge thread periodically drains all buffers into the histograms (and the results log), and
+ * buffers are drained again before every status/results request and at shutdown, so snapshots always include every
+ * result submitted before the request. Histogram aggregation is performed by MetricsManager, exactly as it is for
+ * the other metrics services, so the resulting WorkloadResultsSnapshot is identical.
+ */
+public class ThreadLocalMetricsService implements MetricsService
+{
+    private static final long SHUTDOWN_WAIT_TIMEOUT_AS_MILLI = TimeUnit.MINUTES.toMillis( 1 );
+
+    // TODO this could come from config, if we had a max_runtime parameter. for now, it can default to something
+    public static final long DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO = TimeUnit.MINUTES.toNanos( 90 );
+    public static final long DEFAULT_MERGE_INTERVAL_AS_MILLI = 100;
+    public static final int DEFAULT_BUFFER_CAPACITY = 8192;
+
+    private final AtomicBoolean shutdown = new AtomicBoolean( false );
+    private final ConcurrentLinkedQueue<ThreadLocalMetricsServiceWriter> metricsServiceWriters;
+    private final ConcurrentLinkedQueue<MeasurementBuffer> measurementBuffers;
+    private final ThreadLocal<MeasurementBuffer> threadMeasurementBuffer;
+    private final MetricsManager metricsManager;
+    private final ResultsLogWriter resultsLogWriter;
+    private final String[] operationNames;
+    private final MergeThread mergeThread;
+
+    public ThreadLocalMetricsService(
+            TimeSource timeSource,
+            ConcurrentErrorReporter errorReporter,
+            TimeUnit unit,
+            long maxRuntimeDurationAsNano,
+            ResultsLogWriter resultsLogWriter,
+            Map<Integer,Class<? extends Operation>> operationTypeToClassMapping,
+            LoggingServiceFactory loggingServiceFactory ) throws MetricsCollectionException
+    {
+        this(
+                timeSource,
+                errorReporter,
+                unit,
+                maxRuntimeDurationAsNano,
+                resultsLogWriter,
+                operationTypeToClassMapping,
+                loggingServiceFactory,
+                DEFAULT_MERGE_INTERVAL_AS_MILLI,
+                DEFAULT_BUFFER_CAPACITY
+        );
+    }
+
+    public ThreadLocalMetricsService(
+            TimeSource timeSource,
+            ConcurrentErrorReporter errorReporter,
+            TimeUnit unit,
+            long maxRuntimeDurationAsNano,
+            ResultsLogWriter resultsLogWriter,
+            Map<Integer,Class<? extends Operation>> operationTypeToClassMapping,
+            LoggingServiceFactory loggingServiceFactory,
+            long mergeIntervalAsMilli,
+            int bufferCapacity ) throws MetricsCollectionException
+    {
+        if ( bufferCapacity < 1 || Integer.bitCount( bufferCapacity ) != 1 )
+        {
+            throw new MetricsCollectionException( format( "Buffer capacity must be a power of 2: %s", bufferCapacity ) );
+        }
+        this.metricsManager = new MetricsManager(
+                timeSource,
+                unit,
+                maxRuntimeDurationAsNano,
+                operationTypeToClassMapping,
+                loggingServiceFactory );
+        this.resultsLogWriter = resultsLogWriter;
+        this.operationNames = MetricsManager.toOperationNameArray( operationTypeToClassMapping );
+        this.metricsServiceWriters = new ConcurrentLinkedQueue<>();
+        this.measurementBuffers = new ConcurrentLinkedQueue<>();
+        this.threadMeasurementBuffer = ThreadLocal.withInitial( () ->
+        {
+            MeasurementBuffer measurementBuffer = new MeasurementBuffer( bufferCapacity, Thread.currentThread() );
+            measurementBuffers.add( measurementBuffer );
+            return measurementBuffer;
+        } );
+        this.mergeThread = new MergeThread( this, errorReporter, mergeIntervalAsMilli );
+        this.mergeThread.start();
+    }
+
+    @Override
+    synchronized public void shutdown() throws MetricsCollectionException
+    {
+        if ( shutdown.get() )
+        {
+            throw new MetricsCollectionException( "Metrics service has already been shutdown" );
+        }
+        mergeThread.halt();
+        try
+        {
+            mergeThread.join( SHUTDOWN_WAIT_TIMEOUT_AS_MILLI );
+        }
+        catch ( InterruptedException e )
+        {
+            String errMsg = format( "Thread was interrupted while waiting for %s to complete",
+                    mergeThread.getClass().getSimpleName() );
+            throw new MetricsCollectionException( errMsg, e );
+        }
+        merge();
+        AlreadyShutdownPolicy alreadyShutdownPolicy = new AlreadyShutdownPolicy();
+        for ( ThreadLocalMetricsServiceWriter metricsServiceWriter : metricsServiceWriters )
+        {
+            metricsServiceWriter.setAlreadyShutdownPolicy( alreadyShutdownPolicy );
+        }
+        shutdown.set( true );
+    }
+
+    @Override
+    public MetricsServiceWriter getWriter() throws MetricsCollectionException
+    {
+        if ( shutdown.get() )
+        {
+            throw new MetricsCollectionException( "Metrics service has already been shutdown" );
+        }
+        ThreadLocalMetricsServiceWriter metricsServiceWriter = new ThreadLocalMetricsServiceWriter( this );
+        metricsServiceWriters.add( metricsServiceWriter );
+        return metricsServiceWriter;
+    }
+
+    /**
+     * Drains the measurements of all threads into the histograms and the results log, buffers of threads that have
+     * terminated are dropped once drained, as nothing can be added to them anymore
+     */
+    private void merge() throws MetricsCollectionException
+    {
+        synchronized ( metricsManager )
+        {
+            Iterator<MeasurementBuffer> measurementBufferIterator = measurementBuffers.iterator();
+            while ( measurementBufferIterator.hasNext() )
+            {
+                MeasurementBuffer measurementBuffer = measurementBufferIterator.next();
+                // check before draining, measurements offered before the owner terminated are then drained below
+                boolean ownerTerminated = !measurementBuffer.owner.isAlive();
+                measurementBuffer.drainTo( this );
+                if ( ownerTerminated )
+                {
+                    measurementBufferIterator.remove();
+                }
+            }
+        }
+    }
+
+    private void apply( int operationType,
+            long scheduledStartTimeAsMilli,
+            long actualStartTimeAsMilli,
+            long runDurationAsNano,
+            int resultCode,
+            long originalStartTime ) throws MetricsCollectionException
+    {
+        try
+        {
+            resultsLogWriter.write(
+                    operationNames[operationType],
+                    scheduledStartTimeAsMilli,
+                    actualStartTimeAsMilli,
+                    runDurationAsNano,
+                    resultCode,
+                    originalStartTime );
+        }
+        catch ( IOException e )
+        {
+            throw new MetricsCollectionException( "Error writing to results log", e );
+        }
+        metricsManager.measure( scheduledStartTimeAsMilli, actualStartTimeAsMilli, runDurationAsNano, operationType );
+    }
+
+    private WorkloadStatusSnapshot status() throws MetricsCollectionException
+    {
+        synchronized ( metricsManager )
+        {
+            merge();
+            return metricsManager.status();
+        }
+    }
+
+    private WorkloadResultsSnapshot results() throws MetricsCollectionException
+    {
+        synchronized ( metricsManager )
+        {
+            merge();
+            return metricsManager.snapshot();
+        }
+    }
+
+    private void record( int operationType,
+            long scheduledStartTimeAsMilli,
+            long actualStartTimeAsMilli,
+            long runDurationAsNano,
+            int resultCode,
+            long originalStartTime ) throws MetricsCollectionException
+    {
+        MeasurementBuffer measurementBuffer = threadMeasurementBuffer.get();
+        while ( true )
+        {
+            if ( mergeThread.failed() )
+            {
+                // buffer would never be drained
+                throw new MetricsCollectionException(
+                        format( "%s failed, measurements can no longer be recorded",
+                                mergeThread.getClass().getSimpleName() ) );
+            }
+            if ( measurementBuffer.offer( operationType, scheduledStartTimeAsMilli, actualStartTimeAsMilli,
+                    runDurationAsNano, resultCode, originalStartTime ) )
+            {
+                return;
+            }
+            // buffer is full, have merge thread drain it now rather than at its next interval
+            mergeThread.wakeUp();
+            LockSupport.parkNanos( TimeUnit.MICROSECONDS.toNanos( 50 ) );
+        }
+    }
+
+    private static class ThreadLocalMetricsServiceWriter implements MetricsServiceWriter
+    {
+        private final ThreadLocalMetricsService metricsService;
+
+        private AlreadyShutdownPolicy alreadyShutdownPolicy = null;
+
+        private ThreadLocalMetricsServiceWriter( ThreadLocalMetricsService metricsService )
+        {
+            this.metricsService = metricsService;
+        }
+
+        private void setAlreadyShutdownPolicy( AlreadyShutdownPolicy alreadyShutdownPolicy )
+        {
+            this.alreadyShutdownPolicy = alreadyShutdownPolicy;
+        }
+
+        @Override
+        public void submitOperationResult( int operationType,
+                long scheduledStartTimeAsMilli,
+                long actualStartTimeAsMilli,
+                long runDurationAsNano,
+                int resultCode,
+                long originalStartTime ) throws MetricsCollectionException
+        {
+            if ( null != alreadyShutdownPolicy )
+            {
+                alreadyShutdownPolicy.apply();
+            }
+            metricsService.record( operationType, scheduledStartTimeAsMilli, actualStartTimeAsMilli,
+                    runDurationAsNano, resultCode, originalStartTime );
+        }
+
+        @Override
+        public WorkloadStatusSnapshot status() throws MetricsCollectionException
+        {
+            if ( null != alreadyShutdownPolicy )
+            {
+                alreadyShutdownPolicy.apply();
+            }
+            return metricsService.status();
+        }
+
+        @Override
+        public WorkloadResultsSnapshot results() throws MetricsCollectionException
+        {
+            if ( null != alreadyShutdownPolicy )
+            {
+                alreadyShutdownPolicy.apply();
+            }
+            return metricsService.results();
+        }
+    }
+
+    /**
+     * Bounded single-producer single-consumer buffer of measurements, one per submitting thread.
+     * Only the owning thread offers, draining is serialized by the service.
+     */
+    static class MeasurementBuffer
+    {
+        private static final int FIELDS = 6;
+
+        private final long[] measurements;
+        // the only thread that offers measurements
+        private final Thread owner;
+        private final int capacity;
+        private final int mask;
+        // next position to drain, only advanced by the (serialized) consumer
+        private final AtomicLong head = new AtomicLong( 0 );
+        // next position to fill, only advanced by the owning thread
+        private final AtomicLong tail = new AtomicLong( 0 );
+
+        MeasurementBuffer( int capacity, Thread owner )
+        {
+            this.measurements = new long[capacity * FIELDS];
+            this.owner = owner;
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+        }
+
+        boolean offer( int operationType,
+                long scheduledStartTimeAsMilli,
+                long actualStartTimeAsMilli,
+                long runDurationAsNano,
+                int resultCode,
+                long originalStartTime )
+        {
+            long currentTail = tail.get();
+            if ( currentTail - head.get() == capacity )
+            {
+                return false;
+            }
+            int offset = (int) (currentTail & mask) * FIELDS;
+            measurements[offset] = operationType;
+            measurements[offset + 1] = scheduledStartTimeAsMilli;
+            measurements[offset + 2] = actualStartTimeAsMilli;
+            measurements[offset + 3] = runDurationAsNano;
+            measurements[offset + 4] = resultCode;
+            measurements[offset + 5] = originalStartTime;
+            // publish measurement to consumer
+            tail.lazySet( currentTail + 1 );
+            return true;
+        }
+
+        void drainTo( ThreadLocalMetricsService metricsService ) throws MetricsCollectionException
+        {
+            long currentHead = head.get();
+            long currentTail = tail.get();
+            while ( currentHead < currentTail )
+            {
+                int offset = (int) (currentHead & mask) * FIELDS;
+                metricsService.apply(
+                        (int) measurements[offset],
+                        measurements[offset + 1],
+                        measurements[offset + 2],
+                        measurements[offset + 3],
+                        (int) measurements[offset + 4],
+                        measurements[offset + 5] );
+                currentHead++;
+                // free slot for producer
+                head.lazySet( currentHead );
+            }
+        }
+    }
+
+    private static class MergeThread extends Thread
+    {
+        private final ThreadLocalMetricsService metricsService;
+        private final ConcurrentErrorReporter errorReporter;
+        private final long mergeIntervalAsNano;
+        private volatile boolean halted = false;
+        private volatile boolean failed = false;
+
+        private MergeThread( ThreadLocalMetricsService metricsService,
+                ConcurrentErrorReporter errorReporter,
+                long mergeIntervalAsMilli )
+        {
+            super( MergeThread.class.getSimpleName() + "-" + System.currentTimeMillis() );
+            this.metricsService = metricsService;
+            this.errorReporter = errorReporter;
+            this.mergeIntervalAsNano = TimeUnit.MILLISECONDS.toNanos( mergeIntervalAsMilli );
+            setDaemon( true );
+        }
+
+        void halt()
+        {
+            halted = true;
+            LockSupport.unpark( this );
+        }
+
+        void wakeUp()
+        {
+            LockSupport.unpark( this );
+        }
+
+        boolean failed()
+        {
+            return failed;
+        }
+
+        @Override
+        public void run()
+        {
+            while ( !halted )
+            {
+                LockSupport.parkNanos( this, mergeIntervalAsNano );
+                try
+                {
+                    metricsService.merge();
+                }
+                catch ( Throwable e )
+                {
+                    failed = true;
+                    errorReporter.reportError(
+                            this,
+                            format( "Encountered error while merging measurements\n%s",
+                                    ConcurrentErrorReporter.stackTraceToString( e ) ) );
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class AlreadyShutdownPolicy
+    {
+        void apply() throws MetricsCollectionException
+        {
+            throw new MetricsCollectionException( "Metrics service has already been shutdown" );
+        }
+    }
+}
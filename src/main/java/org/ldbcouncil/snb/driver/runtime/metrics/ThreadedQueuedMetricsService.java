@@ -3,6 +3,7 @@ package org.ldbcouncil.snb.driver.runtime.metrics;
 import org.ldbcouncil.snb.driver.Operation;
 import org.ldbcouncil.snb.driver.control.LoggingServiceFactory;
 import org.ldbcouncil.snb.driver.csv.simple.SimpleCsvFileWriter;
+import org.ldbcouncil.snb.driver.runtime.BoundedLockFreeBlockingQueue.WaitStrategy;
 import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
 import org.ldbcouncil.snb.driver.runtime.DefaultQueues;
 import org.ldbcouncil.snb.driver.runtime.QueueEventSubmitter;
@@ -45,7 +46,7 @@ public class ThreadedQueuedMetricsService implements MetricsService
             Map<Integer,Class<? extends Operation>> operationTypeToClassMapping,
             LoggingServiceFactory loggingServiceFactory ) throws MetricsCollectionException
     {
-        Queue<ThreadedQueuedMetricsEvent> queue = DefaultQueues.newBlockingBounded( 10_000 );
+        Queue<ThreadedQueuedMetricsEvent> queue = DefaultQueues.newLockFreeBoundedMpsc( 10_000, WaitStrategy.SLEEPING );
         return new ThreadedQueuedMetricsService(
                 timeSource,
                 errorReporter,
@@ -67,7 +68,8 @@ public class ThreadedQueuedMetricsService implements MetricsService
             Map<Integer,Class<? extends Operation>> operationTypeToClassMapping,
             LoggingServiceFactory loggingServiceFactory ) throws MetricsCollectionException
     {
-        Queue<ThreadedQueuedMetricsEvent> queue = DefaultQueues.newBlockingBounded( 10000 );
+        // only the metrics service thread takes from the queue
+        Queue<ThreadedQueuedMetricsEvent> queue = DefaultQueues.newLockFreeBoundedMpsc( 10000, WaitStrategy.BLOCKING );
         return new ThreadedQueuedMetricsService(
                 timeSource,
                 errorReporter,
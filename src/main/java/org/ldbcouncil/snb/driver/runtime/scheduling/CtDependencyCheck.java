@@ -2,21 +2,34 @@ package org.ldbcouncil.snb.driver.runtime.scheduling;
 
 import org.ldbcouncil.snb.driver.Operation;
 import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.runtime.coordination.AwaitableCompletionTimeReader;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeException;
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeReader;
 import org.ldbcouncil.snb.driver.temporal.TemporalUtil;
 
 import static java.lang.String.format;
 
+/**
+ * Passes once CT has reached the dependency time stamp of an operation.
+ * <p/>
+ * If the CT reader is an AwaitableCompletionTimeReader, doCheck() parks until CT advances past the dependency time
+ * stamp (or MAX_AWAIT_DURATION_AS_MILLI elapses), instead of returning immediately and being polled by Spinner.
+ */
 public class CtDependencyCheck implements SpinnerCheck
 {
     private static final TemporalUtil TEMPORAL_UTIL = new TemporalUtil();
+    // bounds how long a check blocks, so Spinner regains control periodically
+    static final long MAX_AWAIT_DURATION_AS_MILLI = 100;
     private final CompletionTimeReader completionTimeReader;
+    private final AwaitableCompletionTimeReader awaitableCompletionTimeReader;
     private final ConcurrentErrorReporter errorReporter;
 
     public CtDependencyCheck( CompletionTimeReader completionTimeReader, ConcurrentErrorReporter errorReporter )
     {
         this.completionTimeReader = completionTimeReader;
+        this.awaitableCompletionTimeReader = (completionTimeReader instanceof AwaitableCompletionTimeReader)
+                                             ? (AwaitableCompletionTimeReader) completionTimeReader
+                                             : null;
         this.errorReporter = errorReporter;
     }
 
@@ -25,9 +38,21 @@ public class CtDependencyCheck implements SpinnerCheck
     {
         try
         {
+            if ( null != awaitableCompletionTimeReader )
+            {
+                return (awaitableCompletionTimeReader.awaitCompletionTimeAsMilli(
+                        operation.dependencyTimeStamp(),
+                        MAX_AWAIT_DURATION_AS_MILLI ))
+                       ? SpinnerCheckResult.PASSED : SpinnerCheckResult.STILL_CHECKING;
+            }
             return (completionTimeReader.completionTimeAsMilli() >= operation.dependencyTimeStamp())
                    ? SpinnerCheckResult.PASSED : SpinnerCheckResult.STILL_CHECKING;
         }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            return SpinnerCheckResult.STILL_CHECKING;
+        }
         catch ( CompletionTimeException e )
         {
             errorReporter.reportError( this,
@@ -4,6 +4,9 @@ import org.ldbcouncil.snb.driver.Operation;
 import org.ldbcouncil.snb.driver.temporal.TimeSource;
 import org.ldbcouncil.snb.driver.util.Function2;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
 // TODO if error policy DOES NOT terminate benchmark and DOES NOT allow the operation to complete something needs
 // TODO to be done about DEPENDENT/CT, because the IT for the operation has already been reported
 // TODO perhaps the CT for that operation needs to be reported too (to CT service, but not to MetricsService),
@@ -26,9 +29,34 @@ public class Spinner
             long sleepDurationAsMilli,
             boolean ignoreScheduleStartTimes )
     {
-        this.spinFun = (ignoreScheduleStartTimes)
-                       ? new WaitForChecksFun( sleepDurationAsMilli )
-                       : new WaitForChecksAndScheduledStartTimeFun( timeSource, sleepDurationAsMilli );
+        this( timeSource, sleepDurationAsMilli, ignoreScheduleStartTimes, false );
+    }
+
+    /**
+     * @param timeSource time source
+     * @param sleepDurationAsMilli sleep duration between checks
+     * @param ignoreScheduleStartTimes do not wait for scheduled start times
+     * @param preciseScheduledStartTime park until shortly before scheduled start time then spin, rather than
+     * sleeping in steps of sleepDurationAsMilli, sleepDurationAsMilli then only applies to checks
+     */
+    public Spinner(
+            TimeSource timeSource,
+            long sleepDurationAsMilli,
+            boolean ignoreScheduleStartTimes,
+            boolean preciseScheduledStartTime )
+    {
+        if ( ignoreScheduleStartTimes )
+        {
+            this.spinFun = new WaitForChecksFun( sleepDurationAsMilli );
+        }
+        else if ( preciseScheduledStartTime )
+        {
+            this.spinFun = new WaitForChecksAndParkUntilScheduledStartTimeFun( timeSource, sleepDurationAsMilli );
+        }
+        else
+        {
+            this.spinFun = new WaitForChecksAndScheduledStartTimeFun( timeSource, sleepDurationAsMilli );
+        }
     }
 
     boolean waitForScheduledStartTime( Operation operation )
@@ -105,6 +133,81 @@ public class Spinner
         }
     }
 
+    /**
+     * Waits for scheduled start time without sleeping in fixed steps:
+     * parks for (nearly) the whole remaining duration, then spins (yielding) for the last SPIN_THRESHOLD_AS_NANO.
+     * <p/>
+     * Scheduled start times are in milliseconds, but the millisecond clock only tells in which millisecond now is.
+     * To know where within that millisecond now is, a millisecond boundary of the time source is located once, when
+     * the spinner is created, and the nano clock is used to measure distance from that boundary.
+     * The millisecond clock always has the final say, so operations never start early, e.g., after clock adjustments.
+     */
+    private static class WaitForChecksAndParkUntilScheduledStartTimeFun implements
+            Function2<Operation,SpinnerCheck,Boolean,RuntimeException>
+    {
+        private static final long SPIN_THRESHOLD_AS_NANO = TimeUnit.MICROSECONDS.toNanos( 100 );
+        private static final long MAX_SPIN_PAST_DEADLINE_AS_NANO = TimeUnit.MILLISECONDS.toNanos( 1 );
+        private static final int MAX_CALIBRATION_ITERATIONS = 10_000_000;
+
+        private final TimeSource timeSource;
+        private final long sleepDurationAsMilli;
+        private final long anchorAsMilli;
+        private final long anchorAsNano;
+
+        private WaitForChecksAndParkUntilScheduledStartTimeFun(
+                TimeSource timeSource,
+                long sleepDurationAsMilli )
+        {
+            this.timeSource = timeSource;
+            this.sleepDurationAsMilli = sleepDurationAsMilli;
+            // locate millisecond boundary, bounded in case time source does not advance on its own
+            long initialAsMilli = timeSource.nowAsMilli();
+            long nowAsMilli = initialAsMilli;
+            long nowAsNano = timeSource.nanoSnapshot();
+            for ( int i = 0; i < MAX_CALIBRATION_ITERATIONS && nowAsMilli == initialAsMilli; i++ )
+            {
+                nowAsMilli = timeSource.nowAsMilli();
+                nowAsNano = timeSource.nanoSnapshot();
+            }
+            this.anchorAsMilli = nowAsMilli;
+            this.anchorAsNano = nowAsNano;
+        }
+
+        @Override
+        public Boolean apply( Operation operation, SpinnerCheck check )
+        {
+            // wait for checks to have all passed before allowing operation to start
+            while ( SpinnerCheck.SpinnerCheckResult.STILL_CHECKING == check.doCheck( operation ) )
+            {
+                powerNap( sleepDurationAsMilli );
+            }
+
+            // wait for scheduled operation start time
+            long scheduledStartTimeAsMilli = operation.scheduledStartTimeAsMilli();
+            long deadlineAsNano =
+                    anchorAsNano + TimeUnit.MILLISECONDS.toNanos( scheduledStartTimeAsMilli - anchorAsMilli );
+            while ( timeSource.nowAsMilli() < scheduledStartTimeAsMilli )
+            {
+                long remainingAsNano = deadlineAsNano - timeSource.nanoSnapshot();
+                if ( remainingAsNano > SPIN_THRESHOLD_AS_NANO )
+                {
+                    LockSupport.parkNanos( remainingAsNano - SPIN_THRESHOLD_AS_NANO );
+                }
+                else if ( remainingAsNano > -MAX_SPIN_PAST_DEADLINE_AS_NANO )
+                {
+                    Thread.yield();
+                }
+                else
+                {
+                    // millisecond clock is behind nano clock, e.g., manual time source, or clock was adjusted
+                    powerNap( sleepDurationAsMilli );
+                }
+            }
+
+            return SpinnerCheck.SpinnerCheckResult.PASSED == check.doCheck( operation );
+        }
+    }
+
     private static class WaitForChecksFun implements Function2<Operation,SpinnerCheck,Boolean,RuntimeException>
     {
         private final long sleepDurationAsMilli;
@@ -0,0 +1,276 @@
+package org.ldbcouncil.snb.driver.runtime.scheduling;
+
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.String.format;
+
+/**
+ * Hashed timer wheel, with a tick of one millisecond, that runs tasks on a thread of its own once they are due.
+ * <p/>
+ * Tasks are added to a lock-free queue, which the timer thread moves into the wheel on every tick, so scheduling a
+ * task never blocks. A task goes into the bucket of its due time modulo the wheel size and a bucket only runs the
+ * tasks that are due, tasks more than a full turn of the wheel ahead stay in it until a later turn. Tasks that are
+ * already due when added are run on the next tick. Tasks run on the timer thread, in order of due time and tasks due
+ * in the same millisecond in the order they were added, and should therefore only hand work over to other threads.
+ */
+public class TimerWheel
+{
+    public static final int DEFAULT_WHEEL_SIZE = 1024;
+    private static final long TICK_AS_NANO = TimeUnit.MILLISECONDS.toNanos( 1 );
+    private static final Comparator<Timeout> DUE_TIME_COMPARATOR = new Comparator<Timeout>()
+    {
+        @Override
+        public int compare( Timeout timeout1, Timeout timeout2 )
+        {
+            return Long.compare( timeout1.dueTimeAsMilli, timeout2.dueTimeAsMilli );
+        }
+    };
+
+    private final TimeSource timeSource;
+    private final ConcurrentErrorReporter errorReporter;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Timeout[] buckets;
+    private final int mask;
+    private final AtomicLong pendingCount = new AtomicLong( 0 );
+    private final Thread timerThread;
+    private volatile boolean shutdown = false;
+    private volatile boolean idle = false;
+
+    public TimerWheel( TimeSource timeSource, ConcurrentErrorReporter errorReporter, String name )
+    {
+        this( timeSource, errorReporter, name, DEFAULT_WHEEL_SIZE );
+    }
+
+    public TimerWheel( TimeSource timeSource, ConcurrentErrorReporter errorReporter, String name, int wheelSize )
+    {
+        if ( wheelSize < 1 || Integer.bitCount( wheelSize ) != 1 )
+        {
+            throw new IllegalArgumentException( "Wheel size must be a power of two: " + wheelSize );
+        }
+        this.timeSource = timeSource;
+        this.errorReporter = errorReporter;
+        this.buckets = new Timeout[wheelSize];
+        this.mask = wheelSize - 1;
+        this.timerThread = new Thread( name )
+        {
+            @Override
+            public void run()
+            {
+                runTimer();
+            }
+        };
+        this.timerThread.setDaemon( true );
+        this.timerThread.start();
+    }
+
+    /**
+     * @param dueTimeAsMilli time at which task should run
+     * @param task task to run, on the timer thread, once it is due
+     */
+    public void schedule( long dueTimeAsMilli, Runnable task )
+    {
+        // counted before checking for shutdown, so the timer thread can not stop between the check and the add
+        pendingCount.incrementAndGet();
+        if ( shutdown )
+        {
+            pendingCount.decrementAndGet();
+            throw new IllegalStateException( "Timer wheel has already been shutdown" );
+        }
+        added.add( new Timeout( dueTimeAsMilli, task ) );
+        if ( idle )
+        {
+            LockSupport.unpark( timerThread );
+        }
+    }
+
+    /**
+     * @return number of tasks scheduled but not yet run
+     */
+    public long pendingCount()
+    {
+        return pendingCount.get();
+    }
+
+    /**
+     * Stops accepting tasks and waits for the pending tasks to run
+     *
+     * @param waitAsMilli maximum duration to wait for pending tasks
+     * @return true if all pending tasks were run, false if timed out, in which case the remaining tasks are dropped
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdown( long waitAsMilli ) throws InterruptedException
+    {
+        shutdown = true;
+        LockSupport.unpark( timerThread );
+        timerThread.join( waitAsMilli );
+        if ( timerThread.isAlive() )
+        {
+            timerThread.interrupt();
+            timerThread.join();
+        }
+        return 0 == pendingCount.get();
+    }
+
+    private void runTimer()
+    {
+        long lastTickAsMilli = timeSource.nowAsMilli() - 1;
+        while ( !(shutdown && 0 == pendingCount.get()) && !Thread.currentThread().isInterrupted() )
+        {
+            long nowAsMilli = timeSource.nowAsMilli();
+            transferAdded( lastTickAsMilli );
+            if ( nowAsMilli - lastTickAsMilli > buckets.length )
+            {
+                // time jumped by more than a full turn, every bucket needs to be looked at once
+                expireAll( nowAsMilli );
+                lastTickAsMilli = nowAsMilli;
+            }
+            while ( lastTickAsMilli < nowAsMilli )
+            {
+                lastTickAsMilli++;
+                expire( (int) (lastTickAsMilli & mask), lastTickAsMilli );
+            }
+            if ( 0 == pendingCount.get() )
+            {
+                idle = true;
+                // re-check, a task may have been added before idle was set
+                if ( added.isEmpty() && !shutdown )
+                {
+                    LockSupport.parkNanos( this, TimeUnit.MILLISECONDS.toNanos( 100 ) );
+                }
+                idle = false;
+            }
+            else
+            {
+                LockSupport.parkNanos( this, TICK_AS_NANO );
+            }
+        }
+    }
+
+    // tasks due at or before the last tick would never be expired from their bucket, they run straight away
+    private void transferAdded( long lastTickAsMilli )
+    {
+        Timeout timeout;
+        while ( null != (timeout = added.poll()) )
+        {
+            if ( timeout.dueTimeAsMilli <= lastTickAsMilli )
+            {
+                run( timeout );
+            }
+            else
+            {
+                int bucket = (int) (timeout.dueTimeAsMilli & mask);
+                timeout.next = buckets[bucket];
+                buckets[bucket] = timeout;
+            }
+        }
+    }
+
+    private void expire( int bucket, long tickAsMilli )
+    {
+        Timeout due = removeDue( bucket, tickAsMilli );
+        while ( null != due )
+        {
+            Timeout next = due.next;
+            due.next = null;
+            run( due );
+            due = next;
+        }
+    }
+
+    private void expireAll( long nowAsMilli )
+    {
+        List<Timeout> due = new ArrayList<>();
+        for ( int bucket = 0; bucket < buckets.length; bucket++ )
+        {
+            Timeout timeout = removeDue( bucket, nowAsMilli );
+            while ( null != timeout )
+            {
+                Timeout next = timeout.next;
+                timeout.next = null;
+                due.add( timeout );
+                timeout = next;
+            }
+        }
+        // stable, tasks due at the same time stay in the order they were added
+        Collections.sort( due, DUE_TIME_COMPARATOR );
+        for ( Timeout timeout : due )
+        {
+            run( timeout );
+        }
+    }
+
+    // unlinks the tasks of the bucket that are due, in the order they were added
+    private Timeout removeDue( int bucket, long tickAsMilli )
+    {
+        Timeout previous = null;
+        Timeout timeout = buckets[bucket];
+        Timeout due = null;
+        while ( null != timeout )
+        {
+            Timeout next = timeout.next;
+            if ( timeout.dueTimeAsMilli <= tickAsMilli )
+            {
+                if ( null == previous )
+                {
+                    buckets[bucket] = next;
+                }
+                else
+                {
+                    previous.next = next;
+                }
+                timeout.next = due;
+                due = timeout;
+            }
+            else
+            {
+                previous = timeout;
+            }
+            timeout = next;
+        }
+        // bucket is a stack, collecting the due tasks reverses them back into the order they were added
+        return due;
+    }
+
+    private void run( Timeout timeout )
+    {
+        try
+        {
+            timeout.task.run();
+        }
+        catch ( Throwable e )
+        {
+            errorReporter.reportError( this,
+                    format( "Error running task due at %s\n%s",
+                            timeout.dueTimeAsMilli,
+                            ConcurrentErrorReporter.stackTraceToString( e ) ) );
+        }
+        finally
+        {
+            pendingCount.decrementAndGet();
+        }
+    }
+
+    private static class Timeout
+    {
+        private final long dueTimeAsMilli;
+        private final Runnable task;
+        private Timeout next = null;
+
+        private Timeout( long dueTimeAsMilli, Runnable task )
+        {
+            this.dueTimeAsMilli = dueTimeAsMilli;
+            this.task = task;
+        }
+    }
+}
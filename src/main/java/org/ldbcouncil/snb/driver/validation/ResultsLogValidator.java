@@ -7,6 +7,8 @@ package org.ldbcouncil.snb.driver.validation;
  */
 
 import org.ldbcouncil.snb.driver.csv.simple.SimpleCsvFileReader;
+import org.ldbcouncil.snb.driver.runtime.metrics.BinaryResultsLogReader;
+import org.ldbcouncil.snb.driver.runtime.metrics.ResultsLogReader;
 import org.ldbcouncil.snb.driver.temporal.TemporalUtil;
 
 import java.io.File;
@@ -64,7 +66,7 @@ public class ResultsLogValidator
     /***
      * Loads the benchmark result file and uses the ResultsLogValidationSummaryCalculator to record delayed
      * operations.
-     * @param resultsLog The File object to the operation result log CSV-file.
+     * @param resultsLog The File object to the operation result log, CSV or binary.
      * @param excessiveDelayThresholdAsMilli The delay threshold when an operation is considered delayed.
      * @return Summary of the delayed operations in a ResultsLogValidationSummary object
      * @throws ValidationException When the result CSV file could not be opened or invalid delay is computed.
@@ -78,41 +80,89 @@ public class ResultsLogValidator
                 excessiveDelayThresholdAsMilli
         );
 
-        try ( SimpleCsvFileReader reader = new SimpleCsvFileReader(
-                resultsLog,
-                SimpleCsvFileReader.DEFAULT_COLUMN_SEPARATOR_REGEX_STRING ) )
+        forEachOperation( resultsLog, ( operationType, scheduledStartTimeAsMilli, actualStartTimeAsMilli ) ->
         {
-            // skip headers
-            reader.next();
-            while ( reader.hasNext() )
-            {
-                String[] row = reader.next();
-                String operationType = row[0];
-                long scheduledStartTimeAsMilli = Long.parseLong( row[1] );
-                long actualStartTimeAsMilli = Long.parseLong( row[2] );
-                // duration
-                // result code
-                long delayAsMilli = actualStartTimeAsMilli - scheduledStartTimeAsMilli;
-                calculator.recordDelay( operationType, delayAsMilli );
-            }
-        }
-        catch ( FileNotFoundException e )
-        {
-            throw new ValidationException( format( "Error opening results log: %s", resultsLog.getAbsolutePath() ), e );
-        }
+            long delayAsMilli = actualStartTimeAsMilli - scheduledStartTimeAsMilli;
+            calculator.recordDelay( operationType, delayAsMilli );
+        } );
         // Create summary
         return calculator.snapshot();
     }
 
     /**
      * Calculates the maximum delay in the results used to place results in the Histogram object.
-     * @param resultsLog The File object to the operation result log CSV-file.
+     * @param resultsLog The File object to the operation result log, CSV or binary.
      * @return maximum delay found in the result file.
      * @throws ValidationException When the delay is invalid (negative)
      */
     private long maxDelayAsMilli( File resultsLog ) throws ValidationException
     {
-        long maxDelayAsMilli = 0;
+        final long[] maxDelayAsMilli = {0};
+        forEachOperation( resultsLog, ( operationType, scheduledStartTimeAsMilli, actualStartTimeAsMilli ) ->
+        {
+            long delayAsMilli = actualStartTimeAsMilli - scheduledStartTimeAsMilli;
+            if ( delayAsMilli < 0 )
+            {
+                throw new ValidationException(
+                    format( "Delay can not be negative\n" +
+                            "Delay: %s (ms) / %s\n" +
+                            "Scheduled Start Time: %s (ms) / %s\n" +
+                            "Actual Start Time: %s (ms) / %s",
+                            delayAsMilli,
+                            TEMPORAL_UTIL.milliDurationToString( delayAsMilli ),
+                            scheduledStartTimeAsMilli,
+                            TEMPORAL_UTIL.milliTimeToTimeString( scheduledStartTimeAsMilli ),
+                            actualStartTimeAsMilli,
+                            TEMPORAL_UTIL.milliTimeToTimeString( actualStartTimeAsMilli )
+                    )
+                );
+            }
+            if ( delayAsMilli > maxDelayAsMilli[0] )
+            {
+                maxDelayAsMilli[0] = delayAsMilli;
+            }
+        } );
+        return maxDelayAsMilli[0];
+    }
+
+    private interface OperationVisitor
+    {
+        void visit( String operationType, long scheduledStartTimeAsMilli, long actualStartTimeAsMilli )
+                throws ValidationException;
+    }
+
+    /**
+     * Binary results logs are streamed with their reader, CSV results logs are parsed directly as only the first
+     * columns are needed
+     */
+    private void forEachOperation( File resultsLog, OperationVisitor visitor ) throws ValidationException
+    {
+        try
+        {
+            if ( BinaryResultsLogReader.isBinaryResultsLog( resultsLog ) )
+            {
+                try ( ResultsLogReader reader = new BinaryResultsLogReader( resultsLog ) )
+                {
+                    while ( reader.next() )
+                    {
+                        visitor.visit(
+                                reader.getOperationName(),
+                                reader.getScheduledStartTimeAsMilli(),
+                                reader.getActualStartTimeAsMilli() );
+                    }
+                }
+                return;
+            }
+        }
+        catch ( ValidationException e )
+        {
+            throw e;
+        }
+        catch ( Exception e )
+        {
+            throw new ValidationException( format( "Error reading results log: %s", resultsLog.getAbsolutePath() ), e );
+        }
+
         try ( SimpleCsvFileReader reader = new SimpleCsvFileReader(
                 resultsLog,
                 SimpleCsvFileReader.DEFAULT_COLUMN_SEPARATOR_REGEX_STRING ) )
@@ -122,38 +172,17 @@ public class ResultsLogValidator
             while ( reader.hasNext() )
             {
                 String[] row = reader.next();
-                // operation type
+                String operationType = row[0];
                 long scheduledStartTimeAsMilli = Long.parseLong( row[1] );
                 long actualStartTimeAsMilli = Long.parseLong( row[2] );
                 // duration
                 // result code
-                long delayAsMilli = actualStartTimeAsMilli - scheduledStartTimeAsMilli;
-                if ( delayAsMilli < 0 )
-                {
-                    throw new ValidationException(
-                        format( "Delay can not be negative\n" +
-                                "Delay: %s (ms) / %s\n" +
-                                "Scheduled Start Time: %s (ms) / %s\n" +
-                                "Actual Start Time: %s (ms) / %s",
-                                delayAsMilli,
-                                TEMPORAL_UTIL.milliDurationToString( delayAsMilli ),
-                                scheduledStartTimeAsMilli,
-                                TEMPORAL_UTIL.milliTimeToTimeString( scheduledStartTimeAsMilli ),
-                                actualStartTimeAsMilli,
-                                TEMPORAL_UTIL.milliTimeToTimeString( actualStartTimeAsMilli )
-                        )
-                    );
-                }
-                if ( delayAsMilli > maxDelayAsMilli )
-                {
-                    maxDelayAsMilli = delayAsMilli;
-                }
+                visitor.visit( operationType, scheduledStartTimeAsMilli, actualStartTimeAsMilli );
             }
         }
         catch ( FileNotFoundException e )
         {
             throw new ValidationException( format( "Error opening results log: %s", resultsLog.getAbsolutePath() ), e );
         }
-        return maxDelayAsMilli;
     }
 }
@@ -0,0 +1,12 @@
+package org.ldbcouncil.snb.driver.workloads.interactive;
+
+import java.util.Queue;
+
+/**
+ * Bounded queue of IDs that, like {@link com.google.common.collect.EvictingQueue}, evicts its oldest element when
+ * an element is added while it is full, so adding always succeeds. IDs can be added without boxing.
+ */
+interface EvictingLongQueue extends Queue<Long>
+{
+    void addLong( long value );
+}
@@ -0,0 +1,160 @@
+package org.ldbcouncil.snb.driver.workloads.interactive;
+
+import org.ldbcouncil.snb.driver.EntityDependencies;
+import org.ldbcouncil.snb.driver.Operation;
+
+/**
+ * Entities created and referred to by the operations of a forum update stream.
+ * <p/>
+ * Forums are created by {@link LdbcUpdate4AddForum}, posts by {@link LdbcUpdate6AddPost} and comments by
+ * {@link LdbcUpdate7AddComment}, all other forum updates only refer to them. Persons are created by person update
+ * streams, so within a forum update stream they are only ever referred to, operations depending on them wait for
+ * completion time as before.
+ */
+public class ForumUpdateEntityDependencies implements EntityDependencies
+{
+    private static final Object[] NO_ENTITIES = new Object[0];
+
+    private enum EntityKind
+    {
+        PERSON,
+        FORUM,
+        POST,
+        COMMENT
+    }
+
+    private final int maxConcurrentOperations;
+
+    public ForumUpdateEntityDependencies( int maxConcurrentOperations )
+    {
+        this.maxConcurrentOperations = maxConcurrentOperations;
+    }
+
+    @Override
+    public int maxConcurrentOperations()
+    {
+        return maxConcurrentOperations;
+    }
+
+    @Override
+    public Object[] createdEntities( Operation operation )
+    {
+        switch ( operation.type() )
+        {
+        case LdbcUpdate4AddForum.TYPE:
+            return new Object[]{
+                    new Entity( EntityKind.FORUM, ((LdbcUpdate4AddForum) operation).getForumId() )
+            };
+        case LdbcUpdate6AddPost.TYPE:
+            return new Object[]{
+                    new Entity( EntityKind.POST, ((LdbcUpdate6AddPost) operation).getPostId() )
+            };
+        case LdbcUpdate7AddComment.TYPE:
+            return new Object[]{
+                    new Entity( EntityKind.COMMENT, ((LdbcUpdate7AddComment) operation).getCommentId() )
+            };
+        default:
+            return NO_ENTITIES;
+        }
+    }
+
+    @Override
+    public Object[] referencedEntities( Operation operation )
+    {
+        switch ( operation.type() )
+        {
+        case LdbcUpdate2AddPostLike.TYPE:
+        {
+            LdbcUpdate2AddPostLike addPostLike = (LdbcUpdate2AddPostLike) operation;
+            return new Object[]{
+                    new Entity( EntityKind.PERSON, addPostLike.getPersonId() ),
+                    new Entity( EntityKind.POST, addPostLike.getPostId() )
+            };
+        }
+        case LdbcUpdate3AddCommentLike.TYPE:
+        {
+            LdbcUpdate3AddCommentLike addCommentLike = (LdbcUpdate3AddCommentLike) operation;
+            return new Object[]{
+                    new Entity( EntityKind.PERSON, addCommentLike.getPersonId() ),
+                    new Entity( EntityKind.COMMENT, addCommentLike.getCommentId() )
+            };
+        }
+        case LdbcUpdate4AddForum.TYPE:
+            return new Object[]{
+                    new Entity( EntityKind.PERSON, ((LdbcUpdate4AddForum) operation).getModeratorPersonId() )
+            };
+        case LdbcUpdate5AddForumMembership.TYPE:
+        {
+            LdbcUpdate5AddForumMembership addForumMembership = (LdbcUpdate5AddForumMembership) operation;
+            return new Object[]{
+                    new Entity( EntityKind.FORUM, addForumMembership.getForumId() ),
+                    new Entity( EntityKind.PERSON, addForumMembership.getPersonId() )
+            };
+        }
+        case LdbcUpdate6AddPost.TYPE:
+        {
+            LdbcUpdate6AddPost addPost = (LdbcUpdate6AddPost) operation;
+            return new Object[]{
+                    new Entity( EntityKind.PERSON, addPost.getAuthorPersonId() ),
+                    new Entity( EntityKind.FORUM, addPost.getForumId() )
+            };
+        }
+        case LdbcUpdate7AddComment.TYPE:
+        {
+            LdbcUpdate7AddComment addComment = (LdbcUpdate7AddComment) operation;
+            // a comment replies to either a post or a comment, the other id is -1
+            return new Object[]{
+                    new Entity( EntityKind.PERSON, addComment.getAuthorPersonId() ),
+                    (addComment.getReplyToPostId() >= 0)
+                    ? new Entity( EntityKind.POST, addComment.getReplyToPostId() )
+                    : new Entity( EntityKind.COMMENT, addComment.getReplyToCommentId() )
+            };
+        }
+        case LdbcUpdate8AddFriendship.TYPE:
+        {
+            LdbcUpdate8AddFriendship addFriendship = (LdbcUpdate8AddFriendship) operation;
+            return new Object[]{
+                    new Entity( EntityKind.PERSON, addFriendship.getPerson1Id() ),
+                    new Entity( EntityKind.PERSON, addFriendship.getPerson2Id() )
+            };
+        }
+        default:
+            return NO_ENTITIES;
+        }
+    }
+
+    private static class Entity
+    {
+        private final EntityKind kind;
+        private final long id;
+
+        private Entity( EntityKind kind, long id )
+        {
+            this.kind = kind;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals( Object o )
+        {
+            if ( this == o )
+            { return true; }
+            if ( o == null || getClass() != o.getClass() )
+            { return false; }
+            Entity entity = (Entity) o;
+            return id == entity.id && kind == entity.kind;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * kind.hashCode() + (int) (id ^ (id >>> 32));
+        }
+
+        @Override
+        public String toString()
+        {
+            return kind + "(" + id + ")";
+        }
+    }
+}
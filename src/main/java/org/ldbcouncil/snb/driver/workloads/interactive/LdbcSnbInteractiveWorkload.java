@@ -7,21 +7,25 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
 import org.ldbcouncil.snb.driver.ChildOperationGenerator;
+import org.ldbcouncil.snb.driver.EntityDependencies;
 import org.ldbcouncil.snb.driver.Operation;
 import org.ldbcouncil.snb.driver.Workload;
 import org.ldbcouncil.snb.driver.WorkloadException;
 import org.ldbcouncil.snb.driver.WorkloadStreams;
 import org.ldbcouncil.snb.driver.control.ConsoleAndFileDriverConfiguration;
+import org.ldbcouncil.snb.driver.control.LoggingService;
 import org.ldbcouncil.snb.driver.control.OperationMode;
 import org.ldbcouncil.snb.driver.csv.charseeker.BufferedCharSeeker;
 import org.ldbcouncil.snb.driver.csv.charseeker.CharSeeker;
 import org.ldbcouncil.snb.driver.csv.charseeker.Extractors;
+import org.ldbcouncil.snb.driver.csv.charseeker.MappedByteBufferCharSeeker;
 import org.ldbcouncil.snb.driver.csv.charseeker.Mark;
 import org.ldbcouncil.snb.driver.csv.charseeker.Readables;
 import org.ldbcouncil.snb.driver.csv.charseeker.ThreadAheadReadable;
 import org.ldbcouncil.snb.driver.csv.simple.SimpleCsvFileReader;
 import org.ldbcouncil.snb.driver.generator.CsvEventStreamReaderBasicCharSeeker;
 import org.ldbcouncil.snb.driver.generator.GeneratorFactory;
+import org.ldbcouncil.snb.driver.generator.ThreadAheadIterator;
 import org.ldbcouncil.snb.driver.generator.RandomDataGeneratorFactory;
 import org.ldbcouncil.snb.driver.util.ClassLoaderHelper;
 import org.ldbcouncil.snb.driver.util.ClassLoadingException;
@@ -32,7 +36,6 @@ import org.ldbcouncil.snb.driver.util.Tuple2;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -53,6 +56,8 @@ import static java.lang.String.format;
 
 public class LdbcSnbInteractiveWorkload extends Workload
 {
+    private static final int SHORT_READ_BUFFER_SIZE = 1024;
+
     private List<Closeable> forumUpdateOperationsFileReaders = new ArrayList<>();
     private List<File> forumUpdateOperationFiles = new ArrayList<>();
     private List<Closeable> personUpdateOperationsFileReaders = new ArrayList<>();
@@ -97,6 +102,10 @@ public class LdbcSnbInteractiveWorkload extends Workload
     private Set<Class> enabledShortReadOperationTypes;
     private Set<Class> enabledWriteOperationTypes;
     private LdbcSnbInteractiveWorkloadConfiguration.UpdateStreamParser parser;
+    private int updateStreamDecodeAhead;
+    private int shortReadBufferStripes;
+    private int forumUpdateParallelism;
+    private List<ThreadAheadIterator<Operation>> decodeAheadUpdateStreams = new ArrayList<>();
 
     @Override
     public Map<Integer,Class<? extends Operation>> operationTypeToClassMapping()
@@ -471,11 +480,70 @@ public class LdbcSnbInteractiveWorkload extends Workload
             throw new WorkloadException( "Invalid parser: " + parserString );
         }
         this.parser = LdbcSnbInteractiveWorkloadConfiguration.UpdateStreamParser.valueOf( parserString.trim() );
+        String decodeAheadString = params.get( LdbcSnbInteractiveWorkloadConfiguration.UPDATE_STREAM_DECODE_AHEAD );
+        try
+        {
+            this.updateStreamDecodeAhead = (null == decodeAheadString)
+                                           ? LdbcSnbInteractiveWorkloadConfiguration.DEFAULT_UPDATE_STREAM_DECODE_AHEAD
+                                           : Integer.parseInt( decodeAheadString.trim() );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new WorkloadException( "Unable to parse update stream decode ahead: " + decodeAheadString, e );
+        }
+        if ( updateStreamDecodeAhead < 0 )
+        {
+            throw new WorkloadException( "Update stream decode ahead must not be negative: " + decodeAheadString );
+        }
+        String shortReadBufferStripesString =
+                params.get( LdbcSnbInteractiveWorkloadConfiguration.SHORT_READ_BUFFER_STRIPES );
+        try
+        {
+            this.shortReadBufferStripes = (null == shortReadBufferStripesString)
+                                          ? LdbcSnbInteractiveWorkloadConfiguration.DEFAULT_SHORT_READ_BUFFER_STRIPES
+                                          : Integer.parseInt( shortReadBufferStripesString.trim() );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new WorkloadException(
+                    "Unable to parse short read buffer stripes: " + shortReadBufferStripesString, e );
+        }
+        if ( shortReadBufferStripes < 1 || shortReadBufferStripes > SHORT_READ_BUFFER_SIZE )
+        {
+            throw new WorkloadException( format( "Short read buffer stripes must be between 1 and %s: %s",
+                    SHORT_READ_BUFFER_SIZE, shortReadBufferStripesString ) );
+        }
+        String forumUpdateParallelismString =
+                params.get( LdbcSnbInteractiveWorkloadConfiguration.FORUM_UPDATE_PARALLELISM );
+        try
+        {
+            this.forumUpdateParallelism = (null == forumUpdateParallelismString)
+                                          ? LdbcSnbInteractiveWorkloadConfiguration.DEFAULT_FORUM_UPDATE_PARALLELISM
+                                          : Integer.parseInt( forumUpdateParallelismString.trim() );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new WorkloadException(
+                    "Unable to parse forum update parallelism: " + forumUpdateParallelismString, e );
+        }
+        if ( forumUpdateParallelism < 1 )
+        {
+            throw new WorkloadException( "Forum update parallelism must be at least 1: " + forumUpdateParallelismString );
+        }
         this.compressionRatio = Double.parseDouble(
                 params.get( ConsoleAndFileDriverConfiguration.TIME_COMPRESSION_RATIO_ARG ).trim()
         );
     }
 
+    @Override
+    synchronized public void logStatistics( LoggingService loggingService )
+    {
+        for ( ThreadAheadIterator<Operation> decodeAheadUpdateStream : decodeAheadUpdateStreams )
+        {
+            loggingService.info( format( "Update stream decode ahead: %s", decodeAheadUpdateStream ) );
+        }
+    }
+
     @Override
     synchronized protected void onClose() throws IOException
     {
@@ -495,6 +563,26 @@ public class LdbcSnbInteractiveWorkload extends Workload
         }
     }
 
+    private Tuple2<Iterator<Operation>,Closeable> updateStreamReader( File updateOperationsFile )
+            throws IOException, WorkloadException
+    {
+        Tuple2<Iterator<Operation>,Closeable> parserAndCloseable =
+                fileToWriteStreamParser( updateOperationsFile, parser );
+        if ( 0 == updateStreamDecodeAhead )
+        {
+            return parserAndCloseable;
+        }
+        // decode in a background thread, so slow decoding does not delay dispatch
+        ThreadAheadIterator<Operation> decodeAheadUpdateStream = new ThreadAheadIterator<>(
+                parserAndCloseable._1(),
+                parserAndCloseable._2(),
+                updateStreamDecodeAhead,
+                "decode-ahead-" + updateOperationsFile.getName()
+        );
+        decodeAheadUpdateStreams.add( decodeAheadUpdateStream );
+        return Tuple.<Iterator<Operation>,Closeable>tuple2( decodeAheadUpdateStream, decodeAheadUpdateStream );
+    }
+
     private Tuple2<Iterator<Operation>,Closeable> fileToWriteStreamParser( File updateOperationsFile,
             LdbcSnbInteractiveWorkloadConfiguration.UpdateStreamParser parser ) throws IOException, WorkloadException
     {
@@ -522,6 +610,13 @@ public class LdbcSnbInteractiveWorkload extends Workload
             return Tuple.<Iterator<Operation>,Closeable>tuple2(
                     WriteEventStreamReaderCharSeeker.create( charSeeker, extractors, '|' ), charSeeker );
         }
+        case CHAR_SEEKER_MAPPED:
+        {
+            CharSeeker charSeeker = new MappedByteBufferCharSeeker( updateOperationsFile );
+            Extractors extractors = new Extractors( ';', ',' );
+            return Tuple.<Iterator<Operation>,Closeable>tuple2(
+                    WriteEventStreamReaderCharSeeker.create( charSeeker, extractors, '|' ), charSeeker );
+        }
         case CHAR_SEEKER_THREAD:
         {
             int bufferSize = 1 * 1024 * 1024;
@@ -545,6 +640,28 @@ public class LdbcSnbInteractiveWorkload extends Workload
                 csvFileReader );
     }
 
+    private CharSeeker newCharSeeker( File file, int bufferSize ) throws IOException
+    {
+        if ( parser == LdbcSnbInteractiveWorkloadConfiguration.UpdateStreamParser.CHAR_SEEKER_MAPPED )
+        {
+            return new MappedByteBufferCharSeeker( file );
+        }
+        return new BufferedCharSeeker(
+                Readables.wrap(
+                        new InputStreamReader( new FileInputStream( file ), Charsets.UTF_8 )
+                ),
+                bufferSize
+        );
+    }
+
+    private Queue<Long> shortReadBuffer()
+    {
+        return (1 == shortReadBufferStripes)
+               ? LdbcSnbShortReadGenerator.lockFreeCircularQueueBuffer( SHORT_READ_BUFFER_SIZE )
+               : LdbcSnbShortReadGenerator.stripedLockFreeCircularQueueBuffer(
+                       SHORT_READ_BUFFER_SIZE, shortReadBufferStripes );
+    }
+
     @Override
     protected WorkloadStreams getStreams( GeneratorFactory gf, boolean hasDbConnected ) throws WorkloadException
     {
@@ -563,11 +680,12 @@ public class LdbcSnbInteractiveWorkload extends Workload
          * *******
          * *******/
 
-        // TODO put person/forum update stream pairs into same streams, to half required thread count
+        // every update file is a blocking stream of its own, the driver's write thread count decides how many
+        // threads they share
          /*
          * Create person write operation streams
          */
-        if ( enabledWriteOperationTypes.contains( LdbcUpdate1AddPerson.class ) )
+        if ( personUpdateStreamsEnabled() )
         {
             for ( File personUpdateOperationFile : personUpdateOperationFiles )
             {
@@ -575,7 +693,7 @@ public class LdbcSnbInteractiveWorkload extends Workload
                 try
                 {
                     Tuple2<Iterator<Operation>,Closeable> parserAndCloseable =
-                            fileToWriteStreamParser( personUpdateOperationFile, parser );
+                            updateStreamReader( personUpdateOperationFile );
                     personUpdateOperationsParser = parserAndCloseable._1();
                     personUpdateOperationsFileReaders.add( parserAndCloseable._2() );
                 }
@@ -627,35 +745,14 @@ public class LdbcSnbInteractiveWorkload extends Workload
                 Iterator<Operation> filteredPersonUpdateOperations =
                         Iterators.filter( unfilteredPersonUpdateOperations, enabledWriteOperationsFilter );
 
-                Set<Class<? extends Operation>> dependentPersonUpdateOperationTypes = Sets.newHashSet();
-                Set<Class<? extends Operation>> dependencyPersonUpdateOperationTypes =
-                        Sets.<Class<? extends Operation>>newHashSet(
-                                LdbcUpdate1AddPerson.class
-                        );
-
-                ChildOperationGenerator personUpdateChildOperationGenerator = null;
-
-                ldbcSnbInteractiveWorkloadStreams.addBlockingStream(
-                        dependentPersonUpdateOperationTypes,
-                        dependencyPersonUpdateOperationTypes,
-                        filteredPersonUpdateOperations,
-                        Collections.<Operation>emptyIterator(),
-                        personUpdateChildOperationGenerator
-                );
+                addPersonUpdateStream( ldbcSnbInteractiveWorkloadStreams, filteredPersonUpdateOperations );
             }
         }
 
         /*
          * Create forum write operation streams
          */
-        if ( enabledWriteOperationTypes.contains( LdbcUpdate2AddPostLike.class ) ||
-             enabledWriteOperationTypes.contains( LdbcUpdate3AddCommentLike.class ) ||
-             enabledWriteOperationTypes.contains( LdbcUpdate4AddForum.class ) ||
-             enabledWriteOperationTypes.contains( LdbcUpdate5AddForumMembership.class ) ||
-             enabledWriteOperationTypes.contains( LdbcUpdate6AddPost.class ) ||
-             enabledWriteOperationTypes.contains( LdbcUpdate7AddComment.class ) ||
-             enabledWriteOperationTypes.contains( LdbcUpdate8AddFriendship.class )
-                )
+        if ( forumUpdateStreamsEnabled() )
         {
             for ( File forumUpdateOperationFile : forumUpdateOperationFiles )
             {
@@ -663,7 +760,7 @@ public class LdbcSnbInteractiveWorkload extends Workload
                 try
                 {
                     Tuple2<Iterator<Operation>,Closeable> parserAndCloseable =
-                            fileToWriteStreamParser( forumUpdateOperationFile, parser );
+                            updateStreamReader( forumUpdateOperationFile );
                     forumUpdateOperationsParser = parserAndCloseable._1();
                     forumUpdateOperationsFileReaders.add( parserAndCloseable._2() );
                 }
@@ -714,27 +811,7 @@ public class LdbcSnbInteractiveWorkload extends Workload
                 Iterator<Operation> filteredForumUpdateOperations =
                         Iterators.filter( unfilteredForumUpdateOperations, enabledWriteOperationsFilter );
 
-                Set<Class<? extends Operation>> dependentForumUpdateOperationTypes =
-                        Sets.<Class<? extends Operation>>newHashSet(
-                                LdbcUpdate2AddPostLike.class,
-                                LdbcUpdate3AddCommentLike.class,
-                                LdbcUpdate4AddForum.class,
-                                LdbcUpdate5AddForumMembership.class,
-                                LdbcUpdate6AddPost.class,
-                                LdbcUpdate7AddComment.class,
-                                LdbcUpdate8AddFriendship.class
-                        );
-                Set<Class<? extends Operation>> dependencyForumUpdateOperationTypes = Sets.newHashSet();
-
-                ChildOperationGenerator forumUpdateChildOperationGenerator = null;
-
-                ldbcSnbInteractiveWorkloadStreams.addBlockingStream(
-                        dependentForumUpdateOperationTypes,
-                        dependencyForumUpdateOperationTypes,
-                        Collections.<Operation>emptyIterator(),
-                        filteredForumUpdateOperations,
-                        forumUpdateChildOperationGenerator
-                );
+                addForumUpdateStream( ldbcSnbInteractiveWorkloadStreams, filteredForumUpdateOperations );
             }
         }
 
@@ -765,14 +842,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation1File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation1File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation1File.getAbsolutePath() ),
@@ -823,14 +895,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation2File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation2File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation2File.getAbsolutePath() ),
@@ -881,14 +948,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation3File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation3File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation3File.getAbsolutePath() ),
@@ -942,14 +1004,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation4File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation4File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation4File.getAbsolutePath() ),
@@ -1001,14 +1058,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation5File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation5File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation5File.getAbsolutePath() ),
@@ -1059,14 +1111,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation6File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation6File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation6File.getAbsolutePath() ),
@@ -1117,14 +1164,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation7File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation7File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation7File.getAbsolutePath() ),
@@ -1174,14 +1216,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation8File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation8File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation8File.getAbsolutePath() ),
@@ -1231,14 +1268,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation9File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation9File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation9File.getAbsolutePath() ),
@@ -1289,14 +1321,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation10File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation10File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation10File.getAbsolutePath() ),
@@ -1347,14 +1374,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation11File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation11File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation11File.getAbsolutePath() ),
@@ -1406,14 +1428,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation12File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation12File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation12File.getAbsolutePath() ),
@@ -1464,14 +1481,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation13File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation13File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation13File.getAbsolutePath() ),
@@ -1522,14 +1534,9 @@ public class LdbcSnbInteractiveWorkload extends Workload
             CharSeeker charSeeker;
             try
             {
-                charSeeker = new BufferedCharSeeker(
-                        Readables.wrap(
-                                new InputStreamReader( new FileInputStream( readOperation14File ), Charsets.UTF_8 )
-                        ),
-                        bufferSize
-                );
+                charSeeker = newCharSeeker( readOperation14File, bufferSize );
             }
-            catch ( FileNotFoundException e )
+            catch ( IOException e )
             {
                 throw new WorkloadException(
                         format( "Unable to open parameters file: %s", readOperation14File.getAbsolutePath() ),
@@ -1623,58 +1630,7 @@ public class LdbcSnbInteractiveWorkload extends Workload
          * *******
          * *******/
 
-        ChildOperationGenerator shortReadsChildGenerator = null;
-        if ( false == enabledShortReadOperationTypes.isEmpty() )
-        {
-            Map<Integer,Long> longReadInterleavesAsMilli = new HashMap<>();
-            longReadInterleavesAsMilli.put( LdbcQuery1.TYPE, readOperation1InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery2.TYPE, readOperation2InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery3.TYPE, readOperation3InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery4.TYPE, readOperation4InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery5.TYPE, readOperation5InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery6.TYPE, readOperation6InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery7.TYPE, readOperation7InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery8.TYPE, readOperation8InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery9.TYPE, readOperation9InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery10.TYPE, readOperation10InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery11.TYPE, readOperation11InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery12.TYPE, readOperation12InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery13.TYPE, readOperation13InterleaveAsMilli );
-            longReadInterleavesAsMilli.put( LdbcQuery14.TYPE, readOperation14InterleaveAsMilli );
-
-            RandomDataGeneratorFactory randomFactory = new RandomDataGeneratorFactory( 42l );
-            double initialProbability = 1.0;
-            Queue<Long> personIdBuffer = (hasDbConnected)
-                                         ? LdbcSnbShortReadGenerator.synchronizedCircularQueueBuffer( 1024 )
-                                         : LdbcSnbShortReadGenerator.constantBuffer( 1 );
-            Queue<Long> messageIdBuffer = (hasDbConnected)
-                                          ? LdbcSnbShortReadGenerator.synchronizedCircularQueueBuffer( 1024 )
-                                          : LdbcSnbShortReadGenerator.constantBuffer( 1 );
-            LdbcSnbShortReadGenerator.SCHEDULED_START_TIME_POLICY scheduledStartTimePolicy = (hasDbConnected)
-                                                                                             ?
-                                                                                             LdbcSnbShortReadGenerator.SCHEDULED_START_TIME_POLICY.PREVIOUS_OPERATION_ACTUAL_FINISH_TIME
-                                                                                             :
-                                                                                             LdbcSnbShortReadGenerator.SCHEDULED_START_TIME_POLICY.PREVIOUS_OPERATION_SCHEDULED_START_TIME;
-            LdbcSnbShortReadGenerator.BufferReplenishFun bufferReplenishFun = (hasDbConnected)
-                                                                              ? new LdbcSnbShortReadGenerator
-                    .ResultBufferReplenishFun(
-                    personIdBuffer, messageIdBuffer )
-                                                                              : new LdbcSnbShortReadGenerator
-                                                                                      .NoOpBufferReplenishFun();
-            shortReadsChildGenerator = new LdbcSnbShortReadGenerator(
-                    initialProbability,
-                    shortReadDissipationFactor,
-                    updateInterleaveAsMilli,
-                    enabledShortReadOperationTypes,
-                    compressionRatio,
-                    personIdBuffer,
-                    messageIdBuffer,
-                    randomFactory,
-                    longReadInterleavesAsMilli,
-                    scheduledStartTimePolicy,
-                    bufferReplenishFun
-            );
-        }
+        ChildOperationGenerator shortReadsChildGenerator = shortReadsChildGenerator( hasDbConnected );
 
         /* **************
          * **************
@@ -1695,6 +1651,185 @@ public class LdbcSnbInteractiveWorkload extends Workload
         return ldbcSnbInteractiveWorkloadStreams;
     }
 
+    @Override
+    protected WorkloadStreams getStreamDefinitions( GeneratorFactory gf, boolean hasDbConnected )
+            throws WorkloadException
+    {
+        WorkloadStreams ldbcSnbInteractiveStreamDefinitions = new WorkloadStreams();
+        if ( personUpdateStreamsEnabled() )
+        {
+            for ( File personUpdateOperationFile : personUpdateOperationFiles )
+            {
+                if ( false == isEmptyUpdateStream( personUpdateOperationFile ) )
+                {
+                    addPersonUpdateStream( ldbcSnbInteractiveStreamDefinitions,
+                            Collections.<Operation>emptyIterator() );
+                }
+            }
+        }
+        if ( forumUpdateStreamsEnabled() )
+        {
+            for ( File forumUpdateOperationFile : forumUpdateOperationFiles )
+            {
+                if ( false == isEmptyUpdateStream( forumUpdateOperationFile ) )
+                {
+                    addForumUpdateStream( ldbcSnbInteractiveStreamDefinitions,
+                            Collections.<Operation>emptyIterator() );
+                }
+            }
+        }
+        ldbcSnbInteractiveStreamDefinitions.setAsynchronousStream(
+                Sets.<Class<? extends Operation>>newHashSet(),
+                Sets.<Class<? extends Operation>>newHashSet(),
+                Collections.<Operation>emptyIterator(),
+                Collections.<Operation>emptyIterator(),
+                shortReadsChildGenerator( hasDbConnected )
+        );
+        return ldbcSnbInteractiveStreamDefinitions;
+    }
+
+    private boolean personUpdateStreamsEnabled()
+    {
+        return enabledWriteOperationTypes.contains( LdbcUpdate1AddPerson.class );
+    }
+
+    private boolean forumUpdateStreamsEnabled()
+    {
+        return enabledWriteOperationTypes.contains( LdbcUpdate2AddPostLike.class ) ||
+               enabledWriteOperationTypes.contains( LdbcUpdate3AddCommentLike.class ) ||
+               enabledWriteOperationTypes.contains( LdbcUpdate4AddForum.class ) ||
+               enabledWriteOperationTypes.contains( LdbcUpdate5AddForumMembership.class ) ||
+               enabledWriteOperationTypes.contains( LdbcUpdate6AddPost.class ) ||
+               enabledWriteOperationTypes.contains( LdbcUpdate7AddComment.class ) ||
+               enabledWriteOperationTypes.contains( LdbcUpdate8AddFriendship.class );
+    }
+
+    // empty update streams get no stream, only the first operation is decoded, without decode ahead
+    private boolean isEmptyUpdateStream( File updateOperationsFile ) throws WorkloadException
+    {
+        try
+        {
+            Tuple2<Iterator<Operation>,Closeable> parserAndCloseable = fileToWriteStreamParser(
+                    updateOperationsFile,
+                    LdbcSnbInteractiveWorkloadConfiguration.UpdateStreamParser.CHAR_SEEKER );
+            try
+            {
+                return false == parserAndCloseable._1().hasNext();
+            }
+            finally
+            {
+                parserAndCloseable._2().close();
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new WorkloadException(
+                    "Unable to open update stream: " + updateOperationsFile.getAbsolutePath(), e );
+        }
+    }
+
+    private void addPersonUpdateStream( WorkloadStreams workloadStreams, Iterator<Operation> personUpdateOperations )
+    {
+        Set<Class<? extends Operation>> dependentPersonUpdateOperationTypes = Sets.newHashSet();
+        Set<Class<? extends Operation>> dependencyPersonUpdateOperationTypes =
+                Sets.<Class<? extends Operation>>newHashSet(
+                        LdbcUpdate1AddPerson.class
+                );
+
+        ChildOperationGenerator personUpdateChildOperationGenerator = null;
+
+        workloadStreams.addBlockingStream(
+                dependentPersonUpdateOperationTypes,
+                dependencyPersonUpdateOperationTypes,
+                personUpdateOperations,
+                Collections.<Operation>emptyIterator(),
+                personUpdateChildOperationGenerator
+        );
+    }
+
+    private void addForumUpdateStream( WorkloadStreams workloadStreams, Iterator<Operation> forumUpdateOperations )
+    {
+        Set<Class<? extends Operation>> dependentForumUpdateOperationTypes =
+                Sets.<Class<? extends Operation>>newHashSet(
+                        LdbcUpdate2AddPostLike.class,
+                        LdbcUpdate3AddCommentLike.class,
+                        LdbcUpdate4AddForum.class,
+                        LdbcUpdate5AddForumMembership.class,
+                        LdbcUpdate6AddPost.class,
+                        LdbcUpdate7AddComment.class,
+                        LdbcUpdate8AddFriendship.class
+                );
+        Set<Class<? extends Operation>> dependencyForumUpdateOperationTypes = Sets.newHashSet();
+
+        ChildOperationGenerator forumUpdateChildOperationGenerator = null;
+
+        // updates on unrelated forums, posts and comments need not wait for each other
+        EntityDependencies forumUpdateEntityDependencies = (forumUpdateParallelism > 1)
+                                                           ? new ForumUpdateEntityDependencies(
+                                                                   forumUpdateParallelism )
+                                                           : null;
+
+        workloadStreams.addBlockingStream(
+                dependentForumUpdateOperationTypes,
+                dependencyForumUpdateOperationTypes,
+                Collections.<Operation>emptyIterator(),
+                forumUpdateOperations,
+                forumUpdateChildOperationGenerator,
+                forumUpdateEntityDependencies
+        );
+    }
+
+    private ChildOperationGenerator shortReadsChildGenerator( boolean hasDbConnected )
+    {
+        if ( enabledShortReadOperationTypes.isEmpty() )
+        {
+            return null;
+        }
+        Map<Integer,Long> longReadInterleavesAsMilli = new HashMap<>();
+        longReadInterleavesAsMilli.put( LdbcQuery1.TYPE, readOperation1InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery2.TYPE, readOperation2InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery3.TYPE, readOperation3InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery4.TYPE, readOperation4InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery5.TYPE, readOperation5InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery6.TYPE, readOperation6InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery7.TYPE, readOperation7InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery8.TYPE, readOperation8InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery9.TYPE, readOperation9InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery10.TYPE, readOperation10InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery11.TYPE, readOperation11InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery12.TYPE, readOperation12InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery13.TYPE, readOperation13InterleaveAsMilli );
+        longReadInterleavesAsMilli.put( LdbcQuery14.TYPE, readOperation14InterleaveAsMilli );
+
+        RandomDataGeneratorFactory randomFactory = new RandomDataGeneratorFactory( 42l );
+        double initialProbability = 1.0;
+        Queue<Long> personIdBuffer = (hasDbConnected)
+                                     ? shortReadBuffer()
+                                     : LdbcSnbShortReadGenerator.constantBuffer( 1 );
+        Queue<Long> messageIdBuffer = (hasDbConnected)
+                                      ? shortReadBuffer()
+                                      : LdbcSnbShortReadGenerator.constantBuffer( 1 );
+        LdbcSnbShortReadGenerator.SCHEDULED_START_TIME_POLICY scheduledStartTimePolicy = (hasDbConnected)
+                ? LdbcSnbShortReadGenerator.SCHEDULED_START_TIME_POLICY.PREVIOUS_OPERATION_ACTUAL_FINISH_TIME
+                : LdbcSnbShortReadGenerator.SCHEDULED_START_TIME_POLICY.PREVIOUS_OPERATION_SCHEDULED_START_TIME;
+        LdbcSnbShortReadGenerator.BufferReplenishFun bufferReplenishFun = (hasDbConnected)
+                ? new LdbcSnbShortReadGenerator.ResultBufferReplenishFun( personIdBuffer, messageIdBuffer )
+                : new LdbcSnbShortReadGenerator.NoOpBufferReplenishFun();
+        return new LdbcSnbShortReadGenerator(
+                initialProbability,
+                shortReadDissipationFactor,
+                updateInterleaveAsMilli,
+                enabledShortReadOperationTypes,
+                compressionRatio,
+                personIdBuffer,
+                messageIdBuffer,
+                randomFactory,
+                longReadInterleavesAsMilli,
+                scheduledStartTimePolicy,
+                bufferReplenishFun
+        );
+    }
+
     /**
      * Creates the validation parameter filter, which determines the amount of validation parameters
      * @param requiredValidationParameterCount The total validation parameters to create
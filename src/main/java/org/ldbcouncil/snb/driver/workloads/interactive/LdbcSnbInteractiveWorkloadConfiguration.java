@@ -36,21 +36,36 @@ public abstract class LdbcSnbInteractiveWorkloadConfiguration
     public final static String SHORT_READ_DISSIPATION =
             LDBC_SNB_INTERACTIVE_PARAM_NAME_PREFIX + "short_read_dissipation";
 
+    // Number of stripes the short read ID buffers are split into, 1 shares one buffer between all threads
+    public final static String SHORT_READ_BUFFER_STRIPES =
+            LDBC_SNB_INTERACTIVE_PARAM_NAME_PREFIX + "short_read_buffer_stripes";
+    public final static int DEFAULT_SHORT_READ_BUFFER_STRIPES = 1;
+
     // Average distance between updates in simulation time
     public final static String UPDATE_INTERLEAVE = LDBC_SNB_INTERACTIVE_PARAM_NAME_PREFIX + "update_interleave";
 
     public final static String SCALE_FACTOR = LDBC_SNB_INTERACTIVE_PARAM_NAME_PREFIX + "scale_factor";
 
-    // The parser implementation to use when reading update events
+    // The parser implementation to use when reading update events, CHAR_SEEKER_MAPPED is also used for parameters
     public enum UpdateStreamParser
     {
         REGEX,
         CHAR_SEEKER,
-        CHAR_SEEKER_THREAD
+        CHAR_SEEKER_THREAD,
+        CHAR_SEEKER_MAPPED
     }
 
     public final static String UPDATE_STREAM_PARSER = LDBC_SNB_INTERACTIVE_PARAM_NAME_PREFIX + "update_parser";
     public final static UpdateStreamParser DEFAULT_UPDATE_STREAM_PARSER = UpdateStreamParser.CHAR_SEEKER;
+    // Number of update operations each update stream decodes ahead in a background thread, 0 decodes on demand
+    public final static String UPDATE_STREAM_DECODE_AHEAD =
+            LDBC_SNB_INTERACTIVE_PARAM_NAME_PREFIX + "update_decode_ahead";
+    public final static int DEFAULT_UPDATE_STREAM_DECODE_AHEAD = 0;
+    // Number of updates each forum update stream may have in flight at once, every update waiting only for the earlier
+    // updates of its stream that created the forums, posts and comments it refers to, 1 executes them one by one
+    public final static String FORUM_UPDATE_PARALLELISM =
+            LDBC_SNB_INTERACTIVE_PARAM_NAME_PREFIX + "forum_update_parallelism";
+    public final static int DEFAULT_FORUM_UPDATE_PARALLELISM = 1;
     public final static String LDBC_INTERACTIVE_PACKAGE_PREFIX =
             removeSuffix( LdbcQuery1.class.getName(), LdbcQuery1.class.getSimpleName() );
 
@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
 
 import static java.lang.String.format;
 
@@ -518,13 +519,38 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
 
     public static class ResultBufferReplenishFun implements BufferReplenishFun
     {
-        private final Queue<Long> personIdBuffer;
-        private final Queue<Long> messageIdBuffer;
+        private final LongConsumer personIdBuffer;
+        private final LongConsumer messageIdBuffer;
 
         public ResultBufferReplenishFun( Queue<Long> personIdBuffer, Queue<Long> messageIdBuffer )
         {
-            this.personIdBuffer = personIdBuffer;
-            this.messageIdBuffer = messageIdBuffer;
+            this.personIdBuffer = adderFor( personIdBuffer );
+            this.messageIdBuffer = adderFor( messageIdBuffer );
+        }
+
+        // adds without boxing when the buffer supports it
+        private static LongConsumer adderFor( final Queue<Long> buffer )
+        {
+            if ( buffer instanceof EvictingLongQueue )
+            {
+                final EvictingLongQueue evictingLongQueue = (EvictingLongQueue) buffer;
+                return new LongConsumer()
+                {
+                    @Override
+                    public void accept( long id )
+                    {
+                        evictingLongQueue.addLong( id );
+                    }
+                };
+            }
+            return new LongConsumer()
+            {
+                @Override
+                public void accept( long id )
+                {
+                    buffer.add( id );
+                }
+            };
         }
 
         @Override
@@ -537,7 +563,7 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 List<LdbcQuery1Result> typedResults = (List<LdbcQuery1Result>) result;
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
-                    personIdBuffer.add( typedResults.get( i ).getFriendId() );
+                    personIdBuffer.accept( typedResults.get( i ).getFriendId() );
                 }
                 break;
             }
@@ -547,8 +573,8 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
                     LdbcQuery2Result typedResult = typedResults.get( i );
-                    personIdBuffer.add( typedResult.getPersonId() );
-                    messageIdBuffer.add( typedResult.getMessageId() );
+                    personIdBuffer.accept( typedResult.getPersonId() );
+                    messageIdBuffer.accept( typedResult.getMessageId() );
                 }
                 break;
             }
@@ -557,7 +583,7 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 List<LdbcQuery3Result> typedResults = (List<LdbcQuery3Result>) result;
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
-                    personIdBuffer.add( typedResults.get( i ).getPersonId() );
+                    personIdBuffer.accept( typedResults.get( i ).getPersonId() );
                 }
                 break;
             }
@@ -567,8 +593,8 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
                     LdbcQuery7Result typedResult = typedResults.get( i );
-                    personIdBuffer.add( typedResult.getPersonId() );
-                    messageIdBuffer.add( typedResult.getMessageId() );
+                    personIdBuffer.accept( typedResult.getPersonId() );
+                    messageIdBuffer.accept( typedResult.getMessageId() );
                 }
                 break;
             }
@@ -578,8 +604,8 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
                     LdbcQuery8Result typedResult = typedResults.get( i );
-                    personIdBuffer.add( typedResult.getPersonId() );
-                    messageIdBuffer.add( typedResult.getCommentId() );
+                    personIdBuffer.accept( typedResult.getPersonId() );
+                    messageIdBuffer.accept( typedResult.getCommentId() );
                 }
                 break;
             }
@@ -589,8 +615,8 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
                     LdbcQuery9Result typedResult = typedResults.get( i );
-                    personIdBuffer.add( typedResult.getPersonId() );
-                    messageIdBuffer.add( typedResult.getMessageId() );
+                    personIdBuffer.accept( typedResult.getPersonId() );
+                    messageIdBuffer.accept( typedResult.getMessageId() );
                 }
                 break;
             }
@@ -599,7 +625,7 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 List<LdbcQuery10Result> typedResults = (List<LdbcQuery10Result>) result;
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
-                    personIdBuffer.add( typedResults.get( i ).getPersonId() );
+                    personIdBuffer.accept( typedResults.get( i ).getPersonId() );
                 }
                 break;
             }
@@ -608,7 +634,7 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 List<LdbcQuery11Result> typedResults = (List<LdbcQuery11Result>) result;
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
-                    personIdBuffer.add( typedResults.get( i ).getPersonId() );
+                    personIdBuffer.accept( typedResults.get( i ).getPersonId() );
                 }
                 break;
             }
@@ -617,7 +643,7 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 List<LdbcQuery12Result> typedResults = (List<LdbcQuery12Result>) result;
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
-                    personIdBuffer.add( typedResults.get( i ).getPersonId() );
+                    personIdBuffer.accept( typedResults.get( i ).getPersonId() );
                 }
                 break;
             }
@@ -628,7 +654,7 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 {
                     for ( Number personId : typedResults.get( i ).getPersonIdsInPath() )
                     {
-                        personIdBuffer.add( personId.longValue() );
+                        personIdBuffer.accept( personId.longValue() );
                     }
                 }
                 break;
@@ -639,9 +665,9 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
                     LdbcShortQuery2PersonPostsResult typedResult = typedResults.get( i );
-                    personIdBuffer.add( typedResult.getOriginalPostAuthorId() );
-                    messageIdBuffer.add( typedResult.getMessageId() );
-                    messageIdBuffer.add( typedResult.getOriginalPostId() );
+                    personIdBuffer.accept( typedResult.getOriginalPostAuthorId() );
+                    messageIdBuffer.accept( typedResult.getMessageId() );
+                    messageIdBuffer.accept( typedResult.getOriginalPostId() );
                 }
                 break;
             }
@@ -651,20 +677,20 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                         (List<LdbcShortQuery3PersonFriendsResult>) result;
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
-                    personIdBuffer.add( typedResults.get( i ).getPersonId() );
+                    personIdBuffer.accept( typedResults.get( i ).getPersonId() );
                 }
                 break;
             }
             case LdbcShortQuery5MessageCreator.TYPE:
             {
                 LdbcShortQuery5MessageCreatorResult typedResult = (LdbcShortQuery5MessageCreatorResult) result;
-                personIdBuffer.add( typedResult.getPersonId() );
+                personIdBuffer.accept( typedResult.getPersonId() );
                 break;
             }
             case LdbcShortQuery6MessageForum.TYPE:
             {
                 LdbcShortQuery6MessageForumResult typedResult = (LdbcShortQuery6MessageForumResult) result;
-                personIdBuffer.add( typedResult.getModeratorId() );
+                personIdBuffer.accept( typedResult.getModeratorId() );
                 break;
             }
             case LdbcShortQuery7MessageReplies.TYPE:
@@ -674,8 +700,8 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
                 for ( int i = 0; i < typedResults.size(); i++ )
                 {
                     LdbcShortQuery7MessageRepliesResult typedResult = typedResults.get( i );
-                    personIdBuffer.add( typedResult.getReplyAuthorId() );
-                    messageIdBuffer.add( typedResult.getCommentId() );
+                    personIdBuffer.accept( typedResult.getReplyAuthorId() );
+                    messageIdBuffer.accept( typedResult.getCommentId() );
                 }
                 break;
             }
@@ -1368,6 +1394,16 @@ public class LdbcSnbShortReadGenerator implements ChildOperationGenerator
         return Queues.synchronizedQueue( EvictingQueue.<Long>create( bufferSize ) );
     }
 
+    static Queue<Long> lockFreeCircularQueueBuffer( int bufferSize )
+    {
+        return new LockFreeEvictingLongQueue( bufferSize );
+    }
+
+    static Queue<Long> stripedLockFreeCircularQueueBuffer( int bufferSize, int stripeCount )
+    {
+        return new StripedEvictingLongQueue( bufferSize, stripeCount );
+    }
+
     static Queue<Long> constantBuffer( final long value )
     {
         return new Queue<Long>()
@@ -0,0 +1,197 @@
+package org.ldbcouncil.snb.driver.workloads.interactive;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, multi-producer/multi-consumer {@link EvictingLongQueue} over a ring of primitive longs.
+ * <p/>
+ * Every added element claims the next position. Once a position is a full ring ahead of the head, the element at
+ * the head has been overwritten, i.e., evicted, and readers skip it. Each slot has a sequence, the position it holds
+ * plus one, negated while being written, so readers can tell published, in-progress and overwritten slots apart.
+ * When the add at the head has claimed its position but not yet published its element, readers wait for it rather
+ * than report the queue as empty, as short read chains end on the first empty poll.
+ */
+class LockFreeEvictingLongQueue extends AbstractQueue<Long> implements EvictingLongQueue
+{
+    private final AtomicLongArray values;
+    private final AtomicLongArray sequences;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong( 0 );
+    private final AtomicLong tail = new AtomicLong( 0 );
+
+    LockFreeEvictingLongQueue( int capacity )
+    {
+        if ( capacity < 1 )
+        {
+            throw new IllegalArgumentException( "Capacity must be at least 1: " + capacity );
+        }
+        int ringSize = Integer.highestOneBit( capacity );
+        if ( ringSize < capacity )
+        {
+            ringSize = ringSize << 1;
+        }
+        this.capacity = capacity;
+        this.mask = ringSize - 1;
+        this.values = new AtomicLongArray( ringSize );
+        this.sequences = new AtomicLongArray( ringSize );
+    }
+
+    @Override
+    public void addLong( long value )
+    {
+        long position = tail.getAndIncrement();
+        int slot = (int) (position & mask);
+        long sequence = position + 1;
+        while ( true )
+        {
+            long slotSequence = sequences.get( slot );
+            if ( Math.abs( slotSequence ) >= sequence )
+            {
+                // a later add already overwrote this slot, so this element counts as added and then evicted
+                break;
+            }
+            if ( slotSequence < 0 )
+            {
+                // an add from an earlier lap is still writing this slot
+                Thread.yield();
+                continue;
+            }
+            if ( sequences.compareAndSet( slot, slotSequence, -sequence ) )
+            {
+                values.set( slot, value );
+                sequences.set( slot, sequence );
+                break;
+            }
+        }
+        evictUpTo( position + 1 - capacity );
+    }
+
+    // moves head forward to at least the given position, skipping (evicting) everything before it
+    private void evictUpTo( long position )
+    {
+        long currentHead = head.get();
+        while ( currentHead < position && !head.compareAndSet( currentHead, position ) )
+        {
+            currentHead = head.get();
+        }
+    }
+
+    @Override
+    public boolean offer( Long value )
+    {
+        addLong( value );
+        return true;
+    }
+
+    @Override
+    public Long poll()
+    {
+        while ( true )
+        {
+            long currentHead = head.get();
+            if ( currentHead >= tail.get() )
+            {
+                return null;
+            }
+            int slot = (int) (currentHead & mask);
+            long sequence = currentHead + 1;
+            long slotSequence = sequences.get( slot );
+            if ( slotSequence == sequence )
+            {
+                long value = values.get( slot );
+                // re-check the sequence, the slot may have been overwritten while the value was read
+                if ( sequences.get( slot ) == sequence && head.compareAndSet( currentHead, sequence ) )
+                {
+                    return value;
+                }
+            }
+            else if ( Math.abs( slotSequence ) > sequence )
+            {
+                // overwritten by a later lap, head is behind
+                evictUpTo( sequence );
+            }
+            else
+            {
+                // the add at head has claimed its position but not yet published its element, which it is about to
+                // do, returning null would end a short read chain while there is still an ID to read
+                Thread.yield();
+            }
+        }
+    }
+
+    @Override
+    public Long peek()
+    {
+        while ( true )
+        {
+            long currentHead = head.get();
+            if ( currentHead >= tail.get() )
+            {
+                return null;
+            }
+            int slot = (int) (currentHead & mask);
+            long sequence = currentHead + 1;
+            long slotSequence = sequences.get( slot );
+            if ( slotSequence == sequence )
+            {
+                long value = values.get( slot );
+                if ( sequences.get( slot ) == sequence )
+                {
+                    return value;
+                }
+            }
+            else if ( Math.abs( slotSequence ) > sequence )
+            {
+                evictUpTo( sequence );
+            }
+            else
+            {
+                Thread.yield();
+            }
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        long size = tail.get() - head.get();
+        return (int) Math.max( 0, Math.min( capacity, size ) );
+    }
+
+    int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Iterates over a weakly consistent snapshot of the queue, in queue order. Elements being written, or overwritten,
+     * while the snapshot is taken are left out.
+     */
+    @Override
+    public Iterator<Long> iterator()
+    {
+        List<Long> snapshot = new ArrayList<>();
+        long currentTail = tail.get();
+        for ( long position = Math.max( head.get(), currentTail - capacity ); position < currentTail; position++ )
+        {
+            int slot = (int) (position & mask);
+            long sequence = position + 1;
+            if ( sequences.get( slot ) == sequence )
+            {
+                long value = values.get( slot );
+                if ( sequences.get( slot ) == sequence )
+                {
+                    snapshot.add( value );
+                }
+            }
+        }
+        return Collections.unmodifiableList( snapshot ).iterator();
+    }
+}
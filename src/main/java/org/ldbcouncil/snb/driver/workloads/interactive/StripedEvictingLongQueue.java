@@ -0,0 +1,109 @@
+package org.ldbcouncil.snb.driver.workloads.interactive;
+
+import com.google.common.collect.Iterators;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * {@link EvictingLongQueue} split into lock-free stripes, so threads mostly touch different cache lines.
+ * <p/>
+ * Each thread adds to and polls from its own stripe, and steals from the other stripes when its own is empty.
+ * Eviction happens per stripe, so order is first-in-first-out within a stripe only.
+ */
+class StripedEvictingLongQueue extends AbstractQueue<Long> implements EvictingLongQueue
+{
+    private final LockFreeEvictingLongQueue[] stripes;
+
+    StripedEvictingLongQueue( int capacity, int stripeCount )
+    {
+        if ( stripeCount < 1 || capacity < stripeCount )
+        {
+            throw new IllegalArgumentException(
+                    "Stripe count must be between 1 and capacity " + capacity + ": " + stripeCount );
+        }
+        this.stripes = new LockFreeEvictingLongQueue[stripeCount];
+        for ( int i = 0; i < stripeCount; i++ )
+        {
+            // spread the remainder, so stripe capacities sum up to capacity
+            int stripeCapacity = capacity / stripeCount + ((i < capacity % stripeCount) ? 1 : 0);
+            stripes[i] = new LockFreeEvictingLongQueue( stripeCapacity );
+        }
+    }
+
+    private int stripeOfCurrentThread()
+    {
+        return (int) (Thread.currentThread().getId() % stripes.length);
+    }
+
+    @Override
+    public void addLong( long value )
+    {
+        stripes[stripeOfCurrentThread()].addLong( value );
+    }
+
+    @Override
+    public boolean offer( Long value )
+    {
+        addLong( value );
+        return true;
+    }
+
+    @Override
+    public Long poll()
+    {
+        int ownStripe = stripeOfCurrentThread();
+        for ( int i = 0; i < stripes.length; i++ )
+        {
+            Long value = stripes[(ownStripe + i) % stripes.length].poll();
+            if ( null != value )
+            {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Long peek()
+    {
+        int ownStripe = stripeOfCurrentThread();
+        for ( int i = 0; i < stripes.length; i++ )
+        {
+            Long value = stripes[(ownStripe + i) % stripes.length].peek();
+            if ( null != value )
+            {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size()
+    {
+        int size = 0;
+        for ( LockFreeEvictingLongQueue stripe : stripes )
+        {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Iterates over a weakly consistent snapshot of the queue, stripe by stripe
+     */
+    @Override
+    public Iterator<Long> iterator()
+    {
+        List<Long> snapshot = new ArrayList<>();
+        for ( LockFreeEvictingLongQueue stripe : stripes )
+        {
+            Iterators.addAll( snapshot, stripe.iterator() );
+        }
+        return Collections.unmodifiableList( snapshot ).iterator();
+    }
+}
@@ -0,0 +1,172 @@
+package org.ldbcouncil.snb.driver;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ldbcouncil.snb.driver.control.ConsoleAndFileDriverConfiguration;
+import org.ldbcouncil.snb.driver.control.DriverConfiguration;
+import org.ldbcouncil.snb.driver.control.Log4jLoggingServiceFactory;
+import org.ldbcouncil.snb.driver.generator.GeneratorFactory;
+import org.ldbcouncil.snb.driver.generator.RandomDataGeneratorFactory;
+import org.ldbcouncil.snb.driver.testutils.TestUtils;
+import org.ldbcouncil.snb.driver.util.MapUtils;
+import org.ldbcouncil.snb.driver.util.Tuple3;
+import org.ldbcouncil.snb.driver.workloads.ClassNameWorkloadFactory;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcSnbInteractiveWorkload;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcSnbInteractiveWorkloadConfiguration;
+import org.ldbcouncil.snb.driver.workloads.interactive.db.DummyLdbcSnbInteractiveDb;
+
+import java.io.File;
+import java.util.Iterator;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+public class CompiledWorkloadScheduleTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldReplaySameScheduleAsGenerated() throws Exception
+    {
+        // Given
+        DriverConfiguration configuration = configuration();
+        long offset = 100;
+        long limit = 1_000;
+        File phaseDir = CompiledWorkloadSchedule.phaseDirectory( temporaryFolder.newFolder(), false );
+        boolean returnStreamsWithDbConnector = false;
+
+        Tuple3<WorkloadStreams,Workload,Long> compiled = generate( configuration, offset, limit );
+        try ( Workload workload = compiled._2() )
+        {
+            CompiledWorkloadSchedule.write( compiled._1(), configuration, offset, limit, compiled._3(), phaseDir );
+        }
+
+        // When
+        Tuple3<WorkloadStreams,Workload,Long> generated = generate( configuration, offset, limit );
+        Tuple3<WorkloadStreams,Workload,Long> replayed = CompiledWorkloadSchedule.load(
+                new ClassNameWorkloadFactory( configuration.workloadClassName() ),
+                configuration,
+                new GeneratorFactory( new RandomDataGeneratorFactory( 42L ) ),
+                returnStreamsWithDbConnector,
+                offset,
+                limit,
+                phaseDir
+        );
+
+        // Then
+        assertThat( CompiledWorkloadSchedule.exists( phaseDir ), is( true ) );
+        assertThat( replayed._3(), equalTo( generated._3() ) );
+        assertThat( replayed._1().blockingStreamDefinitions().size(),
+                equalTo( generated._1().blockingStreamDefinitions().size() ) );
+        GeneratorFactory gf = new GeneratorFactory( new RandomDataGeneratorFactory( 42L ) );
+        Iterator<Operation> generatedOperations =
+                WorkloadStreams.mergeSortedByStartTimeExcludingChildOperationGenerators( gf, generated._1() );
+        Iterator<Operation> replayedOperations =
+                WorkloadStreams.mergeSortedByStartTimeExcludingChildOperationGenerators( gf, replayed._1() );
+        long operationCount = 0;
+        while ( generatedOperations.hasNext() )
+        {
+            Operation generatedOperation = generatedOperations.next();
+            Operation replayedOperation = replayedOperations.next();
+            assertThat( replayedOperation, equalTo( generatedOperation ) );
+            assertThat( replayedOperation.timeStamp(), equalTo( generatedOperation.timeStamp() ) );
+            assertThat( replayedOperation.scheduledStartTimeAsMilli(),
+                    equalTo( generatedOperation.scheduledStartTimeAsMilli() ) );
+            assertThat( replayedOperation.dependencyTimeStamp(),
+                    equalTo( generatedOperation.dependencyTimeStamp() ) );
+            operationCount++;
+        }
+        assertThat( replayedOperations.hasNext(), is( false ) );
+        assertThat( operationCount, greaterThan( 0L ) );
+        generated._2().close();
+        replayed._2().close();
+    }
+
+    @Test( expected = WorkloadException.class )
+    public void shouldNotReplayScheduleCompiledWithDifferentLimit() throws Exception
+    {
+        // Given
+        DriverConfiguration configuration = configuration();
+        File phaseDir = CompiledWorkloadSchedule.phaseDirectory( temporaryFolder.newFolder(), true );
+        Tuple3<WorkloadStreams,Workload,Long> compiled = generate( configuration, 0, 100 );
+        try ( Workload workload = compiled._2() )
+        {
+            CompiledWorkloadSchedule.write( compiled._1(), configuration, 0, 100, compiled._3(), phaseDir );
+        }
+
+        // When/Then
+        CompiledWorkloadSchedule.load(
+                new ClassNameWorkloadFactory( configuration.workloadClassName() ),
+                configuration,
+                new GeneratorFactory( new RandomDataGeneratorFactory( 42L ) ),
+                false,
+                0,
+                200,
+                phaseDir
+        );
+    }
+
+    @Test( expected = WorkloadException.class )
+    public void shouldNotReplayScheduleCompiledWithDifferentWorkloadParameters() throws Exception
+    {
+        // Given
+        DriverConfiguration configuration = configuration();
+        File phaseDir = CompiledWorkloadSchedule.phaseDirectory( temporaryFolder.newFolder(), true );
+        Tuple3<WorkloadStreams,Workload,Long> compiled = generate( configuration, 0, 100 );
+        try ( Workload workload = compiled._2() )
+        {
+            CompiledWorkloadSchedule.write( compiled._1(), configuration, 0, 100, compiled._3(), phaseDir );
+        }
+        long readOperation1InterleaveAsMilli = Long.parseLong(
+                configuration.asMap().get( LdbcSnbInteractiveWorkloadConfiguration.READ_OPERATION_1_INTERLEAVE_KEY ) );
+
+        // When/Then
+        CompiledWorkloadSchedule.load(
+                new ClassNameWorkloadFactory( configuration.workloadClassName() ),
+                configuration.applyArg(
+                        LdbcSnbInteractiveWorkloadConfiguration.READ_OPERATION_1_INTERLEAVE_KEY,
+                        Long.toString( readOperation1InterleaveAsMilli * 2 ) ),
+                new GeneratorFactory( new RandomDataGeneratorFactory( 42L ) ),
+                false,
+                0,
+                100,
+                phaseDir
+        );
+    }
+
+    private static DriverConfiguration configuration() throws Exception
+    {
+        return ConsoleAndFileDriverConfiguration.fromDefaults(
+                DummyLdbcSnbInteractiveDb.class.getName(),
+                LdbcSnbInteractiveWorkload.class.getName(),
+                1_000
+        ).applyArgs(
+                LdbcSnbInteractiveWorkloadConfiguration.defaultConfigSF1()
+        ).applyArg(
+                LdbcSnbInteractiveWorkloadConfiguration.PARAMETERS_DIRECTORY,
+                TestUtils.getResource( "/snb/interactive/" ).getAbsolutePath()
+        ).applyArg(
+                LdbcSnbInteractiveWorkloadConfiguration.UPDATES_DIRECTORY,
+                TestUtils.getResource( "/snb/interactive/" ).getAbsolutePath()
+        ).applyArgs(
+                MapUtils.loadPropertiesToMap( TestUtils.getResource( "/snb/interactive/updateStream.properties" ) )
+        );
+    }
+
+    private Tuple3<WorkloadStreams,Workload,Long> generate( DriverConfiguration configuration, long offset, long limit )
+            throws Exception
+    {
+        return WorkloadStreams.createNewWorkloadWithOffsetAndLimitedWorkloadStreams(
+                configuration,
+                new GeneratorFactory( new RandomDataGeneratorFactory( 42L ) ),
+                false,
+                offset,
+                limit,
+                new Log4jLoggingServiceFactory( false )
+        );
+    }
+}
@@ -0,0 +1,130 @@
+package org.ldbcouncil.snb.driver;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class RecyclingOperationHandlerRunnerFactoryTest
+{
+    @Test
+    public void shouldReuseRunnerReleasedOnSameThread() throws Exception
+    {
+        // Given
+        RecyclingOperationHandlerRunnerFactory factory =
+                new RecyclingOperationHandlerRunnerFactory( new InstantiatingOperationHandlerRunnerFactory() );
+
+        // When
+        OperationHandlerRunnableContext runner1 = factory.newOperationHandlerRunner();
+        OperationHandlerRunnableContext runner2 = factory.newOperationHandlerRunner();
+        runner1.cleanup();
+        OperationHandlerRunnableContext runner3 = factory.newOperationHandlerRunner();
+
+        // Then
+        assertThat( runner1, not( sameInstance( runner2 ) ) );
+        assertThat( runner3, sameInstance( runner1 ) );
+        assertThat( factory.createdCount(), equalTo( 2l ) );
+        factory.shutdown();
+    }
+
+    @Test
+    public void shouldNotHandOutRunnerTwiceWhenReleasedTwice() throws Exception
+    {
+        // Given
+        RecyclingOperationHandlerRunnerFactory factory =
+                new RecyclingOperationHandlerRunnerFactory( new InstantiatingOperationHandlerRunnerFactory() );
+        OperationHandlerRunnableContext runner1 = factory.newOperationHandlerRunner();
+
+        // When
+        runner1.cleanup();
+        runner1.cleanup();
+        OperationHandlerRunnableContext runner2 = factory.newOperationHandlerRunner();
+        OperationHandlerRunnableContext runner3 = factory.newOperationHandlerRunner();
+
+        // Then
+        assertThat( runner2, sameInstance( runner1 ) );
+        assertThat( runner3, not( sameInstance( runner1 ) ) );
+        factory.shutdown();
+    }
+
+    @Test
+    public void shouldReuseRunnersReleasedOnOtherThreads() throws Exception
+    {
+        // Given
+        final RecyclingOperationHandlerRunnerFactory factory =
+                new RecyclingOperationHandlerRunnerFactory( new InstantiatingOperationHandlerRunnerFactory() );
+        final BlockingQueue<OperationHandlerRunnableContext> inFlight = new LinkedBlockingQueue<>( 100 );
+        final Set<OperationHandlerRunnableContext> inUse = Collections.synchronizedSet(
+                Collections.newSetFromMap( new IdentityHashMap<OperationHandlerRunnableContext,Boolean>() ) );
+        final AtomicBoolean handedOutTwice = new AtomicBoolean( false );
+        final OperationHandlerRunnableContext terminate = new OperationHandlerRunnableContext();
+        int releasingThreadCount = 4;
+        int runnerCount = 1_000_000;
+        List<Thread> releasingThreads = new ArrayList<>();
+        for ( int i = 0; i < releasingThreadCount; i++ )
+        {
+            releasingThreads.add( new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        OperationHandlerRunnableContext runner;
+                        while ( terminate != (runner = inFlight.take()) )
+                        {
+                            inUse.remove( runner );
+                            runner.cleanup();
+                        }
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            } );
+        }
+        for ( Thread thread : releasingThreads )
+        {
+            thread.start();
+        }
+
+        // When
+        for ( int i = 0; i < runnerCount; i++ )
+        {
+            OperationHandlerRunnableContext runner = factory.newOperationHandlerRunner();
+            if ( !inUse.add( runner ) )
+            {
+                handedOutTwice.set( true );
+            }
+            inFlight.put( runner );
+        }
+        for ( int i = 0; i < releasingThreadCount; i++ )
+        {
+            inFlight.put( terminate );
+        }
+        for ( Thread thread : releasingThreads )
+        {
+            thread.join();
+        }
+
+        // Then
+        assertThat( handedOutTwice.get(), is( false ) );
+        // at most queue capacity + one per releasing thread + one being handed out can be in flight at once
+        assertThat( factory.createdCount(), lessThanOrEqualTo( 100l + releasingThreadCount + 1 ) );
+        factory.shutdown();
+    }
+}
@@ -0,0 +1,144 @@
+package org.ldbcouncil.snb.driver;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ThreadBoundDbConnectionStatesTest
+{
+    @Test
+    public void shouldBindEveryThreadToConnectionStateOfItsOwn() throws Exception
+    {
+        // Given
+        CountingConnectionStateFactory connectionStateFactory = new CountingConnectionStateFactory();
+        final ThreadBoundDbConnectionStates connectionStates =
+                new ThreadBoundDbConnectionStates( connectionStateFactory, 0 );
+
+        // When
+        Set<DbConnectionState> boundConnectionStates = connectionStatesBoundTo( connectionStates, 4 );
+
+        // Then
+        assertThat( boundConnectionStates.size(), equalTo( 4 ) );
+        assertThat( connectionStateFactory.createdCount.get(), equalTo( 4 ) );
+        assertThat( connectionStates.current(), sameInstance( connectionStates.current() ) );
+    }
+
+    @Test
+    public void shouldBindThreadsToConnectionStateSlots() throws Exception
+    {
+        // Given
+        CountingConnectionStateFactory connectionStateFactory = new CountingConnectionStateFactory();
+        final ThreadBoundDbConnectionStates connectionStates =
+                new ThreadBoundDbConnectionStates( connectionStateFactory, 2 );
+
+        // When
+        Set<DbConnectionState> boundConnectionStates = connectionStatesBoundTo( connectionStates, 6 );
+
+        // Then
+        assertThat( boundConnectionStates.size(), equalTo( 2 ) );
+        assertThat( connectionStateFactory.createdCount.get(), equalTo( 2 ) );
+    }
+
+    @Test
+    public void shouldCloseAllConnectionStates() throws Exception
+    {
+        // Given
+        CountingConnectionStateFactory connectionStateFactory = new CountingConnectionStateFactory();
+        final ThreadBoundDbConnectionStates connectionStates =
+                new ThreadBoundDbConnectionStates( connectionStateFactory, 0 );
+        connectionStatesBoundTo( connectionStates, 3 );
+
+        // When
+        connectionStates.close();
+
+        // Then
+        assertThat( connectionStateFactory.closedCount.get(), equalTo( 3 ) );
+        boolean exceptionThrown = false;
+        try
+        {
+            connectionStates.current();
+        }
+        catch ( DbException e )
+        {
+            exceptionThrown = true;
+        }
+        assertThat( exceptionThrown, is( true ) );
+    }
+
+    private static Set<DbConnectionState> connectionStatesBoundTo(
+            final ThreadBoundDbConnectionStates connectionStates,
+            int threadCount ) throws InterruptedException
+    {
+        final Set<DbConnectionState> boundConnectionStates = Collections.synchronizedSet(
+                Collections.newSetFromMap( new IdentityHashMap<DbConnectionState,Boolean>() ) );
+        final AtomicInteger errorCount = new AtomicInteger( 0 );
+        List<Thread> threads = new ArrayList<>();
+        for ( int i = 0; i < threadCount; i++ )
+        {
+            threads.add( new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        DbConnectionState connectionState = connectionStates.current();
+                        for ( int j = 0; j < 100; j++ )
+                        {
+                            if ( connectionState != connectionStates.current() )
+                            {
+                                errorCount.incrementAndGet();
+                            }
+                        }
+                        boundConnectionStates.add( connectionState );
+                    }
+                    catch ( DbException e )
+                    {
+                        errorCount.incrementAndGet();
+                    }
+                }
+            } );
+        }
+        for ( Thread thread : threads )
+        {
+            thread.start();
+        }
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+        assertThat( errorCount.get(), equalTo( 0 ) );
+        return boundConnectionStates;
+    }
+
+    private static class CountingConnectionStateFactory implements DbConnectionStateFactory
+    {
+        private final AtomicInteger createdCount = new AtomicInteger( 0 );
+        private final AtomicInteger closedCount = new AtomicInteger( 0 );
+
+        @Override
+        public DbConnectionState newConnectionState() throws DbException
+        {
+            createdCount.incrementAndGet();
+            return new DbConnectionState()
+            {
+                @Override
+                public void close() throws IOException
+                {
+                    closedCount.incrementAndGet();
+                }
+            };
+        }
+    }
+}
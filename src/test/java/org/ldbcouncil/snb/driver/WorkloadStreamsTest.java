@@ -18,15 +18,19 @@ import org.ldbcouncil.snb.driver.workloads.dummy.TimedNamedOperation2;
 import org.ldbcouncil.snb.driver.workloads.dummy.TimedNamedOperation2Factory;
 import org.ldbcouncil.snb.driver.workloads.dummy.TimedNamedOperation3;
 import org.ldbcouncil.snb.driver.workloads.dummy.TimedNamedOperation3Factory;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -36,6 +40,8 @@ import static org.junit.Assert.assertThat;
 
 public class WorkloadStreamsTest
 {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     @Test
     public void shouldReturnSameWorkloadStreamsAsCreatedWith()
@@ -339,6 +345,67 @@ public class WorkloadStreamsTest
         workload.close();
     }
 
+    @Test
+    public void shouldSkipCountingPassWhenStreamLimitsAreCached()
+            throws WorkloadException, DriverConfigurationException, IOException
+    {
+        GeneratorFactory gf = new GeneratorFactory( new RandomDataGeneratorFactory( 42l ) );
+        final AtomicInteger createdWorkloadCount = new AtomicInteger( 0 );
+        WorkloadFactory workloadFactory = new WorkloadFactory()
+        {
+            @Override
+            public Workload createWorkload() throws WorkloadException
+            {
+                createdWorkloadCount.incrementAndGet();
+                return new TestWorkload();
+            }
+        };
+        ConsoleAndFileDriverConfiguration configuration =
+                ConsoleAndFileDriverConfiguration.fromDefaults( null, null, 100 );
+        configuration = (ConsoleAndFileDriverConfiguration) configuration.applyArg(
+                ConsoleAndFileDriverConfiguration.STREAM_LIMITS_CACHE_DIR_ARG,
+                temporaryFolder.newFolder().getAbsolutePath() );
+
+        List<Long> uncachedTimeStamps = limitedTimeStamps( workloadFactory, configuration, gf, 10 );
+        assertThat( createdWorkloadCount.get(), equalTo( 2 ) );
+
+        List<Long> cachedTimeStamps = limitedTimeStamps( workloadFactory, configuration, gf, 10 );
+        assertThat( createdWorkloadCount.get(), equalTo( 3 ) );
+        assertThat( cachedTimeStamps, equalTo( uncachedTimeStamps ) );
+        assertThat( cachedTimeStamps.size(), is( 100 ) );
+
+        // different offset is not cached yet
+        limitedTimeStamps( workloadFactory, configuration, gf, 20 );
+        assertThat( createdWorkloadCount.get(), equalTo( 5 ) );
+    }
+
+    private List<Long> limitedTimeStamps(
+            WorkloadFactory workloadFactory,
+            ConsoleAndFileDriverConfiguration configuration,
+            GeneratorFactory gf,
+            long offset ) throws WorkloadException, IOException
+    {
+        Tuple3<WorkloadStreams,Workload,Long> limitedWorkloadStreamsAndWorkload =
+                WorkloadStreams.createNewWorkloadWithOffsetAndLimitedWorkloadStreams(
+                        workloadFactory,
+                        configuration,
+                        gf,
+                        false,
+                        offset,
+                        configuration.operationCount(),
+                        new Log4jLoggingServiceFactory( false )
+                );
+        List<Long> timeStamps = new ArrayList<>();
+        Iterator<Operation> operations = WorkloadStreams.mergeSortedByStartTimeExcludingChildOperationGenerators(
+                gf, limitedWorkloadStreamsAndWorkload._1() );
+        while ( operations.hasNext() )
+        {
+            timeStamps.add( operations.next().timeStamp() );
+        }
+        limitedWorkloadStreamsAndWorkload._2().close();
+        return timeStamps;
+    }
+
     @Test
     public void shouldLimitStreamsCorrectly() throws WorkloadException
     {
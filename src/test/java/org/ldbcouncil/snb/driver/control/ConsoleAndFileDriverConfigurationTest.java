@@ -110,6 +110,20 @@ public class ConsoleAndFileDriverConfigurationTest
         long skipCount = 6;
         Map<String,String> paramsMap = new HashMap<>();
         boolean flushLog = false;
+        boolean asyncExecutor = false;
+        int maxInFlight = 10000;
+        boolean preciseSpinner = false;
+        boolean jitDispatch = false;
+        boolean edfQueue = false;
+        int writeThreadCount = 0;
+        String timeTracker = "TREE_MULTISET";
+        int metricsRingSize = 16384;
+        String metricsWaitStrategy = "BLOCKING";
+        int metricsShards = 1;
+        boolean threadLocalMetrics = false;
+        String resultsLogFormat = "CSV";
+        String streamLimitsCacheDirPath = null;
+        String scheduleDirPath = null;
 
         ConsoleAndFileDriverConfiguration configurationBefore = new ConsoleAndFileDriverConfiguration(
                 paramsMap,
@@ -132,7 +146,21 @@ public class ConsoleAndFileDriverConfigurationTest
                 ignoreScheduledStartTimes,
                 warmupCount,
                 skipCount,
-                flushLog
+                flushLog,
+                asyncExecutor,
+                maxInFlight,
+                preciseSpinner,
+                jitDispatch,
+                edfQueue,
+                writeThreadCount,
+                timeTracker,
+                metricsRingSize,
+                metricsWaitStrategy,
+                metricsShards,
+                threadLocalMetrics,
+                resultsLogFormat,
+                streamLimitsCacheDirPath,
+                scheduleDirPath
         );
 
         DriverConfiguration configurationAfter =
@@ -566,6 +594,20 @@ public class ConsoleAndFileDriverConfigurationTest
         long warmupCount = 10;
         long skipCount = 100;
         boolean flushLog = false;
+        boolean asyncExecutor = false;
+        int maxInFlight = 10000;
+        boolean preciseSpinner = false;
+        boolean jitDispatch = false;
+        boolean edfQueue = false;
+        int writeThreadCount = 0;
+        String timeTracker = "TREE_MULTISET";
+        int metricsRingSize = 16384;
+        String metricsWaitStrategy = "BLOCKING";
+        int metricsShards = 1;
+        boolean threadLocalMetrics = false;
+        String resultsLogFormat = "CSV";
+        String streamLimitsCacheDirPath = null;
+        String scheduleDirPath = null;
 
         ConsoleAndFileDriverConfiguration params = new ConsoleAndFileDriverConfiguration(
                 paramsMap,
@@ -588,7 +630,21 @@ public class ConsoleAndFileDriverConfigurationTest
                 ignoreScheduledStartTimes,
                 warmupCount,
                 skipCount,
-                flushLog
+                flushLog,
+                asyncExecutor,
+                maxInFlight,
+                preciseSpinner,
+                jitDispatch,
+                edfQueue,
+                writeThreadCount,
+                timeTracker,
+                metricsRingSize,
+                metricsWaitStrategy,
+                metricsShards,
+                threadLocalMetrics,
+                resultsLogFormat,
+                streamLimitsCacheDirPath,
+                scheduleDirPath
         );
 
         assertThat( params.asMap(), equalTo( paramsMap ) );
@@ -0,0 +1,162 @@
+package org.ldbcouncil.snb.driver.csv;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.csv.charseeker.BufferedCharSeeker;
+import org.ldbcouncil.snb.driver.csv.charseeker.CharSeeker;
+import org.ldbcouncil.snb.driver.csv.charseeker.Extractors;
+import org.ldbcouncil.snb.driver.csv.charseeker.MappedByteBufferCharSeeker;
+import org.ldbcouncil.snb.driver.csv.charseeker.Mark;
+import org.ldbcouncil.snb.driver.csv.charseeker.Readables;
+import org.ldbcouncil.snb.driver.testutils.TestUtils;
+import org.ldbcouncil.snb.driver.workloads.interactive.WriteEventStreamReaderCharSeeker;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Iterator;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class MappedByteBufferCharSeekerTest
+{
+    // small enough for the sample files to span many windows
+    private static final int WINDOW_SIZE = 16 * 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldSeekSameValuesAsBufferedCharSeeker() throws IOException
+    {
+        File[] files = TestUtils.getResource( "/snb/interactive/" ).listFiles();
+        for ( File file : files )
+        {
+            if ( file.getName().endsWith( ".csv" ) || file.getName().endsWith( ".txt" ) )
+            {
+                assertSameValues( file );
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadSameUpdateOperationsAsBufferedCharSeeker() throws IOException
+    {
+        File file = TestUtils.getResource( "/snb/interactive/updateStream_0_0_forum.csv" );
+        Extractors extractors = new Extractors( ';', ',' );
+        try ( CharSeeker bufferedCharSeeker = newBufferedCharSeeker( file );
+              CharSeeker mappedCharSeeker = new MappedByteBufferCharSeeker( file, WINDOW_SIZE, '"' ) )
+        {
+            Iterator<Operation> expectedOperations =
+                    WriteEventStreamReaderCharSeeker.create( bufferedCharSeeker, extractors, '|' );
+            Iterator<Operation> operations =
+                    WriteEventStreamReaderCharSeeker.create( mappedCharSeeker, new Extractors( ';', ',' ), '|' );
+            while ( expectedOperations.hasNext() )
+            {
+                assertThat( operations.hasNext(), is( true ) );
+                Operation expectedOperation = expectedOperations.next();
+                Operation operation = operations.next();
+                assertThat( operation, equalTo( expectedOperation ) );
+                assertThat( operation.timeStamp(), equalTo( expectedOperation.timeStamp() ) );
+                assertThat( operation.dependencyTimeStamp(), equalTo( expectedOperation.dependencyTimeStamp() ) );
+            }
+            assertThat( operations.hasNext(), is( false ) );
+        }
+    }
+
+    @Test
+    public void shouldUnquoteValuesAndDecodeMultiByteCharacters() throws IOException
+    {
+        // Given
+        File file = temporaryFolder.newFile();
+        Files.write( "\"a|b\"|\"say \"\"hi\"\"\"|Zürich|東京\r\n\r\n|42|1;2;3\n", file, Charsets.UTF_8 );
+        int[] columnDelimiters = new int[]{'|'};
+        Extractors extractors = new Extractors( ';', ',' );
+        Mark mark = new Mark();
+
+        // When/Then
+        try ( CharSeeker charSeeker = new MappedByteBufferCharSeeker( file ) )
+        {
+            charSeeker.seek( mark, columnDelimiters );
+            assertThat( charSeeker.extract( mark, extractors.string() ).value(), equalTo( "a|b" ) );
+            charSeeker.seek( mark, columnDelimiters );
+            assertThat( charSeeker.extract( mark, extractors.string() ).value(), equalTo( "say \"hi\"" ) );
+            charSeeker.seek( mark, columnDelimiters );
+            assertThat( charSeeker.extract( mark, extractors.string() ).value(), equalTo( "Zürich" ) );
+            charSeeker.seek( mark, columnDelimiters );
+            assertThat( mark.isEndOfLine(), is( true ) );
+            assertThat( charSeeker.extract( mark, extractors.string() ).value(), equalTo( "東京" ) );
+            assertThat( charSeeker.extract( mark, extractors.stringArray() ).value(),
+                    equalTo( new String[]{"東京"} ) );
+
+            charSeeker.seek( mark, columnDelimiters );
+            assertThat( charSeeker.extract( mark, extractors.string() ).value(), nullValue() );
+            charSeeker.seek( mark, columnDelimiters );
+            assertThat( charSeeker.extract( mark, extractors.long_() ).longValue(), equalTo( 42L ) );
+            charSeeker.seek( mark, columnDelimiters );
+            assertThat( mark.isEndOfLine(), is( true ) );
+            assertThat( charSeeker.extract( mark, extractors.longArray() ).value(), equalTo( new long[]{1, 2, 3} ) );
+
+            assertThat( charSeeker.seek( mark, columnDelimiters ), is( false ) );
+        }
+    }
+
+    @Test( expected = IllegalStateException.class )
+    public void shouldFailOnValueLargerThanWindow() throws IOException
+    {
+        // Given
+        File file = temporaryFolder.newFile();
+        Files.write( "a|0123456789abcdef|b\n", file, Charsets.UTF_8 );
+        Mark mark = new Mark();
+
+        // When/Then
+        try ( CharSeeker charSeeker = new MappedByteBufferCharSeeker( file, 8, '"' ) )
+        {
+            while ( charSeeker.seek( mark, new int[]{'|'} ) )
+            {
+                // read to end
+            }
+        }
+    }
+
+    private void assertSameValues( File file ) throws IOException
+    {
+        int[] columnDelimiters = new int[]{'|'};
+        Extractors extractors = new Extractors( ';', ',' );
+        Mark expectedMark = new Mark();
+        Mark mark = new Mark();
+        try ( CharSeeker bufferedCharSeeker = newBufferedCharSeeker( file );
+              CharSeeker mappedCharSeeker = new MappedByteBufferCharSeeker( file, WINDOW_SIZE, '"' ) )
+        {
+            boolean hasNext;
+            do
+            {
+                hasNext = bufferedCharSeeker.seek( expectedMark, columnDelimiters );
+                assertThat( file.getName(), mappedCharSeeker.seek( mark, columnDelimiters ), is( hasNext ) );
+                if ( hasNext )
+                {
+                    assertThat( file.getName(), mark.isEndOfLine(), is( expectedMark.isEndOfLine() ) );
+                    assertThat( file.getName(), mark.lineNumber(), is( expectedMark.lineNumber() ) );
+                    assertThat( file.getName(),
+                            mappedCharSeeker.extract( mark, extractors.string() ).value(),
+                            equalTo( bufferedCharSeeker.extract( expectedMark, extractors.string() ).value() ) );
+                }
+            }
+            while ( hasNext );
+        }
+    }
+
+    private CharSeeker newBufferedCharSeeker( File file ) throws IOException
+    {
+        return new BufferedCharSeeker(
+                Readables.wrap( new InputStreamReader( new FileInputStream( file ), Charsets.UTF_8 ) ) );
+    }
+}
@@ -0,0 +1,144 @@
+package org.ldbcouncil.snb.driver.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcSnbInteractiveWorkloadConfiguration;
+import org.ldbcouncil.snb.driver.workloads.interactive.db.DummyLdbcSnbInteractiveOperationInstances;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+public class OperationScheduleReaderWriterTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldReplayWrittenOperationsWithTheirTimeStamps() throws IOException
+    {
+        // Given
+        List<Operation> operations = operations();
+        File scheduleFile = temporaryFolder.newFile();
+
+        // When
+        try ( OperationScheduleWriter writer = new OperationScheduleWriter( scheduleFile ) )
+        {
+            for ( Operation operation : operations )
+            {
+                writer.write( operation );
+            }
+            assertThat( writer.operationCount(), equalTo( (long) operations.size() ) );
+        }
+
+        // Then
+        // tiny window, so records are read across window boundaries
+        long windowSize = 64;
+        try ( OperationScheduleReader reader = new OperationScheduleReader(
+                scheduleFile,
+                LdbcSnbInteractiveWorkloadConfiguration.operationTypeToClassMapping(),
+                windowSize ) )
+        {
+            for ( int i = 0; i < operations.size(); i++ )
+            {
+                assertThat( reader.hasNext(), is( true ) );
+                Operation operation = reader.next();
+                assertThat( operation, equalTo( operations.get( i ) ) );
+                assertThat( operation.scheduledStartTimeAsMilli(), equalTo( i * 10L ) );
+                assertThat( operation.timeStamp(), equalTo( i * 10L + 1 ) );
+                assertThat( operation.dependencyTimeStamp(), equalTo( i * 10L + 2 ) );
+            }
+            assertThat( reader.hasNext(), is( false ) );
+        }
+    }
+
+    @Test
+    public void shouldEncodeParametersMoreCompactlyThanJson() throws IOException
+    {
+        // Given
+        List<Operation> operations = operations();
+        long jsonParametersSize = 0;
+        ObjectMapper objectMapper = new ObjectMapper();
+        for ( Operation operation : operations )
+        {
+            jsonParametersSize += objectMapper.writeValueAsBytes( operation ).length;
+        }
+        File scheduleFile = temporaryFolder.newFile();
+
+        // When
+        try ( OperationScheduleWriter writer = new OperationScheduleWriter( scheduleFile ) )
+        {
+            for ( Operation operation : operations )
+            {
+                writer.write( operation );
+            }
+        }
+
+        // Then
+        long parametersSize = scheduleFile.length() - 8 - 4 -
+                              operations.size() * OperationScheduleWriter.RECORD_HEADER_SIZE;
+        // field names and number formatting make up much of the JSON
+        assertThat( parametersSize, lessThan( jsonParametersSize * 2 / 3 ) );
+    }
+
+    @Test
+    public void shouldReplayEmptySchedule() throws IOException
+    {
+        // Given
+        File scheduleFile = temporaryFolder.newFile();
+        new OperationScheduleWriter( scheduleFile ).close();
+
+        // When
+        try ( OperationScheduleReader reader = new OperationScheduleReader(
+                scheduleFile,
+                LdbcSnbInteractiveWorkloadConfiguration.operationTypeToClassMapping() ) )
+        {
+            // Then
+            assertThat( reader.hasNext(), is( false ) );
+        }
+    }
+
+    private static List<Operation> operations()
+    {
+        List<Operation> operations = Lists.<Operation>newArrayList(
+                DummyLdbcSnbInteractiveOperationInstances.read1(),
+                DummyLdbcSnbInteractiveOperationInstances.read2(),
+                DummyLdbcSnbInteractiveOperationInstances.read3(),
+                DummyLdbcSnbInteractiveOperationInstances.read4(),
+                DummyLdbcSnbInteractiveOperationInstances.read5(),
+                DummyLdbcSnbInteractiveOperationInstances.read6(),
+                DummyLdbcSnbInteractiveOperationInstances.read7(),
+                DummyLdbcSnbInteractiveOperationInstances.read8(),
+                DummyLdbcSnbInteractiveOperationInstances.read9(),
+                DummyLdbcSnbInteractiveOperationInstances.read10(),
+                DummyLdbcSnbInteractiveOperationInstances.read11(),
+                DummyLdbcSnbInteractiveOperationInstances.read12(),
+                DummyLdbcSnbInteractiveOperationInstances.read13(),
+                DummyLdbcSnbInteractiveOperationInstances.read14(),
+                DummyLdbcSnbInteractiveOperationInstances.write1(),
+                DummyLdbcSnbInteractiveOperationInstances.write2(),
+                DummyLdbcSnbInteractiveOperationInstances.write3(),
+                DummyLdbcSnbInteractiveOperationInstances.write4(),
+                DummyLdbcSnbInteractiveOperationInstances.write5(),
+                DummyLdbcSnbInteractiveOperationInstances.write6(),
+                DummyLdbcSnbInteractiveOperationInstances.write7(),
+                DummyLdbcSnbInteractiveOperationInstances.write8()
+        );
+        for ( int i = 0; i < operations.size(); i++ )
+        {
+            operations.get( i ).setScheduledStartTimeAsMilli( i * 10 );
+            operations.get( i ).setTimeStamp( i * 10 + 1 );
+            operations.get( i ).setDependencyTimeStamp( i * 10 + 2 );
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,132 @@
+package org.ldbcouncil.snb.driver.generator;
+
+import com.google.common.collect.Iterators;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.temporal.SystemTimeSource;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+import org.ldbcouncil.snb.driver.workloads.dummy.TimedNamedOperation1;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+
+import static java.lang.String.format;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+@Ignore
+public class OrderedMultiGeneratorPerformanceTest
+{
+    private static final int OPERATION_COUNT = 1 << 22;
+    private static final int WARMUP_REPETITIONS = 3;
+    private static final int TEST_REPETITIONS = 5;
+    private final TimeSource timeSource = new SystemTimeSource();
+
+    private enum MergeType
+    {
+        // what GeneratorFactory.mergeSortOperationsByTimeStamp used before
+        GUAVA_HEAP,
+        LOSER_TREE_COMPARATOR,
+        LOSER_TREE_KEY
+    }
+
+    @Test
+    public void compareMergeImplementations()
+    {
+        for ( int streamCount : new int[]{2, 4, 8, 16, 32, 64, 128, 256, 512} )
+        {
+            Operation[][] streams = streams( streamCount );
+            for ( MergeType mergeType : MergeType.values() )
+            {
+                for ( int i = 0; i < WARMUP_REPETITIONS; i++ )
+                {
+                    doMergePerformanceTest( mergeType, streams );
+                }
+                long totalDurationAsNano = 0;
+                for ( int i = 0; i < TEST_REPETITIONS; i++ )
+                {
+                    totalDurationAsNano += doMergePerformanceTest( mergeType, streams );
+                }
+                long meanDurationAsNano = totalDurationAsNano / TEST_REPETITIONS;
+                long opsPerSecond = Math.round( (double) OPERATION_COUNT / meanDurationAsNano * 1_000_000_000 );
+                System.out.println( format( "Streams[%s] %-22s %s ms, %s op/sec",
+                        streamCount,
+                        mergeType.name(),
+                        meanDurationAsNano / 1_000_000,
+                        opsPerSecond ) );
+            }
+        }
+    }
+
+    private long doMergePerformanceTest( MergeType mergeType, Operation[][] streams )
+    {
+        Iterator<Operation>[] iterators = new Iterator[streams.length];
+        for ( int i = 0; i < streams.length; i++ )
+        {
+            iterators[i] = Iterators.forArray( streams[i] );
+        }
+
+        long startTimeAsNano = timeSource.nanoSnapshot();
+        Iterator<Operation> merged = merge( mergeType, iterators );
+        long count = 0;
+        long previousTimeStamp = Long.MIN_VALUE;
+        while ( merged.hasNext() )
+        {
+            long timeStamp = merged.next().timeStamp();
+            if ( timeStamp < previousTimeStamp )
+            {
+                throw new IllegalStateException( "Out of order" );
+            }
+            previousTimeStamp = timeStamp;
+            count++;
+        }
+        long durationAsNano = timeSource.nanoSnapshot() - startTimeAsNano;
+
+        assertThat( count, is( (long) OPERATION_COUNT ) );
+        return durationAsNano;
+    }
+
+    private Iterator<Operation> merge( MergeType mergeType, Iterator<Operation>[] iterators )
+    {
+        Comparator<Operation> comparator = new Comparator<Operation>()
+        {
+            @Override
+            public int compare( Operation o1, Operation o2 )
+            {
+                return Long.compare( o1.timeStamp(), o2.timeStamp() );
+            }
+        };
+        switch ( mergeType )
+        {
+        case GUAVA_HEAP:
+            return Iterators.mergeSorted( Arrays.asList( iterators ), comparator );
+        case LOSER_TREE_COMPARATOR:
+            return new OrderedMultiGenerator<>( comparator, 1, iterators );
+        default:
+            return new GeneratorFactory( new RandomDataGeneratorFactory( 42L ) ).mergeSortOperationsByTimeStamp(
+                    iterators );
+        }
+    }
+
+    /**
+     * Time stamps ascend with random gaps within each stream, and interleave across streams, like update streams
+     */
+    private Operation[][] streams( int streamCount )
+    {
+        Random random = new Random( 42 );
+        Operation[][] streams = new Operation[streamCount][OPERATION_COUNT / streamCount];
+        for ( int i = 0; i < streamCount; i++ )
+        {
+            long timeStamp = 0;
+            for ( int j = 0; j < streams[i].length; j++ )
+            {
+                timeStamp += random.nextInt( 2 * streamCount );
+                streams[i][j] = new TimedNamedOperation1( timeStamp, timeStamp, 0, null );
+            }
+        }
+        return streams;
+    }
+}
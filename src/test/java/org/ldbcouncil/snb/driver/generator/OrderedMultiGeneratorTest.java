@@ -2,10 +2,16 @@ package org.ldbcouncil.snb.driver.generator;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToLongFunction;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class OrderedMultiGeneratorTest {
@@ -175,6 +181,85 @@ public class OrderedMultiGeneratorTest {
         }
     }
 
+    @Test
+    public void shouldMergeSameAsSortingForAnyGeneratorCount() {
+        Random random = new Random(42L);
+        for (int generatorCount = 0; generatorCount <= 33; generatorCount++) {
+            // Given
+            Iterator<long[]>[] comparatorGenerators = new Iterator[generatorCount];
+            Iterator<long[]>[] keyGenerators = new Iterator[generatorCount];
+            List<long[]> expected = new ArrayList<>();
+            for (int i = 0; i < generatorCount; i++) {
+                List<long[]> elements = new ArrayList<>();
+                long key = 0;
+                int elementCount = random.nextInt(20);
+                for (int j = 0; j < elementCount; j++) {
+                    // few distinct keys, so there are many ties between generators
+                    key += random.nextInt(3);
+                    elements.add(new long[]{key, i});
+                }
+                expected.addAll(elements);
+                comparatorGenerators[i] = elements.iterator();
+                keyGenerators[i] = elements.iterator();
+            }
+            // stable sort, so equal keys stay in generator order
+            Collections.sort(expected, new Comparator<long[]>() {
+                @Override
+                public int compare(long[] e1, long[] e2) {
+                    return Long.compare(e1[0], e2[0]);
+                }
+            });
+
+            // When
+            Iterator<long[]> comparatorOrderedGenerator = generators.mergeSort(new Comparator<long[]>() {
+                @Override
+                public int compare(long[] e1, long[] e2) {
+                    return Long.compare(e1[0], e2[0]);
+                }
+            }, 1, comparatorGenerators);
+            Iterator<long[]> keyOrderedGenerator = generators.mergeSort(new ToLongFunction<long[]>() {
+                @Override
+                public long applyAsLong(long[] element) {
+                    return element[0];
+                }
+            }, keyGenerators);
+
+            // Then
+            for (long[] element : expected) {
+                assertThat(comparatorOrderedGenerator.next(), sameInstance(element));
+                assertThat(keyOrderedGenerator.next(), sameInstance(element));
+            }
+            assertThat(comparatorOrderedGenerator.hasNext(), is(false));
+            assertThat(keyOrderedGenerator.hasNext(), is(false));
+        }
+    }
+
+    @Test
+    public void shouldKeepOrderOfEqualElementsWithinLookahead() {
+        // Given
+        int lookaheadDistance = 3;
+        long[] first = new long[]{1};
+        long[] second = new long[]{1};
+        long[] third = new long[]{0};
+        long[] fourth = new long[]{1};
+        Iterator<long[]> g1 = generators.identity(first, second, third, fourth);
+
+        // When
+        Iterator<long[]> orderedGenerator = generators.mergeSort(new Comparator<long[]>() {
+            @Override
+            public int compare(long[] e1, long[] e2) {
+                return Long.compare(e1[0], e2[0]);
+            }
+        }, lookaheadDistance, g1);
+
+        // Then
+        assertThat(orderedGenerator.next(), sameInstance(third));
+        assertThat(orderedGenerator.next(), sameInstance(first));
+        assertThat(orderedGenerator.next(), sameInstance(second));
+        assertThat(orderedGenerator.next(), sameInstance(fourth));
+        assertThat(orderedGenerator.hasNext(), is(false));
+    }
+
     private static class IntegerComparator implements Comparator<Integer> {
         @Override
         public int compare(Integer i1, Integer i2) {
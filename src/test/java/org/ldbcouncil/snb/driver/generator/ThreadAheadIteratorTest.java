@@ -0,0 +1,175 @@
+package org.ldbcouncil.snb.driver.generator;
+
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class ThreadAheadIteratorTest
+{
+    @Test
+    public void shouldReturnAllElementsInOrder() throws IOException
+    {
+        for ( int capacity : new int[]{1, 3, 1024} )
+        {
+            // Given
+            int count = 100_000;
+            AtomicBoolean actualClosed = new AtomicBoolean( false );
+            ThreadAheadIterator<Long> iterator = new ThreadAheadIterator<>(
+                    new IncrementingIterator( count ), closeable( actualClosed ), capacity, "test" );
+
+            // When
+            long expected = 0;
+            while ( iterator.hasNext() )
+            {
+                assertThat( iterator.next(), equalTo( expected ) );
+                expected++;
+            }
+            iterator.close();
+
+            // Then
+            assertThat( expected, equalTo( (long) count ) );
+            assertThat( iterator.hasNext(), is( false ) );
+            assertThat( iterator.occupancy(), equalTo( 0 ) );
+            assertThat( iterator.meanOccupancy(), lessThanOrEqualTo( (double) iterator.capacity() ) );
+            assertThat( actualClosed.get(), is( true ) );
+        }
+    }
+
+    @Test
+    public void shouldCountConsumerWaitsOnSlowDecoder() throws IOException
+    {
+        // Given
+        Iterator<Long> slowIterator = new IncrementingIterator( 10 )
+        {
+            @Override
+            public Long next()
+            {
+                try
+                {
+                    Thread.sleep( 5 );
+                }
+                catch ( InterruptedException e )
+                {
+                    throw new RuntimeException( e );
+                }
+                return super.next();
+            }
+        };
+
+        // When
+        List<Long> elements = new ArrayList<>();
+        try ( ThreadAheadIterator<Long> iterator = new ThreadAheadIterator<>(
+                slowIterator, closeable( new AtomicBoolean() ), 4, "test" ) )
+        {
+            while ( iterator.hasNext() )
+            {
+                elements.add( iterator.next() );
+            }
+
+            // Then
+            assertThat( elements.size(), equalTo( 10 ) );
+            assertThat( iterator.consumerWaitCount(), greaterThan( 0L ) );
+        }
+    }
+
+    @Test
+    public void shouldFillBufferAheadOfConsumer() throws Exception
+    {
+        // Given
+        try ( ThreadAheadIterator<Long> iterator = new ThreadAheadIterator<>(
+                new IncrementingIterator( 100 ), closeable( new AtomicBoolean() ), 8, "test" ) )
+        {
+            // When
+            while ( iterator.occupancy() < iterator.capacity() )
+            {
+                Thread.sleep( 1 );
+            }
+            Thread.sleep( 10 );
+
+            // Then
+            assertThat( iterator.occupancy(), equalTo( 8 ) );
+            assertThat( iterator.next(), equalTo( 0L ) );
+        }
+    }
+
+    @Test( expected = GeneratorException.class )
+    public void shouldRethrowDecoderException() throws IOException
+    {
+        // Given
+        Iterator<Long> failingIterator = new IncrementingIterator( 10 )
+        {
+            @Override
+            public Long next()
+            {
+                Long next = super.next();
+                if ( 5 == next )
+                {
+                    throw new IllegalStateException( "decoding failed" );
+                }
+                return next;
+            }
+        };
+
+        // When/Then
+        try ( ThreadAheadIterator<Long> iterator = new ThreadAheadIterator<>(
+                failingIterator, closeable( new AtomicBoolean() ), 4, "test" ) )
+        {
+            while ( iterator.hasNext() )
+            {
+                iterator.next();
+            }
+        }
+    }
+
+    private static Closeable closeable( final AtomicBoolean closed )
+    {
+        return new Closeable()
+        {
+            @Override
+            public void close() throws IOException
+            {
+                closed.set( true );
+            }
+        };
+    }
+
+    private static class IncrementingIterator implements Iterator<Long>
+    {
+        private final long count;
+        private long next = 0;
+
+        private IncrementingIterator( long count )
+        {
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next < count;
+        }
+
+        @Override
+        public Long next()
+        {
+            return next++;
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
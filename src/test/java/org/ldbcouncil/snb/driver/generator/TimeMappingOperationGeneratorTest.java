@@ -365,6 +365,20 @@ public class TimeMappingOperationGeneratorTest
         long warmupCount = 0;
         long skipCount = 0;
         boolean flushLog = false;
+        boolean asyncExecutor = false;
+        int maxInFlight = 10000;
+        boolean preciseSpinner = false;
+        boolean jitDispatch = false;
+        boolean edfQueue = false;
+        int writeThreadCount = 0;
+        String timeTracker = "TREE_MULTISET";
+        int metricsRingSize = 16384;
+        String metricsWaitStrategy = "BLOCKING";
+        int metricsShards = 1;
+        boolean threadLocalMetrics = false;
+        String resultsLogFormat = "CSV";
+        String streamLimitsCacheDirPath = null;
+        String scheduleDirPath = null;
 
         ConsoleAndFileDriverConfiguration configuration = new ConsoleAndFileDriverConfiguration(
                 paramsMap,
@@ -387,7 +401,21 @@ public class TimeMappingOperationGeneratorTest
                 ignoreScheduledStartTimes,
                 warmupCount,
                 skipCount,
-                flushLog
+                flushLog,
+                asyncExecutor,
+                maxInFlight,
+                preciseSpinner,
+                jitDispatch,
+                edfQueue,
+                writeThreadCount,
+                timeTracker,
+                metricsRingSize,
+                metricsWaitStrategy,
+                metricsShards,
+                threadLocalMetrics,
+                resultsLogFormat,
+                streamLimitsCacheDirPath,
+                scheduleDirPath
         );
 
         Map<String,String> updateStreamParams = MapUtils.loadPropertiesToMap(
@@ -0,0 +1,196 @@
+package org.ldbcouncil.snb.driver.runtime;
+
+import org.junit.Test;
+import org.ldbcouncil.snb.driver.runtime.BoundedLockFreeBlockingQueue.WaitStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class BoundedLockFreeBlockingQueueTest
+{
+    @Test
+    public void shouldHandOutElementsInInsertionOrderAndNotBlockOfferWhenFull() throws InterruptedException
+    {
+        for ( WaitStrategy waitStrategy : WaitStrategy.values() )
+        {
+            // Given
+            BlockingQueue<Long> queue = DefaultQueues.newLockFreeBoundedMpmc( 3, waitStrategy );
+
+            // When
+            boolean offered1 = queue.offer( 1l );
+            boolean offered2 = queue.offer( 2l );
+            boolean offered3 = queue.offer( 3l );
+            boolean offered4 = queue.offer( 4l );
+            boolean offered5 = queue.offer( 5l, 10, TimeUnit.MILLISECONDS );
+
+            // Then
+            // capacity is rounded up to a power of two
+            assertThat( offered1 && offered2 && offered3 && offered4, is( true ) );
+            assertThat( offered5, is( false ) );
+            assertThat( queue.size(), equalTo( 4 ) );
+            assertThat( queue.remainingCapacity(), equalTo( 0 ) );
+            assertThat( new ArrayList<>( queue ), equalTo( Arrays.asList( 1l, 2l, 3l, 4l ) ) );
+            assertThat( queue.peek(), equalTo( 1l ) );
+            assertThat( queue.poll(), equalTo( 1l ) );
+            assertThat( queue.take(), equalTo( 2l ) );
+            assertThat( queue.poll( 1, TimeUnit.MILLISECONDS ), equalTo( 3l ) );
+            // slots are reused on the next lap
+            queue.put( 5l );
+            List<Long> drained = new ArrayList<>();
+            assertThat( queue.drainTo( drained ), equalTo( 2 ) );
+            assertThat( drained, equalTo( Arrays.asList( 4l, 5l ) ) );
+            assertThat( queue.isEmpty(), is( true ) );
+            assertThat( queue.poll(), nullValue() );
+            assertThat( queue.poll( 1, TimeUnit.MILLISECONDS ), nullValue() );
+        }
+    }
+
+    @Test
+    public void putShouldWaitUntilThereIsCapacity() throws InterruptedException
+    {
+        for ( WaitStrategy waitStrategy : WaitStrategy.values() )
+        {
+            // Given
+            final BlockingQueue<Long> queue = DefaultQueues.newLockFreeBoundedMpsc( 2, waitStrategy );
+            final AtomicBoolean put = new AtomicBoolean( false );
+            queue.put( 1l );
+            queue.put( 2l );
+            Thread producer = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        queue.put( 3l );
+                        put.set( true );
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+
+            // When
+            producer.start();
+            Thread.sleep( 100 );
+            boolean putBeforeTake = put.get();
+            Long taken = queue.take();
+            producer.join();
+
+            // Then
+            assertThat( putBeforeTake, is( false ) );
+            assertThat( taken, equalTo( 1l ) );
+            assertThat( put.get(), is( true ) );
+            assertThat( queue.take(), equalTo( 2l ) );
+            assertThat( queue.take(), equalTo( 3l ) );
+        }
+    }
+
+    @Test
+    public void shouldHandOverEveryElementExactlyOnceWithManyProducersAndConsumers() throws InterruptedException
+    {
+        // busy spinning needs a core per thread, which test machines may not have
+        for ( WaitStrategy waitStrategy : new WaitStrategy[]{WaitStrategy.BLOCKING, WaitStrategy.SLEEPING,
+                WaitStrategy.YIELDING} )
+        {
+            shouldHandOverEveryElementExactlyOnce( DefaultQueues.<Integer>newLockFreeBoundedMpmc( 16, waitStrategy ),
+                    4, 4 );
+            shouldHandOverEveryElementExactlyOnce( DefaultQueues.<Integer>newLockFreeBoundedMpsc( 16, waitStrategy ),
+                    4, 1 );
+        }
+    }
+
+    private void shouldHandOverEveryElementExactlyOnce( final BlockingQueue<Integer> queue, int producerCount,
+            int consumerCount ) throws InterruptedException
+    {
+        // Given
+        final int itemCountPerProducer = 50_000;
+        final AtomicIntegerArray takenCounts = new AtomicIntegerArray( itemCountPerProducer * producerCount );
+        final AtomicBoolean outOfOrder = new AtomicBoolean( false );
+        List<Thread> threads = new ArrayList<>();
+        for ( int producer = 0; producer < producerCount; producer++ )
+        {
+            final int firstItem = producer * itemCountPerProducer;
+            threads.add( new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        for ( int item = firstItem; item < firstItem + itemCountPerProducer; item++ )
+                        {
+                            queue.put( item );
+                        }
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            } );
+        }
+        final int itemCountPerConsumer = itemCountPerProducer * producerCount / consumerCount;
+        for ( int consumer = 0; consumer < consumerCount; consumer++ )
+        {
+            threads.add( new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        // elements of one producer come out in the order they were put
+                        int[] lastItemOfProducer = new int[takenCounts.length() / itemCountPerProducer];
+                        Arrays.fill( lastItemOfProducer, -1 );
+                        for ( int i = 0; i < itemCountPerConsumer; i++ )
+                        {
+                            int item = queue.take();
+                            takenCounts.incrementAndGet( item );
+                            int producer = item / itemCountPerProducer;
+                            if ( item <= lastItemOfProducer[producer] )
+                            {
+                                outOfOrder.set( true );
+                            }
+                            lastItemOfProducer[producer] = item;
+                        }
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            } );
+        }
+
+        // When
+        for ( Thread thread : threads )
+        {
+            thread.start();
+        }
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+
+        // Then
+        for ( int item = 0; item < takenCounts.length(); item++ )
+        {
+            assertThat( takenCounts.get( item ), equalTo( 1 ) );
+        }
+        assertThat( outOfOrder.get(), is( false ) );
+        assertThat( queue.poll(), nullValue() );
+    }
+}
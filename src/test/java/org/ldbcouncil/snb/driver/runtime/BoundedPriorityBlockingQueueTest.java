@@ -0,0 +1,137 @@
+package org.ldbcouncil.snb.driver.runtime;
+
+import com.google.common.collect.Ordering;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class BoundedPriorityBlockingQueueTest
+{
+    @Test
+    public void shouldHandOutElementsInComparatorOrder() throws InterruptedException
+    {
+        // Given
+        BoundedPriorityBlockingQueue<Long> queue =
+                DefaultQueues.newBoundedPriority( 10, Ordering.<Long>natural() );
+
+        // When
+        for ( long value : new long[]{5, 1, 4, 2, 3} )
+        {
+            queue.put( value );
+        }
+
+        // Then
+        assertThat( queue.size(), equalTo( 5 ) );
+        assertThat( queue.remainingCapacity(), equalTo( 5 ) );
+        assertThat( queue.peek(), equalTo( 1l ) );
+        assertThat( queue.poll(), equalTo( 1l ) );
+        assertThat( queue.take(), equalTo( 2l ) );
+        assertThat( queue.poll( 1, TimeUnit.MILLISECONDS ), equalTo( 3l ) );
+        List<Long> drained = new ArrayList<>();
+        assertThat( queue.drainTo( drained ), equalTo( 2 ) );
+        assertThat( drained, equalTo( Arrays.asList( 4l, 5l ) ) );
+        assertThat( queue.poll(), nullValue() );
+        assertThat( queue.poll( 1, TimeUnit.MILLISECONDS ), nullValue() );
+    }
+
+    @Test
+    public void offerShouldNotBlockWhenFull() throws InterruptedException
+    {
+        // Given
+        BoundedPriorityBlockingQueue<Long> queue =
+                DefaultQueues.newBoundedPriority( 2, Ordering.<Long>natural() );
+
+        // When
+        boolean offered1 = queue.offer( 2l );
+        boolean offered2 = queue.offer( 1l );
+        boolean offered3 = queue.offer( 0l );
+        boolean offered4 = queue.offer( 0l, 10, TimeUnit.MILLISECONDS );
+
+        // Then
+        assertThat( offered1, is( true ) );
+        assertThat( offered2, is( true ) );
+        assertThat( offered3, is( false ) );
+        assertThat( offered4, is( false ) );
+        assertThat( queue.remainingCapacity(), equalTo( 0 ) );
+        assertThat( queue.remove( 2l ), is( true ) );
+        assertThat( queue.offer( 0l ), is( true ) );
+        assertThat( queue.poll(), equalTo( 0l ) );
+        assertThat( queue.poll(), equalTo( 1l ) );
+    }
+
+    @Test
+    public void putShouldBlockUntilThereIsCapacity() throws InterruptedException
+    {
+        // Given
+        final BoundedPriorityBlockingQueue<Long> queue =
+                DefaultQueues.newBoundedPriority( 1, Ordering.<Long>natural() );
+        final AtomicBoolean put = new AtomicBoolean( false );
+        queue.put( 2l );
+        Thread producer = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    queue.put( 1l );
+                    put.set( true );
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        // When
+        producer.start();
+        Thread.sleep( 100 );
+        boolean putBeforePoll = put.get();
+        Long polled = queue.take();
+        producer.join();
+
+        // Then
+        assertThat( putBeforePoll, is( false ) );
+        assertThat( polled, equalTo( 2l ) );
+        assertThat( put.get(), is( true ) );
+        assertThat( queue.take(), equalTo( 1l ) );
+    }
+
+    @Test
+    public void iteratorShouldRemoveFromQueue()
+    {
+        // Given
+        BoundedPriorityBlockingQueue<Long> queue =
+                DefaultQueues.newBoundedPriority( 10, Ordering.<Long>natural() );
+        queue.add( 1l );
+        queue.add( 2l );
+        queue.add( 3l );
+
+        // When
+        Iterator<Long> iterator = queue.iterator();
+        while ( iterator.hasNext() )
+        {
+            if ( iterator.next() == 2l )
+            {
+                iterator.remove();
+            }
+        }
+
+        // Then
+        assertThat( queue.size(), equalTo( 2 ) );
+        assertThat( queue.contains( 2l ), is( false ) );
+        assertThat( queue.poll(), equalTo( 1l ) );
+        assertThat( queue.poll(), equalTo( 3l ) );
+    }
+}
@@ -0,0 +1,115 @@
+package org.ldbcouncil.snb.driver.runtime;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.ldbcouncil.snb.driver.InstantiatingOperationHandlerRunnerFactory;
+import org.ldbcouncil.snb.driver.OperationException;
+import org.ldbcouncil.snb.driver.OperationHandlerRunnableContext;
+import org.ldbcouncil.snb.driver.OperationHandlerRunnerFactory;
+import org.ldbcouncil.snb.driver.PoolingOperationHandlerRunnerFactory;
+import org.ldbcouncil.snb.driver.RecyclingOperationHandlerRunnerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+import static java.lang.String.format;
+
+@Ignore
+public class OperationHandlerRunnerFactoryPerformanceTests
+{
+    private static final OperationHandlerRunnableContext TERMINATE = new OperationHandlerRunnableContext();
+
+    @Test
+    public void operationHandlerRunnerFactoryPerformanceTest() throws OperationException, InterruptedException
+    {
+        int runnerCount = 10_000_000;
+        int queueSize = DefaultQueues.DEFAULT_BOUND_1000;
+        for ( int releasingThreadCount : new int[]{1, 4, 8} )
+        {
+            for ( int i = 0; i < 3; i++ )
+            {
+                doOperationHandlerRunnerFactoryPerformanceTest(
+                        "Pooling",
+                        new PoolingOperationHandlerRunnerFactory( new InstantiatingOperationHandlerRunnerFactory() ),
+                        runnerCount, queueSize, releasingThreadCount );
+                doOperationHandlerRunnerFactoryPerformanceTest(
+                        "Recycling",
+                        new RecyclingOperationHandlerRunnerFactory( new InstantiatingOperationHandlerRunnerFactory() ),
+                        runnerCount, queueSize, releasingThreadCount );
+                doOperationHandlerRunnerFactoryPerformanceTest(
+                        "Instantiating",
+                        new InstantiatingOperationHandlerRunnerFactory(),
+                        runnerCount, queueSize, releasingThreadCount );
+            }
+        }
+    }
+
+    // one thread claims runners, as the dispatching thread does, and other threads release them, as executors do
+    private void doOperationHandlerRunnerFactoryPerformanceTest( String name,
+            OperationHandlerRunnerFactory operationHandlerRunnerFactory,
+            int runnerCount,
+            int queueSize,
+            int releasingThreadCount ) throws OperationException, InterruptedException
+    {
+        final BlockingQueue<OperationHandlerRunnableContext> inFlight = DefaultQueues.newBlockingBounded( queueSize );
+        List<Thread> releasingThreads = new ArrayList<>();
+        for ( int i = 0; i < releasingThreadCount; i++ )
+        {
+            releasingThreads.add( new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        OperationHandlerRunnableContext runner;
+                        while ( TERMINATE != (runner = inFlight.take()) )
+                        {
+                            runner.cleanup();
+                        }
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            } );
+        }
+        for ( Thread thread : releasingThreads )
+        {
+            thread.start();
+        }
+
+        long maxClaimDurationAsNano = 0;
+        long totalClaimDurationAsNano = 0;
+        long startTimeAsNano = System.nanoTime();
+        for ( int i = 0; i < runnerCount; i++ )
+        {
+            long claimStartTimeAsNano = System.nanoTime();
+            OperationHandlerRunnableContext runner = operationHandlerRunnerFactory.newOperationHandlerRunner();
+            long claimDurationAsNano = System.nanoTime() - claimStartTimeAsNano;
+            totalClaimDurationAsNano += claimDurationAsNano;
+            maxClaimDurationAsNano = Math.max( maxClaimDurationAsNano, claimDurationAsNano );
+            inFlight.put( runner );
+        }
+        for ( int i = 0; i < releasingThreadCount; i++ )
+        {
+            inFlight.put( TERMINATE );
+        }
+        for ( Thread thread : releasingThreads )
+        {
+            thread.join();
+        }
+        long durationAsNano = System.nanoTime() - startTimeAsNano;
+        operationHandlerRunnerFactory.shutdown();
+
+        System.out.println( format(
+                "%-13s releasing threads: %s, runners/sec: %,.0f, mean claim: %,.1f ns, max claim: %,.1f us",
+                name,
+                releasingThreadCount,
+                runnerCount / (durationAsNano / 1_000_000_000d),
+                totalClaimDurationAsNano / (double) runnerCount,
+                maxClaimDurationAsNano / 1_000d ) );
+    }
+}
@@ -11,6 +11,7 @@ import org.ldbcouncil.snb.driver.util.Tuple3;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcSnbInteractiveWorkload;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcSnbInteractiveWorkloadConfiguration;
 import org.ldbcouncil.snb.driver.workloads.interactive.db.DummyLdbcSnbInteractiveDb;
+import org.ldbcouncil.snb.driver.runtime.BoundedLockFreeBlockingQueue.WaitStrategy;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -19,6 +20,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.String.format;
 import static org.hamcrest.CoreMatchers.is;
@@ -83,6 +85,20 @@ public class QueuePerformanceTests
         long warmupCount = 0;
         long skipCount = 0;
         boolean flushLog = false;
+        boolean asyncExecutor = false;
+        int maxInFlight = 10000;
+        boolean preciseSpinner = false;
+        boolean jitDispatch = false;
+        boolean edfQueue = false;
+        int writeThreadCount = 0;
+        String timeTracker = "TREE_MULTISET";
+        int metricsRingSize = 16384;
+        String metricsWaitStrategy = "BLOCKING";
+        int metricsShards = 1;
+        boolean threadLocalMetrics = false;
+        String resultsLogFormat = "CSV";
+        String streamLimitsCacheDirPath = null;
+        String scheduleDirPath = null;
 
         DriverConfiguration config = new ConsoleAndFileDriverConfiguration(
                 paramsMap,
@@ -105,7 +121,21 @@ public class QueuePerformanceTests
                 ignoreScheduledStartTimes,
                 warmupCount,
                 skipCount,
-                flushLog
+                flushLog,
+                asyncExecutor,
+                maxInFlight,
+                preciseSpinner,
+                jitDispatch,
+                edfQueue,
+                writeThreadCount,
+                timeTracker,
+                metricsRingSize,
+                metricsWaitStrategy,
+                metricsShards,
+                threadLocalMetrics,
+                resultsLogFormat,
+                streamLimitsCacheDirPath,
+                scheduleDirPath
         );
 
         GeneratorFactory gf = new GeneratorFactory( new RandomDataGeneratorFactory( 42L ) );
@@ -231,6 +261,12 @@ public class QueuePerformanceTests
 
         long totalDurationSynchronousQueueBlocking = 0l;
 
+        long totalDurationLockFreeMpmcQueueNonBlocking = 0l;
+        long totalDurationLockFreeMpmcQueueBlocking = 0l;
+
+        long totalDurationLockFreeMpscQueueNonBlocking = 0l;
+        long totalDurationLockFreeMpscQueueBlocking = 0l;
+
         for ( int i = 0; i < experimentCount; i++ )
         {
             totalDurationConcurrentLinkedQueueNonBlocking =
@@ -261,6 +297,20 @@ public class QueuePerformanceTests
             totalDurationSynchronousQueueBlocking =
                     totalDurationSynchronousQueueBlocking +
                     blockingQueuePerformanceTest( queueItemCount, new SynchronousQueue<Integer>() );
+
+            totalDurationLockFreeMpmcQueueNonBlocking =
+                    totalDurationLockFreeMpmcQueueNonBlocking + nonBlockingQueuePerformanceTest( queueItemCount,
+                            DefaultQueues.<Integer>newLockFreeBoundedMpmc( queueItemCount, WaitStrategy.BLOCKING ) );
+            totalDurationLockFreeMpmcQueueBlocking =
+                    totalDurationLockFreeMpmcQueueBlocking + blockingQueuePerformanceTest( queueItemCount,
+                            DefaultQueues.<Integer>newLockFreeBoundedMpmc( queueItemCount, WaitStrategy.BLOCKING ) );
+
+            totalDurationLockFreeMpscQueueNonBlocking =
+                    totalDurationLockFreeMpscQueueNonBlocking + nonBlockingQueuePerformanceTest( queueItemCount,
+                            DefaultQueues.<Integer>newLockFreeBoundedMpsc( queueItemCount, WaitStrategy.BLOCKING ) );
+            totalDurationLockFreeMpscQueueBlocking =
+                    totalDurationLockFreeMpscQueueBlocking + blockingQueuePerformanceTest( queueItemCount,
+                            DefaultQueues.<Integer>newLockFreeBoundedMpsc( queueItemCount, WaitStrategy.BLOCKING ) );
         }
 
         long concurrentLinkedQueueNonBlockingItemsPerMs =
@@ -284,6 +334,15 @@ public class QueuePerformanceTests
         long synchronousQueueBlockingItemsPerMs =
                 (queueItemCount * experimentCount) / totalDurationSynchronousQueueBlocking;
 
+        long lockFreeMpmcQueueNonBlockingItemsPerMs =
+                (queueItemCount * experimentCount) / totalDurationLockFreeMpmcQueueNonBlocking;
+        long lockFreeMpmcQueueBlockingItemsPerMs =
+                (queueItemCount * experimentCount) / totalDurationLockFreeMpmcQueueBlocking;
+
+        long lockFreeMpscQueueNonBlockingItemsPerMs =
+                (queueItemCount * experimentCount) / totalDurationLockFreeMpscQueueNonBlocking;
+        long lockFreeMpscQueueBlockingItemsPerMs =
+                (queueItemCount * experimentCount) / totalDurationLockFreeMpscQueueBlocking;
 
         System.out.println(
                 "ConcurrentLinkedQueue(non-blocking) = \t" + concurrentLinkedQueueNonBlockingItemsPerMs + " item/ms" );
@@ -304,6 +363,161 @@ public class QueuePerformanceTests
                 .println( "LinkedTransferQueue(blocking) = \t\t" + linkedTransferQueueBlockingItemsPerMs + " item/ms" );
 
         System.out.println( "SynchronousQueue(blocking) = \t\t\t" + synchronousQueueBlockingItemsPerMs + " item/ms" );
+
+        System.out.println(
+                "LockFreeMpmcQueue(non-blocking) = \t\t" + lockFreeMpmcQueueNonBlockingItemsPerMs + " item/ms" );
+        System.out.println( "LockFreeMpmcQueue(blocking) = \t\t" + lockFreeMpmcQueueBlockingItemsPerMs + " item/ms" );
+
+        System.out.println(
+                "LockFreeMpscQueue(non-blocking) = \t\t" + lockFreeMpscQueueNonBlockingItemsPerMs + " item/ms" );
+        System.out.println( "LockFreeMpscQueue(blocking) = \t\t" + lockFreeMpscQueueBlockingItemsPerMs + " item/ms" );
+    }
+
+    @Test
+    public void comparePerformanceOfBoundedQueueImplementationsWithManyProducers() throws InterruptedException
+    {
+        // queues of the size used to hand events to the completion time and metrics services
+        int queueCapacity = 10000;
+        int itemCountPerProducer = 1000000;
+        int producerCount = 4;
+        int experimentCount = 5;
+        int[] consumerCounts = new int[]{1, producerCount};
+
+        for ( int consumerCount : consumerCounts )
+        {
+            long totalDurationLinkedBlockingQueue = 0l;
+            long totalDurationArrayBlockingQueue = 0l;
+            long totalDurationLockFreeQueueBlocking = 0l;
+            long totalDurationLockFreeQueueYielding = 0l;
+            long totalDurationLockFreeQueueBusySpin = 0l;
+
+            for ( int i = 0; i < experimentCount; i++ )
+            {
+                totalDurationLinkedBlockingQueue = totalDurationLinkedBlockingQueue +
+                        manyProducerQueuePerformanceTest( itemCountPerProducer, producerCount, consumerCount,
+                                new LinkedBlockingQueue<Integer>( queueCapacity ) );
+                totalDurationArrayBlockingQueue = totalDurationArrayBlockingQueue +
+                        manyProducerQueuePerformanceTest( itemCountPerProducer, producerCount, consumerCount,
+                                new ArrayBlockingQueue<Integer>( queueCapacity ) );
+                totalDurationLockFreeQueueBlocking = totalDurationLockFreeQueueBlocking +
+                        manyProducerQueuePerformanceTest( itemCountPerProducer, producerCount, consumerCount,
+                                newLockFreeBounded( queueCapacity, consumerCount, WaitStrategy.BLOCKING ) );
+                totalDurationLockFreeQueueYielding = totalDurationLockFreeQueueYielding +
+                        manyProducerQueuePerformanceTest( itemCountPerProducer, producerCount, consumerCount,
+                                newLockFreeBounded( queueCapacity, consumerCount, WaitStrategy.YIELDING ) );
+                totalDurationLockFreeQueueBusySpin = totalDurationLockFreeQueueBusySpin +
+                        manyProducerQueuePerformanceTest( itemCountPerProducer, producerCount, consumerCount,
+                                newLockFreeBounded( queueCapacity, consumerCount, WaitStrategy.BUSY_SPIN ) );
+            }
+
+            long itemCount = (long) itemCountPerProducer * producerCount * experimentCount;
+            String lockFreeQueueName = (1 == consumerCount) ? "LockFreeMpscQueue" : "LockFreeMpmcQueue";
+            System.out.println( format( "%s producers, %s consumers", producerCount, consumerCount ) );
+            System.out.println(
+                    "LinkedBlockingQueue = \t\t\t\t" + itemCount / totalDurationLinkedBlockingQueue + " item/ms" );
+            System.out.println(
+                    "ArrayBlockingQueue = \t\t\t\t" + itemCount / totalDurationArrayBlockingQueue + " item/ms" );
+            System.out.println( lockFreeQueueName + "(blocking) = \t\t" +
+                                itemCount / totalDurationLockFreeQueueBlocking + " item/ms" );
+            System.out.println( lockFreeQueueName + "(yielding) = \t\t" +
+                                itemCount / totalDurationLockFreeQueueYielding + " item/ms" );
+            System.out.println( lockFreeQueueName + "(busy spin) = \t\t" +
+                                itemCount / totalDurationLockFreeQueueBusySpin + " item/ms" );
+        }
+    }
+
+    private BlockingQueue<Integer> newLockFreeBounded( int capacity, int consumerCount, WaitStrategy waitStrategy )
+    {
+        return (1 == consumerCount)
+               ? DefaultQueues.<Integer>newLockFreeBoundedMpsc( capacity, waitStrategy )
+               : DefaultQueues.<Integer>newLockFreeBoundedMpmc( capacity, waitStrategy );
+    }
+
+    public long manyProducerQueuePerformanceTest( final int itemCountPerProducer, int producerCount,
+            int consumerCount, final BlockingQueue<Integer> queue ) throws InterruptedException
+    {
+        final AtomicLong consumedCount = new AtomicLong( 0 );
+        final AtomicLong consumedSum = new AtomicLong( 0 );
+        Thread[] writeThreads = new Thread[producerCount];
+        for ( int i = 0; i < producerCount; i++ )
+        {
+            writeThreads[i] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        for ( int i = 0; i < itemCountPerProducer; i++ )
+                        {
+                            queue.put( i );
+                        }
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        e.printStackTrace();
+                    }
+                }
+            };
+        }
+
+        Thread[] readThreads = new Thread[consumerCount];
+        for ( int i = 0; i < consumerCount; i++ )
+        {
+            readThreads[i] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        long count = 0;
+                        long sum = 0;
+                        Integer val = queue.take();
+                        while ( TERMINATE.equals( val ) == false )
+                        {
+                            count++;
+                            sum = sum + val;
+                            val = queue.take();
+                        }
+                        consumedCount.addAndGet( count );
+                        consumedSum.addAndGet( sum );
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        e.printStackTrace();
+                    }
+                }
+            };
+        }
+
+        long startTimeAsMilli = timeSource.nowAsMilli();
+        for ( Thread readThread : readThreads )
+        {
+            readThread.start();
+        }
+        for ( Thread writeThread : writeThreads )
+        {
+            writeThread.start();
+        }
+        for ( Thread writeThread : writeThreads )
+        {
+            writeThread.join();
+        }
+        for ( int i = 0; i < consumerCount; i++ )
+        {
+            queue.put( TERMINATE );
+        }
+        for ( Thread readThread : readThreads )
+        {
+            readThread.join();
+        }
+        long duration = timeSource.nowAsMilli() - startTimeAsMilli;
+        long expectedSum = (long) producerCount * ((long) itemCountPerProducer * (itemCountPerProducer - 1) / 2);
+        assertThat( consumedCount.get(), is( (long) itemCountPerProducer * producerCount ) );
+        assertThat( consumedSum.get(), is( expectedSum ) );
+        assertThat( queue.poll(), is( nullValue() ) );
+        return duration;
     }
 
     public long nonBlockingQueuePerformanceTest( final int queueItemCount, final Queue<Integer> queue )
@@ -1762,6 +1762,12 @@ public class WorkloadRunnerComplexScenarioTests
         long statusDisplayIntervalAsMilli = 0;
         long spinnerSleepDurationAsMilli = SPINNER_SLEEP_DURATION_AS_MILLI;
         int operationHandlerExecutorsBoundedQueueSize = 100;
+        boolean asyncExecutor = false;
+        int maxInFlight = 100;
+        boolean preciseSpinner = false;
+        boolean jitDispatch = false;
+        long[] edfDeadlineOffsetsAsMilli = null;
+        int writeThreadCount = 0;
         boolean detailedStatus = false;
         LoggingServiceFactory loggingServiceFactory = new Log4jLoggingServiceFactory( detailedStatus );
         WorkloadRunner runner = new WorkloadRunner(
@@ -1776,7 +1782,13 @@ public class WorkloadRunnerComplexScenarioTests
                 statusDisplayIntervalAsMilli,
                 spinnerSleepDurationAsMilli,
                 ignoreScheduledStartTime,
-                operationHandlerExecutorsBoundedQueueSize
+                operationHandlerExecutorsBoundedQueueSize,
+                asyncExecutor,
+                maxInFlight,
+                preciseSpinner,
+                jitDispatch,
+                edfDeadlineOffsetsAsMilli,
+                writeThreadCount
         );
         return new WorkloadRunnerThread( runner, errorReporter );
     }
@@ -117,6 +117,20 @@ public class WorkloadRunnerTest
             long warmupCount = 100;
             long skipCount = 10;
             boolean flushLog = false;
+            boolean asyncExecutor = false;
+            int maxInFlight = 10000;
+            boolean preciseSpinner = false;
+            boolean jitDispatch = false;
+            boolean edfQueue = false;
+            int writeThreadCount = 0;
+            String timeTracker = "TREE_MULTISET";
+            int metricsRingSize = 16384;
+            String metricsWaitStrategy = "BLOCKING";
+            int metricsShards = 1;
+            boolean threadLocalMetrics = false;
+            String resultsLogFormat = "CSV";
+            String streamLimitsCacheDirPath = null;
+            String scheduleDirPath = null;
 
             ConsoleAndFileDriverConfiguration configuration = new ConsoleAndFileDriverConfiguration(
                     paramsMap,
@@ -139,7 +153,21 @@ public class WorkloadRunnerTest
                     ignoreScheduledStartTimes,
                     warmupCount,
                     skipCount,
-                    flushLog
+                    flushLog,
+                    asyncExecutor,
+                    maxInFlight,
+                    preciseSpinner,
+                    jitDispatch,
+                    edfQueue,
+                    writeThreadCount,
+                    timeTracker,
+                    metricsRingSize,
+                    metricsWaitStrategy,
+                    metricsShards,
+                    threadLocalMetrics,
+                    resultsLogFormat,
+                    streamLimitsCacheDirPath,
+                    scheduleDirPath
             );
 
             configuration = (ConsoleAndFileDriverConfiguration) configuration
@@ -212,7 +240,13 @@ public class WorkloadRunnerTest
                     controlService.configuration().statusDisplayIntervalAsSeconds(),
                     controlService.configuration().spinnerSleepDurationAsMilli(),
                     controlService.configuration().ignoreScheduledStartTimes(),
-                    boundedQueueSize );
+                    boundedQueueSize,
+                    controlService.configuration().asyncExecutor(),
+                    controlService.configuration().maxInFlight(),
+                    controlService.configuration().preciseSpinner(),
+                    controlService.configuration().jitDispatch(),
+                    null,
+                    controlService.configuration().writeThreadCount() );
 
             runner.getFuture().get();
             csvResultsLogWriter.close();
@@ -280,13 +314,31 @@ public class WorkloadRunnerTest
         {
             doShouldRunReadOnlyLdbcWorkloadWithNothingDbAndReturnExpectedMetricsIncludingResultsLog(
                     threadCount,
-                    operationCount
+                    operationCount,
+                    false
+            );
+        }
+    }
+
+    @Test
+    public void shouldRunReadOnlyLdbcWorkloadWithNothingDbUsingAsyncExecutorAndReturnExpectedMetrics()
+            throws InterruptedException, DbException, WorkloadException, IOException, MetricsCollectionException,
+            CompletionTimeException, DriverConfigurationException, ExecutionException
+    {
+        List<Integer> threadCounts = Lists.newArrayList( 1, 4 );
+        long operationCount = 100000;
+        for ( int threadCount : threadCounts )
+        {
+            doShouldRunReadOnlyLdbcWorkloadWithNothingDbAndReturnExpectedMetricsIncludingResultsLog(
+                    threadCount,
+                    operationCount,
+                    true
             );
         }
     }
 
     private void doShouldRunReadOnlyLdbcWorkloadWithNothingDbAndReturnExpectedMetricsIncludingResultsLog(
-            int threadCount, long operationCount )
+            int threadCount, long operationCount, boolean asyncExecutor )
             throws InterruptedException, DbException, WorkloadException, IOException, MetricsCollectionException,
             CompletionTimeException, DriverConfigurationException, ExecutionException
     {
@@ -324,6 +376,19 @@ public class WorkloadRunnerTest
             long warmupCount = 100;
             long skipCount = 10;
             boolean flushLog = false;
+            int maxInFlight = 10000;
+            boolean preciseSpinner = false;
+            boolean jitDispatch = false;
+            boolean edfQueue = false;
+            int writeThreadCount = 0;
+            String timeTracker = "TREE_MULTISET";
+            int metricsRingSize = 16384;
+            String metricsWaitStrategy = "BLOCKING";
+            int metricsShards = 1;
+            boolean threadLocalMetrics = false;
+            String resultsLogFormat = "CSV";
+            String streamLimitsCacheDirPath = null;
+            String scheduleDirPath = null;
 
             ConsoleAndFileDriverConfiguration configuration = new ConsoleAndFileDriverConfiguration(
                     paramsMap,
@@ -346,7 +411,21 @@ public class WorkloadRunnerTest
                     ignoreScheduledStartTimes,
                     warmupCount,
                     skipCount,
-                    flushLog
+                    flushLog,
+                    asyncExecutor,
+                    maxInFlight,
+                    preciseSpinner,
+                    jitDispatch,
+                    edfQueue,
+                    writeThreadCount,
+                    timeTracker,
+                    metricsRingSize,
+                    metricsWaitStrategy,
+                    metricsShards,
+                    threadLocalMetrics,
+                    resultsLogFormat,
+                    streamLimitsCacheDirPath,
+                    scheduleDirPath
             );
 
             configuration = (ConsoleAndFileDriverConfiguration) configuration
@@ -417,7 +496,13 @@ public class WorkloadRunnerTest
                     controlService.configuration().statusDisplayIntervalAsSeconds(),
                     controlService.configuration().spinnerSleepDurationAsMilli(),
                     controlService.configuration().ignoreScheduledStartTimes(),
-                    boundedQueueSize );
+                    boundedQueueSize,
+                    controlService.configuration().asyncExecutor(),
+                    controlService.configuration().maxInFlight(),
+                    controlService.configuration().preciseSpinner(),
+                    controlService.configuration().jitDispatch(),
+                    null,
+                    controlService.configuration().writeThreadCount() );
 
             runner.getFuture().get();
 
@@ -507,13 +592,48 @@ public class WorkloadRunnerTest
         {
             doShouldRunReadWriteLdbcWorkloadWithNothingDbAndReturnExpectedMetricsIncludingResultsLog(
                     threadCount,
-                    operationCount
+                    operationCount,
+                    0,
+                    1
             );
         }
     }
 
+    @Test
+    public void shouldRunReadWriteLdbcWorkloadWithNothingDbWhenUpdateStreamsShareWriteThreadsAndReturnExpectedMetrics()
+            throws InterruptedException, DbException, WorkloadException, IOException, MetricsCollectionException,
+            CompletionTimeException, DriverConfigurationException, ExecutionException
+    {
+        List<Integer> writeThreadCounts = Lists.newArrayList( 1, 3 );
+        long operationCount = 10000;
+        for ( int writeThreadCount : writeThreadCounts )
+        {
+            doShouldRunReadWriteLdbcWorkloadWithNothingDbAndReturnExpectedMetricsIncludingResultsLog(
+                    4,
+                    operationCount,
+                    writeThreadCount,
+                    1
+            );
+        }
+    }
+
+    @Test
+    public void shouldRunReadWriteLdbcWorkloadWithNothingDbWhenForumUpdatesExecuteConcurrentlyAndReturnExpectedMetrics()
+            throws InterruptedException, DbException, WorkloadException, IOException, MetricsCollectionException,
+            CompletionTimeException, DriverConfigurationException, ExecutionException
+    {
+        long operationCount = 10000;
+        int forumUpdateParallelism = 4;
+        doShouldRunReadWriteLdbcWorkloadWithNothingDbAndReturnExpectedMetricsIncludingResultsLog(
+                4,
+                operationCount,
+                0,
+                forumUpdateParallelism
+        );
+    }
+
     public void doShouldRunReadWriteLdbcWorkloadWithNothingDbAndReturnExpectedMetricsIncludingResultsLog(
-            int threadCount, long operationCount )
+            int threadCount, long operationCount, int writeThreadCount, int forumUpdateParallelism )
             throws InterruptedException, DbException, WorkloadException, IOException, MetricsCollectionException,
             CompletionTimeException, DriverConfigurationException, ExecutionException
     {
@@ -530,6 +650,8 @@ public class WorkloadRunnerTest
                     TestUtils.getResource( "/snb/interactive/" ).getAbsolutePath() );
             paramsMap.put( LdbcSnbInteractiveWorkloadConfiguration.UPDATES_DIRECTORY,
                     TestUtils.getResource( "/snb/interactive/" ).getAbsolutePath() );
+            paramsMap.put( LdbcSnbInteractiveWorkloadConfiguration.FORUM_UPDATE_PARALLELISM,
+                    Integer.toString( forumUpdateParallelism ) );
             // Driver-specific parameters
             String mode = "execute_benchmark";
             String name = null;
@@ -549,6 +671,19 @@ public class WorkloadRunnerTest
             long warmupCount = 100;
             long skipCount = 10;
             boolean flushLog = false;
+            boolean asyncExecutor = false;
+            int maxInFlight = 10000;
+            boolean preciseSpinner = false;
+            boolean jitDispatch = false;
+            boolean edfQueue = false;
+            String timeTracker = "TREE_MULTISET";
+            int metricsRingSize = 16384;
+            String metricsWaitStrategy = "BLOCKING";
+            int metricsShards = 1;
+            boolean threadLocalMetrics = false;
+            String resultsLogFormat = "CSV";
+            String streamLimitsCacheDirPath = null;
+            String scheduleDirPath = null;
 
             ConsoleAndFileDriverConfiguration configuration = new ConsoleAndFileDriverConfiguration(
                     paramsMap,
@@ -571,7 +706,21 @@ public class WorkloadRunnerTest
                     ignoreScheduledStartTimes,
                     warmupCount,
                     skipCount,
-                    flushLog
+                    flushLog,
+                    asyncExecutor,
+                    maxInFlight,
+                    preciseSpinner,
+                    jitDispatch,
+                    edfQueue,
+                    writeThreadCount,
+                    timeTracker,
+                    metricsRingSize,
+                    metricsWaitStrategy,
+                    metricsShards,
+                    threadLocalMetrics,
+                    resultsLogFormat,
+                    streamLimitsCacheDirPath,
+                    scheduleDirPath
             );
 
             configuration = (ConsoleAndFileDriverConfiguration) configuration
@@ -642,7 +791,13 @@ public class WorkloadRunnerTest
                     controlService.configuration().statusDisplayIntervalAsSeconds(),
                     controlService.configuration().spinnerSleepDurationAsMilli(),
                     controlService.configuration().ignoreScheduledStartTimes(),
-                    boundedQueueSize );
+                    boundedQueueSize,
+                    controlService.configuration().asyncExecutor(),
+                    controlService.configuration().maxInFlight(),
+                    controlService.configuration().preciseSpinner(),
+                    controlService.configuration().jitDispatch(),
+                    null,
+                    controlService.configuration().writeThreadCount() );
 
             runner.getFuture().get();
 
@@ -820,6 +975,20 @@ public class WorkloadRunnerTest
             long warmupCount = 100;
             long skipCount = 10;
             boolean flushLog = false;
+            boolean asyncExecutor = false;
+            int maxInFlight = 10000;
+            boolean preciseSpinner = false;
+            boolean jitDispatch = false;
+            boolean edfQueue = false;
+            int writeThreadCount = 0;
+            String timeTracker = "TREE_MULTISET";
+            int metricsRingSize = 16384;
+            String metricsWaitStrategy = "BLOCKING";
+            int metricsShards = 1;
+            boolean threadLocalMetrics = false;
+            String resultsLogFormat = "CSV";
+            String streamLimitsCacheDirPath = null;
+            String scheduleDirPath = null;
 
             ConsoleAndFileDriverConfiguration configuration = new ConsoleAndFileDriverConfiguration(
                     paramsMap,
@@ -842,7 +1011,21 @@ public class WorkloadRunnerTest
                     ignoreScheduledStartTimes,
                     warmupCount,
                     skipCount,
-                    flushLog
+                    flushLog,
+                    asyncExecutor,
+                    maxInFlight,
+                    preciseSpinner,
+                    jitDispatch,
+                    edfQueue,
+                    writeThreadCount,
+                    timeTracker,
+                    metricsRingSize,
+                    metricsWaitStrategy,
+                    metricsShards,
+                    threadLocalMetrics,
+                    resultsLogFormat,
+                    streamLimitsCacheDirPath,
+                    scheduleDirPath
             );
 
             configuration = (ConsoleAndFileDriverConfiguration) configuration
@@ -907,7 +1090,13 @@ public class WorkloadRunnerTest
                     controlService.configuration().statusDisplayIntervalAsSeconds(),
                     controlService.configuration().spinnerSleepDurationAsMilli(),
                     controlService.configuration().ignoreScheduledStartTimes(),
-                    boundedQueueSize );
+                    boundedQueueSize,
+                    controlService.configuration().asyncExecutor(),
+                    controlService.configuration().maxInFlight(),
+                    controlService.configuration().preciseSpinner(),
+                    controlService.configuration().jitDispatch(),
+                    null,
+                    controlService.configuration().writeThreadCount() );
 
             runner.getFuture().get();
 
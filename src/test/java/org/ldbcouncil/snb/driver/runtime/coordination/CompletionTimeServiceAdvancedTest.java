@@ -96,6 +96,7 @@ public class CompletionTimeServiceAdvancedTest
         int testRepetitions = 5;
         long totalTestDurationForSynchronousCts;
         long totalTestDurationForThreadedCts;
+        long totalTestDurationForWatermarkCts;
 
         for ( int workerThreads = 1; workerThreads < 33; workerThreads = workerThreads * 2 )
         {
@@ -127,9 +128,23 @@ public class CompletionTimeServiceAdvancedTest
                         workerThreads );
                 cts.shutdown();
             }
-            System.out.printf( "\t%s=%s\n",
+            System.out.printf( "\t%s=%s",
                     ThreadedQueuedCompletionTimeService.class.getSimpleName(),
                     TEMPORAL_UTIL.milliDurationToString( totalTestDurationForThreadedCts / testRepetitions ) );
+
+            totalTestDurationForWatermarkCts = 0;
+            for ( int i = 0; i < testRepetitions; i++ )
+            {
+                CompletionTimeService cts = completionTimeServiceAssistant.newWatermarkCompletionTimeService();
+                totalTestDurationForWatermarkCts += parallelCompletionTimeServiceTest(
+                        cts,
+                        errorReporter,
+                        workerThreads );
+                cts.shutdown();
+            }
+            System.out.printf( "\t%s=%s\n",
+                    WatermarkCompletionTimeService.class.getSimpleName(),
+                    TEMPORAL_UTIL.milliDurationToString( totalTestDurationForWatermarkCts / testRepetitions ) );
         }
     }
 
@@ -0,0 +1,127 @@
+package org.ldbcouncil.snb.driver.runtime.coordination;
+
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeStateManager.CompletedTimeTracker;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeStateManager.CompletedTimeTrackerImpl;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeStateManager.InitiatedTimeTracker;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeStateManager.InitiatedTimeTrackerImpl;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeStateManager.PrimitiveCompletedTimeTracker;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeStateManager.PrimitiveInitiatedTimeTracker;
+import org.ldbcouncil.snb.driver.temporal.SystemTimeSource;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static java.lang.String.format;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+@Ignore
+public class CompletionTimeTrackerPerformanceTest
+{
+    private static final int OPERATION_COUNT = 2_000_000;
+    private static final int WARMUP_REPETITIONS = 3;
+    private static final int TEST_REPETITIONS = 5;
+    private final TimeSource timeSource = new SystemTimeSource();
+
+    private enum TrackerType
+    {
+        TREE_MULTI_SET,
+        ARRAY_LIST,
+        PRIMITIVE
+    }
+
+    @Test
+    public void compareTrackerImplementations() throws CompletionTimeException
+    {
+        for ( int outstandingOperations : new int[]{1, 16, 64, 256} )
+        {
+            for ( TrackerType trackerType : TrackerType.values() )
+            {
+                for ( int i = 0; i < WARMUP_REPETITIONS; i++ )
+                {
+                    doTrackerPerformanceTest( trackerType, outstandingOperations );
+                }
+                long totalDurationAsNano = 0;
+                for ( int i = 0; i < TEST_REPETITIONS; i++ )
+                {
+                    totalDurationAsNano += doTrackerPerformanceTest( trackerType, outstandingOperations );
+                }
+                long meanDurationAsNano = totalDurationAsNano / TEST_REPETITIONS;
+                long opsPerSecond = Math.round( (double) OPERATION_COUNT / meanDurationAsNano * 1_000_000_000 );
+                System.out.println( format( "Outstanding[%s] %-15s %s ms, %s op/sec",
+                        outstandingOperations,
+                        trackerType.name(),
+                        meanDurationAsNano / 1_000_000,
+                        opsPerSecond ) );
+            }
+        }
+    }
+
+    /**
+     * Submits initiated times in ascending order (with duplicates), keeping up to outstandingOperations uncompleted,
+     * and completes them in random order, to mimic a thread pool completing operations out of order
+     */
+    private long doTrackerPerformanceTest( TrackerType trackerType, int outstandingOperations )
+            throws CompletionTimeException
+    {
+        CompletionTimeStateManager completionTimeStateManager = new CompletionTimeStateManager(
+                initiatedTimeTrackerFor( trackerType ),
+                completedTimeTrackerFor( trackerType )
+        );
+        Random random = new Random( 42 );
+        long[] uncompletedTimesAsMilli = new long[outstandingOperations];
+        int uncompletedCount = 0;
+        long timeAsMilli = 0;
+
+        long startTimeAsNano = timeSource.nanoSnapshot();
+        for ( int i = 0; i < OPERATION_COUNT; i++ )
+        {
+            timeAsMilli += random.nextInt( 3 );
+            completionTimeStateManager.submitInitiatedTime( timeAsMilli );
+            uncompletedTimesAsMilli[uncompletedCount++] = timeAsMilli;
+            if ( uncompletedCount == outstandingOperations )
+            {
+                int index = random.nextInt( uncompletedCount );
+                completionTimeStateManager.submitCompletedTime( uncompletedTimesAsMilli[index] );
+                uncompletedTimesAsMilli[index] = uncompletedTimesAsMilli[--uncompletedCount];
+            }
+        }
+        while ( uncompletedCount > 0 )
+        {
+            completionTimeStateManager.submitCompletedTime( uncompletedTimesAsMilli[--uncompletedCount] );
+        }
+        completionTimeStateManager.submitInitiatedTime( timeAsMilli + 1 );
+        long durationAsNano = timeSource.nanoSnapshot() - startTimeAsNano;
+
+        assertThat( completionTimeStateManager.completionTimeAsMilli(), is( timeAsMilli ) );
+        return durationAsNano;
+    }
+
+    private InitiatedTimeTracker initiatedTimeTrackerFor( TrackerType trackerType )
+    {
+        switch ( trackerType )
+        {
+        case TREE_MULTI_SET:
+            return InitiatedTimeTrackerImpl.createUsingTreeMultiSet();
+        case ARRAY_LIST:
+            return InitiatedTimeTrackerImpl.createUsingArrayList();
+        default:
+            return PrimitiveInitiatedTimeTracker.createUsingRingBuffer();
+        }
+    }
+
+    private CompletedTimeTracker completedTimeTrackerFor( TrackerType trackerType )
+    {
+        switch ( trackerType )
+        {
+        case TREE_MULTI_SET:
+            return CompletedTimeTrackerImpl.createUsingTreeMultiSet();
+        case ARRAY_LIST:
+            return CompletedTimeTrackerImpl.createUsingArrayList();
+        default:
+            return PrimitiveCompletedTimeTracker.createUsingMinHeap();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.ldbcouncil.snb.driver.runtime.coordination;
+
+import org.ldbcouncil.snb.driver.runtime.scheduling.Spinner;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CompletionTimeWaitersTest
+{
+    private static final long ENOUGH_MILLISECONDS_FOR_WAITING_THREAD_TO_DO_ITS_THING = 200;
+
+    @Test
+    public void shouldReturnImmediatelyWhenCompletionTimeHasAlreadyBeenReached() throws InterruptedException
+    {
+        // Given
+        CompletionTimeWaiters completionTimeWaiters = new CompletionTimeWaiters();
+        completionTimeWaiters.completionTimeAdvanced( 10 );
+
+        // When/Then
+        assertThat( completionTimeWaiters.await( 5, 0 ), is( true ) );
+        assertThat( completionTimeWaiters.await( 10, 0 ), is( true ) );
+        assertThat( completionTimeWaiters.await( 11, 0 ), is( false ) );
+        assertThat( completionTimeWaiters.waiterCount(), is( 0 ) );
+    }
+
+    @Test
+    public void shouldReleaseWaitersOnlyOnceCompletionTimeReachesTheirTime() throws InterruptedException
+    {
+        // Given
+        CompletionTimeWaiters completionTimeWaiters = new CompletionTimeWaiters();
+        WaitingThread waitingThread5 = new WaitingThread( completionTimeWaiters, 5 );
+        WaitingThread waitingThread10 = new WaitingThread( completionTimeWaiters, 10 );
+
+        // When
+        waitingThread5.start();
+        waitingThread10.start();
+        Thread.sleep( ENOUGH_MILLISECONDS_FOR_WAITING_THREAD_TO_DO_ITS_THING );
+
+        // Then
+        assertThat( completionTimeWaiters.waiterCount(), is( 2 ) );
+        assertThat( waitingThread5.completionTimeReached(), is( false ) );
+        assertThat( waitingThread10.completionTimeReached(), is( false ) );
+
+        completionTimeWaiters.completionTimeAdvanced( 4 );
+        Thread.sleep( ENOUGH_MILLISECONDS_FOR_WAITING_THREAD_TO_DO_ITS_THING );
+        assertThat( completionTimeWaiters.waiterCount(), is( 2 ) );
+        assertThat( waitingThread5.completionTimeReached(), is( false ) );
+        assertThat( waitingThread10.completionTimeReached(), is( false ) );
+
+        completionTimeWaiters.completionTimeAdvanced( 5 );
+        waitingThread5.join( ENOUGH_MILLISECONDS_FOR_WAITING_THREAD_TO_DO_ITS_THING );
+        assertThat( completionTimeWaiters.waiterCount(), is( 1 ) );
+        assertThat( waitingThread5.completionTimeReached(), is( true ) );
+        assertThat( waitingThread10.completionTimeReached(), is( false ) );
+
+        completionTimeWaiters.completionTimeAdvanced( 20 );
+        waitingThread10.join( ENOUGH_MILLISECONDS_FOR_WAITING_THREAD_TO_DO_ITS_THING );
+        assertThat( completionTimeWaiters.waiterCount(), is( 0 ) );
+        assertThat( waitingThread10.completionTimeReached(), is( true ) );
+    }
+
+    @Test
+    public void shouldReturnFalseAndDeregisterWhenTimeoutElapses() throws InterruptedException
+    {
+        // Given
+        CompletionTimeWaiters completionTimeWaiters = new CompletionTimeWaiters();
+
+        // When
+        boolean completionTimeReached = completionTimeWaiters.await( 5, 10 );
+
+        // Then
+        assertThat( completionTimeReached, is( false ) );
+        assertThat( completionTimeWaiters.waiterCount(), is( 0 ) );
+    }
+
+    @Test
+    public void shouldIgnoreCompletionTimeThatIsLowerThanPreviouslyAnnounced() throws InterruptedException
+    {
+        // Given
+        CompletionTimeWaiters completionTimeWaiters = new CompletionTimeWaiters();
+
+        // When
+        completionTimeWaiters.completionTimeAdvanced( 10 );
+        completionTimeWaiters.completionTimeAdvanced( 3 );
+
+        // Then
+        assertThat( completionTimeWaiters.await( 10, 0 ), is( true ) );
+    }
+
+    private static class WaitingThread extends Thread
+    {
+        private final CompletionTimeWaiters completionTimeWaiters;
+        private final long timeAsMilli;
+        private final AtomicBoolean completionTimeReached = new AtomicBoolean( false );
+
+        WaitingThread( CompletionTimeWaiters completionTimeWaiters, long timeAsMilli )
+        {
+            this.completionTimeWaiters = completionTimeWaiters;
+            this.timeAsMilli = timeAsMilli;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                while ( !completionTimeWaiters.await( timeAsMilli, 1000 ) )
+                {
+                    Spinner.powerNap( 1 );
+                }
+                completionTimeReached.set( true );
+            }
+            catch ( InterruptedException e )
+            {
+                e.printStackTrace();
+            }
+        }
+
+        boolean completionTimeReached()
+        {
+            return completionTimeReached.get();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.ldbcouncil.snb.driver.runtime.coordination;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class InitiatedTimeRingBufferTest
+{
+    @Test
+    public void shouldKeepTimesInOrderWhenGrowingWhileWrappedAround() throws CompletionTimeException
+    {
+        // Given
+        InitiatedTimeRingBuffer ringBuffer = new InitiatedTimeRingBuffer();
+        // move head away from the start of the ring buffer
+        for ( long time = 0; time < 100; time++ )
+        {
+            ringBuffer.add( time );
+            ringBuffer.complete( time );
+            assertThat( ringBuffer.removeLowest(), is( time ) );
+        }
+
+        // When
+        // more times than the initial capacity, completing every second one
+        for ( long time = 100; time < 5000; time++ )
+        {
+            ringBuffer.add( time );
+        }
+        for ( long time = 101; time < 5000; time += 2 )
+        {
+            ringBuffer.complete( time );
+        }
+
+        // Then
+        assertThat( ringBuffer.size(), is( 4900 ) );
+        assertThat( ringBuffer.highestAsMilli(), is( 4999L ) );
+        for ( long time = 100; time < 5000; time += 2 )
+        {
+            assertThat( ringBuffer.isLowestCompleted(), is( false ) );
+            assertThat( ringBuffer.lowestAsMilli(), is( time ) );
+            ringBuffer.complete( time );
+            assertThat( ringBuffer.removeLowest(), is( time ) );
+            assertThat( ringBuffer.isLowestCompleted(), is( true ) );
+            assertThat( ringBuffer.removeLowest(), is( time + 1 ) );
+        }
+        assertThat( ringBuffer.isEmpty(), is( true ) );
+        assertThat( ringBuffer.isLowestCompleted(), is( false ) );
+    }
+
+    @Test
+    public void shouldCompleteDuplicateTimesOneAtATime() throws CompletionTimeException
+    {
+        // Given
+        InitiatedTimeRingBuffer ringBuffer = new InitiatedTimeRingBuffer();
+        ringBuffer.add( 1L );
+        ringBuffer.add( 2L );
+        ringBuffer.add( 2L );
+        ringBuffer.add( 3L );
+
+        // When
+        ringBuffer.complete( 2L );
+        ringBuffer.complete( 2L );
+
+        // Then
+        boolean exceptionThrown = false;
+        try
+        {
+            ringBuffer.complete( 2L );
+        }
+        catch ( CompletionTimeException e )
+        {
+            exceptionThrown = true;
+        }
+        assertThat( exceptionThrown, is( true ) );
+        assertThat( ringBuffer.isLowestCompleted(), is( false ) );
+        ringBuffer.complete( 1L );
+        assertThat( ringBuffer.removeLowest(), is( 1L ) );
+        assertThat( ringBuffer.removeLowest(), is( 2L ) );
+        assertThat( ringBuffer.removeLowest(), is( 2L ) );
+        assertThat( ringBuffer.isLowestCompleted(), is( false ) );
+        assertThat( ringBuffer.lowestAsMilli(), is( 3L ) );
+    }
+
+    @Test( expected = CompletionTimeException.class )
+    public void shouldNotAcceptTimeLowerThanPreviouslyAddedTime() throws CompletionTimeException
+    {
+        // Given
+        InitiatedTimeRingBuffer ringBuffer = new InitiatedTimeRingBuffer();
+        ringBuffer.add( 2L );
+
+        // When
+        ringBuffer.add( 1L );
+    }
+}
@@ -1,6 +1,7 @@
 package org.ldbcouncil.snb.driver.runtime.coordination;
 
 import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeStateManager.InitiatedTimeTrackerImpl;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeStateManager.PrimitiveInitiatedTimeTracker;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -22,6 +23,12 @@ public class InitiatedTimeTrackerTest
         shouldReturnNullsWhenNoTimesHaveBeenSubmitted( InitiatedTimeTrackerImpl.createUsingArrayList() );
     }
 
+    @Test
+    public void shouldReturnNullsWhenNoTimesHaveBeenSubmitted_PrimitiveImplementation()
+    {
+        shouldReturnNullsWhenNoTimesHaveBeenSubmitted( PrimitiveInitiatedTimeTracker.createUsingRingBuffer() );
+    }
+
     private void shouldReturnNullsWhenNoTimesHaveBeenSubmitted( CompletionTimeStateManager.InitiatedTimeTracker
             tracker )
     {
@@ -58,6 +65,12 @@ public class InitiatedTimeTrackerTest
         shouldBehaveAsExpectedUnderScenario1( InitiatedTimeTrackerImpl.createUsingArrayList() );
     }
 
+    @Test
+    public void shouldBehaveAsExpectedUnderScenario1_PrimitiveImplementation() throws CompletionTimeException
+    {
+        shouldBehaveAsExpectedUnderScenario1( PrimitiveInitiatedTimeTracker.createUsingRingBuffer() );
+    }
+
     private void shouldBehaveAsExpectedUnderScenario1( CompletionTimeStateManager.InitiatedTimeTracker tracker )
             throws CompletionTimeException
     {
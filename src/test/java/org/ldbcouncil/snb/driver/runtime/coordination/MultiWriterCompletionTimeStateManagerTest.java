@@ -5,6 +5,7 @@ import com.google.common.collect.Lists;
 import org.ldbcouncil.snb.driver.generator.GeneratorFactory;
 import org.ldbcouncil.snb.driver.generator.RandomDataGeneratorFactory;
 import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.runtime.coordination.ThreadedQueuedCompletionTimeService.TimesBatch;
 import org.ldbcouncil.snb.driver.runtime.scheduling.Spinner;
 import org.ldbcouncil.snb.driver.temporal.SystemTimeSource;
 import org.ldbcouncil.snb.driver.temporal.TimeSource;
@@ -883,6 +884,33 @@ public class MultiWriterCompletionTimeStateManagerTest
         assertThat( reader.completionTimeAsMilli(), is( -1L ) );
     }
 
+    @Test
+    public void shouldApplyAllTimesOfBatchBeforeUpdatingCompletionTime() throws CompletionTimeException
+    {
+        // Given
+        MultiWriterCompletionTimeStateManager completionTimeStateManager = new MultiWriterCompletionTimeStateManager();
+        CompletionTimeReader reader = completionTimeStateManager;
+        MultiWriterCompletionTimeStateManagerWriter writer1 =
+                (MultiWriterCompletionTimeStateManagerWriter) completionTimeStateManager.newCompletionTimeWriter();
+        CompletionTimeWriter writer2 = completionTimeStateManager.newCompletionTimeWriter();
+        TimesBatch timesBatch = new TimesBatch( 2 );
+        timesBatch.add( 1, true );
+        timesBatch.add( 2, true );
+        timesBatch.add( 1, false );
+        timesBatch.add( 3, true );
+        timesBatch.add( 2, false );
+
+        // When/Then
+        writer2.submitInitiatedTime( 5 );
+        writer2.submitCompletedTime( 5 );
+        assertThat( reader.lastKnownLowestInitiatedTimeAsMilli(), is( -1L ) );
+        assertThat( reader.completionTimeAsMilli(), is( -1L ) );
+
+        completionTimeStateManager.submitTimesBatch( writer1.id(), timesBatch );
+        assertThat( reader.lastKnownLowestInitiatedTimeAsMilli(), is( 3L ) );
+        assertThat( reader.completionTimeAsMilli(), is( 2L ) );
+    }
+
     @Test
     public void shouldPassComplexTwoWriterScenario1() throws CompletionTimeException
     {
@@ -0,0 +1,423 @@
+package org.ldbcouncil.snb.driver.runtime.executor;
+
+import org.ldbcouncil.snb.driver.AsyncOperationHandler;
+import org.ldbcouncil.snb.driver.ChildOperationGenerator;
+import org.ldbcouncil.snb.driver.Db;
+import org.ldbcouncil.snb.driver.DbConnectionState;
+import org.ldbcouncil.snb.driver.DbException;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.ResultReporter;
+import org.ldbcouncil.snb.driver.WorkloadException;
+import org.ldbcouncil.snb.driver.WorkloadStreams;
+import org.ldbcouncil.snb.driver.control.Log4jLoggingServiceFactory;
+import org.ldbcouncil.snb.driver.control.LoggingService;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeWriter;
+import org.ldbcouncil.snb.driver.runtime.coordination.DummyCompletionTimeReader;
+import org.ldbcouncil.snb.driver.runtime.coordination.DummyCompletionTimeWriter;
+import org.ldbcouncil.snb.driver.runtime.metrics.DummyCountingMetricsService;
+import org.ldbcouncil.snb.driver.runtime.scheduling.Spinner;
+import org.ldbcouncil.snb.driver.temporal.SystemTimeSource;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+import org.ldbcouncil.snb.driver.workloads.dummy.DummyDb;
+import org.ldbcouncil.snb.driver.workloads.dummy.DummyResult;
+import org.ldbcouncil.snb.driver.workloads.dummy.DummyWorkload;
+import org.ldbcouncil.snb.driver.workloads.dummy.NothingOperation;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class AsyncOperationExecutorTest
+{
+    private static final long ASYNC_OPERATION_DURATION_AS_MILLI = 200;
+    private static final AtomicInteger IN_FLIGHT_ASYNC_OPERATIONS = new AtomicInteger( 0 );
+    private static final AtomicInteger MAX_IN_FLIGHT_ASYNC_OPERATIONS = new AtomicInteger( 0 );
+
+    @Test
+    public void executorShouldReturnAllResults() throws Exception
+    {
+        // Given
+        TimeSource timeSource = new SystemTimeSource();
+        boolean ignoreScheduledStartTime = false;
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        DummyCountingMetricsService metricsService = new DummyCountingMetricsService();
+        Db db = new DummyDb();
+        db.init(
+                new HashMap<String,String>(),
+                new Log4jLoggingServiceFactory( false ).loggingServiceFor( "Test" ),
+                DummyWorkload.OPERATION_TYPE_CLASS_MAPPING
+        );
+
+        int threadCount = 1;
+        int maxInFlight = 10;
+        OperationExecutor executor =
+                newExecutor( threadCount, maxInFlight, db, timeSource, errorReporter, metricsService,
+                        ignoreScheduledStartTime, null );
+
+        Operation operation1 = new NothingOperation();
+        operation1.setScheduledStartTimeAsMilli( timeSource.nowAsMilli() + 100l );
+        operation1.setTimeStamp( operation1.scheduledStartTimeAsMilli() );
+        operation1.setDependencyTimeStamp( 0l );
+
+        Operation operation2 = new NothingOperation();
+        operation2.setScheduledStartTimeAsMilli( operation1.scheduledStartTimeAsMilli() + 100l );
+        operation2.setTimeStamp( operation2.scheduledStartTimeAsMilli() );
+        operation2.setDependencyTimeStamp( 0l );
+
+        // When
+        executor.execute( operation1 );
+        executor.execute( operation2 );
+
+        while ( executor.uncompletedOperationHandlerCount() > 0 )
+        {
+            // wait for handler to finish
+            Spinner.powerNap( 100 );
+        }
+
+        // Then
+        assertThat( metricsService.count(), is( 2l ) );
+        executor.shutdown( 1000l );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+    }
+
+    @Test
+    public void executorShouldKeepManyAsyncOperationsInFlightWithOneThread() throws Exception
+    {
+        // Given
+        TimeSource timeSource = new SystemTimeSource();
+        boolean ignoreScheduledStartTime = true;
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        DummyCountingMetricsService metricsService = new DummyCountingMetricsService();
+        Db db = new AsyncNothingDb();
+        db.init(
+                new HashMap<String,String>(),
+                new Log4jLoggingServiceFactory( false ).loggingServiceFor( "Test" ),
+                DummyWorkload.OPERATION_TYPE_CLASS_MAPPING
+        );
+        IN_FLIGHT_ASYNC_OPERATIONS.set( 0 );
+        MAX_IN_FLIGHT_ASYNC_OPERATIONS.set( 0 );
+
+        int threadCount = 1;
+        int maxInFlight = 50;
+        int operationCount = 100;
+        OperationExecutor executor =
+                newExecutor( threadCount, maxInFlight, db, timeSource, errorReporter, metricsService,
+                        ignoreScheduledStartTime, null );
+
+        // When
+        long startTimeAsMilli = timeSource.nowAsMilli();
+        for ( int i = 0; i < operationCount; i++ )
+        {
+            Operation operation = new NothingOperation();
+            operation.setScheduledStartTimeAsMilli( startTimeAsMilli );
+            operation.setTimeStamp( startTimeAsMilli );
+            operation.setDependencyTimeStamp( 0l );
+            executor.execute( operation );
+        }
+
+        while ( executor.uncompletedOperationHandlerCount() > 0 )
+        {
+            // wait for handlers to finish
+            Spinner.powerNap( 10 );
+        }
+        long durationAsMilli = timeSource.nowAsMilli() - startTimeAsMilli;
+
+        // Then
+        executor.shutdown( 1000l );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+        assertThat( metricsService.count(), is( (long) operationCount ) );
+        assertThat( MAX_IN_FLIGHT_ASYNC_OPERATIONS.get(), greaterThan( threadCount ) );
+        assertThat( MAX_IN_FLIGHT_ASYNC_OPERATIONS.get(), lessThan( maxInFlight + 1 ) );
+        // executed one at a time this would take operationCount * ASYNC_OPERATION_DURATION_AS_MILLI
+        assertThat( durationAsMilli, lessThan( operationCount * ASYNC_OPERATION_DURATION_AS_MILLI / 4 ) );
+        db.close();
+    }
+
+    @Test
+    public void executorShouldNotGenerateChildOperationsOnThreadThatCompletedAsyncOperation() throws Exception
+    {
+        // Given
+        final TimeSource timeSource = new SystemTimeSource();
+        boolean ignoreScheduledStartTime = true;
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        DummyCountingMetricsService metricsService = new DummyCountingMetricsService();
+        Db db = new AsyncNothingDb();
+        db.init(
+                new HashMap<String,String>(),
+                new Log4jLoggingServiceFactory( false ).loggingServiceFor( "Test" ),
+                DummyWorkload.OPERATION_TYPE_CLASS_MAPPING
+        );
+        final int childOperationsPerOperation = 2;
+        final Set<String> childOperationGeneratorThreadNames = Collections.synchronizedSet( new HashSet<String>() );
+        // generates two child operations after every top level operation
+        ChildOperationGenerator childOperationGenerator = new ChildOperationGenerator()
+        {
+            @Override
+            public double initialState()
+            {
+                return 0;
+            }
+
+            @Override
+            public Operation nextOperation( double state, Operation operation, Object result,
+                    long actualStartTimeAsMilli, long runDurationAsNano ) throws WorkloadException
+            {
+                childOperationGeneratorThreadNames.add( Thread.currentThread().getName() );
+                if ( state >= childOperationsPerOperation )
+                {
+                    return null;
+                }
+                Operation childOperation = new NothingOperation();
+                childOperation.setScheduledStartTimeAsMilli( timeSource.nowAsMilli() );
+                childOperation.setTimeStamp( childOperation.scheduledStartTimeAsMilli() );
+                childOperation.setDependencyTimeStamp( 0l );
+                return childOperation;
+            }
+
+            @Override
+            public double updateState( double previousState, int previousOperationType )
+            {
+                return previousState + 1;
+            }
+        };
+
+        int operationCount = 10;
+        OperationExecutor executor =
+                newExecutor( 1, operationCount, db, timeSource, errorReporter, metricsService,
+                        ignoreScheduledStartTime, childOperationGenerator );
+
+        // When
+        for ( int i = 0; i < operationCount; i++ )
+        {
+            Operation operation = new NothingOperation();
+            operation.setScheduledStartTimeAsMilli( timeSource.nowAsMilli() );
+            operation.setTimeStamp( operation.scheduledStartTimeAsMilli() );
+            operation.setDependencyTimeStamp( 0l );
+            executor.execute( operation );
+        }
+
+        while ( executor.uncompletedOperationHandlerCount() > 0 )
+        {
+            // wait for handlers, and their child operations, to finish
+            Spinner.powerNap( 10 );
+        }
+
+        // Then
+        executor.shutdown( 1000l );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+        assertThat( metricsService.count(), is( (long) operationCount * (1 + childOperationsPerOperation) ) );
+        for ( String threadName : childOperationGeneratorThreadNames )
+        {
+            assertThat( threadName, startsWith( AsyncOperationExecutor.class.getSimpleName() ) );
+        }
+        db.close();
+    }
+
+    @Test
+    public void executorShouldWaitForInFlightAsyncOperationsWhenShutdown() throws Exception
+    {
+        // Given
+        final TimeSource timeSource = new SystemTimeSource();
+        boolean ignoreScheduledStartTime = true;
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        DummyCountingMetricsService metricsService = new DummyCountingMetricsService();
+        Db db = new AsyncNothingDb();
+        db.init(
+                new HashMap<String,String>(),
+                new Log4jLoggingServiceFactory( false ).loggingServiceFor( "Test" ),
+                DummyWorkload.OPERATION_TYPE_CLASS_MAPPING
+        );
+        // generates one child operation after every top level operation, once its async result has arrived
+        ChildOperationGenerator childOperationGenerator = new ChildOperationGenerator()
+        {
+            @Override
+            public double initialState()
+            {
+                return 0;
+            }
+
+            @Override
+            public Operation nextOperation( double state, Operation operation, Object result,
+                    long actualStartTimeAsMilli, long runDurationAsNano ) throws WorkloadException
+            {
+                if ( state >= 1 )
+                {
+                    return null;
+                }
+                Operation childOperation = new NothingOperation();
+                childOperation.setScheduledStartTimeAsMilli( timeSource.nowAsMilli() );
+                childOperation.setTimeStamp( childOperation.scheduledStartTimeAsMilli() );
+                childOperation.setDependencyTimeStamp( 0l );
+                return childOperation;
+            }
+
+            @Override
+            public double updateState( double previousState, int previousOperationType )
+            {
+                return previousState + 1;
+            }
+        };
+
+        int operationCount = 10;
+        OperationExecutor executor =
+                newExecutor( 1, operationCount, db, timeSource, errorReporter, metricsService,
+                        ignoreScheduledStartTime, childOperationGenerator );
+
+        // When
+        for ( int i = 0; i < operationCount; i++ )
+        {
+            Operation operation = new NothingOperation();
+            operation.setScheduledStartTimeAsMilli( timeSource.nowAsMilli() );
+            operation.setTimeStamp( operation.scheduledStartTimeAsMilli() );
+            operation.setDependencyTimeStamp( 0l );
+            executor.execute( operation );
+        }
+        // without waiting for the async results of the operations, nor for their child operations
+        executor.shutdown( 5000l );
+
+        // Then
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+        assertThat( executor.uncompletedOperationHandlerCount(), is( 0l ) );
+        assertThat( metricsService.count(), is( (long) operationCount * 2 ) );
+        db.close();
+    }
+
+    @Test( expected = OperationExecutorException.class )
+    public void executorShouldThrowExceptionIfShutdownMultipleTimes() throws Exception
+    {
+        // Given
+        TimeSource timeSource = new SystemTimeSource();
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        Db db = new DummyDb();
+        db.init(
+                new HashMap<String,String>(),
+                new Log4jLoggingServiceFactory( false ).loggingServiceFor( "Test" ),
+                DummyWorkload.OPERATION_TYPE_CLASS_MAPPING
+        );
+        OperationExecutor executor =
+                newExecutor( 1, 10, db, timeSource, errorReporter, new DummyCountingMetricsService(), false, null );
+
+        // When
+        executor.shutdown( 1000l );
+        executor.shutdown( 1000l );
+    }
+
+    private OperationExecutor newExecutor( int threadCount,
+            int maxInFlight,
+            Db db,
+            TimeSource timeSource,
+            ConcurrentErrorReporter errorReporter,
+            DummyCountingMetricsService metricsService,
+            boolean ignoreScheduledStartTime,
+            ChildOperationGenerator childOperationGenerator )
+    {
+        Spinner spinner = new Spinner( timeSource, Spinner.DEFAULT_SLEEP_DURATION_10_MILLI, ignoreScheduledStartTime );
+        CompletionTimeWriter dummyCompletionTimeWriter = new DummyCompletionTimeWriter();
+        DummyCompletionTimeReader dummyCompletionTimeReader = new DummyCompletionTimeReader();
+        dummyCompletionTimeReader.setCompletionTimeAsMilli( Long.MAX_VALUE );
+        WorkloadStreams.WorkloadStreamDefinition streamDefinition = new WorkloadStreams.WorkloadStreamDefinition(
+                new HashSet<Class<? extends Operation>>(),
+                new HashSet<Class<? extends Operation>>(),
+                Collections.<Operation>emptyIterator(),
+                Collections.<Operation>emptyIterator(),
+                childOperationGenerator
+        );
+        return new AsyncOperationExecutor(
+                threadCount,
+                maxInFlight,
+                db,
+                streamDefinition,
+                dummyCompletionTimeWriter,
+                dummyCompletionTimeReader,
+                spinner,
+                timeSource,
+                errorReporter,
+                metricsService,
+                streamDefinition.childOperationGenerator(),
+                ignoreScheduledStartTime
+        );
+    }
+
+    public static class AsyncNothingDb extends Db
+    {
+        private static final ScheduledExecutorService RESPONSE_EXECUTOR = Executors.newScheduledThreadPool( 1 );
+
+        private static class AsyncNothingDbConnectionState extends DbConnectionState
+        {
+            @Override
+            public void close() throws IOException
+            {
+            }
+        }
+
+        @Override
+        protected void onInit( Map<String,String> properties, LoggingService loggingService ) throws DbException
+        {
+            registerOperationHandler( NothingOperation.class, AsyncNothingOperationHandler.class );
+        }
+
+        @Override
+        protected void onClose() throws IOException
+        {
+        }
+
+        @Override
+        protected DbConnectionState getConnectionState() throws DbException
+        {
+            return new AsyncNothingDbConnectionState();
+        }
+    }
+
+    public static class AsyncNothingOperationHandler
+            implements AsyncOperationHandler<NothingOperation,DbConnectionState>
+    {
+        @Override
+        public CompletionStage<?> executeOperationAsync( final NothingOperation operation,
+                DbConnectionState dbConnectionState,
+                final ResultReporter resultReporter ) throws DbException
+        {
+            final CompletableFuture<Void> response = new CompletableFuture<>();
+            int inFlight = IN_FLIGHT_ASYNC_OPERATIONS.incrementAndGet();
+            int maxInFlight = MAX_IN_FLIGHT_ASYNC_OPERATIONS.get();
+            while ( inFlight > maxInFlight && !MAX_IN_FLIGHT_ASYNC_OPERATIONS.compareAndSet( maxInFlight, inFlight ) )
+            {
+                maxInFlight = MAX_IN_FLIGHT_ASYNC_OPERATIONS.get();
+            }
+            AsyncNothingDb.RESPONSE_EXECUTOR.schedule( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        IN_FLIGHT_ASYNC_OPERATIONS.decrementAndGet();
+                        resultReporter.report( 0, new DummyResult(), operation );
+                        response.complete( null );
+                    }
+                    catch ( DbException e )
+                    {
+                        response.completeExceptionally( e );
+                    }
+                }
+            }, ASYNC_OPERATION_DURATION_AS_MILLI, TimeUnit.MILLISECONDS );
+            return response;
+        }
+    }
+}
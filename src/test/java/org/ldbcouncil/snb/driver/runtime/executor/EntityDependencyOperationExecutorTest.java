@@ -0,0 +1,194 @@
+package org.ldbcouncil.snb.driver.runtime.executor;
+
+import org.junit.Test;
+import org.ldbcouncil.snb.driver.ChildOperationGenerator;
+import org.ldbcouncil.snb.driver.Db;
+import org.ldbcouncil.snb.driver.EntityDependencies;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.WorkloadException;
+import org.ldbcouncil.snb.driver.WorkloadStreams;
+import org.ldbcouncil.snb.driver.control.Log4jLoggingServiceFactory;
+import org.ldbcouncil.snb.driver.control.LoggingService;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeWriter;
+import org.ldbcouncil.snb.driver.runtime.coordination.DummyCompletionTimeReader;
+import org.ldbcouncil.snb.driver.runtime.coordination.DummyCompletionTimeWriter;
+import org.ldbcouncil.snb.driver.runtime.metrics.DummyCountingMetricsService;
+import org.ldbcouncil.snb.driver.runtime.scheduling.Spinner;
+import org.ldbcouncil.snb.driver.temporal.SystemTimeSource;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+import org.ldbcouncil.snb.driver.workloads.dummy.DummyDb;
+import org.ldbcouncil.snb.driver.workloads.dummy.DummyWorkload;
+import org.ldbcouncil.snb.driver.workloads.dummy.TimedNamedOperation1;
+import org.ldbcouncil.snb.driver.workloads.dummy.TimedNamedOperation2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class EntityDependencyOperationExecutorTest
+{
+    @Test
+    public void executorShouldStartOperationsOnlyOnceTheOperationsTheyDependOnHaveCompleted() throws Exception
+    {
+        // Given
+        TimeSource timeSource = new SystemTimeSource();
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        DummyCountingMetricsService metricsService = new DummyCountingMetricsService();
+        List<Long> completedTimeStamps = Collections.synchronizedList( new ArrayList<Long>() );
+        OperationExecutor executor =
+                executor( 3, timeSource, errorReporter, metricsService, completedTimeStamps );
+
+        // creates entity a, scheduled to start last
+        Operation operation1 = new TimedNamedOperation1( timeSource.nowAsMilli() + 300l, 1000l, 0l, "a" );
+        // refers to entity a, already due
+        Operation operation2 = new TimedNamedOperation2( timeSource.nowAsMilli(), 2000l, 0l, "a" );
+        // refers to entity b, which no earlier operation creates
+        Operation operation3 = new TimedNamedOperation2( timeSource.nowAsMilli() + 100l, 3000l, 0l, "b" );
+
+        // When
+        executor.execute( operation1 );
+        executor.execute( operation2 );
+        executor.execute( operation3 );
+
+        while ( executor.uncompletedOperationHandlerCount() > 0 )
+        {
+            // wait for handlers to finish
+            Spinner.powerNap( 100 );
+        }
+
+        // Then
+        assertThat( metricsService.count(), is( 3l ) );
+        // the independent operation did not wait for the earlier ones, the dependent one waited for its creator
+        assertThat( completedTimeStamps, equalTo( Arrays.asList( 3000l, 1000l, 2000l ) ) );
+        executor.shutdown( 1000l );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+    }
+
+    @Test
+    public void executorShouldBlockWhileMaximumNumberOfOperationsAreInFlight() throws Exception
+    {
+        // Given
+        TimeSource timeSource = new SystemTimeSource();
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        DummyCountingMetricsService metricsService = new DummyCountingMetricsService();
+        List<Long> completedTimeStamps = Collections.synchronizedList( new ArrayList<Long>() );
+        OperationExecutor executor =
+                executor( 2, timeSource, errorReporter, metricsService, completedTimeStamps );
+        long startTimeAsMilli = timeSource.nowAsMilli();
+
+        // When
+        executor.execute( new TimedNamedOperation2( startTimeAsMilli + 200l, 1000l, 0l, "a" ) );
+        executor.execute( new TimedNamedOperation2( startTimeAsMilli + 200l, 2000l, 0l, "b" ) );
+        executor.execute( new TimedNamedOperation2( startTimeAsMilli, 3000l, 0l, "c" ) );
+        long thirdExecutedAfterAsMilli = timeSource.nowAsMilli() - startTimeAsMilli;
+
+        while ( executor.uncompletedOperationHandlerCount() > 0 )
+        {
+            // wait for handlers to finish
+            Spinner.powerNap( 100 );
+        }
+
+        // Then
+        assertThat( metricsService.count(), is( 3l ) );
+        // third operation could only be handed over once one of the first two had completed
+        assertThat( thirdExecutedAfterAsMilli >= 200, is( true ) );
+        assertThat( completedTimeStamps.indexOf( 3000l ) > 0, is( true ) );
+        executor.shutdown( 1000l );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+    }
+
+    private static OperationExecutor executor( final int maxConcurrentOperations,
+            TimeSource timeSource,
+            ConcurrentErrorReporter errorReporter,
+            DummyCountingMetricsService metricsService,
+            final List<Long> completedTimeStamps ) throws Exception
+    {
+        LoggingService loggingService = new Log4jLoggingServiceFactory( false ).loggingServiceFor( "Test" );
+        boolean ignoreScheduledStartTime = false;
+        Spinner spinner = new Spinner( timeSource, Spinner.DEFAULT_SLEEP_DURATION_10_MILLI, ignoreScheduledStartTime );
+        CompletionTimeWriter dummyCompletionTimeWriter = new DummyCompletionTimeWriter();
+        DummyCompletionTimeReader dummyCompletionTimeReader = new DummyCompletionTimeReader();
+        dummyCompletionTimeReader.setCompletionTimeAsMilli( Long.MAX_VALUE );
+        // generates no child operations, only records the order in which operations completed
+        ChildOperationGenerator childOperationGenerator = new ChildOperationGenerator()
+        {
+            @Override
+            public double initialState()
+            {
+                return 0;
+            }
+
+            @Override
+            public Operation nextOperation( double state, Operation operation, Object result,
+                    long actualStartTimeAsMilli, long runDurationAsNano ) throws WorkloadException
+            {
+                completedTimeStamps.add( operation.timeStamp() );
+                return null;
+            }
+
+            @Override
+            public double updateState( double previousState, int previousOperationType )
+            {
+                return previousState + 1;
+            }
+        };
+        // TimedNamedOperation1 creates the entity it is named after, TimedNamedOperation2 refers to it
+        EntityDependencies entityDependencies = new EntityDependencies()
+        {
+            @Override
+            public int maxConcurrentOperations()
+            {
+                return maxConcurrentOperations;
+            }
+
+            @Override
+            public Object[] createdEntities( Operation operation )
+            {
+                return (operation instanceof TimedNamedOperation1)
+                       ? new Object[]{((TimedNamedOperation1) operation).name()}
+                       : new Object[0];
+            }
+
+            @Override
+            public Object[] referencedEntities( Operation operation )
+            {
+                return (operation instanceof TimedNamedOperation2)
+                       ? new Object[]{((TimedNamedOperation2) operation).name()}
+                       : new Object[0];
+            }
+        };
+        WorkloadStreams.WorkloadStreamDefinition streamDefinition = new WorkloadStreams.WorkloadStreamDefinition(
+                new HashSet<Class<? extends Operation>>(),
+                new HashSet<Class<? extends Operation>>(),
+                Collections.<Operation>emptyIterator(),
+                Collections.<Operation>emptyIterator(),
+                childOperationGenerator,
+                entityDependencies
+        );
+        Db db = new DummyDb();
+        db.init(
+                new HashMap<String,String>(),
+                loggingService,
+                DummyWorkload.OPERATION_TYPE_CLASS_MAPPING
+        );
+        return new EntityDependencyOperationExecutor(
+                db,
+                streamDefinition,
+                dummyCompletionTimeWriter,
+                dummyCompletionTimeReader,
+                spinner,
+                timeSource,
+                errorReporter,
+                metricsService,
+                streamDefinition.childOperationGenerator()
+        );
+    }
+}
@@ -1,7 +1,9 @@
 package org.ldbcouncil.snb.driver.runtime.executor;
 
+import org.ldbcouncil.snb.driver.ChildOperationGenerator;
 import org.ldbcouncil.snb.driver.Db;
 import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.WorkloadException;
 import org.ldbcouncil.snb.driver.WorkloadStreams;
 import org.ldbcouncil.snb.driver.control.Log4jLoggingServiceFactory;
 import org.ldbcouncil.snb.driver.control.LoggingService;
@@ -17,12 +19,19 @@ import org.ldbcouncil.snb.driver.temporal.TimeSource;
 import org.ldbcouncil.snb.driver.workloads.dummy.DummyDb;
 import org.ldbcouncil.snb.driver.workloads.dummy.DummyWorkload;
 import org.ldbcouncil.snb.driver.workloads.dummy.NothingOperation;
+import org.ldbcouncil.snb.driver.workloads.dummy.TimedNamedOperation1;
+import org.ldbcouncil.snb.driver.workloads.dummy.TimedNamedOperation2;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -164,6 +173,540 @@ public class ThreadPoolOperationExecutorTest
         assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
     }
 
+    @Test
+    public void executorShouldRunChildOperationsThatAreNotDueAsIndependentTasks() throws Exception
+    {
+        // Given
+        LoggingService loggingService = new Log4jLoggingServiceFactory( false ).loggingServiceFor( "Test" );
+        final TimeSource timeSource = new SystemTimeSource();
+        boolean ignoreScheduledStartTime = false;
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        Spinner spinner = new Spinner( timeSource, Spinner.DEFAULT_SLEEP_DURATION_10_MILLI, ignoreScheduledStartTime );
+        CompletionTimeWriter dummyCompletionTimeWriter = new DummyCompletionTimeWriter();
+        DummyCompletionTimeReader dummyCompletionTimeReader = new DummyCompletionTimeReader();
+        dummyCompletionTimeReader.setCompletionTimeAsMilli( Long.MAX_VALUE );
+        DummyCountingMetricsService metricsService = new DummyCountingMetricsService();
+        final List<Long> completedTimeStamps = Collections.synchronizedList( new ArrayList<Long>() );
+        // every parent operation has a chain of two child operations, each due 50 ms after its parent started,
+        // time stamps are parent time stamp + depth
+        ChildOperationGenerator childOperationGenerator = new ChildOperationGenerator()
+        {
+            @Override
+            public double initialState()
+            {
+                return 0;
+            }
+
+            @Override
+            public Operation nextOperation( double state, Operation operation, Object result,
+                    long actualStartTimeAsMilli, long runDurationAsNano ) throws WorkloadException
+            {
+                completedTimeStamps.add( operation.timeStamp() );
+                if ( state >= 2 )
+                {
+                    return null;
+                }
+                Operation childOperation = new NothingOperation();
+                childOperation.setScheduledStartTimeAsMilli( actualStartTimeAsMilli + 50l );
+                childOperation.setTimeStamp( operation.timeStamp() + 1 );
+                childOperation.setDependencyTimeStamp( 0l );
+                return childOperation;
+            }
+
+            @Override
+            public double updateState( double previousState, int previousOperationType )
+            {
+                return previousState + 1;
+            }
+        };
+        WorkloadStreams.WorkloadStreamDefinition streamDefinition = new WorkloadStreams.WorkloadStreamDefinition(
+                new HashSet<Class<? extends Operation>>(),
+                new HashSet<Class<? extends Operation>>(),
+                Collections.<Operation>emptyIterator(),
+                Collections.<Operation>emptyIterator(),
+                childOperationGenerator
+        );
+        Db db = new DummyDb();
+        db.init(
+                new HashMap<String,String>(),
+                loggingService,
+                DummyWorkload.OPERATION_TYPE_CLASS_MAPPING
+        );
+
+        int threadCount = 1;
+        int boundedQueueSize = DefaultQueues.DEFAULT_BOUND_1000;
+        boolean justInTimeDispatch = true;
+
+        OperationExecutor executor = new ThreadPoolOperationExecutor(
+                threadCount,
+                boundedQueueSize,
+                db,
+                streamDefinition,
+                dummyCompletionTimeWriter,
+                dummyCompletionTimeReader,
+                spinner,
+                timeSource,
+                errorReporter,
+                metricsService,
+                streamDefinition.childOperationGenerator(),
+                justInTimeDispatch,
+                null
+        );
+
+        Operation operation1 = new NothingOperation();
+        operation1.setScheduledStartTimeAsMilli( timeSource.nowAsMilli() + 100l );
+        operation1.setTimeStamp( 1000l );
+        operation1.setDependencyTimeStamp( 0l );
+
+        Operation operation2 = new NothingOperation();
+        operation2.setScheduledStartTimeAsMilli( operation1.scheduledStartTimeAsMilli() );
+        operation2.setTimeStamp( 2000l );
+        operation2.setDependencyTimeStamp( 0l );
+
+        // When
+        executor.execute( operation1 );
+        executor.execute( operation2 );
+
+        while ( executor.uncompletedOperationHandlerCount() > 0 )
+        {
+            // wait for handlers to finish
+            Spinner.powerNap( 100 );
+        }
+
+        // Then
+        assertThat( metricsService.count(), is( 6l ) );
+        // the second parent operation does not wait for the child operations of the first to be due
+        assertThat( completedTimeStamps, equalTo( Arrays.asList( 1000l, 2000l, 1001l, 2001l, 1002l, 2002l ) ) );
+        executor.shutdown( 1000l );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+    }
+
+    @Test
+    public void executorShouldCompleteDueChildOperationChainsOnCompletingWorkerWhenWorkQueueIsFull() throws Exception
+    {
+        // Given
+        LoggingService loggingService = new Log4jLoggingServiceFactory( false ).loggingServiceFor( "Test" );
+        final TimeSource timeSource = new SystemTimeSource();
+        boolean ignoreScheduledStartTime = false;
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        Spinner spinner = new Spinner( timeSource, Spinner.DEFAULT_SLEEP_DURATION_10_MILLI, ignoreScheduledStartTime );
+        CompletionTimeWriter dummyCompletionTimeWriter = new DummyCompletionTimeWriter();
+        DummyCompletionTimeReader dummyCompletionTimeReader = new DummyCompletionTimeReader();
+        dummyCompletionTimeReader.setCompletionTimeAsMilli( Long.MAX_VALUE );
+        DummyCountingMetricsService metricsService = new DummyCountingMetricsService();
+        final List<Long> completedTimeStamps = Collections.synchronizedList( new ArrayList<Long>() );
+        // every parent operation has a chain of two child operations that are due straight away, time stamps are
+        // parent time stamp + depth
+        ChildOperationGenerator childOperationGenerator = new ChildOperationGenerator()
+        {
+            @Override
+            public double initialState()
+            {
+                return 0;
+            }
+
+            @Override
+            public Operation nextOperation( double state, Operation operation, Object result,
+                    long actualStartTimeAsMilli, long runDurationAsNano ) throws WorkloadException
+            {
+                completedTimeStamps.add( operation.timeStamp() );
+                if ( state >= 2 )
+                {
+                    return null;
+                }
+                Operation childOperation = new NothingOperation();
+                childOperation.setScheduledStartTimeAsMilli( timeSource.nowAsMilli() );
+                childOperation.setTimeStamp( operation.timeStamp() + 1 );
+                childOperation.setDependencyTimeStamp( 0l );
+                return childOperation;
+            }
+
+            @Override
+            public double updateState( double previousState, int previousOperationType )
+            {
+                return previousState + 1;
+            }
+        };
+        WorkloadStreams.WorkloadStreamDefinition streamDefinition = new WorkloadStreams.WorkloadStreamDefinition(
+                new HashSet<Class<? extends Operation>>(),
+                new HashSet<Class<? extends Operation>>(),
+                Collections.<Operation>emptyIterator(),
+                Collections.<Operation>emptyIterator(),
+                childOperationGenerator
+        );
+        Db db = new DummyDb();
+        db.init(
+                new HashMap<String,String>(),
+                loggingService,
+                DummyWorkload.OPERATION_TYPE_CLASS_MAPPING
+        );
+
+        int threadCount = 1;
+        int boundedQueueSize = 2;
+
+        OperationExecutor executor = new ThreadPoolOperationExecutor(
+                threadCount,
+                boundedQueueSize,
+                db,
+                streamDefinition,
+                dummyCompletionTimeWriter,
+                dummyCompletionTimeReader,
+                spinner,
+                timeSource,
+                errorReporter,
+                metricsService,
+                streamDefinition.childOperationGenerator()
+        );
+
+        Operation operation1 = new NothingOperation();
+        operation1.setScheduledStartTimeAsMilli( timeSource.nowAsMilli() + 100l );
+        operation1.setTimeStamp( 1000l );
+        operation1.setDependencyTimeStamp( 0l );
+
+        Operation operation2 = new NothingOperation();
+        operation2.setScheduledStartTimeAsMilli( operation1.scheduledStartTimeAsMilli() );
+        operation2.setTimeStamp( 2000l );
+        operation2.setDependencyTimeStamp( 0l );
+
+        Operation operation3 = new NothingOperation();
+        operation3.setScheduledStartTimeAsMilli( operation1.scheduledStartTimeAsMilli() );
+        operation3.setTimeStamp( 3000l );
+        operation3.setDependencyTimeStamp( 0l );
+
+        // When
+        // the only worker waits for the first operation to be due while the second and third fill the work queue
+        executor.execute( operation1 );
+        executor.execute( operation2 );
+        executor.execute( operation3 );
+
+        while ( executor.uncompletedOperationHandlerCount() > 0 )
+        {
+            // wait for handlers to finish
+            Spinner.powerNap( 100 );
+        }
+
+        // Then
+        assertThat( metricsService.count(), is( 9l ) );
+        // every chain completed, without giving up its place to the operations queued behind it
+        assertThat( completedTimeStamps, equalTo(
+                Arrays.asList( 1000l, 1001l, 1002l, 2000l, 2001l, 2002l, 3000l, 3001l, 3002l ) ) );
+        executor.shutdown( 1000l );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+    }
+
+    @Test
+    public void executorWithJustInTimeDispatchShouldNotHoldWorkerForLaterOperation() throws Exception
+    {
+        // Given
+        LoggingService loggingService = new Log4jLoggingServiceFactory( false ).loggingServiceFor( "Test" );
+        final TimeSource timeSource = new SystemTimeSource();
+        boolean ignoreScheduledStartTime = false;
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        Spinner spinner = new Spinner( timeSource, Spinner.DEFAULT_SLEEP_DURATION_10_MILLI, ignoreScheduledStartTime );
+        CompletionTimeWriter dummyCompletionTimeWriter = new DummyCompletionTimeWriter();
+        DummyCompletionTimeReader dummyCompletionTimeReader = new DummyCompletionTimeReader();
+        dummyCompletionTimeReader.setCompletionTimeAsMilli( Long.MAX_VALUE );
+        DummyCountingMetricsService metricsService = new DummyCountingMetricsService();
+        final List<Long> completedTimeStamps = Collections.synchronizedList( new ArrayList<Long>() );
+        final List<Long> startDelays = Collections.synchronizedList( new ArrayList<Long>() );
+        // generates no child operations, only records the order in which operations completed
+        ChildOperationGenerator childOperationGenerator = new ChildOperationGenerator()
+        {
+            @Override
+            public double initialState()
+            {
+                return 0;
+            }
+
+            @Override
+            public Operation nextOperation( double state, Operation operation, Object result,
+                    long actualStartTimeAsMilli, long runDurationAsNano ) throws WorkloadException
+            {
+                completedTimeStamps.add( operation.timeStamp() );
+                startDelays.add( actualStartTimeAsMilli - operation.scheduledStartTimeAsMilli() );
+                return null;
+            }
+
+            @Override
+            public double updateState( double previousState, int previousOperationType )
+            {
+                return previousState + 1;
+            }
+        };
+        WorkloadStreams.WorkloadStreamDefinition streamDefinition = new WorkloadStreams.WorkloadStreamDefinition(
+                new HashSet<Class<? extends Operation>>(),
+                new HashSet<Class<? extends Operation>>(),
+                Collections.<Operation>emptyIterator(),
+                Collections.<Operation>emptyIterator(),
+                childOperationGenerator
+        );
+        Db db = new DummyDb();
+        db.init(
+                new HashMap<String,String>(),
+                loggingService,
+                DummyWorkload.OPERATION_TYPE_CLASS_MAPPING
+        );
+
+        int threadCount = 1;
+        int boundedQueueSize = DefaultQueues.DEFAULT_BOUND_1000;
+        boolean justInTimeDispatch = true;
+
+        OperationExecutor executor = new ThreadPoolOperationExecutor(
+                threadCount,
+                boundedQueueSize,
+                db,
+                streamDefinition,
+                dummyCompletionTimeWriter,
+                dummyCompletionTimeReader,
+                spinner,
+                timeSource,
+                errorReporter,
+                metricsService,
+                streamDefinition.childOperationGenerator(),
+                justInTimeDispatch,
+                null
+        );
+
+        // submitted first, but scheduled to start last
+        Operation operation1 = new NothingOperation();
+        operation1.setScheduledStartTimeAsMilli( timeSource.nowAsMilli() + 500l );
+        operation1.setTimeStamp( 1000l );
+        operation1.setDependencyTimeStamp( 0l );
+
+        Operation operation2 = new NothingOperation();
+        operation2.setScheduledStartTimeAsMilli( timeSource.nowAsMilli() + 100l );
+        operation2.setTimeStamp( 2000l );
+        operation2.setDependencyTimeStamp( 0l );
+
+        // When
+        executor.execute( operation1 );
+        executor.execute( operation2 );
+
+        while ( executor.uncompletedOperationHandlerCount() > 0 )
+        {
+            // wait for handlers to finish
+            Spinner.powerNap( 100 );
+        }
+
+        // Then
+        assertThat( metricsService.count(), is( 2l ) );
+        // the only worker was not waiting for the first operation when the second became due
+        assertThat( completedTimeStamps, equalTo( Arrays.asList( 2000l, 1000l ) ) );
+        for ( long startDelay : startDelays )
+        {
+            assertThat( startDelay < 100, is( true ) );
+        }
+        executor.shutdown( 1000l );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+    }
+
+    @Test
+    public void executorWithDeadlineOffsetsShouldRunQueuedOperationsEarliestDeadlineFirst() throws Exception
+    {
+        // Given
+        LoggingService loggingService = new Log4jLoggingServiceFactory( false ).loggingServiceFor( "Test" );
+        final TimeSource timeSource = new SystemTimeSource();
+        boolean ignoreScheduledStartTime = false;
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        Spinner spinner = new Spinner( timeSource, Spinner.DEFAULT_SLEEP_DURATION_10_MILLI, ignoreScheduledStartTime );
+        CompletionTimeWriter dummyCompletionTimeWriter = new DummyCompletionTimeWriter();
+        DummyCompletionTimeReader dummyCompletionTimeReader = new DummyCompletionTimeReader();
+        dummyCompletionTimeReader.setCompletionTimeAsMilli( Long.MAX_VALUE );
+        DummyCountingMetricsService metricsService = new DummyCountingMetricsService();
+        final List<Long> completedTimeStamps = Collections.synchronizedList( new ArrayList<Long>() );
+        final CountDownLatch firstOperationCompleted = new CountDownLatch( 1 );
+        final CountDownLatch allOperationsQueued = new CountDownLatch( 1 );
+        // generates no child operations, only records the order in which operations completed, and holds the only
+        // worker after the first operation until the other operations are queued
+        ChildOperationGenerator childOperationGenerator = new ChildOperationGenerator()
+        {
+            @Override
+            public double initialState()
+            {
+                return 0;
+            }
+
+            @Override
+            public Operation nextOperation( double state, Operation operation, Object result,
+                    long actualStartTimeAsMilli, long runDurationAsNano ) throws WorkloadException
+            {
+                completedTimeStamps.add( operation.timeStamp() );
+                if ( 1000l == operation.timeStamp() )
+                {
+                    firstOperationCompleted.countDown();
+                    try
+                    {
+                        allOperationsQueued.await();
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        throw new WorkloadException( "Interrupted while waiting for operations to be queued", e );
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public double updateState( double previousState, int previousOperationType )
+            {
+                return previousState + 1;
+            }
+        };
+        WorkloadStreams.WorkloadStreamDefinition streamDefinition = new WorkloadStreams.WorkloadStreamDefinition(
+                new HashSet<Class<? extends Operation>>(),
+                new HashSet<Class<? extends Operation>>(),
+                Collections.<Operation>emptyIterator(),
+                Collections.<Operation>emptyIterator(),
+                childOperationGenerator
+        );
+        Db db = new DummyDb();
+        db.init(
+                new HashMap<String,String>(),
+                loggingService,
+                DummyWorkload.OPERATION_TYPE_CLASS_MAPPING
+        );
+
+        int threadCount = 1;
+        int boundedQueueSize = DefaultQueues.DEFAULT_BOUND_1000;
+        boolean justInTimeDispatch = false;
+        long[] deadlineOffsetsAsMilli = new long[TimedNamedOperation2.TYPE + 1];
+        deadlineOffsetsAsMilli[TimedNamedOperation1.TYPE] = 1000;
+
+        OperationExecutor executor = new ThreadPoolOperationExecutor(
+                threadCount,
+                boundedQueueSize,
+                db,
+                streamDefinition,
+                dummyCompletionTimeWriter,
+                dummyCompletionTimeReader,
+                spinner,
+                timeSource,
+                errorReporter,
+                metricsService,
+                streamDefinition.childOperationGenerator(),
+                justInTimeDispatch,
+                deadlineOffsetsAsMilli
+        );
+
+        long nowAsMilli = timeSource.nowAsMilli();
+        // keeps the only worker busy while the other operations are queued
+        Operation operation1 = new NothingOperation();
+        operation1.setScheduledStartTimeAsMilli( nowAsMilli );
+        operation1.setTimeStamp( 1000l );
+        operation1.setDependencyTimeStamp( 0l );
+        // deadline: + 1100
+        Operation operation2 = new TimedNamedOperation1( nowAsMilli + 100l, 2000l, 0l, "2" );
+        // deadline: + 150
+        Operation operation3 = new TimedNamedOperation2( nowAsMilli + 150l, 3000l, 0l, "3" );
+        // deadline: + 120
+        Operation operation4 = new NothingOperation();
+        operation4.setScheduledStartTimeAsMilli( nowAsMilli + 120l );
+        operation4.setTimeStamp( 4000l );
+        operation4.setDependencyTimeStamp( 0l );
+
+        // When
+        executor.execute( operation1 );
+        firstOperationCompleted.await();
+        executor.execute( operation2 );
+        executor.execute( operation3 );
+        executor.execute( operation4 );
+        allOperationsQueued.countDown();
+
+        while ( executor.uncompletedOperationHandlerCount() > 0 )
+        {
+            // wait for handlers to finish
+            Spinner.powerNap( 100 );
+        }
+
+        // Then
+        assertThat( metricsService.count(), is( 4l ) );
+        assertThat( completedTimeStamps, equalTo( Arrays.asList( 1000l, 4000l, 3000l, 2000l ) ) );
+        executor.shutdown( 1000l );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+    }
+
+    @Test
+    public void executorShouldRefuseOperationWithoutBlockingWhenWorkQueueIsFull() throws Exception
+    {
+        // Given
+        LoggingService loggingService = new Log4jLoggingServiceFactory( false ).loggingServiceFor( "Test" );
+        TimeSource timeSource = new SystemTimeSource();
+        boolean ignoreScheduledStartTime = false;
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        Spinner spinner = new Spinner( timeSource, Spinner.DEFAULT_SLEEP_DURATION_10_MILLI, ignoreScheduledStartTime );
+        CompletionTimeWriter dummyCompletionTimeWriter = new DummyCompletionTimeWriter();
+        DummyCompletionTimeReader dummyCompletionTimeReader = new DummyCompletionTimeReader();
+        dummyCompletionTimeReader.setCompletionTimeAsMilli( Long.MAX_VALUE );
+        DummyCountingMetricsService metricsService = new DummyCountingMetricsService();
+        WorkloadStreams.WorkloadStreamDefinition streamDefinition = new WorkloadStreams.WorkloadStreamDefinition(
+                new HashSet<Class<? extends Operation>>(),
+                new HashSet<Class<? extends Operation>>(),
+                Collections.<Operation>emptyIterator(),
+                Collections.<Operation>emptyIterator(),
+                null
+        );
+        Db db = new DummyDb();
+        db.init(
+                new HashMap<String,String>(),
+                loggingService,
+                DummyWorkload.OPERATION_TYPE_CLASS_MAPPING
+        );
+
+        int threadCount = 1;
+        int boundedQueueSize = 1;
+
+        OperationExecutor executor = new ThreadPoolOperationExecutor(
+                threadCount,
+                boundedQueueSize,
+                db,
+                streamDefinition,
+                dummyCompletionTimeWriter,
+                dummyCompletionTimeReader,
+                spinner,
+                timeSource,
+                errorReporter,
+                metricsService,
+                streamDefinition.childOperationGenerator()
+        );
+
+        long nowAsMilli = timeSource.nowAsMilli();
+        // keeps the only worker busy
+        Operation operation1 = new TimedNamedOperation1( nowAsMilli + 300l, 1000l, 0l, "1" );
+        // fills the work queue
+        Operation operation2 = new TimedNamedOperation1( nowAsMilli, 2000l, 0l, "2" );
+        Operation operation3 = new TimedNamedOperation1( nowAsMilli, 3000l, 0l, "3" );
+
+        // When
+        assertThat( executor.tryExecute( operation1 ), is( true ) );
+        while ( !executor.tryExecute( operation2 ) )
+        {
+            // wait for worker to take first operation from work queue
+            Spinner.powerNap( 10 );
+        }
+        long beforeRefusalAsMilli = timeSource.nowAsMilli();
+        boolean operation3Accepted = executor.tryExecute( operation3 );
+        long refusalDurationAsMilli = timeSource.nowAsMilli() - beforeRefusalAsMilli;
+
+        // Then
+        assertThat( operation3Accepted, is( false ) );
+        assertThat( refusalDurationAsMilli < 100, is( true ) );
+        assertThat( executor.uncompletedOperationHandlerCount(), is( 2l ) );
+
+        while ( !executor.tryExecute( operation3 ) )
+        {
+            // wait for work queue to have capacity again
+            Spinner.powerNap( 10 );
+        }
+        while ( executor.uncompletedOperationHandlerCount() > 0 )
+        {
+            // wait for handlers to finish
+            Spinner.powerNap( 100 );
+        }
+        assertThat( metricsService.count(), is( 3l ) );
+        executor.shutdown( 1000l );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+    }
+
     @Test
     public void executorShouldThrowExceptionIfShutdownMultipleTimes() throws Exception
     {
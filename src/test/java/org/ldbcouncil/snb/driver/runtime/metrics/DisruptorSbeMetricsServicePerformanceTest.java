@@ -0,0 +1,158 @@
+package org.ldbcouncil.snb.driver.runtime.metrics;
+
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.control.Log4jLoggingServiceFactory;
+import org.ldbcouncil.snb.driver.control.LoggingServiceFactory;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.temporal.SystemTimeSource;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcSnbInteractiveWorkloadConfiguration;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Throughput harness for the metrics pipeline, reports sustained events/sec from submission of the first operation
+ * result until every consumer has processed the last one.
+ */
+@Ignore
+public class DisruptorSbeMetricsServicePerformanceTest
+{
+    private static final int WRITER_COUNT = 8;
+    private static final long RESULTS_PER_WRITER = 2_000_000;
+    private static final int REPETITIONS = 3;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final TimeSource timeSource = new SystemTimeSource();
+    private final LoggingServiceFactory loggingServiceFactory = new Log4jLoggingServiceFactory( false );
+
+    @Test
+    public void compareSustainedThroughputOfPipelineConfigurations() throws Exception
+    {
+        int[] ringBufferSizes = new int[]{1024, DisruptorSbeMetricsService.DEFAULT_RING_BUFFER_SIZE};
+        DisruptorSbeMetricsService.WaitStrategyType[] waitStrategyTypes = new DisruptorSbeMetricsService
+                .WaitStrategyType[]{DisruptorSbeMetricsService.WaitStrategyType.BLOCKING,
+                DisruptorSbeMetricsService.WaitStrategyType.YIELDING};
+        int[] shardCounts = new int[]{1, 2, 4};
+        boolean[] writeResultsLogs = new boolean[]{false, true};
+        for ( boolean writeResultsLog : writeResultsLogs )
+        {
+            for ( int ringBufferSize : ringBufferSizes )
+            {
+                for ( DisruptorSbeMetricsService.WaitStrategyType waitStrategyType : waitStrategyTypes )
+                {
+                    for ( int shardCount : shardCounts )
+                    {
+                        for ( int i = 0; i < REPETITIONS; i++ )
+                        {
+                            double eventsPerSecond =
+                                    doThroughputTest( ringBufferSize, waitStrategyType, shardCount, writeResultsLog );
+                            System.out.println( format(
+                                    "results log=%s ring=%s wait=%s shards=%s writers=%s --> %s events/sec",
+                                    writeResultsLog,
+                                    ringBufferSize,
+                                    waitStrategyType,
+                                    shardCount,
+                                    WRITER_COUNT,
+                                    Math.round( eventsPerSecond ) ) );
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private double doThroughputTest( int ringBufferSize,
+            DisruptorSbeMetricsService.WaitStrategyType waitStrategyType,
+            int shardCount,
+            boolean writeResultsLog ) throws Exception
+    {
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        ResultsLogWriter resultsLogWriter = (writeResultsLog)
+                                            ? new SimpleResultsLogWriter( temporaryFolder.newFile(),
+                TimeUnit.MILLISECONDS, false )
+                                            : new NullResultsLogWriter();
+        Map<Integer,Class<? extends Operation>> operationTypeToClassMapping =
+                LdbcSnbInteractiveWorkloadConfiguration.operationTypeToClassMapping();
+        final int[] operationTypes = new int[operationTypeToClassMapping.size()];
+        int operationTypeIndex = 0;
+        for ( Integer operationType : operationTypeToClassMapping.keySet() )
+        {
+            operationTypes[operationTypeIndex++] = operationType;
+        }
+        MetricsService metricsService = new DisruptorSbeMetricsService(
+                timeSource,
+                errorReporter,
+                TimeUnit.MILLISECONDS,
+                DisruptorSbeMetricsService.DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO,
+                resultsLogWriter,
+                operationTypeToClassMapping,
+                loggingServiceFactory,
+                ringBufferSize,
+                waitStrategyType,
+                shardCount
+        );
+
+        List<Thread> writerThreads = new ArrayList<>();
+        for ( int i = 0; i < WRITER_COUNT; i++ )
+        {
+            final MetricsService.MetricsServiceWriter metricsServiceWriter = metricsService.getWriter();
+            writerThreads.add( new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        for ( long j = 0; j < RESULTS_PER_WRITER; j++ )
+                        {
+                            metricsServiceWriter.submitOperationResult(
+                                    operationTypes[(int) (j % operationTypes.length)],
+                                    j,
+                                    j + 1,
+                                    TimeUnit.MICROSECONDS.toNanos( j % 1000 ),
+                                    0,
+                                    j );
+                        }
+                    }
+                    catch ( MetricsCollectionException e )
+                    {
+                        e.printStackTrace();
+                    }
+                }
+            } );
+        }
+
+        long startTimeAsNano = System.nanoTime();
+        for ( Thread writerThread : writerThreads )
+        {
+            writerThread.start();
+        }
+        for ( Thread writerThread : writerThreads )
+        {
+            writerThread.join();
+        }
+        // returns once every consumer has processed every submitted result
+        WorkloadResultsSnapshot results = metricsService.getWriter().results();
+        long durationAsNano = System.nanoTime() - startTimeAsNano;
+        metricsService.shutdown();
+        resultsLogWriter.close();
+
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+        assertThat( results.totalOperationCount(), equalTo( WRITER_COUNT * RESULTS_PER_WRITER ) );
+        return (double) results.totalOperationCount() / durationAsNano * TimeUnit.SECONDS.toNanos( 1 );
+    }
+}
@@ -83,6 +83,43 @@ public class DisruptorSbeMetricsServiceTest
         }
     }
 
+    @Test
+    public void shouldReturnCorrectMeasurementsWhenHistogramsAreSharded()
+            throws WorkloadException, MetricsCollectionException
+    {
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        ResultsLogWriter resultsLogWriter = new NullResultsLogWriter();
+        Map<Integer,Class<? extends Operation>> operationTypeToClassMapping = new HashMap<>();
+        operationTypeToClassMapping.put( LdbcQuery1.TYPE, LdbcQuery1.class );
+        operationTypeToClassMapping.put( LdbcQuery2.TYPE, LdbcQuery2.class );
+        MetricsService metricsService = new DisruptorSbeMetricsService(
+                timeSource,
+                errorReporter,
+                TimeUnit.MILLISECONDS,
+                DisruptorSbeMetricsService.DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO,
+                resultsLogWriter,
+                operationTypeToClassMapping,
+                loggingServiceFactory,
+                64,
+                DisruptorSbeMetricsService.WaitStrategyType.YIELDING,
+                2
+        );
+        try
+        {
+            MetricsService.MetricsServiceWriter metricsServiceWriter = metricsService.getWriter();
+            shouldReturnCorrectMeasurements( metricsServiceWriter );
+            WorkloadResultsSnapshot results = metricsServiceWriter.results();
+            assertThat( results.totalOperationCount(), equalTo( 3l ) );
+            assertThat( results.allMetrics().size(), equalTo( 2 ) );
+            assertThat( metricsServiceWriter.status().operationCount(), equalTo( 3l ) );
+        }
+        finally
+        {
+            System.out.println( errorReporter.toString() );
+            metricsService.shutdown();
+        }
+    }
+
     public void shouldReturnCorrectMeasurements( MetricsService.MetricsServiceWriter metricsServiceWriter )
             throws WorkloadException, MetricsCollectionException
     {
@@ -11,7 +11,7 @@ public class DummyCountingMetricsService implements MetricsService, MetricsServi
 
     public DummyCountingMetricsService() {
         metrics = new HashMap<>();
-        metrics.put("default", new OperationMetricsSnapshot(null, null, 0, null));
+        metrics.put("default", new OperationMetricsSnapshot(null, null, 0, null, null, null));
     }
 
     @Override
@@ -32,23 +32,82 @@ public class MetricsManagerTest
         );
 
         Operation operation1 = DummyLdbcSnbInteractiveOperationInstances.read1();
+        long operation1ScheduledStartTimeAsMilli = 1;
         long operation1ActualStartTimeAsMilli = 2;
         long operation1RunDurationAsNano = TimeUnit.MILLISECONDS.toNanos( 1 );
 
         Operation operation2 = DummyLdbcSnbInteractiveOperationInstances.read1();
+        long operation2ScheduledStartTimeAsMilli = 5;
         long operation2ActualStartTimeAsMilli = 8;
         long operation2RunDurationAsNano = TimeUnit.MILLISECONDS.toNanos( 3 );
 
         Operation operation3 = DummyLdbcSnbInteractiveOperationInstances.read2();
+        long operation3ScheduledStartTimeAsMilli = 11;
         long operation3ActualStartTimeAsMilli = 11;
         long operation3RunDurationAsNano = TimeUnit.MILLISECONDS.toNanos( 5 );
 
-        metricsManager.measure( operation1ActualStartTimeAsMilli, operation1RunDurationAsNano, operation1.type() );
-        metricsManager.measure( operation2ActualStartTimeAsMilli, operation2RunDurationAsNano, operation2.type() );
-        metricsManager.measure( operation3ActualStartTimeAsMilli, operation3RunDurationAsNano, operation3.type() );
+        metricsManager.measure( operation1ScheduledStartTimeAsMilli, operation1ActualStartTimeAsMilli,
+                operation1RunDurationAsNano, operation1.type() );
+        metricsManager.measure( operation2ScheduledStartTimeAsMilli, operation2ActualStartTimeAsMilli,
+                operation2RunDurationAsNano, operation2.type() );
+        metricsManager.measure( operation3ScheduledStartTimeAsMilli, operation3ActualStartTimeAsMilli,
+                operation3RunDurationAsNano, operation3.type() );
 
         WorkloadResultsSnapshot snapshot = metricsManager.snapshot();
         assertThat( snapshot.startTimeAsMilli(), equalTo( 2l ) );
         assertThat( snapshot.latestFinishTimeAsMilli(), equalTo( 16l ) );
+        for ( OperationMetricsSnapshot operationMetrics : snapshot.allMetrics() )
+        {
+            if ( operationMetrics.name().equals( operation1.getClass().getSimpleName() ) )
+            {
+                assertThat( operationMetrics.startDelayMetric().count(), equalTo( 2l ) );
+                assertThat( operationMetrics.startDelayMetric().min(), equalTo( 1l ) );
+                assertThat( operationMetrics.startDelayMetric().max(), equalTo( 3l ) );
+                // start delay + run duration, 1 + 1 and 3 + 3
+                assertThat( operationMetrics.responseTimeMetric().count(), equalTo( 2l ) );
+                assertThat( operationMetrics.responseTimeMetric().min(), equalTo( 2l ) );
+                assertThat( operationMetrics.responseTimeMetric().max(), equalTo( 6l ) );
+                assertThat( operationMetrics.runTimeMetric().max(), equalTo( 3l ) );
+            }
+            else
+            {
+                assertThat( operationMetrics.startDelayMetric().count(), equalTo( 1l ) );
+                assertThat( operationMetrics.startDelayMetric().max(), equalTo( 0l ) );
+                assertThat( operationMetrics.responseTimeMetric().max(), equalTo( 5l ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotClampResponseTimeOfOperationsThatStartLaterThanHighestExpectedRuntime()
+            throws WorkloadException, MetricsCollectionException
+    {
+        MetricsManager metricsManager = new MetricsManager(
+                timeSource,
+                TimeUnit.MILLISECONDS,
+                TimeUnit.SECONDS.toNanos( 1 ),
+                LdbcSnbInteractiveWorkloadConfiguration.operationTypeToClassMapping(),
+                loggingServiceFactory
+        );
+
+        Operation operation = DummyLdbcSnbInteractiveOperationInstances.read1();
+        long scheduledStartTimeAsMilli = 1;
+        long actualStartTimeAsMilli = 10001;
+        long runDurationAsNano = TimeUnit.MILLISECONDS.toNanos( 500 );
+
+        metricsManager.measure( scheduledStartTimeAsMilli, actualStartTimeAsMilli, runDurationAsNano,
+                operation.type() );
+
+        WorkloadResultsSnapshot snapshot = metricsManager.snapshot();
+        for ( OperationMetricsSnapshot operationMetrics : snapshot.allMetrics() )
+        {
+            if ( operationMetrics.name().equals( operation.getClass().getSimpleName() ) )
+            {
+                // start delay and response time exceed the highest expected runtime of 1 second
+                assertThat( operationMetrics.startDelayMetric().max(), equalTo( 10000l ) );
+                assertThat( operationMetrics.responseTimeMetric().max(), equalTo( 10500l ) );
+                assertThat( operationMetrics.runTimeMetric().max(), equalTo( 500l ) );
+            }
+        }
     }
 }
@@ -5,8 +5,10 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.util.concurrent.TimeUnit;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -114,4 +116,96 @@ public class ResultsLogReaderWriterTest
             assertFalse( reader.next() );
         }
     }
+
+    @Test
+    public void shouldWriteAndReadSameValuesWithBinaryFormat() throws Exception
+    {
+        shouldWriteAndReadSameValuesWithBinaryFormat( false );
+    }
+
+    @Test
+    public void shouldWriteAndReadSameValuesWithCompressedBinaryFormat() throws Exception
+    {
+        shouldWriteAndReadSameValuesWithBinaryFormat( true );
+    }
+
+    private void shouldWriteAndReadSameValuesWithBinaryFormat( boolean compress ) throws Exception
+    {
+        File resultsLog = temporaryFolder.newFile();
+        TimeUnit unit = MICROSECONDS;
+        boolean flushLog = false;
+        int recordsPerBlock = 7;
+        int count = 1000;
+
+        try ( ResultsLogWriter writer =
+                      new BinaryResultsLogWriter( resultsLog, unit, flushLog, compress, recordsPerBlock ) )
+        {
+            writer.write(
+                    "a",
+                    Long.MAX_VALUE,
+                    Long.MAX_VALUE,
+                    Long.MAX_VALUE,
+                    Integer.MAX_VALUE,
+                    Long.MAX_VALUE );
+            for ( int i = 0; i < count; i++ )
+            {
+                writer.write( "op" + (i % 13), i, i + 1, i * 1000 + 1, i % 3, i - 1 );
+            }
+        }
+
+        assertTrue( BinaryResultsLogReader.isBinaryResultsLog( resultsLog ) );
+        try ( ResultsLogReader reader = ResultsLogFormat.newReader( resultsLog ) )
+        {
+            assertThat( reader.unit(), equalTo( unit ) );
+
+            assertTrue( reader.next() );
+            assertThat( reader.getOperationName(), equalTo( "a" ) );
+            assertThat( reader.getScheduledStartTimeAsMilli(), equalTo( Long.MAX_VALUE ) );
+            assertThat( reader.getActualStartTimeAsMilli(), equalTo( Long.MAX_VALUE ) );
+            assertThat( reader.getRunDurationAsNano(), equalTo( Long.MAX_VALUE ) );
+            assertThat( reader.getResultCode(), equalTo( Integer.MAX_VALUE ) );
+            assertThat( reader.getOriginalStartTime(), equalTo( Long.MAX_VALUE ) );
+
+            for ( int i = 0; i < count; i++ )
+            {
+                assertTrue( reader.next() );
+                assertThat( reader.getOperationName(), equalTo( "op" + (i % 13) ) );
+                assertThat( reader.getScheduledStartTimeAsMilli(), equalTo( (long) i ) );
+                assertThat( reader.getActualStartTimeAsMilli(), equalTo( (long) i + 1 ) );
+                assertThat( reader.getRunDurationAsNano(), equalTo( (long) i * 1000 + 1 ) );
+                assertThat( reader.getResultCode(), equalTo( i % 3 ) );
+                assertThat( reader.getOriginalStartTime(), equalTo( (long) i - 1 ) );
+            }
+
+            assertFalse( reader.next() );
+        }
+    }
+
+    @Test
+    public void shouldConvertBinaryFormatToSameCsvAsSimpleWriter() throws Exception
+    {
+        File binaryResultsLog = temporaryFolder.newFile();
+        File expectedCsvResultsLog = temporaryFolder.newFile();
+        File convertedCsvResultsLog = temporaryFolder.newFile();
+        TimeUnit unit = MILLISECONDS;
+        boolean flushLog = true;
+
+        try ( ResultsLogWriter binaryWriter =
+                      ResultsLogFormat.BINARY_DEFLATE.newWriter( binaryResultsLog, unit, flushLog );
+              ResultsLogWriter csvWriter = ResultsLogFormat.CSV.newWriter( expectedCsvResultsLog, unit, flushLog ) )
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                for ( ResultsLogWriter writer : new ResultsLogWriter[]{binaryWriter, csvWriter} )
+                {
+                    writer.write( (i % 2 == 0) ? "a" : "b", i, i * 2, MILLISECONDS.toNanos( i ) + 5, 0, i );
+                }
+            }
+        }
+
+        assertFalse( BinaryResultsLogReader.isBinaryResultsLog( expectedCsvResultsLog ) );
+        assertThat( ResultsLogConverter.toCsv( binaryResultsLog, convertedCsvResultsLog ), equalTo( 100L ) );
+        assertThat( Files.readAllLines( convertedCsvResultsLog.toPath() ),
+                equalTo( Files.readAllLines( expectedCsvResultsLog.toPath() ) ) );
+    }
 }
@@ -0,0 +1,296 @@
+package org.ldbcouncil.snb.driver.runtime.metrics;
+
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.WorkloadException;
+import org.ldbcouncil.snb.driver.control.Log4jLoggingServiceFactory;
+import org.ldbcouncil.snb.driver.control.LoggingServiceFactory;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.temporal.SystemTimeSource;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery1;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery2;
+import org.ldbcouncil.snb.driver.workloads.interactive.db.DummyLdbcSnbInteractiveOperationInstances;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ThreadLocalMetricsServiceTest
+{
+    private TimeSource timeSource = new SystemTimeSource();
+    private LoggingServiceFactory loggingServiceFactory = new Log4jLoggingServiceFactory( false );
+
+    @Test
+    public void shouldNotAcceptOperationResultsAfterShutdown() throws WorkloadException, MetricsCollectionException
+    {
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        MetricsService metricsService = new ThreadLocalMetricsService(
+                timeSource,
+                errorReporter,
+                TimeUnit.MILLISECONDS,
+                ThreadLocalMetricsService.DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO,
+                new NullResultsLogWriter(),
+                operationTypeToClassMapping(),
+                loggingServiceFactory
+        );
+        metricsService.shutdown();
+        boolean exceptionThrown = false;
+        try
+        {
+            shouldReturnCorrectMeasurements( metricsService.getWriter() );
+        }
+        catch ( MetricsCollectionException e )
+        {
+            exceptionThrown = true;
+        }
+        assertThat( exceptionThrown, is( true ) );
+    }
+
+    @Test
+    public void shouldReturnCorrectMeasurements() throws WorkloadException, MetricsCollectionException
+    {
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        MetricsService metricsService = new ThreadLocalMetricsService(
+                timeSource,
+                errorReporter,
+                TimeUnit.MILLISECONDS,
+                ThreadLocalMetricsService.DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO,
+                new NullResultsLogWriter(),
+                operationTypeToClassMapping(),
+                loggingServiceFactory
+        );
+        try
+        {
+            shouldReturnCorrectMeasurements( metricsService.getWriter() );
+        }
+        finally
+        {
+            System.out.println( errorReporter.toString() );
+            metricsService.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldProduceSameResultsAsSingleMetricsManagerWhenManyThreadsSubmitAndBuffersOverflow()
+            throws Exception
+    {
+        // Given
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        long mergeIntervalAsMilli = 10;
+        int bufferCapacity = 16;
+        final ThreadLocalMetricsService metricsService = new ThreadLocalMetricsService(
+                timeSource,
+                errorReporter,
+                TimeUnit.MICROSECONDS,
+                ThreadLocalMetricsService.DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO,
+                new NullResultsLogWriter(),
+                operationTypeToClassMapping(),
+                loggingServiceFactory,
+                mergeIntervalAsMilli,
+                bufferCapacity
+        );
+        MetricsManager expectedMetricsManager = new MetricsManager(
+                timeSource,
+                TimeUnit.MICROSECONDS,
+                ThreadLocalMetricsService.DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO,
+                operationTypeToClassMapping(),
+                loggingServiceFactory
+        );
+        int threadCount = 4;
+        final int resultsPerThread = 10_000;
+        for ( int i = 0; i < threadCount; i++ )
+        {
+            for ( int j = 0; j < resultsPerThread; j++ )
+            {
+                expectedMetricsManager.measure( scheduledStartTime( i, j ), actualStartTime( i, j ),
+                        runDuration( i, j ), operationType( j ) );
+            }
+        }
+
+        // When
+        List<Thread> threads = new ArrayList<>();
+        for ( int i = 0; i < threadCount; i++ )
+        {
+            final int threadIndex = i;
+            final MetricsService.MetricsServiceWriter metricsServiceWriter = metricsService.getWriter();
+            threads.add( new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        for ( int j = 0; j < resultsPerThread; j++ )
+                        {
+                            metricsServiceWriter.submitOperationResult( operationType( j ),
+                                    scheduledStartTime( threadIndex, j ), actualStartTime( threadIndex, j ),
+                                    runDuration( threadIndex, j ), 0, scheduledStartTime( threadIndex, j ) );
+                        }
+                    }
+                    catch ( MetricsCollectionException e )
+                    {
+                        e.printStackTrace();
+                    }
+                }
+            } );
+        }
+        for ( Thread thread : threads )
+        {
+            thread.start();
+        }
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+
+        // Then
+        try
+        {
+            WorkloadResultsSnapshot results = metricsService.getWriter().results();
+            assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+            assertThat( results.totalOperationCount(), equalTo( (long) threadCount * resultsPerThread ) );
+            assertThat( results, equalTo( expectedMetricsManager.snapshot() ) );
+            assertThat( metricsService.getWriter().status().operationCount(),
+                    equalTo( (long) threadCount * resultsPerThread ) );
+        }
+        finally
+        {
+            metricsService.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotAcceptOperationResultsOnceMergingHasFailed() throws Exception
+    {
+        // Given
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        long mergeIntervalAsMilli = 10;
+        int bufferCapacity = 2;
+        ResultsLogWriter failingResultsLogWriter = new NullResultsLogWriter()
+        {
+            @Override
+            public void write( String operationName,
+                    long scheduledStartTimeAsMilli,
+                    long actualStartTimeAsMilli,
+                    long runDurationAsNano,
+                    int resultCode,
+                    long originalStartTime ) throws IOException
+            {
+                throw new IOException( "Results log is not writable" );
+            }
+        };
+        MetricsService metricsService = new ThreadLocalMetricsService(
+                timeSource,
+                errorReporter,
+                TimeUnit.MILLISECONDS,
+                ThreadLocalMetricsService.DEFAULT_HIGHEST_EXPECTED_RUNTIME_DURATION_AS_NANO,
+                failingResultsLogWriter,
+                operationTypeToClassMapping(),
+                loggingServiceFactory,
+                mergeIntervalAsMilli,
+                bufferCapacity
+        );
+        MetricsService.MetricsServiceWriter metricsServiceWriter = metricsService.getWriter();
+
+        // When
+        boolean exceptionThrown = false;
+        for ( int i = 0; i < 1000 && !exceptionThrown; i++ )
+        {
+            try
+            {
+                // once the buffer is full this only returns when it is drained, or fails
+                metricsServiceWriter.submitOperationResult( LdbcQuery1.TYPE, i, i, 1, 0, i );
+            }
+            catch ( MetricsCollectionException e )
+            {
+                exceptionThrown = true;
+            }
+        }
+
+        // Then
+        assertThat( exceptionThrown, is( true ) );
+        assertThat( errorReporter.errorEncountered(), is( true ) );
+    }
+
+    private static int operationType( int j )
+    {
+        return (j % 2 == 0) ? LdbcQuery1.TYPE : LdbcQuery2.TYPE;
+    }
+
+    private static long scheduledStartTime( int threadIndex, int j )
+    {
+        return threadIndex * 100_000 + j;
+    }
+
+    private static long actualStartTime( int threadIndex, int j )
+    {
+        return scheduledStartTime( threadIndex, j ) + j % 7;
+    }
+
+    private static long runDuration( int threadIndex, int j )
+    {
+        return TimeUnit.MICROSECONDS.toNanos( (threadIndex + 1) * (j % 1000) + 1 );
+    }
+
+    private static Map<Integer,Class<? extends Operation>> operationTypeToClassMapping()
+    {
+        Map<Integer,Class<? extends Operation>> operationTypeToClassMapping = new HashMap<>();
+        operationTypeToClassMapping.put( LdbcQuery1.TYPE, LdbcQuery1.class );
+        operationTypeToClassMapping.put( LdbcQuery2.TYPE, LdbcQuery2.class );
+        return operationTypeToClassMapping;
+    }
+
+    public void shouldReturnCorrectMeasurements( MetricsService.MetricsServiceWriter metricsServiceWriter )
+            throws WorkloadException, MetricsCollectionException
+    {
+        assertThat( metricsServiceWriter.results().startTimeAsMilli(), equalTo( -1l ) );
+        assertThat( metricsServiceWriter.results().latestFinishTimeAsMilli(), is( -1l ) );
+
+        // scheduled: 1, actual: 2, duration: 1
+        Operation operation1 = DummyLdbcSnbInteractiveOperationInstances.read1();
+        operation1.setScheduledStartTimeAsMilli( 1l );
+        operation1.setTimeStamp( 1l );
+        long operation1ActualStartTime = 2;
+        long operation1RunDuration = TimeUnit.MILLISECONDS.toNanos( 1 );
+
+        metricsServiceWriter.submitOperationResult( operation1.type(), operation1.scheduledStartTimeAsMilli(),
+                operation1ActualStartTime, operation1RunDuration, 1, operation1.timeStamp() );
+
+        assertThat( metricsServiceWriter.results().startTimeAsMilli(), equalTo( 2l ) );
+        assertThat( metricsServiceWriter.results().latestFinishTimeAsMilli(), equalTo( 3l ) );
+
+        Operation operation2 = DummyLdbcSnbInteractiveOperationInstances.read1();
+        operation2.setScheduledStartTimeAsMilli( 1l );
+        operation2.setTimeStamp( 1l );
+        long operation2ActualStartTime = 8;
+        long operation2RunDuration = TimeUnit.MILLISECONDS.toNanos( 3 );
+
+        metricsServiceWriter.submitOperationResult( operation2.type(), operation2.scheduledStartTimeAsMilli(),
+                operation2ActualStartTime, operation2RunDuration, 2, operation2.timeStamp() );
+
+        assertThat( metricsServiceWriter.results().startTimeAsMilli(), equalTo( 2l ) );
+        assertThat( metricsServiceWriter.results().latestFinishTimeAsMilli(), equalTo( 11l ) );
+
+        Operation operation3 = DummyLdbcSnbInteractiveOperationInstances.read2();
+        operation3.setScheduledStartTimeAsMilli( 1l );
+        operation3.setTimeStamp( 1l );
+        long operation3ActualStartTime = 11;
+        long operation3RunDuration = TimeUnit.MILLISECONDS.toNanos( 5 );
+
+        metricsServiceWriter.submitOperationResult( operation3.type(), operation3.scheduledStartTimeAsMilli(),
+                operation3ActualStartTime, operation3RunDuration, 2, operation3.timeStamp() );
+
+        WorkloadResultsSnapshot results = metricsServiceWriter.results();
+        assertThat( results.startTimeAsMilli(), equalTo( 2l ) );
+        assertThat( results.latestFinishTimeAsMilli(), equalTo( 16l ) );
+        assertThat( results.totalOperationCount(), equalTo( 3l ) );
+    }
+}
@@ -91,10 +91,37 @@ public class WorkloadResultsSnapshotTest
                 runTimePercentile99,
                 runTimePercentile99_9,
                 runTimeStdDev );
+        ContinuousMetricSnapshot startDelayMetric = new ContinuousMetricSnapshot(
+                Integer.toString( seed++ ),
+                timeUnit3,
+                seed++,
+                seed++,
+                seed++,
+                seed++,
+                seed++, seed++,
+                seed++, seed++,
+                seed++,
+                seed++,
+                seed++,
+                seed++ );
+        ContinuousMetricSnapshot responseTimeMetric = new ContinuousMetricSnapshot(
+                Integer.toString( seed++ ),
+                timeUnit3,
+                seed++,
+                seed++,
+                seed++,
+                seed++,
+                seed++, seed++,
+                seed++, seed++,
+                seed++,
+                seed++,
+                seed++,
+                seed++ );
 
         Map<String,OperationMetricsSnapshot> metrics = new HashMap<>();
         metrics.put( Integer.toString( seed++ ),
-                new OperationMetricsSnapshot( operationName, operationDurationUnit, operationCount, runTimeMetric ) );
+                new OperationMetricsSnapshot( operationName, operationDurationUnit, operationCount, runTimeMetric,
+                        startDelayMetric, responseTimeMetric ) );
 
         long operationStartTime = seed++;
         long operationLatestFinishTime = seed++;
@@ -2,6 +2,10 @@ package org.ldbcouncil.snb.driver.runtime.scheduling;
 
 import org.ldbcouncil.snb.driver.Operation;
 import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeException;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeService;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeServiceAssistant;
+import org.ldbcouncil.snb.driver.runtime.coordination.CompletionTimeWriter;
 import org.ldbcouncil.snb.driver.runtime.coordination.DummyCompletionTimeReader;
 import org.ldbcouncil.snb.driver.workloads.dummy.TimedNamedOperation1;
 import org.junit.Test;
@@ -48,4 +52,39 @@ public class CtDependencyCheckTest
         dummyCompletionTimeReader.setCompletionTimeAsMilli( 10 );
         assertThat( ctDependencyCheck.doCheck( operation ), is( SpinnerCheck.SpinnerCheckResult.PASSED ) );
     }
+
+    @Test
+    public void shouldWaitForCtToReachDependencyTimeWhenReaderIsAwaitable() throws CompletionTimeException
+    {
+        // Given
+        long dependencyTimeAsMilli = 5;
+        long scheduledStartTimeAsMilli = -1;
+        Operation operation =
+                new TimedNamedOperation1( scheduledStartTimeAsMilli, scheduledStartTimeAsMilli, dependencyTimeAsMilli,
+                        null );
+        CompletionTimeService completionTimeService =
+                new CompletionTimeServiceAssistant().newWatermarkCompletionTimeService();
+        CompletionTimeWriter completionTimeWriter = completionTimeService.newCompletionTimeWriter();
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+
+        // When
+        CtDependencyCheck ctDependencyCheck = new CtDependencyCheck( completionTimeService, errorReporter );
+
+        // Then
+        // CT is undefined
+        assertThat( ctDependencyCheck.doCheck( operation ), is( SpinnerCheck.SpinnerCheckResult.STILL_CHECKING ) );
+
+        // CT is just before Dependency Time
+        completionTimeWriter.submitInitiatedTime( 4 );
+        completionTimeWriter.submitCompletedTime( 4 );
+        completionTimeWriter.submitInitiatedTime( 5 );
+        assertThat( ctDependencyCheck.doCheck( operation ), is( SpinnerCheck.SpinnerCheckResult.STILL_CHECKING ) );
+
+        // CT is equal to Dependency Time
+        completionTimeWriter.submitCompletedTime( 5 );
+        completionTimeWriter.submitInitiatedTime( 6 );
+        assertThat( ctDependencyCheck.doCheck( operation ), is( SpinnerCheck.SpinnerCheckResult.PASSED ) );
+        assertThat( errorReporter.errorEncountered(), is( false ) );
+        completionTimeService.shutdown();
+    }
 }
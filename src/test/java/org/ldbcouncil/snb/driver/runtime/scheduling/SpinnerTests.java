@@ -158,6 +158,71 @@ public class SpinnerTests
         spinningThread.join( ENOUGH_MILLISECONDS_FOR_SPINNER_THREAD_TO_DO_ITS_THING );
     }
 
+    @Test
+    public void preciseSpinnerShouldPassWhenNoCheckAndStartTimeArrives() throws InterruptedException
+    {
+        // Given
+        timeSource.setNowFromMilli( 0 );
+        boolean ignoreScheduledStartTime = false;
+        boolean preciseScheduledStartTime = true;
+        long spinnerSleepDuration = 1l;
+        Spinner spinner =
+                new Spinner( timeSource, spinnerSleepDuration, ignoreScheduledStartTime, preciseScheduledStartTime );
+
+        long scheduledStartTime = 10l;
+        Operation operation = new TimedNamedOperation1( scheduledStartTime, scheduledStartTime, 0l, "name" );
+
+        SpinningThread spinningThread = new SpinningThread( spinner, operation );
+
+        // When
+        spinningThread.start();
+
+        // Then
+        // should not return before start time, even though nano clock deadline has passed
+        Thread.sleep( ENOUGH_MILLISECONDS_FOR_SPINNER_THREAD_TO_DO_ITS_THING );
+        assertThat( spinningThread.spinnerHasCompleted(), is( false ) );
+        assertThat( spinningThread.isFineToExecuteOperation(), is( false ) );
+
+        timeSource.setNowFromMilli( scheduledStartTime );
+
+        // should return when start time reached
+        Thread.sleep( ENOUGH_MILLISECONDS_FOR_SPINNER_THREAD_TO_DO_ITS_THING );
+        assertThat( spinningThread.spinnerHasCompleted(), is( true ) );
+        assertThat( spinningThread.isFineToExecuteOperation(), is( true ) );
+
+        spinningThread.join( ENOUGH_MILLISECONDS_FOR_SPINNER_THREAD_TO_DO_ITS_THING );
+    }
+
+    @Test
+    public void preciseSpinnerShouldNeverStartEarlyAndShouldStartCloseToScheduledStartTime()
+    {
+        // Given
+        TimeSource systemTimeSource = new SystemTimeSource();
+        boolean ignoreScheduledStartTime = false;
+        boolean preciseScheduledStartTime = true;
+        long spinnerSleepDuration = 1l;
+        Spinner spinner = new Spinner( systemTimeSource, spinnerSleepDuration, ignoreScheduledStartTime,
+                preciseScheduledStartTime );
+        int operationCount = 50;
+        long maxLatenessAsMilli = 0;
+
+        // When
+        for ( int i = 0; i < operationCount; i++ )
+        {
+            long scheduledStartTime = systemTimeSource.nowAsMilli() + 3;
+            Operation operation = new TimedNamedOperation1( scheduledStartTime, scheduledStartTime, 0l, "name" );
+            assertThat( spinner.waitForScheduledStartTime( operation ), is( true ) );
+            long latenessAsMilli = systemTimeSource.nowAsMilli() - scheduledStartTime;
+
+            // Then
+            assertThat( format( "started %s ms early", -latenessAsMilli ), latenessAsMilli >= 0, is( true ) );
+            maxLatenessAsMilli = Math.max( maxLatenessAsMilli, latenessAsMilli );
+        }
+
+        // generous bound, to not fail on loaded build machines
+        assertThat( format( "started %s ms late", maxLatenessAsMilli ), maxLatenessAsMilli < 20, is( true ) );
+    }
+
     private static class SpinningThread extends Thread
     {
         private final Spinner spinner;
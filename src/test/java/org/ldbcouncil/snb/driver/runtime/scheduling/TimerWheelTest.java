@@ -0,0 +1,133 @@
+package org.ldbcouncil.snb.driver.runtime.scheduling;
+
+import org.junit.Test;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.temporal.ManualTimeSource;
+import org.ldbcouncil.snb.driver.temporal.SystemTimeSource;
+import org.ldbcouncil.snb.driver.temporal.TimeSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TimerWheelTest
+{
+    @Test
+    public void shouldRunTasksOnlyOnceDueAndInOrderOfDueTime() throws InterruptedException
+    {
+        // Given
+        ManualTimeSource timeSource = new ManualTimeSource( 0 );
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        TimerWheel timerWheel = new TimerWheel( timeSource, errorReporter, "test", 16 );
+        final List<Long> ran = Collections.synchronizedList( new ArrayList<Long>() );
+
+        // When
+        // due times fall into the same buckets, some more than a full turn of the wheel ahead
+        for ( long dueTimeAsMilli : new long[]{40, 8, 24, 9, 8, 100} )
+        {
+            timerWheel.schedule( dueTimeAsMilli, new RecordingTask( ran, dueTimeAsMilli ) );
+        }
+        Spinner.powerNap( 50 );
+
+        // Then
+        assertThat( ran.isEmpty(), is( true ) );
+        timeSource.setNowFromMilli( 8 );
+        waitForPendingCount( timerWheel, 4 );
+        assertThat( ran, equalTo( Arrays.asList( 8l, 8l ) ) );
+        timeSource.setNowFromMilli( 39 );
+        waitForPendingCount( timerWheel, 2 );
+        assertThat( ran, equalTo( Arrays.asList( 8l, 8l, 9l, 24l ) ) );
+        timeSource.setNowFromMilli( 40 );
+        waitForPendingCount( timerWheel, 1 );
+        assertThat( ran, equalTo( Arrays.asList( 8l, 8l, 9l, 24l, 40l ) ) );
+        // time jumps by more than a full turn
+        timeSource.setNowFromMilli( 1000 );
+        assertThat( timerWheel.shutdown( 1000 ), is( true ) );
+        assertThat( ran, equalTo( Arrays.asList( 8l, 8l, 9l, 24l, 40l, 100l ) ) );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+    }
+
+    @Test
+    public void shouldRunTasksThatAreAlreadyDueStraightAway() throws InterruptedException
+    {
+        // Given
+        TimeSource timeSource = new SystemTimeSource();
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        TimerWheel timerWheel = new TimerWheel( timeSource, errorReporter, "test" );
+        final List<Long> ran = Collections.synchronizedList( new ArrayList<Long>() );
+        long startTimeAsMilli = timeSource.nowAsMilli();
+
+        // When
+        timerWheel.schedule( startTimeAsMilli - 10_000, new RecordingTask( ran, 1 ) );
+        timerWheel.schedule( startTimeAsMilli, new RecordingTask( ran, 2 ) );
+        waitForPendingCount( timerWheel, 0 );
+
+        // Then
+        assertThat( ran, equalTo( Arrays.asList( 1l, 2l ) ) );
+        assertThat( timeSource.nowAsMilli() - startTimeAsMilli < 1000, is( true ) );
+        assertThat( timerWheel.shutdown( 1000 ), is( true ) );
+        assertThat( errorReporter.toString(), errorReporter.errorEncountered(), is( false ) );
+    }
+
+    @Test
+    public void shouldWaitForPendingTasksOnShutdownAndRejectNewTasks() throws InterruptedException
+    {
+        // Given
+        TimeSource timeSource = new SystemTimeSource();
+        ConcurrentErrorReporter errorReporter = new ConcurrentErrorReporter();
+        TimerWheel timerWheel = new TimerWheel( timeSource, errorReporter, "test" );
+        final List<Long> ran = Collections.synchronizedList( new ArrayList<Long>() );
+        long dueTimeAsMilli = timeSource.nowAsMilli() + 200;
+
+        // When
+        timerWheel.schedule( dueTimeAsMilli, new RecordingTask( ran, dueTimeAsMilli ) );
+        boolean allTasksRan = timerWheel.shutdown( 5_000 );
+
+        // Then
+        assertThat( allTasksRan, is( true ) );
+        assertThat( ran, equalTo( Collections.singletonList( dueTimeAsMilli ) ) );
+        assertThat( timeSource.nowAsMilli() >= dueTimeAsMilli, is( true ) );
+        boolean rejected = false;
+        try
+        {
+            timerWheel.schedule( dueTimeAsMilli, new RecordingTask( ran, dueTimeAsMilli ) );
+        }
+        catch ( IllegalStateException e )
+        {
+            rejected = true;
+        }
+        assertThat( rejected, is( true ) );
+        assertThat( timerWheel.pendingCount(), is( 0l ) );
+    }
+
+    private static void waitForPendingCount( TimerWheel timerWheel, long pendingCount )
+    {
+        while ( timerWheel.pendingCount() > pendingCount )
+        {
+            Spinner.powerNap( 1 );
+        }
+    }
+
+    private static class RecordingTask implements Runnable
+    {
+        private final List<Long> ran;
+        private final long id;
+
+        private RecordingTask( List<Long> ran, long id )
+        {
+            this.ran = ran;
+            this.id = id;
+        }
+
+        @Override
+        public void run()
+        {
+            ran.add( id );
+        }
+    }
+}
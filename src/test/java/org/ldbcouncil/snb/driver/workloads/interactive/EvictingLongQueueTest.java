@@ -0,0 +1,191 @@
+package org.ldbcouncil.snb.driver.workloads.interactive;
+
+import com.google.common.collect.EvictingQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class EvictingLongQueueTest
+{
+    @Test
+    public void shouldEvictLikeEvictingQueue()
+    {
+        for ( int capacity : new int[]{1, 5, 16, 1000} )
+        {
+            // Given
+            Random random = new Random( 42 );
+            Queue<Long> expected = EvictingQueue.create( capacity );
+            LockFreeEvictingLongQueue queue = new LockFreeEvictingLongQueue( capacity );
+
+            // When/Then
+            for ( int i = 0; i < 100_000; i++ )
+            {
+                if ( random.nextInt( 3 ) > 0 )
+                {
+                    long value = random.nextLong();
+                    expected.add( value );
+                    queue.addLong( value );
+                }
+                else
+                {
+                    assertThat( queue.poll(), equalTo( expected.poll() ) );
+                }
+                assertThat( queue.size(), equalTo( expected.size() ) );
+                assertThat( queue.peek(), equalTo( expected.peek() ) );
+                if ( i % 1000 == 0 )
+                {
+                    assertThat( new ArrayList<>( queue ), equalTo( new ArrayList<>( expected ) ) );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldReturnNullWhenEmpty()
+    {
+        // Given
+        LockFreeEvictingLongQueue queue = new LockFreeEvictingLongQueue( 4 );
+
+        // When/Then
+        assertThat( queue.poll(), nullValue() );
+        assertThat( queue.isEmpty(), is( true ) );
+        queue.add( 1L );
+        assertThat( queue.isEmpty(), is( false ) );
+        assertThat( queue.poll(), equalTo( 1L ) );
+        assertThat( queue.poll(), nullValue() );
+    }
+
+    @Test
+    public void shouldNeverReturnValueTwiceOrValueNotAddedWhenConcurrent() throws InterruptedException
+    {
+        for ( Queue<Long> queue : new Queue[]{
+                LdbcSnbShortReadGenerator.lockFreeCircularQueueBuffer( 64 ),
+                LdbcSnbShortReadGenerator.stripedLockFreeCircularQueueBuffer( 64, 4 )} )
+        {
+            // Given
+            final EvictingLongQueue evictingLongQueue = (EvictingLongQueue) queue;
+            final int producerCount = 4;
+            final int consumerCount = 4;
+            final int valuesPerProducer = 200_000;
+            final Set<Long> polled = ConcurrentHashMap.newKeySet();
+            final AtomicBoolean duplicate = new AtomicBoolean( false );
+            final AtomicBoolean unknown = new AtomicBoolean( false );
+            final AtomicBoolean producing = new AtomicBoolean( true );
+            final CountDownLatch producersDone = new CountDownLatch( producerCount );
+            List<Thread> threads = new ArrayList<>();
+
+            // When
+            for ( int p = 0; p < producerCount; p++ )
+            {
+                final long firstValue = (long) p * valuesPerProducer;
+                threads.add( new Thread()
+                {
+                    @Override
+                    public void run()
+                    {
+                        for ( long value = firstValue; value < firstValue + valuesPerProducer; value++ )
+                        {
+                            evictingLongQueue.addLong( value );
+                        }
+                        producersDone.countDown();
+                    }
+                } );
+            }
+            for ( int c = 0; c < consumerCount; c++ )
+            {
+                threads.add( new Thread()
+                {
+                    @Override
+                    public void run()
+                    {
+                        while ( producing.get() || !evictingLongQueue.isEmpty() )
+                        {
+                            Long value = evictingLongQueue.poll();
+                            if ( null == value )
+                            {
+                                continue;
+                            }
+                            if ( value < 0 || value >= (long) producerCount * valuesPerProducer )
+                            {
+                                unknown.set( true );
+                            }
+                            if ( !polled.add( value ) )
+                            {
+                                duplicate.set( true );
+                            }
+                        }
+                    }
+                } );
+            }
+            for ( Thread thread : threads )
+            {
+                thread.start();
+            }
+            producersDone.await();
+            producing.set( false );
+            for ( Thread thread : threads )
+            {
+                thread.join();
+            }
+
+            // Then
+            assertThat( duplicate.get(), is( false ) );
+            assertThat( unknown.get(), is( false ) );
+            assertThat( queue.size(), equalTo( 0 ) );
+        }
+    }
+
+    @Test
+    public void shouldStealFromOtherStripesAndEvictWithinCapacity() throws InterruptedException
+    {
+        // Given
+        final Queue<Long> queue = LdbcSnbShortReadGenerator.stripedLockFreeCircularQueueBuffer( 10, 3 );
+        Thread producer = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                for ( long value = 0; value < 100; value++ )
+                {
+                    queue.add( value );
+                }
+            }
+        };
+
+        // When
+        producer.start();
+        producer.join();
+
+        // Then
+        assertThat( queue.size(), lessThanOrEqualTo( 10 ) );
+        Set<Long> snapshot = new HashSet<>( queue );
+        assertThat( queue.contains( 99L ), is( true ) );
+        Set<Long> polled = new HashSet<>();
+        Long value;
+        while ( null != (value = queue.poll()) )
+        {
+            polled.add( value );
+        }
+        // all from one stripe, i.e., the newest of the producer's stripe
+        assertThat( polled.isEmpty(), is( false ) );
+        assertThat( polled, equalTo( snapshot ) );
+        for ( Long polledValue : polled )
+        {
+            assertThat( polledValue >= 90 && polledValue < 100, is( true ) );
+        }
+    }
+}
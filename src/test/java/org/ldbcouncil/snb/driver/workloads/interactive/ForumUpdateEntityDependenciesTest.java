@@ -0,0 +1,60 @@
+package org.ldbcouncil.snb.driver.workloads.interactive;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.ldbcouncil.snb.driver.Operation;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ForumUpdateEntityDependenciesTest
+{
+    @Test
+    public void shouldReferToEntitiesCreatedByEarlierForumUpdates()
+    {
+        // Given
+        ForumUpdateEntityDependencies entityDependencies = new ForumUpdateEntityDependencies( 4 );
+        LdbcUpdate4AddForum addForum =
+                new LdbcUpdate4AddForum( 1, "title", new Date( 0 ), 100, Lists.<Long>newArrayList() );
+        LdbcUpdate5AddForumMembership addForumMembership = new LdbcUpdate5AddForumMembership( 1, 101, new Date( 0 ) );
+        LdbcUpdate6AddPost addPost = new LdbcUpdate6AddPost( 2, "", new Date( 0 ), "ip", "browser", "language",
+                "content", 7, 100, 1, 3, Lists.<Long>newArrayList() );
+        LdbcUpdate7AddComment addComment = new LdbcUpdate7AddComment( 4, new Date( 0 ), "ip", "browser", "content", 7,
+                101, 3, 2, -1, Lists.<Long>newArrayList() );
+        LdbcUpdate7AddComment addReply = new LdbcUpdate7AddComment( 5, new Date( 0 ), "ip", "browser", "content", 7,
+                100, 3, -1, 4, Lists.<Long>newArrayList() );
+        LdbcUpdate2AddPostLike addPostLike = new LdbcUpdate2AddPostLike( 101, 2, new Date( 0 ) );
+        LdbcUpdate3AddCommentLike addCommentLike = new LdbcUpdate3AddCommentLike( 100, 4, new Date( 0 ) );
+        // refers to a comment with the same id as the post
+        LdbcUpdate3AddCommentLike addOtherCommentLike = new LdbcUpdate3AddCommentLike( 100, 2, new Date( 0 ) );
+        LdbcUpdate8AddFriendship addFriendship = new LdbcUpdate8AddFriendship( 100, 101, new Date( 0 ) );
+
+        // When
+        Object forum = entityDependencies.createdEntities( addForum )[0];
+        Object post = entityDependencies.createdEntities( addPost )[0];
+        Object comment = entityDependencies.createdEntities( addComment )[0];
+
+        // Then
+        assertThat( refersTo( entityDependencies, addForumMembership, forum ), is( true ) );
+        assertThat( refersTo( entityDependencies, addPost, forum ), is( true ) );
+        assertThat( refersTo( entityDependencies, addComment, post ), is( true ) );
+        assertThat( refersTo( entityDependencies, addReply, comment ), is( true ) );
+        assertThat( refersTo( entityDependencies, addReply, post ), is( false ) );
+        assertThat( refersTo( entityDependencies, addPostLike, post ), is( true ) );
+        assertThat( refersTo( entityDependencies, addCommentLike, comment ), is( true ) );
+        assertThat( refersTo( entityDependencies, addOtherCommentLike, post ), is( false ) );
+        assertThat( entityDependencies.createdEntities( addPostLike ).length, equalTo( 0 ) );
+        assertThat( entityDependencies.createdEntities( addFriendship ).length, equalTo( 0 ) );
+        assertThat( entityDependencies.referencedEntities( addFriendship ).length, equalTo( 2 ) );
+    }
+
+    private static boolean refersTo( ForumUpdateEntityDependencies entityDependencies, Operation operation,
+            Object entity )
+    {
+        return Arrays.asList( entityDependencies.referencedEntities( operation ) ).contains( entity );
+    }
+}
@@ -4,8 +4,11 @@ import com.google.common.collect.Lists;
 import org.ldbcouncil.snb.driver.Operation;
 import org.ldbcouncil.snb.driver.Workload;
 import org.ldbcouncil.snb.driver.WorkloadException;
+import org.ldbcouncil.snb.driver.WorkloadStreams;
 import org.ldbcouncil.snb.driver.control.ConsoleAndFileDriverConfiguration;
 import org.ldbcouncil.snb.driver.control.DriverConfiguration;
+import org.ldbcouncil.snb.driver.generator.GeneratorFactory;
+import org.ldbcouncil.snb.driver.generator.RandomDataGeneratorFactory;
 import org.ldbcouncil.snb.driver.testutils.TestUtils;
 import org.ldbcouncil.snb.driver.util.Bucket;
 import org.ldbcouncil.snb.driver.util.Histogram;
@@ -14,6 +17,7 @@ import org.ldbcouncil.snb.driver.util.Tuple;
 import org.ldbcouncil.snb.driver.util.Tuple2;
 import org.ldbcouncil.snb.driver.util.TypeChangeFun;
 import org.ldbcouncil.snb.driver.workloads.ClassNameWorkloadFactory;
+import org.ldbcouncil.snb.driver.workloads.WorkloadFactory;
 import org.ldbcouncil.snb.driver.workloads.WorkloadTest;
 import org.ldbcouncil.snb.driver.workloads.interactive.db.DummyLdbcSnbInteractiveDb;
 import org.ldbcouncil.snb.driver.workloads.interactive.db.DummyLdbcSnbInteractiveOperationInstances;
@@ -21,6 +25,7 @@ import org.ldbcouncil.snb.driver.workloads.interactive.db.DummyLdbcSnbInteractiv
 import org.junit.Test;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -414,6 +419,69 @@ public class InteractiveWorkloadTest extends WorkloadTest
     //     );
     // }
 
+    @Test
+    public void shouldGenerateSameOperationsWhenUpdateStreamsDecodeAhead() throws Exception
+    {
+        // Given
+        DriverConfiguration configuration = ConsoleAndFileDriverConfiguration.fromDefaults(
+                DummyLdbcSnbInteractiveDb.class.getName(),
+                LdbcSnbInteractiveWorkload.class.getName(),
+                10_000
+        ).applyArgs(
+                LdbcSnbInteractiveWorkloadConfiguration.defaultConfigSF1()
+        ).applyArg(
+                LdbcSnbInteractiveWorkloadConfiguration.PARAMETERS_DIRECTORY,
+                TestUtils.getResource( "/snb/interactive/" ).getAbsolutePath()
+        ).applyArg(
+                LdbcSnbInteractiveWorkloadConfiguration.UPDATES_DIRECTORY,
+                TestUtils.getResource( "/snb/interactive/" ).getAbsolutePath()
+        ).applyArgs(
+                MapUtils.loadPropertiesToMap( TestUtils.getResource( "/snb/interactive/updateStream.properties" ) )
+        );
+        DriverConfiguration decodeAheadConfiguration = configuration.applyArg(
+                LdbcSnbInteractiveWorkloadConfiguration.UPDATE_STREAM_DECODE_AHEAD,
+                "16"
+        );
+        WorkloadFactory workloadFactory = new ClassNameWorkloadFactory( configuration.workloadClassName() );
+        GeneratorFactory gf1 = new GeneratorFactory( new RandomDataGeneratorFactory( 42L ) );
+        GeneratorFactory gf2 = new GeneratorFactory( new RandomDataGeneratorFactory( 42L ) );
+
+        try ( Workload workload = workloadFactory.createWorkload();
+              Workload decodeAheadWorkload = workloadFactory.createWorkload() )
+        {
+            workload.init( configuration );
+            decodeAheadWorkload.init( decodeAheadConfiguration );
+
+            // When
+            Iterator<Operation> operations = gf1.limit(
+                    WorkloadStreams.mergeSortedByStartTimeExcludingChildOperationGenerators(
+                            gf1,
+                            workload.streams( gf1, true )
+                    ),
+                    configuration.operationCount()
+            );
+            Iterator<Operation> decodeAheadOperations = gf2.limit(
+                    WorkloadStreams.mergeSortedByStartTimeExcludingChildOperationGenerators(
+                            gf2,
+                            decodeAheadWorkload.streams( gf2, true )
+                    ),
+                    configuration.operationCount()
+            );
+
+            // Then
+            while ( operations.hasNext() )
+            {
+                Operation operation = operations.next();
+                Operation decodeAheadOperation = decodeAheadOperations.next();
+                assertThat( decodeAheadOperation, equalTo( operation ) );
+                assertThat( decodeAheadOperation.timeStamp(), equalTo( operation.timeStamp() ) );
+                assertThat( decodeAheadOperation.scheduledStartTimeAsMilli(),
+                        equalTo( operation.scheduledStartTimeAsMilli() ) );
+            }
+            assertThat( decodeAheadOperations.hasNext(), equalTo( false ) );
+        }
+    }
+
     @Test
     public void shouldConvertFrequenciesToInterleavesWhenAllFrequenciesProvidedAndAllUpdatesEnabled() throws Exception
     {
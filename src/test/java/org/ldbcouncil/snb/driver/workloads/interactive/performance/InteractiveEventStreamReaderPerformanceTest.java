@@ -6,6 +6,7 @@ import org.ldbcouncil.snb.driver.Operation;
 import org.ldbcouncil.snb.driver.csv.charseeker.BufferedCharSeeker;
 import org.ldbcouncil.snb.driver.csv.charseeker.CharSeeker;
 import org.ldbcouncil.snb.driver.csv.charseeker.Extractors;
+import org.ldbcouncil.snb.driver.csv.charseeker.MappedByteBufferCharSeeker;
 import org.ldbcouncil.snb.driver.csv.charseeker.Mark;
 import org.ldbcouncil.snb.driver.csv.charseeker.Readables;
 import org.ldbcouncil.snb.driver.csv.charseeker.ThreadAheadReadable;
@@ -986,6 +987,28 @@ public class InteractiveEventStreamReaderPerformanceTest
             );
         }
 
+        {
+            long lines = 0;
+            long startTimeAsMilli = timeSource.nowAsMilli();
+            for ( int i = 0; i < repetitions; i++ )
+            {
+                lines += doMappedCharSeekerPerformanceTest( forumUpdateStream );
+            }
+            long endTimeAsMilli = timeSource.nowAsMilli();
+            long durationAsMilli = (endTimeAsMilli - startTimeAsMilli) / repetitions;
+            lines = lines / repetitions;
+
+            System.out.println(
+                    format( "%s took %s to read %s line: %s lines/s",
+                            MappedByteBufferCharSeeker.class.getSimpleName(),
+                            TEMPORAL_UTIL.milliDurationToString( durationAsMilli ),
+                            numberFormatter.format( lines ),
+                            numberFormatter
+                                    .format( (double) lines / TimeUnit.MILLISECONDS.toSeconds( durationAsMilli ) )
+                    )
+            );
+        }
+
         {
             long lines = 0;
             long startTimeAsMilli = timeSource.nowAsMilli();
@@ -1102,6 +1125,35 @@ public class InteractiveEventStreamReaderPerformanceTest
                 );
             }
         }
+
+        {
+            long lines = 0;
+            long startTimeAsMilli = timeSource.nowAsMilli();
+            for ( int i = 0; i < repetitions; i++ )
+            {
+                CharSeeker charSeeker = new MappedByteBufferCharSeeker( forumUpdateStream );
+                int columnDelimiter = '|';
+                Extractors extractors = new Extractors( ';', ',' );
+                Iterator<Operation> writeEventStreamReader =
+                        WriteEventStreamReaderCharSeeker.create( charSeeker, extractors, columnDelimiter );
+                lines += readingStreamPerformanceTest( writeEventStreamReader );
+                charSeeker.close();
+            }
+            long endTimeAsMilli = timeSource.nowAsMilli();
+            long durationAsMilli = (endTimeAsMilli - startTimeAsMilli) / repetitions;
+            lines = lines / repetitions;
+
+            System.out.println(
+                    format( "%s took %s to read %s line: %s lines/s",
+                            WriteEventStreamReaderCharSeeker.class.getSimpleName() + "-" +
+                            MappedByteBufferCharSeeker.class.getSimpleName(),
+                            TEMPORAL_UTIL.milliDurationToString( durationAsMilli ),
+                            numberFormatter.format( lines ),
+                            numberFormatter
+                                    .format( (double) lines / TimeUnit.MILLISECONDS.toSeconds( durationAsMilli ) )
+                    )
+            );
+        }
     }
 
     public long readingStreamPerformanceTest( Iterator parser ) throws FileNotFoundException
@@ -1151,6 +1203,23 @@ public class InteractiveEventStreamReaderPerformanceTest
         return lines;
     }
 
+    public long doMappedCharSeekerPerformanceTest( File forumUpdateStream ) throws IOException
+    {
+        CharSeeker seeker = new MappedByteBufferCharSeeker( forumUpdateStream );
+        long lines = 0;
+        Mark mark = new Mark();
+        int[] delimiters = new int[]{'|'};
+        Extractors extractors = new Extractors( ';', ',' );
+        while ( seeker.seek( mark, delimiters ) )
+        {
+            seeker.extract( mark, extractors.string() ).value();
+            if ( mark.isEndOfLine() )
+            { lines++; }
+        }
+        seeker.close();
+        return lines;
+    }
+
     public long doBufferedReaderPerformanceTest( File forumUpdateStream, int bufferSize ) throws IOException
     {
         BufferedReader bufferedReader = new BufferedReader( new FileReader( forumUpdateStream ), bufferSize );
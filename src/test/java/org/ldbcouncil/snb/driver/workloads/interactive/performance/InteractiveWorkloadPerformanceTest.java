@@ -124,6 +124,20 @@ public class InteractiveWorkloadPerformanceTest
             long warmupCount = 0;
             long skipCount = 0;
             boolean flushLog = false;
+            boolean asyncExecutor = false;
+            int maxInFlight = 10000;
+            boolean preciseSpinner = false;
+            boolean jitDispatch = false;
+            boolean edfQueue = false;
+            int writeThreadCount = 0;
+            String timeTracker = "TREE_MULTISET";
+            int metricsRingSize = 16384;
+            String metricsWaitStrategy = "BLOCKING";
+            int metricsShards = 1;
+            boolean threadLocalMetrics = false;
+            String resultsLogFormat = "CSV";
+            String streamLimitsCacheDirPath = null;
+            String scheduleDirPath = null;
 
             ConsoleAndFileDriverConfiguration configuration = new ConsoleAndFileDriverConfiguration(
                     paramsMap,
@@ -146,7 +160,21 @@ public class InteractiveWorkloadPerformanceTest
                     ignoreScheduledStartTimes,
                     warmupCount,
                     skipCount,
-                    flushLog
+                    flushLog,
+                    asyncExecutor,
+                    maxInFlight,
+                    preciseSpinner,
+                    jitDispatch,
+                    edfQueue,
+                    writeThreadCount,
+                    timeTracker,
+                    metricsRingSize,
+                    metricsWaitStrategy,
+                    metricsShards,
+                    threadLocalMetrics,
+                    resultsLogFormat,
+                    streamLimitsCacheDirPath,
+                    scheduleDirPath
             );
 
             configuration = (ConsoleAndFileDriverConfiguration) configuration
@@ -291,6 +319,20 @@ public class InteractiveWorkloadPerformanceTest
             long warmupCount = 0;
             long skipCount = 0;
             boolean flushLog = false;
+            boolean asyncExecutor = false;
+            int maxInFlight = 10000;
+            boolean preciseSpinner = false;
+            boolean jitDispatch = false;
+            boolean edfQueue = false;
+            int writeThreadCount = 0;
+            String timeTracker = "TREE_MULTISET";
+            int metricsRingSize = 16384;
+            String metricsWaitStrategy = "BLOCKING";
+            int metricsShards = 1;
+            boolean threadLocalMetrics = false;
+            String resultsLogFormat = "CSV";
+            String streamLimitsCacheDirPath = null;
+            String scheduleDirPath = null;
 
             ConsoleAndFileDriverConfiguration configuration = new ConsoleAndFileDriverConfiguration(
                     paramsMap,
@@ -313,7 +355,21 @@ public class InteractiveWorkloadPerformanceTest
                     ignoreScheduledStartTimes,
                     warmupCount,
                     skipCount,
-                    flushLog
+                    flushLog,
+                    asyncExecutor,
+                    maxInFlight,
+                    preciseSpinner,
+                    jitDispatch,
+                    edfQueue,
+                    writeThreadCount,
+                    timeTracker,
+                    metricsRingSize,
+                    metricsWaitStrategy,
+                    metricsShards,
+                    threadLocalMetrics,
+                    resultsLogFormat,
+                    streamLimitsCacheDirPath,
+                    scheduleDirPath
             );
 
             configuration = (ConsoleAndFileDriverConfiguration) configuration